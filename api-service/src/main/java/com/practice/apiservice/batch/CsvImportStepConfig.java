@@ -1,24 +1,40 @@
 package com.practice.apiservice.batch;
 
 import com.practice.apiservice.batch.listener.MetricsStepListener;
+import com.practice.apiservice.batch.partition.CsvLinePartitioner;
 import com.practice.apiservice.batch.processor.ImportRecordProcessor;
 import com.practice.apiservice.batch.processor.RecordValidationException;
+import com.practice.apiservice.batch.reader.CsvImportReaderConfig;
+import com.practice.apiservice.batch.reader.MappedCsvImportRecordReader;
 import com.practice.apiservice.batch.retry.RetryMetricsListener;
 import com.practice.apiservice.batch.retry.RetryProperties;
+import com.practice.apiservice.batch.schema.SchemaImportTasklet;
 import com.practice.apiservice.batch.skip.ImportSkipListener;
+import com.practice.apiservice.batch.writer.ImportRecordWriterConfig;
 import com.practice.apiservice.model.ImportRecord;
+import java.nio.file.Path;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.configuration.annotation.JobScope;
+import org.springframework.batch.core.step.builder.FaultTolerantStepBuilder;
 import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.core.SkipListener;
 import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemWriter;
 import org.springframework.batch.item.database.JdbcBatchItemWriter;
 import org.springframework.batch.item.file.FlatFileItemReader;
 import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.support.SynchronizedItemStreamReader;
+import org.springframework.batch.repeat.support.TaskExecutorRepeatTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.jdbc.CannotGetJdbcConnectionException;
 import org.springframework.retry.backoff.ExponentialBackOffPolicy;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -26,30 +42,161 @@ import org.springframework.transaction.PlatformTransactionManager;
 @Configuration
 public class CsvImportStepConfig {
 
+    /**
+     * Step secuencial. Con {@code threads > 1} los chunks se procesan en paralelo (step
+     * multi-hilo): el reader se sincroniza y no guarda checkpoint, así que un restart vuelve
+     * a leer desde el inicio (el writer es idempotente por {@code ux_import_records_req_ext}).
+     * {@code threads} es también el throttle limit del step: sin él Spring Batch no ejecuta más
+     * de 4 chunks a la vez. Con {@code readerMode=schema} es un step de tasklet ({@link SchemaImportTasklet}, un hilo).
+     */
     @Bean
     @JobScope
     public Step csvImportStep(
             JobRepository jobRepository,
             PlatformTransactionManager tx,
             FlatFileItemReader<ImportRecord> importRecordReader,   // F3-07
+            MappedCsvImportRecordReader mappedImportRecordReader,
+            SchemaImportTasklet schemaImportTasklet,
+            @Value("#{jobParameters['readerMode'] ?: 'flatfile'}") String readerMode,
             ImportRecordProcessor importRecordProcessor,            // F3-08
             JdbcBatchItemWriter<ImportRecord> importRecordWriter,   // F3-09
+            ItemWriter<ImportRecord> copyImportRecordWriter,
+            @Value("#{jobParameters['writerMode'] ?: 'jdbc'}") String writerMode,
             MetricsStepListener stepListener,                       // C0-F3-03
             @Value("#{jobParameters['chunkSize'] ?: 500}") Integer chunkSize,
+            @Value("#{jobParameters['threads'] ?: 1}") Integer threads,
             ImportSkipListener skipListener,
             @Value("${batch.csv.skip-limit:1000}") int skipLimit,
             RetryProperties retryProps,
             ExponentialBackOffPolicy csvRetryBackoff,
             RetryMetricsListener retryListener
     ) {
-        return new StepBuilder("csvImportStep", jobRepository)
+        if (CsvImportReaderConfig.READER_SCHEMA.equals(readerMode)) {
+            return new StepBuilder("csvImportStep", jobRepository)
+                    .tasklet(schemaImportTasklet, tx)
+                    .stream(schemaImportTasklet)
+                    .listener((StepExecutionListener) schemaImportTasklet)
+                    .listener((ChunkListener) schemaImportTasklet)
+                    .listener(stepListener)
+                    .listener((StepExecutionListener) skipListener) // flush de errores al final del step
+                    .listener((ChunkListener) skipListener)         // flush de errores tras cada chunk
+                    .build();
+        }
+
+        ItemStreamReader<ImportRecord> reader = CsvImportReaderConfig.READER_MMAP.equals(readerMode)
+                ? mappedImportRecordReader : importRecordReader;
+        if (threads <= 1) {
+            return importChunk(new StepBuilder("csvImportStep", jobRepository), tx, chunkSize,
+                    reader, importRecordProcessor, writer(writerMode, importRecordWriter, copyImportRecordWriter),
+                    stepListener, skipListener, skipLimit, retryProps, csvRetryBackoff, retryListener)
+                    .build();
+        }
+
+        var synchronizedReader = new SynchronizedItemStreamReader<ImportRecord>();
+        synchronizedReader.setDelegate(reader);
+
+        var executor = new SimpleAsyncTaskExecutor("csv-import-");
+        executor.setConcurrencyLimit(threads);
+
+        return importChunk(new StepBuilder("csvImportStep", jobRepository), tx, chunkSize,
+                synchronizedReader, importRecordProcessor, writer(writerMode, importRecordWriter, copyImportRecordWriter),
+                stepListener, skipListener, skipLimit, retryProps, csvRetryBackoff, retryListener)
+                .taskExecutor(executor)
+                .stepOperations(throttled(executor, threads))   // como mucho threads chunks a la vez
+                .build();
+    }
+
+    /**
+     * Repetición de chunks sobre {@code executor} con {@code threads} chunks en vuelo. El
+     * throttle limit está deprecado en Spring Batch 5 pero sigue siendo la única forma de pasar
+     * del límite por defecto (4) sin escribir un {@code RepeatOperations} propio.
+     */
+    @SuppressWarnings("removal")
+    static TaskExecutorRepeatTemplate throttled(TaskExecutor executor, int threads) {
+        var template = new TaskExecutorRepeatTemplate();
+        template.setTaskExecutor(executor);
+        template.setThrottleLimit(threads);
+        return template;
+    }
+
+    /**
+     * Manager del modo particionado ({@code gridSize > 1}): una partición por rango de bytes.
+     * El worker repite el pipeline de {@code csvImportStep} leyendo solo su rango; se construye
+     * aquí (y no como bean @JobScope) porque corre en hilos donde el job scope no está activo.
+     * Cada partición guarda su propio checkpoint, así que un restart solo reprocesa las que fallaron.
+     */
+    @Bean
+    @JobScope
+    public Step csvImportPartitionedStep(
+            JobRepository jobRepository,
+            PlatformTransactionManager tx,
+            FlatFileItemReader<ImportRecord> partitionRecordReader,
+            MappedCsvImportRecordReader mappedPartitionRecordReader,
+            @Value("#{jobParameters['readerMode'] ?: 'flatfile'}") String readerMode,
+            ImportRecordProcessor importRecordProcessor,
+            JdbcBatchItemWriter<ImportRecord> importRecordWriter,
+            ItemWriter<ImportRecord> copyImportRecordWriter,
+            @Value("#{jobParameters['writerMode'] ?: 'jdbc'}") String writerMode,
+            MetricsStepListener stepListener,
+            @Value("#{jobParameters['chunkSize'] ?: 500}") Integer chunkSize,
+            @Value("#{jobParameters['storagePath']}") String storagePath,
+            @Value("#{jobParameters['gridSize'] ?: 1}") Integer gridSize,
+            ImportSkipListener skipListener,
+            @Value("${batch.csv.skip-limit:1000}") int skipLimit,
+            RetryProperties retryProps,
+            ExponentialBackOffPolicy csvRetryBackoff,
+            RetryMetricsListener retryListener
+    ) {
+        ItemReader<ImportRecord> reader = CsvImportReaderConfig.READER_MMAP.equals(readerMode)
+                ? mappedPartitionRecordReader : partitionRecordReader;
+        Step worker = importChunk(new StepBuilder("csvImportWorkerStep", jobRepository), tx, chunkSize,
+                reader, importRecordProcessor, writer(writerMode, importRecordWriter, copyImportRecordWriter),
+                stepListener, skipListener, skipLimit, retryProps, csvRetryBackoff, retryListener)
+                .build();
+
+        var executor = new SimpleAsyncTaskExecutor("csv-partition-");
+        executor.setConcurrencyLimit(gridSize);   // como mucho un hilo por partición
+
+        return new StepBuilder("csvImportPartitionedStep", jobRepository)
+                .partitioner("csvImportWorkerStep",
+                        new CsvLinePartitioner(Path.of(storagePath), CsvImportReaderConfig.EXPECTED_HEADER))
+                .step(worker)
+                .gridSize(gridSize)
+                .taskExecutor(executor)
+                .build();
+    }
+
+    private static ItemWriter<ImportRecord> writer(String writerMode,
+                                                   ItemWriter<ImportRecord> jdbc,
+                                                   ItemWriter<ImportRecord> copy) {
+        return ImportRecordWriterConfig.WRITER_COPY.equals(writerMode) ? copy : jdbc;
+    }
+
+    private static FaultTolerantStepBuilder<ImportRecord, ImportRecord> importChunk(
+            StepBuilder builder,
+            PlatformTransactionManager tx,
+            int chunkSize,
+            ItemReader<ImportRecord> reader,
+            ImportRecordProcessor processor,
+            ItemWriter<ImportRecord> writer,
+            MetricsStepListener stepListener,
+            ImportSkipListener skipListener,
+            int skipLimit,
+            RetryProperties retryProps,
+            ExponentialBackOffPolicy backOff,
+            RetryMetricsListener retryListener
+    ) {
+        return builder
                 .<ImportRecord, ImportRecord>chunk(chunkSize, tx)
-                .reader(importRecordReader)
-                .processor(importRecordProcessor)
-                .writer(importRecordWriter)
+                .reader(reader)
+                .processor(processor)
+                .writer(writer)
                 .listener(stepListener)
-                .listener((StepExecutionListener) importRecordProcessor)  // Explicit casting
-                .listener((ChunkListener) importRecordProcessor)          // Explicit casting
+                .listener((StepExecutionListener) processor)  // Explicit casting
+                .listener((ChunkListener) processor)          // Explicit casting
+                .listener((ItemWriteListener<ImportRecord>) processor) // ids commiteados
+                .listener((StepExecutionListener) skipListener) // flush de errores al final del step
+                .listener((ChunkListener) skipListener)         // flush de errores tras cada chunk
                 .faultTolerant()
                 .skip(RecordValidationException.class)
                 .skip(FlatFileParseException.class)
@@ -59,10 +206,8 @@ public class CsvImportStepConfig {
                 .retry(java.net.SocketTimeoutException.class)
                 .retry(CannotGetJdbcConnectionException.class)
                 .retryLimit(retryProps.getLimit())
-                .backOffPolicy(csvRetryBackoff)
+                .backOffPolicy(backOff)
                 .listener(retryListener)
-                .listener(skipListener)
-                // NOTE: faultTolerant() lo activaremos en C3 (skip/retry).
-                .build();
+                .listener((SkipListener<ImportRecord, ImportRecord>) skipListener);
     }
 }
@@ -1,6 +1,8 @@
 package com.practice.apiservice.batch;
 
 import com.practice.apiservice.batch.listener.LoggingJobExecutionListener;
+import com.practice.apiservice.batch.partition.CsvImportModeDecider;
+import com.practice.apiservice.batch.processor.DuplicateKeyRegistry;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.JobParametersIncrementer;
 import org.springframework.batch.core.JobParametersValidator;
@@ -16,15 +18,23 @@ public class CsvToJpaJobConfig {
     @Bean
     public Job csvToJpaJob(JobRepository jobRepository,
                            Step csvImportStep,
+                           Step csvImportPartitionedStep,                 // gridSize > 1
+                           CsvImportModeDecider csvImportModeDecider,
                            LoggingJobExecutionListener jobListener,        // C0-F3-03
+                           DuplicateKeyRegistry duplicateKeys,             // ids compartidos por todo el job
                            JobParametersValidator csvToJpaJobParametersValidator, // F3-05
                            JobParametersIncrementer jobParametersIncrementer) {   // F3-06
         return new JobBuilder("csvToJpaJob", jobRepository)
                 .listener(jobListener)
+                .listener(duplicateKeys)
                 .validator(csvToJpaJobParametersValidator)
                 .incrementer(jobParametersIncrementer)
                 // .preventRestart() NO aquí: dejamos que sea reiniciable.
-                .start(csvImportStep)
+                .start(csvImportModeDecider)
+                    .on(CsvImportModeDecider.PARTITIONED.getName()).to(csvImportPartitionedStep)
+                .from(csvImportModeDecider)
+                    .on("*").to(csvImportStep)
+                .end()
                 .build();
     }
 }
@@ -0,0 +1,36 @@
+package com.practice.apiservice.batch.partition;
+
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameter;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.job.flow.FlowExecutionStatus;
+import org.springframework.batch.core.job.flow.JobExecutionDecider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Elige entre el step secuencial y el particionado según el job parameter {@code gridSize}.
+ * Acepta el parámetro como Long (JobParametersBuilder.addLong) o String (POST /jobs/{id}/run).
+ */
+@Component
+public class CsvImportModeDecider implements JobExecutionDecider {
+
+    public static final FlowExecutionStatus SINGLE = new FlowExecutionStatus("SINGLE");
+    public static final FlowExecutionStatus PARTITIONED = new FlowExecutionStatus("PARTITIONED");
+
+    @Override
+    public FlowExecutionStatus decide(JobExecution jobExecution, StepExecution stepExecution) {
+        JobParameter<?> p = jobExecution.getJobParameters().getParameters().get("gridSize");
+        return gridSize(p) > 1 ? PARTITIONED : SINGLE;
+    }
+
+    private static long gridSize(JobParameter<?> p) {
+        if (p == null || p.getValue() == null) return 1;
+        Object v = p.getValue();
+        if (v instanceof Number n) return n.longValue();
+        try {
+            return Long.parseLong(v.toString().trim());
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+}
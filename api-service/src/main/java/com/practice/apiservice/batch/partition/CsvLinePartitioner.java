@@ -0,0 +1,126 @@
+package com.practice.apiservice.batch.partition;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.file.FlatFileParseException;
+
+/**
+ * Divide un CSV en rangos de bytes alineados a fin de línea, uno por partición.
+ * <p>
+ * El archivo se recorre una sola vez: se valida el header (línea 1) y se anotan
+ * los offsets de corte junto con el número de línea absoluto donde arranca cada
+ * rango, para que los errores de parseo reporten la misma línea que el reader
+ * secuencial.
+ */
+public class CsvLinePartitioner implements Partitioner {
+
+    public static final String START_OFFSET = "startOffset";  // inclusivo
+    public static final String END_OFFSET   = "endOffset";    // exclusivo
+    public static final String START_LINE   = "startLine";    // 1-based, header = 1
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+    private final String expectedHeader;
+
+    public CsvLinePartitioner(Path file, String expectedHeader) {
+        this.file = Objects.requireNonNull(file, "file");
+        this.expectedHeader = Objects.requireNonNull(expectedHeader, "expectedHeader");
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        int grid = Math.max(1, gridSize);
+        Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+
+        try (InputStream in = Files.newInputStream(file)) {
+            long size = Files.size(file);
+            byte[] buf = new byte[BUFFER_SIZE];
+            ByteArrayOutputStream header = new ByteArrayOutputStream(128);
+
+            boolean headerDone = false;
+            long dataStart = 0;     // primer byte tras el header
+            long rangeStart = 0;
+            long rangeLine = 2;
+            long line = 1;          // línea que se está recorriendo
+            int cut = 1;            // próximo corte (1..grid-1)
+            long target = 0;
+            long pos = 0;
+
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                for (int i = 0; i < n; i++, pos++) {
+                    byte b = buf[i];
+                    if (!headerDone) {
+                        if (b == '\n') {
+                            checkHeader(header);
+                            headerDone = true;
+                            dataStart = rangeStart = pos + 1;
+                            target = cutPoint(dataStart, size, cut, grid);
+                        } else {
+                            header.write(b);
+                        }
+                    } else if (b == '\n' && cut < grid && pos + 1 >= target) {
+                        // corta en el primer fin de línea que alcanza el objetivo
+                        add(partitions, rangeStart, pos + 1, rangeLine);
+                        rangeStart = pos + 1;
+                        rangeLine = line + 1;
+                        do {
+                            cut++;
+                            target = cutPoint(dataStart, size, cut, grid);
+                        } while (cut < grid && target <= rangeStart);
+                    }
+                    if (b == '\n') line++;
+                }
+            }
+
+            if (!headerDone) {
+                if (header.size() == 0) {
+                    // archivo vacío: mismo comportamiento que el reader secuencial (0 lecturas)
+                    add(partitions, 0, 0, 2);
+                    return partitions;
+                }
+                checkHeader(header);  // header sin salto de línea final
+                rangeStart = size;
+            }
+            if (rangeStart < size || partitions.isEmpty()) {
+                add(partitions, rangeStart, size, rangeLine);
+            }
+            return partitions;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot partition file " + file, e);
+        }
+    }
+
+    private void checkHeader(ByteArrayOutputStream raw) {
+        String line = raw.toString(StandardCharsets.UTF_8);
+        if (line.endsWith("\r")) line = line.substring(0, line.length() - 1);
+        if (!expectedHeader.equals(line)) {
+            throw new FlatFileParseException(
+                    "Invalid header. Expected: " + expectedHeader + " but was: " + line, line, 1);
+        }
+    }
+
+    private static long cutPoint(long dataStart, long size, int cut, int grid) {
+        return dataStart + (size - dataStart) * cut / grid;
+    }
+
+    private static void add(Map<String, ExecutionContext> partitions, long start, long end, long startLine) {
+        ExecutionContext ctx = new ExecutionContext();
+        ctx.putLong(START_OFFSET, start);
+        ctx.putLong(END_OFFSET, end);
+        ctx.putLong(START_LINE, startLine);
+        partitions.put("partition" + partitions.size(), ctx);
+    }
+}
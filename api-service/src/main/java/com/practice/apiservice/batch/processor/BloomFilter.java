@@ -0,0 +1,66 @@
+package com.practice.apiservice.batch.processor;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter de Strings con memoria fija: {@code mightContain} puede dar falsos positivos,
+ * nunca falsos negativos. Thread-safe (bits en {@link AtomicLongArray}).
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashes;
+
+    /** Dimensionado para {@code expected} elementos con tasa de falsos positivos {@code fpp}. */
+    BloomFilter(long expected, double fpp) {
+        long n = Math.max(1, expected);
+        long m = (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (m + 63) >>> 6));
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words << 6;
+        this.hashes = (int) Math.max(1, Math.min(16, Math.round((double) bitCount / n * Math.log(2))));
+    }
+
+    void put(String value) {
+        long h1 = hash(value), h2 = Long.rotateLeft(h1, 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            long cur;
+            while (((cur = bits.get(word)) & mask) == 0
+                    && !bits.compareAndSet(word, cur, cur | mask)) {
+                // reintenta: otro hilo cambió la palabra
+            }
+        }
+    }
+
+    boolean mightContain(String value) {
+        long h1 = hash(value), h2 = Long.rotateLeft(h1, 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    long sizeInBytes() {
+        return (long) bits.length() * Long.BYTES;
+    }
+
+    /** FNV-1a de 64 bits sobre los chars + mezcla final (murmur3 fmix64); doble hashing en put/mightContain. */
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,53 @@
+package com.practice.apiservice.batch.processor;
+
+import java.util.Collection;
+
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.stereotype.Component;
+
+/**
+ * Duplicados de {@code externalId} entre chunks del mismo archivo (el índice único los
+ * descartaría en silencio).
+ * <p>
+ * Vista del step sobre los ids del job ({@link DuplicateKeyRegistry}): un
+ * {@link BloomFilter} dimensionado por el tamaño del archivo descarta casi todos los ids nuevos
+ * y un "quizá" se confirma en un LRU acotado de ids recientes o, si no está ahí, con la búsqueda
+ * indexada en {@code import_records}. La memoria no crece con el número de filas.
+ * <p>
+ * Reintentos: los ids entran tras el commit de la transacción del chunk, así que un chunk que
+ * hace rollback y se reprocesa no se ve a sí mismo. Restart: con checkpoint ({@code threads = 1} o
+ * particionado) se tienen en cuenta las filas ya escritas por el JobInstance. En modo
+ * particionado todas las particiones comparten los mismos ids.
+ */
+@Component
+@StepScope
+public class CrossChunkDuplicateDetector {
+
+    public static final String REASON = "DUPLICATED_IN_FILE";
+
+    private final DuplicateKeyRegistry registry;
+
+    private volatile DuplicateKeyRegistry.Keys keys;
+
+    public CrossChunkDuplicateDetector(DuplicateKeyRegistry registry) {
+        this.registry = registry;
+    }
+
+    /** Llamado desde {@code ImportRecordProcessor.beforeStep}. */
+    public void open(StepExecution stepExecution) {
+        keys = registry.keys(stepExecution.getJobExecution());
+    }
+
+    /** {@code true} solo si un chunk anterior ya escribió este externalId. */
+    public boolean seenInEarlierChunk(String externalId) {
+        DuplicateKeyRegistry.Keys k = keys;
+        return k != null && k.seen(externalId);
+    }
+
+    /** Ids aceptados por un chunk ya commiteado. */
+    public void chunkCommitted(Collection<String> externalIds) {
+        DuplicateKeyRegistry.Keys k = keys;
+        if (k != null) k.commit(externalIds);
+    }
+}
@@ -0,0 +1,176 @@
+package com.practice.apiservice.batch.processor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.utils.cache.ConcurrentLruCache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.JobParameter;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ids ya commiteados, uno por JobExecution: todos los steps y particiones del job comparten
+ * el mismo {@link Keys}, así que un duplicado entre particiones también se detecta.
+ * <p>
+ * Memoria acotada sea cual sea el archivo: un {@link BloomFilter} dimensionado por su tamaño y
+ * un LRU pequeño de ids recientes ({@code batch.processor.duplicate-recent}); el resto de los
+ * "quizá" del filtro se confirma en {@code import_records} por el índice único
+ * {@code ux_import_records_req_ext}.
+ * <p>
+ * Se crea en {@code beforeJob} y se descarta en {@code afterJob}. El inicio del JobInstance
+ * se toma del reloj de la base ({@code current_timestamp}, el mismo que rellena
+ * {@code import_records.created_at}) y se guarda en el contexto del job: un restart lo hereda
+ * de la ejecución anterior y así sabe qué filas escribió ya este JobInstance.
+ */
+@Component
+public class DuplicateKeyRegistry implements JobExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(DuplicateKeyRegistry.class);
+
+    static final String SINCE_KEY = "duplicates.since";
+
+    private static final int MIN_LINE_BYTES = 32;   // cota baja de bytes por fila → sobredimensiona
+    private static final long MIN_EXPECTED = 1_024;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final JobRepository jobRepository;
+    private final boolean enabled;
+    private final double fpp;
+    private final int recent;
+    private final ConcurrentHashMap<Long, Keys> byExecution = new ConcurrentHashMap<>();
+
+    public DuplicateKeyRegistry(
+            NamedParameterJdbcTemplate jdbc,
+            JobRepository jobRepository,
+            @Value("${batch.processor.cross-chunk-duplicates:true}") boolean enabled,
+            @Value("${batch.processor.duplicate-fpp:0.01}") double fpp,
+            @Value("${batch.processor.duplicate-recent:10000}") int recent) {
+        this.jdbc = jdbc;
+        this.jobRepository = jobRepository;
+        this.enabled = enabled;
+        this.fpp = fpp;
+        this.recent = recent;
+    }
+
+    @Override
+    public void beforeJob(JobExecution jobExecution) {
+        JobParameters params = jobExecution.getJobParameters();
+        String rid = params.getString("processingRequestId");
+        if (!enabled || rid == null) return;
+
+        ExecutionContext ctx = jobExecution.getExecutionContext();
+        boolean restart = ctx.containsKey(SINCE_KEY);
+        Timestamp now = jdbc.getJdbcTemplate().queryForObject("select current_timestamp", Timestamp.class);
+        if (!restart) {
+            ctx.putLong(SINCE_KEY, now.getTime());
+            jobRepository.updateExecutionContext(jobExecution);   // antes del primer chunk
+        }
+        // con threads > 1 un restart relee todo: lo ya escrito no son duplicados, solo cuenta
+        // lo que escriba esta ejecución
+        boolean seed = restart && number(params.getParameter("threads"), 1) <= 1;
+        Timestamp since = seed ? new Timestamp(ctx.getLong(SINCE_KEY)) : now;
+
+        Keys keys = new Keys(UUID.fromString(rid), since,
+                new BloomFilter(expectedRows(params.getString("storagePath")), fpp), new ConcurrentLruCache<>(recent));
+        if (seed) keys.seed();
+        byExecution.put(jobExecution.getId(), keys);
+        log.debug("duplicate filter req={} bytes={} restart={}", rid, keys.filter.sizeInBytes(), restart);
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        byExecution.remove(jobExecution.getId());
+    }
+
+    /** Ids del job de {@code jobExecution}; {@code null} si la detección está desactivada. */
+    Keys keys(JobExecution jobExecution) {
+        return byExecution.get(jobExecution.getId());
+    }
+
+    /**
+     * Un {@link BloomFilter} sobre todos los ids conocidos (en un restart con checkpoint,
+     * precargado con lo escrito por ejecuciones anteriores) y un LRU acotado de los commiteados
+     * hace poco: un "quizá" del filtro que no está en el LRU se confirma en
+     * {@code import_records}, solo entre las filas escritas desde {@code since}.
+     */
+    final class Keys {
+        private final UUID requestId;
+        private final Timestamp since;
+        private final BloomFilter filter;
+        private final ConcurrentLruCache<String, Boolean> recent;
+
+        private Keys(UUID requestId, Timestamp since, BloomFilter filter, ConcurrentLruCache<String, Boolean> recent) {
+            this.requestId = requestId;
+            this.since = since;
+            this.filter = filter;
+            this.recent = recent;
+        }
+
+        boolean seen(String externalId) {
+            if (!filter.mightContain(externalId)) return false;
+            if (recent.get(externalId).isPresent()) return true;
+            Integer n = jdbc.queryForObject("""
+                    select count(*) from import_records
+                    where processing_request_id = :rid and external_id = :ext and created_at >= :since
+                    """, params().addValue("ext", externalId), Integer.class);
+            return n != null && n > 0;
+        }
+
+        void commit(Collection<String> externalIds) {
+            for (String id : externalIds) {
+                filter.put(id);
+                recent.put(id, Boolean.TRUE);
+            }
+        }
+
+        private void seed() {
+            jdbc.query("""
+                select external_id from import_records
+                where processing_request_id = :rid and created_at >= :since
+                """, params(), rs -> { filter.put(rs.getString(1)); });
+        }
+
+        private MapSqlParameterSource params() {
+            return new MapSqlParameterSource()
+                    .addValue("rid", requestId)
+                    .addValue("since", since);
+        }
+    }
+
+    private static long expectedRows(String storagePath) {
+        long bytes;
+        try {
+            bytes = storagePath == null ? 0 : Files.size(Path.of(storagePath));
+        } catch (IOException e) {
+            bytes = 0;
+        }
+        return Math.max(MIN_EXPECTED, bytes / MIN_LINE_BYTES);
+    }
+
+    // Long (JobParametersBuilder.addLong) o String (POST /jobs/{id}/run), como CsvImportModeDecider
+    private static long number(JobParameter<?> p, long fallback) {
+        if (p == null || p.getValue() == null) return fallback;
+        Object v = p.getValue();
+        if (v instanceof Number n) return n.longValue();
+        try {
+            return Long.parseLong(v.toString().trim());
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.practice.apiservice.batch.processor;
+
+import java.util.regex.Pattern;
+
+/**
+ * Formato de email aceptado por el import: {@code ^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\.[A-Za-z]{2,}$}.
+ * <p>
+ * La regex sigue siendo la definición; {@link #isValid} la recorre a mano en una pasada
+ * (sin {@code Matcher} ni backtracking). Como la regex solo admite ASCII, cualquier
+ * carácter fuera de ASCII invalida el email.
+ */
+final class EmailSyntax {
+
+    static final Pattern EMAIL =
+            Pattern.compile("^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+
+    /* clases de caracteres ASCII, indexadas por el código del char */
+    private static final boolean[] LOCAL  = new boolean[128];
+    private static final boolean[] DOMAIN = new boolean[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) LOCAL[c] = LOCAL[c - 32] = true;
+        for (char c = '0'; c <= '9'; c++) LOCAL[c] = true;
+        System.arraycopy(LOCAL, 0, DOMAIN, 0, 128);
+        for (char c : "._%+-".toCharArray()) LOCAL[c] = true;
+        DOMAIN['.'] = DOMAIN['-'] = true;
+    }
+
+    private EmailSyntax() {}
+
+    static boolean isValid(String s) {
+        int n = s.length();
+        int at = -1, lastDot = -1;
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c >= 128) return false;                    // la regex solo acepta ASCII
+            if (c == '@') {
+                if (at >= 0) return false;                 // ninguna de las dos partes admite '@'
+                at = i;
+            } else if (at < 0) {
+                if (!LOCAL[c]) return false;
+            } else {
+                if (!DOMAIN[c]) return false;
+                if (c == '.') lastDot = i;
+            }
+        }
+        // local no vacío, algo entre '@' y el último '.', y TLD de 2+ letras
+        if (at <= 0 || lastDot < at + 2 || n - lastDot - 1 < 2) return false;
+        for (int i = lastDot + 1; i < n; i++) {
+            char c = s.charAt(i);
+            if ((c < 'A' || c > 'Z') && (c < 'a' || c > 'z')) return false;
+        }
+        return true;
+    }
+}
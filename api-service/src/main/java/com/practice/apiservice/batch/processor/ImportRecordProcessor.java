@@ -9,34 +9,73 @@ import java.time.Clock;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Set;
-import java.util.regex.Pattern;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemWriteListener;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.Chunk;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.lang.NonNull;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Component
 @StepScope
-public class ImportRecordProcessor implements ItemProcessor<ImportRecord, ImportRecord>, StepExecutionListener, ChunkListener {
+public class ImportRecordProcessor
+        implements ItemProcessor<ImportRecord, ImportRecord>, StepExecutionListener, ChunkListener, ItemWriteListener<ImportRecord> {
 
-    private static final Pattern EMAIL =
-            Pattern.compile("^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+    // Errores posibles: inmutables, se comparten entre filas
+    private static final FieldError ID_REQUIRED       = new FieldError("externalId", "REQUIRED");
+    private static final FieldError ID_DUPLICATED     = new FieldError("externalId", "DUPLICATED_IN_CHUNK");
+    private static final FieldError ID_EARLIER_CHUNK  = new FieldError("externalId", CrossChunkDuplicateDetector.REASON);
+    private static final FieldError EMAIL_REQUIRED    = new FieldError("userEmail", "REQUIRED");
+    private static final FieldError EMAIL_INVALID     = new FieldError("userEmail", "INVALID_FORMAT");
+    private static final FieldError AMOUNT_REQUIRED   = new FieldError("amount", "REQUIRED");
+    private static final FieldError AMOUNT_NEGATIVE   = new FieldError("amount", "NEGATIVE");
+    private static final FieldError TIME_REQUIRED     = new FieldError("eventTime", "REQUIRED");
+    private static final FieldError TIME_FUTURE       = new FieldError("eventTime", "FUTURE");
+    private static final FieldError TIME_OUT_OF_WINDOW = new FieldError("eventTime", "OUT_OF_WINDOW");
+
+    /**
+     * Una regla de la cadena: añade sus errores a {@code errors}, que es {@code null} mientras
+     * la fila no haya fallado, y devuelve la lista (creada solo si hizo falta).
+     */
+    @FunctionalInterface
+    private interface Rule {
+        List<FieldError> check(ImportRecord in, Window window, List<FieldError> errors);
+    }
 
     private final boolean throwOnValidation; // true => lanza excepción; false => filtra (null)
     private final int windowYears;
     private final Clock clock;
+    private Rule[] rules;                    // compiladas una vez por step (ver beforeStep)
+
+    // Estado del step, compartido por todos los hilos (threads > 1 procesa varios chunks a la vez).
+    // externalId -> línea donde apareció por primera vez: la misma línea reprocesada tras un
+    // rollback no es un duplicado de sí misma, así que no hace falta limpiar nada por chunk.
+    // Con detector, los ids salen de aquí al commitear su chunk; sin él, quedan todo el step.
+    private final ConcurrentHashMap<String, Long> firstLine = new ConcurrentHashMap<>();
+
+    // Ventana de eventTime, fijada al abrir cada chunk. Sin beforeChunk (tests, uso directo)
+    // se fija al procesar la primera fila.
+    private volatile Window window;
 
-    // Estado por Step (gracias a @StepScope)
-    private final Set<String> seenIds = new HashSet<>();
-    private long row = 0;
+    private record Window(Instant now, Instant oldest) {}
+
+    // Duplicados entre chunks (opcional: los tests unitarios construyen el processor sin él)
+    private CrossChunkDuplicateDetector duplicates;
+
+    // Cadena de reglas por BatchJobConfig (opcional: sin ella, ImportRuleProperties.DEFAULT_CHAIN)
+    private ImportRuleChains ruleChains;
 
     // Constructor por defecto necesario para @StepScope
     public ImportRecordProcessor() {
@@ -49,6 +88,7 @@ public class ImportRecordProcessor implements ItemProcessor<ImportRecord, Import
         this.throwOnValidation = !"filter".equalsIgnoreCase(mode);
         this.windowYears = windowYears;
         this.clock = Clock.systemUTC();
+        this.rules = compileRules(ImportRuleProperties.DEFAULT_CHAIN);
     }
 
     // ctor alterno para tests si lo necesitas
@@ -56,69 +96,72 @@ public class ImportRecordProcessor implements ItemProcessor<ImportRecord, Import
         this.throwOnValidation = !"filter".equalsIgnoreCase(mode);
         this.windowYears = windowYears;
         this.clock = clock == null ? Clock.systemUTC() : clock;
+        this.rules = compileRules(ImportRuleProperties.DEFAULT_CHAIN);
+    }
+
+    @Autowired(required = false)
+    public void setDuplicateDetector(CrossChunkDuplicateDetector duplicates) {
+        this.duplicates = duplicates;
+    }
+
+    @Autowired(required = false)
+    public void setRuleChains(ImportRuleChains ruleChains) {
+        this.ruleChains = ruleChains;
+    }
+
+    /** Reglas a aplicar, por nombre de columna y en orden (ver {@link ImportRuleProperties}). */
+    public void setRuleChain(List<String> columns) {
+        this.rules = compileRules(columns);
     }
 
     @Override
     public void beforeStep(@NonNull StepExecution stepExecution) {
+        if (ruleChains != null) {
+            setRuleChain(ruleChains.forRequest(stepExecution.getJobParameters().getString("processingRequestId")));
+        }
         // Reset state at the beginning of each step
-        seenIds.clear();
-        row = 0;
+        firstLine.clear();
+        window = null;
+        if (duplicates != null) duplicates.open(stepExecution);
     }
 
     @Override
     public void beforeChunk(@NonNull ChunkContext context) {
-        // Reset duplicate detection for each chunk to handle retries correctly
-        seenIds.clear();
-        row = 0;
+        window = newWindow();
     }
 
     @Override
-    public ImportRecord process(@NonNull ImportRecord in) {
-        row++; // contador simple por llamada (fila de datos, header ya fue saltado)
-
-        var errors = new ArrayList<FieldError>();
-
-        // --- Validaciones ---
-        // externalId
-        if (isBlank(in.getExternalId())) {
-            errors.add(new FieldError("externalId", "REQUIRED"));
-        } else {
-            if (!seenIds.add(in.getExternalId())) {
-                errors.add(new FieldError("externalId", "DUPLICATED_IN_CHUNK"));
-            }
+    public void afterWrite(@NonNull Chunk<? extends ImportRecord> items) {
+        if (duplicates == null) return;
+        List<String> ids = new ArrayList<>(items.size());
+        for (ImportRecord r : items) ids.add(r.getExternalId());
+        // post-commit: a partir de aquí los ids del chunk cuentan para los siguientes
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            committed(ids);
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override public void afterCommit() { committed(ids); }
+        });
+    }
 
-        // userEmail
-        if (isBlank(in.getUserEmail())) {
-            errors.add(new FieldError("userEmail", "REQUIRED"));
-        } else if (!EMAIL.matcher(in.getUserEmail()).matches()) {
-            errors.add(new FieldError("userEmail", "INVALID_FORMAT"));
-        }
+    // Desde aquí los responde el detector: firstLine solo guarda los ids de chunks en curso
+    private void committed(List<String> ids) {
+        duplicates.chunkCommitted(ids);
+        for (String id : ids) firstLine.remove(id);
+    }
 
-        // amount >= 0
-        if (in.getAmount() == null) {
-            errors.add(new FieldError("amount", "REQUIRED"));
-        } else if (in.getAmount().compareTo(BigDecimal.ZERO) < 0) {
-            errors.add(new FieldError("amount", "NEGATIVE"));
-        }
+    @Override
+    public ImportRecord process(@NonNull ImportRecord in) {
+        Window w = window;
+        if (w == null) window = w = newWindow();
+        long row = in.getLineNumber();   // línea del archivo, la pone el reader
 
-        // eventTime: no futuro, dentro de ventana
-        Instant now = Instant.now(clock);
-        if (in.getEventTime() == null) {
-            errors.add(new FieldError("eventTime", "REQUIRED"));
-        } else {
-            if (in.getEventTime().isAfter(now)) {
-                errors.add(new FieldError("eventTime", "FUTURE"));
-            }
-            // Convertir años a días aproximados (365 días por año)
-            long windowDays = windowYears * 365L;
-            Instant min = now.minus(windowDays, ChronoUnit.DAYS);
-            if (in.getEventTime().isBefore(min)) {
-                errors.add(new FieldError("eventTime", "OUT_OF_WINDOW"));
-            }
-        }
+        // --- Validaciones ---
+        List<FieldError> errors = null;
+        for (Rule rule : rules) errors = rule.check(in, w, errors);
 
-        if (!errors.isEmpty()) {
+        if (errors != null) {
             if (throwOnValidation) {
                 throw new RecordValidationException(row, errors);
             } else {
@@ -126,15 +169,96 @@ public class ImportRecordProcessor implements ItemProcessor<ImportRecord, Import
             }
         }
 
-        // --- Transformaciones ---
-        var out = new ImportRecord();
-        out.setExternalId(in.getExternalId());
-        out.setUserEmail(in.getUserEmail().toLowerCase());
-        out.setAmount(in.getAmount().setScale(2, RoundingMode.HALF_UP));
-        // eventTime ya es Instant (UTC); lo devolvemos tal cual
-        out.setEventTime(in.getEventTime());
-        out.setMeta(in.getMeta());
-        return out;
+        // --- Transformaciones (in place: el item del reader no se usa después) ---
+        // Idempotentes, por si el step vuelve a procesar el item tras un rollback.
+        // eventTime ya es Instant (UTC) y meta se deja tal cual.
+        in.setUserEmail(in.getUserEmail().toLowerCase(Locale.ROOT));
+        in.setAmount(in.getAmount().setScale(2, RoundingMode.HALF_UP));
+        return in;
+    }
+
+    // --- Reglas ---
+
+    // Orden de la cadena = orden de los errores en RecordValidationException. Las columnas
+    // NOT NULL de import_records que la cadena no nombra se comprueban igual, solo como
+    // requeridas y al final: un nulo no debe llegar al writer, donde no se podría saltar.
+    private Rule[] compileRules(List<String> columns) {
+        List<Rule> chain = new ArrayList<>(ImportRuleProperties.DEFAULT_CHAIN.size());
+        for (String column : columns) chain.add(rule(column));
+        for (String column : ImportRuleProperties.DEFAULT_CHAIN) {
+            if (!columns.contains(column)) chain.add(required(column));
+        }
+        return chain.toArray(Rule[]::new);
+    }
+
+    private static Rule required(String column) {
+        return switch (column) {
+            case ImportRowRules.EXTERNAL_ID -> (in, w, errors) -> isBlank(in.getExternalId()) ? add(errors, ID_REQUIRED) : errors;
+            case ImportRowRules.USER_EMAIL  -> (in, w, errors) -> isBlank(in.getUserEmail()) ? add(errors, EMAIL_REQUIRED) : errors;
+            case ImportRowRules.AMOUNT      -> (in, w, errors) -> in.getAmount() == null ? add(errors, AMOUNT_REQUIRED) : errors;
+            case ImportRowRules.EVENT_TIME  -> (in, w, errors) -> in.getEventTime() == null ? add(errors, TIME_REQUIRED) : errors;
+            default -> throw new IllegalStateException("No required check for " + column);
+        };
+    }
+
+    private Rule rule(String column) {
+        return switch (column) {
+            case ImportRowRules.EXTERNAL_ID -> this::checkExternalId;
+            case ImportRowRules.USER_EMAIL  -> ImportRecordProcessor::checkEmail;
+            case ImportRowRules.AMOUNT      -> ImportRecordProcessor::checkAmount;
+            case ImportRowRules.EVENT_TIME  -> ImportRecordProcessor::checkEventTime;
+            default -> throw new IllegalArgumentException(
+                    "Unknown import rule: " + column + " (expected one of " + ImportRuleProperties.DEFAULT_CHAIN + ")");
+        };
+    }
+
+    private Window newWindow() {
+        // Convertir años a días aproximados (365 días por año)
+        Instant now = Instant.now(clock);
+        return new Window(now, now.minus(windowYears * 365L, ChronoUnit.DAYS));
+    }
+
+    // Ya commiteado (este step, otra partición o una ejecución anterior) => DUPLICATED_IN_FILE;
+    // visto en otra línea de un chunk aún sin commitear (este u otro hilo) => DUPLICATED_IN_CHUNK
+    private List<FieldError> checkExternalId(ImportRecord in, Window window, List<FieldError> errors) {
+        String id = in.getExternalId();
+        if (isBlank(id)) return add(errors, ID_REQUIRED);
+        long line = in.getLineNumber();
+        Long first = firstLine.putIfAbsent(id, line);
+        boolean again = first != null && (line == 0 || first != line);   // 0: sin línea, siempre otra fila
+        if (duplicates != null && duplicates.seenInEarlierChunk(id)) return add(errors, ID_EARLIER_CHUNK);
+        if (again) return add(errors, ID_DUPLICATED);
+        return errors;
+    }
+
+    private static List<FieldError> checkEmail(ImportRecord in, Window window, List<FieldError> errors) {
+        String email = in.getUserEmail();
+        if (isBlank(email)) return add(errors, EMAIL_REQUIRED);
+        if (!EmailSyntax.isValid(email)) return add(errors, EMAIL_INVALID);
+        return errors;
+    }
+
+    // amount >= 0
+    private static List<FieldError> checkAmount(ImportRecord in, Window window, List<FieldError> errors) {
+        BigDecimal amount = in.getAmount();
+        if (amount == null) return add(errors, AMOUNT_REQUIRED);
+        if (amount.signum() < 0) return add(errors, AMOUNT_NEGATIVE);
+        return errors;
+    }
+
+    // eventTime: no futuro, dentro de ventana
+    private static List<FieldError> checkEventTime(ImportRecord in, Window window, List<FieldError> errors) {
+        Instant t = in.getEventTime();
+        if (t == null) return add(errors, TIME_REQUIRED);
+        if (t.isAfter(window.now())) errors = add(errors, TIME_FUTURE);
+        if (t.isBefore(window.oldest())) errors = add(errors, TIME_OUT_OF_WINDOW);
+        return errors;
+    }
+
+    private static List<FieldError> add(List<FieldError> errors, FieldError error) {
+        if (errors == null) errors = new ArrayList<>(4);
+        errors.add(error);
+        return errors;
     }
 
     private static boolean isBlank(String s) {
@@ -0,0 +1,145 @@
+package com.practice.apiservice.batch.processor;
+
+import com.practice.io.schema.ColumnType;
+import com.practice.io.schema.RecordSchema;
+import com.practice.io.schema.RowBuffer;
+import com.practice.io.schema.SchemaRowValidator;
+import com.practice.io.schema.SchemaRowValidator.RowRule;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Reglas de {@link ImportRecordProcessor} para el modo {@code readerMode=schema}, sobre las
+ * celdas primitivas del {@link RowBuffer} en vez de un {@code ImportRecord} por fila.
+ * <p>
+ * Se aplican las de la cadena de {@link ImportRuleProperties}, por nombre de columna y solo a
+ * las columnas que el esquema tenga; un esquema sin ellas queda solo con las reglas de
+ * nulabilidad de {@link SchemaRowValidator}.
+ * Mismos motivos que el processor: {@code DUPLICATED_IN_CHUNK}, {@code DUPLICATED_IN_FILE},
+ * {@code INVALID_FORMAT}, {@code NEGATIVE}, {@code FUTURE}, {@code OUT_OF_WINDOW}.
+ */
+public final class ImportRowRules {
+
+    public static final String EXTERNAL_ID = "external_id";
+    public static final String USER_EMAIL = "user_email";
+    public static final String AMOUNT = "amount";
+    public static final String EVENT_TIME = "event_time";
+
+    private ImportRowRules() { }
+
+    /** {@link #validator(RecordSchema, List, int, Clock, CrossChunkDuplicateDetector)} con la cadena default. */
+    public static SchemaRowValidator validator(RecordSchema schema, int windowYears, Clock clock,
+                                               CrossChunkDuplicateDetector duplicates) {
+        return validator(schema, ImportRuleProperties.DEFAULT_CHAIN, windowYears, clock, duplicates);
+    }
+
+    /**
+     * Validador de {@code schema} con las reglas de import de {@code chain}, en ese orden.
+     *
+     * @param duplicates duplicados entre chunks; {@code null} para no comprobarlos
+     */
+    public static SchemaRowValidator validator(RecordSchema schema, List<String> chain, int windowYears, Clock clock,
+                                               CrossChunkDuplicateDetector duplicates) {
+        var b = SchemaRowValidator.builder(schema);
+        for (String name : chain) {
+            switch (name) {
+                case EXTERNAL_ID -> {
+                    int id = column(schema, EXTERNAL_ID, ColumnType.STRING);
+                    if (id >= 0) b.rule(EXTERNAL_ID, new ExternalIdRule(id, duplicates));
+                }
+                case USER_EMAIL -> {
+                    int email = column(schema, USER_EMAIL, ColumnType.STRING);
+                    if (email >= 0) b.rule(USER_EMAIL,
+                            (rows, row) -> EmailSyntax.isValid(rows.getString(email, row)) ? null : "INVALID_FORMAT");
+                }
+                case AMOUNT -> {
+                    int amount = column(schema, AMOUNT, ColumnType.DECIMAL);
+                    if (amount >= 0) b.rule(AMOUNT, (rows, row) -> rows.getLong(amount, row) < 0 ? "NEGATIVE" : null);
+                }
+                case EVENT_TIME -> {
+                    int time = column(schema, EVENT_TIME, ColumnType.INSTANT);
+                    if (time >= 0) b.rule(EVENT_TIME, new EventTimeRule(time, windowYears, clock));
+                }
+                default -> throw new IllegalArgumentException(
+                        "Unknown import rule: " + name + " (expected one of " + ImportRuleProperties.DEFAULT_CHAIN + ")");
+            }
+        }
+
+        // Transformación de la fila válida, con o sin regla de formato
+        int email = column(schema, USER_EMAIL, ColumnType.STRING);
+        if (email >= 0) b.transform((rows, row) -> {
+            String value = rows.getString(email, row);
+            if (value != null) rows.setString(email, row, value.toLowerCase(Locale.ROOT));
+        });
+        return b.build();
+    }
+
+    private static int column(RecordSchema schema, String name, ColumnType type) {
+        int c = schema.indexOf(name);
+        if (c >= 0 && schema.column(c).type() != type) {
+            throw new IllegalArgumentException(name + " must be " + type + " in " + schema);
+        }
+        return c;
+    }
+
+    // externalId único en el chunk y en los chunks ya commiteados
+    private static final class ExternalIdRule implements RowRule {
+        private final int col;
+        private final CrossChunkDuplicateDetector duplicates;
+        private final Set<String> seen = new HashSet<>();
+
+        ExternalIdRule(int col, CrossChunkDuplicateDetector duplicates) {
+            this.col = col;
+            this.duplicates = duplicates;
+        }
+
+        @Override public void beginChunk(RowBuffer rows) { seen.clear(); }
+
+        @Override public String check(RowBuffer rows, int row) {
+            String id = rows.getString(col, row);
+            if (!seen.add(id)) return "DUPLICATED_IN_CHUNK";
+            if (duplicates != null && duplicates.seenInEarlierChunk(id)) return CrossChunkDuplicateDetector.REASON;
+            return null;
+        }
+    }
+
+    // eventTime: no futuro, dentro de ventana (fijada al abrir el chunk, como el processor)
+    private static final class EventTimeRule implements RowRule {
+        private final int col;
+        private final int windowYears;
+        private final Clock clock;
+        private long nowSecond;
+        private int nowNano;
+        private long oldestSecond;
+        private int oldestNano;
+
+        EventTimeRule(int col, int windowYears, Clock clock) {
+            this.col = col;
+            this.windowYears = windowYears;
+            this.clock = clock == null ? Clock.systemUTC() : clock;
+        }
+
+        @Override public void beginChunk(RowBuffer rows) {
+            Instant now = Instant.now(clock);
+            Instant oldest = now.minus(windowYears * 365L, ChronoUnit.DAYS);
+            nowSecond = now.getEpochSecond();
+            nowNano = now.getNano();
+            oldestSecond = oldest.getEpochSecond();
+            oldestNano = oldest.getNano();
+        }
+
+        @Override public String check(RowBuffer rows, int row) {
+            long s = rows.epochSecond(col, row);
+            int n = rows.nano(col, row);
+            if (s > nowSecond || (s == nowSecond && n > nowNano)) return "FUTURE";
+            if (s < oldestSecond || (s == oldestSecond && n < oldestNano)) return "OUT_OF_WINDOW";
+            return null;
+        }
+    }
+}
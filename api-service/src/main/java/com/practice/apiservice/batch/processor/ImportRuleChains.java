@@ -0,0 +1,29 @@
+package com.practice.apiservice.batch.processor;
+
+import com.practice.apiservice.repository.ProcessingRequestRepository;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resuelve la cadena de reglas de un job: la de la {@code BatchJobConfig} de su processing
+ * request, si {@link ImportRuleProperties} declara una, o la default.
+ */
+@Component
+public class ImportRuleChains {
+
+    private final ImportRuleProperties properties;
+    private final ProcessingRequestRepository requests;
+
+    public ImportRuleChains(ImportRuleProperties properties, ProcessingRequestRepository requests) {
+        this.properties = properties;
+        this.requests = requests;
+    }
+
+    /** @param processingRequestId job parameter del mismo nombre; {@code null} => cadena default */
+    public List<String> forRequest(String processingRequestId) {
+        if (processingRequestId == null || properties.byConfig().isEmpty()) return properties.chain();
+        UUID configId = requests.findBatchJobConfigId(UUID.fromString(processingRequestId)).orElse(null);
+        return properties.chainFor(configId);
+    }
+}
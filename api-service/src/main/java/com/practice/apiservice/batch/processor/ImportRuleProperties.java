@@ -0,0 +1,41 @@
+package com.practice.apiservice.batch.processor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Cadena de reglas de validación del import ({@code batch.processor.rules}): qué columnas se
+ * validan y en qué orden, que es también el orden de los errores de una fila.
+ *
+ * <pre>
+ * batch:
+ *   processor:
+ *     rules:
+ *       chain: [external_id, user_email, amount, event_time]   # default de todas las configs
+ *       by-config:                                             # cadena propia de una BatchJobConfig
+ *         "00000000-0000-0000-0000-000000000002": [external_id, amount]
+ * </pre>
+ *
+ * Los nombres son los de las columnas del CSV ({@link ImportRowRules#EXTERNAL_ID}, ...).
+ * La cadena elige y ordena las reglas de cada columna (formato, signo, ventana, duplicados);
+ * las columnas que no nombra siguen siendo obligatorias: un valor vacío se rechaza con
+ * {@code REQUIRED}, porque son {@code not null} en {@code import_records}.
+ */
+@ConfigurationProperties("batch.processor.rules")
+public record ImportRuleProperties(List<String> chain, Map<UUID, List<String>> byConfig) {
+
+    public static final List<String> DEFAULT_CHAIN = List.of(
+            ImportRowRules.EXTERNAL_ID, ImportRowRules.USER_EMAIL, ImportRowRules.AMOUNT, ImportRowRules.EVENT_TIME);
+
+    public ImportRuleProperties {
+        chain = chain == null || chain.isEmpty() ? DEFAULT_CHAIN : List.copyOf(chain);
+        byConfig = byConfig == null ? Map.of() : Map.copyOf(byConfig);
+    }
+
+    /** Cadena de la config {@code configId} ({@code null}: ninguna), o la default. */
+    public List<String> chainFor(UUID configId) {
+        return configId == null ? chain : byConfig.getOrDefault(configId, chain);
+    }
+}
@@ -1,10 +1,13 @@
 package com.practice.apiservice.batch.processor;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@EnableConfigurationProperties(ImportRuleProperties.class)
 public class ProcessorConfig {
     // Los beans @Component/@StepScope ya se registran:
     // - ImportRecordProcessor
     // - LoggingProcessListener
+    // - ImportRuleChains (cadena de reglas de batch.processor.rules)
 }
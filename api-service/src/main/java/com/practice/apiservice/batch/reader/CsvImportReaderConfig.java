@@ -1,7 +1,10 @@
 package com.practice.apiservice.batch.reader;
 
+import com.practice.apiservice.batch.schema.ImportSchemas;
 import com.practice.apiservice.model.ImportRecord;
+import com.practice.io.schema.Column;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import org.springframework.batch.item.file.FlatFileItemReader;
 import org.springframework.batch.item.file.LineMapper;
 import org.springframework.batch.item.file.mapping.DefaultLineMapper;
@@ -16,19 +19,27 @@ import org.springframework.core.io.FileSystemResource;
 @Configuration
 public class CsvImportReaderConfig {
 
-    private static final String EXPECTED_HEADER = "external_id,user_email,amount,event_time";
+    /** {@code external_id,user_email,amount,event_time}. */
+    public static final String EXPECTED_HEADER = ImportSchemas.IMPORT_RECORDS.header(',');
+
+    /** Valores del job parameter {@code readerMode}. */
+    public static final String READER_FLATFILE = "flatfile";
+    public static final String READER_MMAP = "mmap";
+    public static final String READER_SCHEMA = "schema";
 
     @Bean
     @StepScope
     public FlatFileItemReader<ImportRecord> importRecordReader(
             @Value("#{jobParameters['storagePath']}") String storagePath,
-            @Value("#{jobParameters['delimiter']?:','}") String delimiter) {
+            @Value("#{jobParameters['delimiter']?:','}") String delimiter,
+            @Value("#{jobParameters['threads']?:1}") Integer threads) {
 
         FlatFileItemReader<ImportRecord> reader = new FlatFileItemReader<>();
         reader.setName("importRecordReader");
         reader.setEncoding(StandardCharsets.UTF_8.name());
         reader.setResource(new FileSystemResource(storagePath));
-        reader.setSaveState(true);
+        // Con threads > 1 el offset leído no coincide con lo commiteado: sin checkpoint
+        reader.setSaveState(threads <= 1);
 
         // Falla si el archivo no existe (puedes poner false si prefieres validar antes)
         reader.setStrict(true);
@@ -42,22 +53,79 @@ public class CsvImportReaderConfig {
             }
         });
 
-        // Tokenizer + mapper
-        reader.setLineMapper(lineMapper(delimiter));
+        // Tokenizer + mapper (el lineNumber del reader ya cuenta el header)
+        reader.setLineMapper(lineMapper(delimiter, 0));
+        return reader;
+    }
+
+    /**
+     * Reader de una partición (modo {@code gridSize > 1}): lee solo el rango de bytes
+     * asignado por {@code CsvLinePartitioner}. El header ya fue validado al particionar.
+     */
+    @Bean
+    @StepScope
+    public FlatFileItemReader<ImportRecord> partitionRecordReader(
+            @Value("#{jobParameters['storagePath']}") String storagePath,
+            @Value("#{jobParameters['delimiter']?:','}") String delimiter,
+            @Value("#{stepExecutionContext['startOffset']}") Long startOffset,
+            @Value("#{stepExecutionContext['endOffset']}") Long endOffset,
+            @Value("#{stepExecutionContext['startLine']}") Long startLine) {
+
+        FlatFileItemReader<ImportRecord> reader = new LineOffsetFlatFileItemReader<>(startLine - 1);
+        reader.setName("partitionRecordReader");
+        reader.setEncoding(StandardCharsets.UTF_8.name());
+        reader.setResource(new FileRangeResource(Path.of(storagePath), startOffset, endOffset));
+        reader.setSaveState(true);   // checkpoint propio por partición
+        reader.setStrict(true);
+        reader.setLineMapper(lineMapper(delimiter, startLine - 1));
+        return reader;
+    }
+
+    /** Variante {@code readerMode=mmap} de {@link #importRecordReader}. */
+    @Bean
+    @StepScope
+    public MappedCsvImportRecordReader mappedImportRecordReader(
+            @Value("#{jobParameters['storagePath']}") String storagePath,
+            @Value("#{jobParameters['delimiter']?:','}") String delimiter,
+            @Value("#{jobParameters['threads']?:1}") Integer threads) {
+
+        var reader = new MappedCsvImportRecordReader(Path.of(storagePath), delimiter.charAt(0));
+        reader.setSaveState(threads <= 1);
+        return reader;
+    }
+
+    /** Variante {@code readerMode=mmap} de {@link #partitionRecordReader}. */
+    @Bean
+    @StepScope
+    public MappedCsvImportRecordReader mappedPartitionRecordReader(
+            @Value("#{jobParameters['storagePath']}") String storagePath,
+            @Value("#{jobParameters['delimiter']?:','}") String delimiter,
+            @Value("#{stepExecutionContext['startOffset']}") Long startOffset,
+            @Value("#{stepExecutionContext['endOffset']}") Long endOffset,
+            @Value("#{stepExecutionContext['startLine']}") Long startLine) {
+
+        var reader = new MappedCsvImportRecordReader(
+                Path.of(storagePath), delimiter.charAt(0), startOffset, endOffset, startLine);
+        reader.setName("mappedPartitionRecordReader");
         return reader;
     }
 
-    private LineMapper<ImportRecord> lineMapper(String delimiter) {
+    /** Mapper de línea que además anota en el record su línea en el archivo original. */
+    private LineMapper<ImportRecord> lineMapper(String delimiter, long lineOffset) {
         DelimitedLineTokenizer tokenizer = new DelimitedLineTokenizer();
         tokenizer.setDelimiter(delimiter);
         tokenizer.setQuoteCharacter('"');            // admite comillas
         tokenizer.setStrict(true);
-        tokenizer.setNames("external_id", "user_email", "amount", "event_time");
+        tokenizer.setNames(ImportSchemas.IMPORT_RECORDS.columns().stream().map(Column::name).toArray(String[]::new));
 
         DefaultLineMapper<ImportRecord> mapper = new DefaultLineMapper<>();
         mapper.setLineTokenizer(tokenizer);
         mapper.setFieldSetMapper(new ImportRecordFieldSetMapper());
         mapper.afterPropertiesSet();
-        return mapper;
+        return (line, lineNumber) -> {
+            ImportRecord record = mapper.mapLine(line, lineNumber);
+            record.setLineNumber(lineNumber + lineOffset);
+            return record;
+        };
     }
 }
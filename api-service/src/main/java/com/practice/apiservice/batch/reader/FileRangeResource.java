@@ -0,0 +1,85 @@
+package com.practice.apiservice.batch.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+import org.springframework.core.io.AbstractResource;
+
+/**
+ * Vista de solo lectura sobre el rango {@code [start, end)} de un archivo.
+ * Permite que un {@code FlatFileItemReader} procese una partición como si fuera un archivo completo.
+ */
+public class FileRangeResource extends AbstractResource {
+
+    private final Path path;
+    private final long start;
+    private final long end;
+
+    public FileRangeResource(Path path, long start, long end) {
+        if (start < 0 || end < start) {
+            throw new IllegalArgumentException("Invalid range [" + start + ", " + end + ")");
+        }
+        this.path = Objects.requireNonNull(path, "path");
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public boolean exists() {
+        return Files.exists(path);
+    }
+
+    @Override
+    public long contentLength() {
+        return end - start;
+    }
+
+    @Override
+    public String getDescription() {
+        return "file [" + path.toAbsolutePath() + "] bytes [" + start + ", " + end + ")";
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        FileChannel ch = FileChannel.open(path, StandardOpenOption.READ);
+        ch.position(start);
+        return new RangeInputStream(ch, end - start);
+    }
+
+    /** InputStream acotado a {@code remaining} bytes del canal. */
+    private static final class RangeInputStream extends InputStream {
+        private final FileChannel ch;
+        private long remaining;
+
+        RangeInputStream(FileChannel ch, long remaining) {
+            this.ch = ch;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            int n = read(one, 0, 1);
+            return n == -1 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) return -1;
+            int n = ch.read(ByteBuffer.wrap(b, off, (int) Math.min(len, remaining)));
+            if (n > 0) remaining -= n;
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            ch.close();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.practice.apiservice.batch.reader;
 
 import com.practice.apiservice.model.ImportRecord;
+import com.practice.io.csv.CsvFieldParsers;
 import java.math.BigDecimal;
 import java.time.Instant;
 import org.springframework.batch.item.file.transform.FieldSet;
@@ -10,14 +11,27 @@ public class ImportRecordFieldSetMapper implements FieldSetMapper<ImportRecord>
 
     @Override
     public ImportRecord mapFieldSet(FieldSet fs) {
-        String externalId = emptyToNull(fs.readString("external_id"));
-        String userEmail  = emptyToNull(fs.readString("user_email"));
+        return toRecord(
+                fs.readString("external_id"),
+                fs.readString("user_email"),
+                fs.readString("amount"),
+                fs.readString("event_time"));
+    }
+
+    /**
+     * Conversión compartida con {@link MappedCsvImportRecordReader}: mismos tipos y mismas reglas de nulos.
+     * Fechas UTC e importes {@code numeric(18,2)} van por {@link CsvFieldParsers}; el resto cae a
+     * {@code Instant.parse} / {@code new BigDecimal}, con sus mismas excepciones.
+     */
+    static ImportRecord toRecord(String externalIdStr, String userEmailStr, String amountStr, String eventStr) {
+        String externalId = emptyToNull(externalIdStr);
+        String userEmail  = emptyToNull(userEmailStr);
 
-        String amountStr  = emptyToNull(fs.readString("amount"));
-        BigDecimal amount = (amountStr == null) ? null : new BigDecimal(amountStr);
+        amountStr         = emptyToNull(amountStr);
+        BigDecimal amount = (amountStr == null) ? null : CsvFieldParsers.parseAmount(amountStr);
 
-        String eventStr   = emptyToNull(fs.readString("event_time"));
-        Instant eventTime = (eventStr == null) ? null : Instant.parse(eventStr); // ISO-8601
+        eventStr          = emptyToNull(eventStr);
+        Instant eventTime = (eventStr == null) ? null : CsvFieldParsers.parseInstant(eventStr); // ISO-8601
 
         return new ImportRecord(externalId, userEmail, amount, eventTime);
     }
@@ -0,0 +1,31 @@
+package com.practice.apiservice.batch.reader;
+
+import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.file.FlatFileParseException;
+
+/**
+ * {@link FlatFileItemReader} que lee un trozo del archivo original y traduce los
+ * números de línea de {@link FlatFileParseException} a la numeración absoluta,
+ * para que {@code ImportSkipListener} persista la misma fila que en modo secuencial.
+ */
+public class LineOffsetFlatFileItemReader<T> extends FlatFileItemReader<T> {
+
+    private final long lineOffset;
+
+    /** @param lineOffset líneas del archivo original anteriores al trozo (header incluido) */
+    public LineOffsetFlatFileItemReader(long lineOffset) {
+        this.lineOffset = lineOffset;
+    }
+
+    @Override
+    protected T doRead() throws Exception {
+        try {
+            return super.doRead();
+        } catch (FlatFileParseException e) {
+            int line = (int) (e.getLineNumber() + lineOffset);
+            throw new FlatFileParseException(
+                    "Parsing error at line: " + line + ", input=[" + e.getInput() + "]",
+                    e.getCause(), e.getInput(), line);
+        }
+    }
+}
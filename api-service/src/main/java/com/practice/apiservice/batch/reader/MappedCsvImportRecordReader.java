@@ -0,0 +1,229 @@
+package com.practice.apiservice.batch.reader;
+
+import com.practice.apiservice.model.ImportRecord;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemStreamSupport;
+import org.springframework.batch.item.ReaderNotOpenException;
+import org.springframework.batch.item.file.FlatFileParseException;
+
+/**
+ * Reader de {@link ImportRecord} sobre un archivo mapeado en memoria ({@code readerMode=mmap}).
+ * <p>
+ * Separa líneas, delimitadores y comillas directamente sobre el {@link MappedByteBuffer}
+ * y solo decodifica los cuatro campos del registro: no crea el {@code String} de la línea,
+ * ni el {@code String[]} de tokens, ni el {@code FieldSet}. Respeta las reglas del reader
+ * {@code FlatFileItemReader} + {@code DelimitedLineTokenizer} (comillas {@code "},
+ * comentarios {@code #}, trim de campos, 4 columnas exactas) y lanza
+ * {@link FlatFileParseException} con el número de línea absoluto.
+ * <p>
+ * El checkpoint es el offset en bytes de la siguiente línea, así un restart reanuda sin releer.
+ * No es thread-safe.
+ */
+public class MappedCsvImportRecordReader extends ItemStreamSupport implements ItemStreamReader<ImportRecord> {
+
+    private static final String BYTE_OFFSET = "byte.offset";
+    private static final String LINE_COUNT  = "line.count";
+    private static final int FIELDS = 4;
+    private static final byte QUOTE = '"';
+
+    private final Path path;
+    private final byte delimiter;
+    private final long rangeStart;
+    private final long rangeEnd;          // -1 = hasta el final del archivo
+    private final long firstLine;         // línea absoluta del primer byte del rango
+    private final boolean hasHeader;
+    private boolean saveState = true;
+
+    private MappedByteBuffer buf;
+    private int pos;
+    private int limit;
+    private long lineCount;
+
+    private final int[] starts = new int[FIELDS];
+    private final int[] ends = new int[FIELDS];
+    private byte[] scratch = new byte[256];
+
+    /** Archivo completo; la línea 1 debe ser {@link CsvImportReaderConfig#EXPECTED_HEADER}. */
+    public MappedCsvImportRecordReader(Path path, char delimiter) {
+        this(path, delimiter, 0, -1, 1, true);
+    }
+
+    /** Rango {@code [start, end)} de una partición, sin header; {@code firstLine} es su primera línea absoluta. */
+    public MappedCsvImportRecordReader(Path path, char delimiter, long start, long end, long firstLine) {
+        this(path, delimiter, start, end, firstLine, false);
+    }
+
+    private MappedCsvImportRecordReader(Path path, char delimiter, long start, long end,
+                                        long firstLine, boolean hasHeader) {
+        if (delimiter > 0x7F) throw new IllegalArgumentException("delimiter must be ASCII: " + delimiter);
+        this.path = Objects.requireNonNull(path, "path");
+        this.delimiter = (byte) delimiter;
+        this.rangeStart = start;
+        this.rangeEnd = end;
+        this.firstLine = firstLine;
+        this.hasHeader = hasHeader;
+        setName("mappedImportRecordReader");
+    }
+
+    /** Igual que {@code FlatFileItemReader#setSaveState}: en false no guarda ni restaura checkpoint. */
+    public void setSaveState(boolean saveState) {
+        this.saveState = saveState;
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* ItemStream                                                          */
+    /* ------------------------------------------------------------------ */
+
+    @Override
+    public void open(ExecutionContext ctx) throws ItemStreamException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            long end = rangeEnd < 0 ? ch.size() : Math.min(rangeEnd, ch.size());
+            long length = Math.max(0, end - rangeStart);
+            if (length > Integer.MAX_VALUE) {
+                throw new ItemStreamException("Range too large to map (" + length + " bytes): " + path
+                        + "; use gridSize to split it or readerMode=flatfile");
+            }
+            // el mapping sigue siendo válido tras cerrar el canal; se libera con el GC
+            buf = ch.map(FileChannel.MapMode.READ_ONLY, rangeStart, length);
+            limit = (int) length;
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to initialize the reader: " + path, e);
+        }
+
+        pos = 0;
+        lineCount = firstLine - 1;
+        if (hasHeader && limit > 0) {
+            try {
+                checkHeader();
+            } catch (FlatFileParseException e) {
+                throw new ItemStreamException("Failed to initialize the reader", e);
+            }
+        }
+
+        if (saveState && ctx.containsKey(getExecutionContextKey(BYTE_OFFSET))) {
+            pos = (int) (ctx.getLong(getExecutionContextKey(BYTE_OFFSET)) - rangeStart);
+            lineCount = ctx.getLong(getExecutionContextKey(LINE_COUNT));
+        }
+    }
+
+    @Override
+    public void update(ExecutionContext ctx) throws ItemStreamException {
+        if (buf == null || !saveState) return;
+        ctx.putLong(getExecutionContextKey(BYTE_OFFSET), rangeStart + pos);
+        ctx.putLong(getExecutionContextKey(LINE_COUNT), lineCount);
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        buf = null;
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Read                                                                */
+    /* ------------------------------------------------------------------ */
+
+    @Override
+    public ImportRecord read() {
+        if (buf == null) throw new ReaderNotOpenException("Reader must be open before it can be read.");
+        while (pos < limit) {
+            int lineStart = pos;
+            int lineEnd = lineStart;
+            while (lineEnd < limit && buf.get(lineEnd) != '\n') lineEnd++;
+            pos = lineEnd < limit ? lineEnd + 1 : limit;
+            lineCount++;
+
+            int contentEnd = lineEnd;
+            if (contentEnd > lineStart && buf.get(contentEnd - 1) == '\r') contentEnd--;
+            if (contentEnd > lineStart && buf.get(lineStart) == '#') continue;  // comentario
+
+            return parseLine(lineStart, contentEnd);
+        }
+        return null;
+    }
+
+    private ImportRecord parseLine(int from, int to) {
+        int count = 0;
+        int fieldStart = from;
+        boolean quoted = false;
+        for (int i = from; i < to; i++) {
+            byte b = buf.get(i);
+            if (b == QUOTE) {
+                quoted = !quoted;
+            } else if (b == delimiter && !quoted) {
+                if (count < FIELDS) { starts[count] = fieldStart; ends[count] = i; }
+                count++;
+                fieldStart = i + 1;
+            }
+        }
+        if (count < FIELDS) { starts[count] = fieldStart; ends[count] = to; }
+        count++;
+
+        if (count != FIELDS) {
+            throw parseError("Incorrect number of tokens found in record: expected "
+                    + FIELDS + " actual " + count, null, from, to);
+        }
+        try {
+            ImportRecord record = ImportRecordFieldSetMapper.toRecord(
+                    field(0), field(1), field(2), field(3));
+            record.setLineNumber(lineCount);
+            return record;
+        } catch (RuntimeException e) {
+            throw parseError(e.getMessage(), e, from, to);
+        }
+    }
+
+    /** Igual que {@code DelimitedLineTokenizer} + {@code FieldSet.readString}: trim y quita comillas. */
+    private String field(int idx) {
+        int s = starts[idx];
+        int e = ends[idx];
+        while (s < e && (buf.get(s) & 0xFF) <= ' ') s++;
+        while (e > s && (buf.get(e - 1) & 0xFF) <= ' ') e--;
+        if (s == e) return null;
+
+        boolean isQuoted = buf.get(s) == QUOTE && buf.get(e - 1) == QUOTE;
+        String value = decode(s, e);
+        if (!isQuoted) return value;
+
+        value = value.replace("\"\"", "\"");
+        int endIdx = Math.max(1, value.length() - 1);
+        return value.substring(1, endIdx).trim();
+    }
+
+    private String decode(int from, int to) {
+        int len = to - from;
+        if (len > scratch.length) scratch = Arrays.copyOf(scratch, Math.max(len, scratch.length * 2));
+        buf.get(from, scratch, 0, len);
+        return new String(scratch, 0, len, StandardCharsets.UTF_8);
+    }
+
+    private void checkHeader() {
+        int end = 0;
+        while (end < limit && buf.get(end) != '\n') end++;
+        pos = end < limit ? end + 1 : limit;
+        lineCount++;
+        if (end > 0 && buf.get(end - 1) == '\r') end--;
+        String header = decode(0, end);
+        if (!CsvImportReaderConfig.EXPECTED_HEADER.equals(header)) {
+            throw new FlatFileParseException(
+                    "Invalid header. Expected: " + CsvImportReaderConfig.EXPECTED_HEADER + " but was: " + header,
+                    header, 1);
+        }
+    }
+
+    private FlatFileParseException parseError(String msg, Throwable cause, int from, int to) {
+        String input = decode(from, to);
+        int line = (int) lineCount;
+        return new FlatFileParseException("Parsing error at line: " + line + " in resource=[" + path
+                + "], input=[" + input + "]: " + msg, cause, input, line);
+    }
+}
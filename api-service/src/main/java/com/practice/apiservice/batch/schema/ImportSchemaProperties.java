@@ -0,0 +1,64 @@
+package com.practice.apiservice.batch.schema;
+
+import com.practice.io.schema.Column;
+import com.practice.io.schema.ColumnType;
+import com.practice.io.schema.LeadingValue;
+import com.practice.io.schema.RecordSchema;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Esquemas de import {@code readerMode=schema} ({@code batch.schemas}): un formato nuevo se
+ * declara aquí, sin tocar código.
+ *
+ * <pre>
+ * batch:
+ *   schemas:
+ *     fallback:                                   # configs sin esquema propio
+ *       table: import_records
+ *       leading: { id: uuid, processing_request_id: request-id }   # columnas que no vienen en el CSV
+ *       columns:
+ *         - { name: external_id, type: string }
+ *         - { name: amount, type: decimal, scale: 2 }
+ *       key: external_id
+ *     by-config:                                  # esquema propio de una BatchJobConfig
+ *       "00000000-0000-0000-0000-000000000002": { table: ..., columns: [...] }
+ * </pre>
+ *
+ * Sin {@code fallback} se usa {@link ImportSchemas#IMPORT_RECORDS}.
+ */
+@ConfigurationProperties("batch.schemas")
+public record ImportSchemaProperties(Schema fallback, Map<UUID, Schema> byConfig) {
+
+    public ImportSchemaProperties {
+        byConfig = byConfig == null ? Map.of() : Map.copyOf(byConfig);
+    }
+
+    /** Un esquema: tabla destino, columnas previas al archivo, columnas del CSV en orden y clave. */
+    public record Schema(String table, Map<String, LeadingValue> leading, List<ColumnSpec> columns, String key) {
+
+        public Schema {
+            leading = leading == null ? Map.of() : new LinkedHashMap<>(leading);   // conserva el orden
+            columns = columns == null ? List.of() : List.copyOf(columns);
+        }
+
+        public RecordSchema toRecordSchema() {
+            var b = RecordSchema.builder(table);
+            leading.forEach(b::leading);
+            columns.forEach(c -> b.add(c.toColumn()));
+            if (key != null && !key.isBlank()) b.key(key);
+            return b.build();
+        }
+    }
+
+    /** Columna del CSV; {@code scale} solo para {@code decimal}. */
+    public record ColumnSpec(String name, ColumnType type, boolean optional, int scale) {
+
+        Column toColumn() {
+            return new Column(name, type, optional, scale);
+        }
+    }
+}
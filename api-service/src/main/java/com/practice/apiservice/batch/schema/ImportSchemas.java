@@ -0,0 +1,43 @@
+package com.practice.apiservice.batch.schema;
+
+import com.practice.io.schema.ColumnType;
+import com.practice.io.schema.LeadingValue;
+import com.practice.io.schema.RecordSchema;
+import com.practice.io.schema.SchemaRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Esquemas de import ({@code readerMode=schema}). El {@link SchemaRegistry} se llena desde la
+ * configuración ({@link ImportSchemaProperties}): el {@code fallback} para las configs sin
+ * esquema propio y uno por config en {@code by-config}. Un esquema mal declarado falla al arrancar.
+ */
+@Configuration
+@EnableConfigurationProperties(ImportSchemaProperties.class)
+public class ImportSchemas {
+
+    /**
+     * Mismo formato que {@code ImportRecord}: header {@code external_id,user_email,amount,event_time}.
+     * Fallback cuando {@code batch.schemas.fallback} no está configurado; el reader clásico lo usa
+     * para su header.
+     */
+    public static final RecordSchema IMPORT_RECORDS = RecordSchema.builder("import_records")
+            .leading("id", LeadingValue.UUID)
+            .leading("processing_request_id", LeadingValue.REQUEST_ID)
+            .column("external_id", ColumnType.STRING)
+            .column("user_email", ColumnType.STRING)
+            .decimal("amount", 2)                       // numeric(18,2)
+            .column("event_time", ColumnType.INSTANT)
+            .key("external_id")
+            .build();
+
+    @Bean
+    public SchemaRegistry schemaRegistry(ImportSchemaProperties properties) {
+        var registry = new SchemaRegistry(properties.fallback() == null
+                ? IMPORT_RECORDS
+                : properties.fallback().toRecordSchema());
+        properties.byConfig().forEach((configId, schema) -> registry.register(configId, schema.toRecordSchema()));
+        return registry;
+    }
+}
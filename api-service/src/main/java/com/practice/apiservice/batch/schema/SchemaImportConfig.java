@@ -0,0 +1,94 @@
+package com.practice.apiservice.batch.schema;
+
+import com.practice.apiservice.batch.processor.CrossChunkDuplicateDetector;
+import com.practice.apiservice.batch.processor.ImportRowRules;
+import com.practice.apiservice.batch.processor.ImportRuleProperties;
+import com.practice.apiservice.batch.writer.ImportRecordWriterConfig;
+import com.practice.apiservice.batch.writer.PgCopyImportRecordWriter;
+import com.practice.apiservice.mapper.EntityToDomainMapper;
+import com.practice.apiservice.repository.BatchJobConfigCache;
+import com.practice.apiservice.repository.ProcessingRequestRepository;
+import com.practice.io.schema.LeadingValue;
+import com.practice.io.schema.RecordSchema;
+import com.practice.io.schema.RejectionSink;
+import com.practice.io.schema.SchemaJdbcWriter;
+import com.practice.io.schema.SchemaRegistry;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.Optional;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SchemaImportConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaImportConfig.class);
+
+    /**
+     * Tasklet de {@code readerMode=schema}. El esquema sale del {@link SchemaRegistry} según la
+     * config del processing request ({@link ImportSchemaProperties}); reglas, SQL y formato COPY
+     * se generan a partir de él.
+     * Las reglas activas son la cadena de esa config en {@link ImportRuleProperties}.
+     */
+    @Bean
+    @StepScope
+    public SchemaImportTasklet schemaImportTasklet(
+            @Value("#{jobParameters['storagePath']}") String storagePath,
+            @Value("#{jobParameters['delimiter']?:','}") String delimiter,
+            @Value("#{jobParameters['chunkSize'] ?: 500}") Integer chunkSize,
+            @Value("#{jobParameters['processingRequestId']}") String processingRequestId,
+            @Value("#{jobParameters['writerMode'] ?: 'jdbc'}") String writerMode,
+            @Value("${batch.processor.event-window-years:2}") int windowYears,
+            @Value("${batch.csv.skip-limit:1000}") int skipLimit,
+            @Value("${batch.csv.persist-errors:true}") boolean persist,
+            DataSource dataSource,
+            SchemaRegistry registry,
+            ProcessingRequestRepository requests,
+            BatchJobConfigCache configs,
+            EntityToDomainMapper mapper,
+            CrossChunkDuplicateDetector duplicates,
+            ImportRuleProperties rules
+    ) {
+        UUID requestId = UUID.fromString(processingRequestId);
+        UUID configId = requests.findBatchJobConfigId(requestId)
+                .orElseThrow(() -> new IllegalStateException("No batch job config for request " + requestId));
+        RecordSchema schema = configs.find(configId)
+                .map(mapper::toDomain)
+                .map(registry::schemaFor)
+                .orElseThrow(() -> new IllegalStateException("No batch job config for request " + requestId));
+
+        // columnas previas al archivo (id, request) según el esquema
+        var sql = SchemaJdbcWriter.builder(schema, requestId);
+        Optional<String> requestColumn = schema.leadingColumn(LeadingValue.REQUEST_ID);
+        if (schema.keyIndex() >= 0 && requestColumn.isPresent()) {
+            // idempotente por (request, clave), como ux_import_records_req_ext
+            sql.onConflictDoNothing(requestColumn.get(), schema.column(schema.keyIndex()).name());
+        }
+        boolean copy = ImportRecordWriterConfig.WRITER_COPY.equals(writerMode);
+        if (copy && !PgCopyImportRecordWriter.supports(dataSource)) {
+            log.warn("writerMode=copy requires PostgreSQL; falling back to the JDBC batch writer");
+            copy = false;
+        }
+
+        return new SchemaImportTasklet(Path.of(storagePath), delimiter.charAt(0), chunkSize,
+                ImportRowRules.validator(schema, rules.chainFor(configId), windowYears, Clock.systemUTC(), duplicates),
+                new SchemaImportWriter(dataSource, sql.build(), copy),
+                rejections(requestId),
+                persist ? new SchemaRejectionWriter(dataSource, requestId, true) : null,
+                skipLimit, duplicates);
+    }
+
+    /** Log de rechazos con el mismo formato que {@code ImportSkipListener}; el tasklet los persiste. */
+    private static RejectionSink rejections(UUID requestId) {
+        return (record, key, column, reason) -> {
+            String detail = column == null ? reason : column + "=" + reason;
+            log.info("skip_in_schema event=REJECTED req={} row={} ext={} reason={}", requestId, record, key, detail);
+        };
+    }
+}
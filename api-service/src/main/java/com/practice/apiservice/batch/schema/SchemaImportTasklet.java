@@ -0,0 +1,184 @@
+package com.practice.apiservice.batch.schema;
+
+import com.practice.apiservice.batch.processor.CrossChunkDuplicateDetector;
+import com.practice.io.csv.SchemaCsvReader;
+import com.practice.io.schema.RejectionSink;
+import com.practice.io.schema.RowBuffer;
+import com.practice.io.schema.SchemaRowValidator;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.skip.SkipLimitExceededException;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.lang.NonNull;
+
+/**
+ * Step {@code readerMode=schema}: cada ejecución del tasklet es un chunk completo, en la
+ * transacción del step, sobre un único {@link RowBuffer} reutilizado.
+ * <ol>
+ *   <li>{@link SchemaCsvReader} llena el buffer con hasta {@code chunkSize} registros;</li>
+ *   <li>{@link SchemaRowValidator} descarta filas inválidas y transforma el resto;</li>
+ *   <li>{@link SchemaImportWriter} escribe las filas que quedan.</li>
+ * </ol>
+ * Cada registro rechazado (parseo o validación) cuenta solo como skip: parseo = read skip,
+ * validación = process skip; {@code readCount} son las filas válidas. Si el chunk supera
+ * {@code skipLimit} el step falla antes de escribir nada. Los rechazos van al {@link RejectionSink}
+ * (log) y a {@code import_errors} ({@link SchemaRejectionWriter}), en la misma transacción
+ * que las filas del chunk.
+ * Checkpoint: registros consumidos, guardados con el commit de cada chunk; un restart
+ * los salta sin parsearlos.
+ */
+public class SchemaImportTasklet implements Tasklet, ItemStream, ChunkListener, StepExecutionListener {
+
+    static final String CONSUMED_KEY = "schemaImport.consumed";
+    static final String SKIPPED_KEY = "schemaImport.skipped";
+
+    private final Path path;
+    private final char delimiter;
+    private final SchemaRowValidator validator;
+    private final SchemaImportWriter writer;
+    private final RejectionSink rejections;
+    private final SchemaRejectionWriter rejectionWriter;    // null => no se persisten
+    private final ChunkRejections chunkRejections = new ChunkRejections();
+    private final int skipLimit;
+    private final CrossChunkDuplicateDetector duplicates;   // opcional
+    private final RowBuffer rows;
+    private final int keyCol;
+    private final List<String> written = new ArrayList<>();
+
+    private SchemaCsvReader reader;
+    private long skipped;
+
+    public SchemaImportTasklet(Path path, char delimiter, int chunkSize, SchemaRowValidator validator,
+                               SchemaImportWriter writer, RejectionSink rejections,
+                               SchemaRejectionWriter rejectionWriter, int skipLimit,
+                               CrossChunkDuplicateDetector duplicates) {
+        this.path = Objects.requireNonNull(path, "path");
+        this.delimiter = delimiter;
+        this.validator = Objects.requireNonNull(validator, "validator");
+        this.writer = Objects.requireNonNull(writer, "writer");
+        this.rejections = Objects.requireNonNull(rejections, "rejections");
+        this.rejectionWriter = rejectionWriter;
+        this.skipLimit = skipLimit;
+        this.duplicates = duplicates;
+        this.rows = new RowBuffer(validator.schema(), chunkSize);
+        this.keyCol = validator.schema().keyIndex();
+    }
+
+    @Override
+    public void open(@NonNull ExecutionContext ctx) {
+        try {
+            reader = new SchemaCsvReader(Files.newBufferedReader(path, StandardCharsets.UTF_8),
+                    validator.schema(), delimiter);
+            reader.skip(ctx.getLong(CONSUMED_KEY, 0L));
+        } catch (IOException e) {
+            throw new ItemStreamException("Cannot open " + path, e);
+        }
+        skipped = ctx.getLong(SKIPPED_KEY, 0L);
+    }
+
+    @Override
+    public void update(@NonNull ExecutionContext ctx) {
+        if (reader == null) return;
+        ctx.putLong(CONSUMED_KEY, reader.dataRecordCount());
+        ctx.putLong(SKIPPED_KEY, skipped);
+    }
+
+    @Override
+    public void close() {
+        if (reader == null) return;
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new ItemStreamException("Cannot close " + path, e);
+        } finally {
+            reader = null;
+        }
+    }
+
+    @Override
+    public void beforeStep(@NonNull StepExecution stepExecution) {
+        if (duplicates != null) duplicates.open(stepExecution);
+    }
+
+    @Override
+    public RepeatStatus execute(@NonNull StepContribution contribution, @NonNull ChunkContext chunkContext)
+            throws Exception {
+        rows.clear();
+        written.clear();
+        chunkRejections.clear();
+
+        chunkRejections.prefix = "CSV_PARSE_ERROR: ";
+        int consumed = reader.read(rows, chunkRejections);
+        if (consumed == 0) return RepeatStatus.FINISHED;
+        int parsed = rows.size();
+        chunkRejections.prefix = "VALIDATION_ERROR: ";
+        int invalid = validator.validate(rows, chunkRejections);
+
+        // antes de escribir: un chunk que se pasa del límite no deja nada en la base
+        long total = skipped + consumed - parsed + invalid;
+        if (total > skipLimit) {
+            throw new SkipLimitExceededException(skipLimit,
+                    new IllegalStateException(total + " records rejected in " + path));
+        }
+
+        writer.write(rows);
+        if (rejectionWriter != null) rejectionWriter.write(chunkRejections.list);
+        skipped = total;
+
+        for (int i = 0, n = rows.size(); i < n; i++) contribution.incrementReadCount();
+        contribution.incrementReadSkipCount(consumed - parsed);
+        for (int i = 0; i < invalid; i++) contribution.incrementProcessSkipCount();
+        contribution.incrementWriteCount(rows.size());
+
+        if (duplicates != null && keyCol >= 0) {
+            for (int row = 0, n = rows.size(); row < n; row++) written.add(rows.text(keyCol, row));
+        }
+        return RepeatStatus.CONTINUABLE;
+    }
+
+    // post-commit: a partir de aquí los ids del chunk cuentan para los siguientes
+    @Override
+    public void afterChunk(@NonNull ChunkContext context) {
+        if (duplicates != null) duplicates.chunkCommitted(written);
+        written.clear();
+    }
+
+    @Override
+    public void afterChunkError(@NonNull ChunkContext context) {
+        written.clear();
+    }
+
+    // Rechazos del chunk en curso, uno por registro: los motivos de varias columnas van juntos
+    private final class ChunkRejections implements RejectionSink {
+        final List<SchemaRejectionWriter.Rejection> list = new ArrayList<>();
+        String prefix;
+
+        void clear() { list.clear(); }
+
+        @Override
+        public void reject(long record, String key, String column, String reason) {
+            rejections.reject(record, key, column, reason);
+            String detail = column == null ? reason : column + "=" + reason;
+            int last = list.size() - 1;
+            if (last >= 0 && list.get(last).record() == record) {
+                list.set(last, list.get(last).and(detail));
+            } else {
+                list.add(new SchemaRejectionWriter.Rejection(record, key, prefix + detail));
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.practice.apiservice.batch.schema;
+
+import com.practice.io.schema.RowBuffer;
+import com.practice.io.schema.SchemaJdbcWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Objects;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+/**
+ * Escritura de un chunk {@code readerMode=schema}: {@code INSERT} por lotes
+ * ({@link SchemaJdbcWriter#write}) o, con {@code copy}, {@code COPY} a una staging temporal
+ * con las columnas de la tabla destino + merge, como {@code PgCopyImportRecordWriter}.
+ * <p>
+ * Usa la conexión de la transacción del chunk ({@link DataSourceUtils}).
+ */
+public class SchemaImportWriter {
+
+    private final DataSource dataSource;
+    private final SchemaJdbcWriter sql;
+    private final boolean copy;
+    private final String stage;
+
+    public SchemaImportWriter(DataSource dataSource, SchemaJdbcWriter sql, boolean copy) {
+        this.dataSource = Objects.requireNonNull(dataSource, "dataSource");
+        this.sql = Objects.requireNonNull(sql, "sql");
+        this.copy = copy;
+        // las tablas temporales no llevan esquema: "s.t" → "s_t_stage"
+        this.stage = sql.schema().table().replace('.', '_') + "_stage";
+    }
+
+    public void write(RowBuffer rows) throws SQLException, IOException {
+        if (rows.isEmpty()) return;
+
+        Connection con = DataSourceUtils.getConnection(dataSource);
+        try {
+            if (copy) copy(con, rows);
+            else sql.write(con, rows);
+        } finally {
+            DataSourceUtils.releaseConnection(con, dataSource);
+        }
+    }
+
+    private void copy(Connection con, RowBuffer rows) throws SQLException, IOException {
+        try (Statement st = con.createStatement()) {
+            st.execute("create temp table if not exists " + stage
+                    + " (like " + sql.schema().table() + " including defaults)");
+            st.execute("truncate " + stage);
+        }
+        CopyManager copyApi = con.unwrap(PGConnection.class).getCopyAPI();
+        String csv = sql.appendCopyCsv(rows, new StringBuilder(rows.size() * 128)).toString();
+        copyApi.copyIn(sql.copySql(stage), new StringReader(csv));
+        try (Statement st = con.createStatement()) {
+            st.executeUpdate(sql.mergeSql(stage));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.practice.apiservice.batch.schema;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+/**
+ * Rechazos de un chunk {@code readerMode=schema} hacia {@code import_errors}, con la conexión
+ * de la transacción del chunk ({@link DataSourceUtils}), como {@link SchemaImportWriter}: un
+ * rollback los descarta junto con las filas, y un restart no los repite.
+ * <p>
+ * Con {@code onConflictDoNothing} el insert es además idempotente por (request, fila)
+ * ({@code ux_import_errors_req_row}), para otra ejecución del mismo processing request.
+ */
+public class SchemaRejectionWriter {
+
+    /** Un registro rechazado: sus motivos (uno por columna) van juntos en {@code reason}. */
+    public record Rejection(long record, String key, String reason) {
+        Rejection and(String detail) {
+            return new Rejection(record, key, reason + ", " + detail);
+        }
+    }
+
+    private static final String INSERT = """
+            INSERT INTO import_errors(processing_request_id, row_num, external_id, reason, raw_line)
+            VALUES (?, ?, ?, ?, NULL)
+            """;
+    private static final String ON_CONFLICT =
+            "ON CONFLICT (processing_request_id, row_num) WHERE row_num IS NOT NULL DO NOTHING";
+
+    private final DataSource dataSource;
+    private final UUID requestId;
+    private final String sql;
+
+    public SchemaRejectionWriter(DataSource dataSource, UUID requestId, boolean onConflictDoNothing) {
+        this.dataSource = Objects.requireNonNull(dataSource, "dataSource");
+        this.requestId = Objects.requireNonNull(requestId, "requestId");
+        this.sql = onConflictDoNothing ? INSERT + ON_CONFLICT : INSERT;
+    }
+
+    public void write(List<Rejection> rejections) throws SQLException {
+        if (rejections.isEmpty()) return;
+
+        Connection con = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+            for (Rejection r : rejections) {
+                ps.setObject(1, requestId);
+                ps.setLong(2, r.record());
+                if (r.key() == null) ps.setNull(3, Types.VARCHAR); else ps.setString(3, r.key());
+                ps.setString(4, r.reason());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        } finally {
+            DataSourceUtils.releaseConnection(con, dataSource);
+        }
+    }
+}
@@ -1,28 +1,148 @@
 package com.practice.apiservice.batch.skip;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Component;
 
+/**
+ * Errores de import hacia {@code import_errors}, en lotes.
+ * <p>
+ * {@link #save} solo encola (cola acotada); un hilo propio vacía la cola con {@code batchUpdate}
+ * cuando llega a {@code batch-size}, cada {@code flush-interval} y tras cada chunk
+ * ({@link #flushAsync}). {@link #flush} vacía en el hilo llamador ({@code afterStep}).
+ * Si la cola está llena, quien llama hace el flush (backpressure); solo se descarta si aun así
+ * no hay sitio o si el {@code batchUpdate} falla. Los INSERT ya no van en la transacción del chunk:
+ * son idempotentes por (request, fila) ({@code ux_import_errors_req_row}), así que un chunk que
+ * se reintenta o se relee tras un restart no duplica sus errores.
+ */
 @Component
-@RequiredArgsConstructor
-public class ImportErrorSink {
+public class ImportErrorSink implements DisposableBean {
 
-    private final NamedParameterJdbcTemplate jdbc;
+    private static final Logger log = LoggerFactory.getLogger(ImportErrorSink.class);
 
-    public void save(UUID requestId, Long row, String externalId, String reason, String rawLine) {
-        var sql = """
+    private static final String SQL = """
       INSERT INTO import_errors(processing_request_id, row_num, external_id, reason, raw_line)
       VALUES (:rid, :row, :ext, :reason, :raw)
+      ON CONFLICT (processing_request_id, row_num) WHERE row_num IS NOT NULL DO NOTHING
       """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final BlockingQueue<SqlParameterSource> queue;
+    private final int batchSize;
+    private final ScheduledExecutorService flusher;
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong flushed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public ImportErrorSink(
+            NamedParameterJdbcTemplate jdbc,
+            MeterRegistry registry,
+            @Value("${batch.csv.error-sink.capacity:10000}") int capacity,
+            @Value("${batch.csv.error-sink.batch-size:500}") int batchSize,
+            @Value("${batch.csv.error-sink.flush-interval:1s}") Duration flushInterval) {
+        this.jdbc = jdbc;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "import-error-sink");
+            t.setDaemon(true);
+            return t;
+        });
+        long ms = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, ms, ms, TimeUnit.MILLISECONDS);
+
+        FunctionCounter.builder("dataflow.import.errors.queued", queued, AtomicLong::get).register(registry);
+        FunctionCounter.builder("dataflow.import.errors.flushed", flushed, AtomicLong::get).register(registry);
+        FunctionCounter.builder("dataflow.import.errors.dropped", dropped, AtomicLong::get).register(registry);
+        Gauge.builder("dataflow.import.errors.pending", queue, BlockingQueue::size).register(registry);
+    }
+
+    public void save(UUID requestId, Long row, String externalId, String reason, String rawLine) {
         var p = new MapSqlParameterSource()
                 .addValue("rid", requestId)
                 .addValue("row", row)
                 .addValue("ext", externalId)
                 .addValue("reason", reason)
                 .addValue("raw", rawLine);
-        jdbc.update(sql, p);
+
+        if (!queue.offer(p)) {
+            flush();                                  // cola llena: backpressure
+            if (!queue.offer(p)) {
+                dropped.incrementAndGet();
+                log.warn("import error dropped: queue full req={} row={}", requestId, row);
+                return;
+            }
+        }
+        queued.incrementAndGet();
+        if (queue.size() >= batchSize) flushAsync();
+    }
+
+    /** Programa un flush en el hilo del sink (p.ej. tras el commit de un chunk). */
+    public void flushAsync() {
+        try {
+            flusher.execute(this::flushQuietly);
+        } catch (RejectedExecutionException e) {
+            flush();                                  // sink cerrándose: vaciar aquí
+        }
+    }
+
+    /** Vacía la cola completa en el hilo llamador. */
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<SqlParameterSource> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                try {
+                    jdbc.batchUpdate(SQL, batch.toArray(SqlParameterSource[]::new));
+                    flushed.addAndGet(batch.size());
+                } catch (RuntimeException e) {
+                    dropped.addAndGet(batch.size());
+                    log.error("import errors dropped: batch insert of {} failed: {}", batch.size(), e.getMessage());
+                }
+                batch.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public long queuedCount()  { return queued.get(); }
+    public long flushedCount() { return flushed.get(); }
+    public long droppedCount() { return dropped.get(); }
+
+    @Override
+    public void destroy() {
+        flusher.shutdown();
+        flush();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("import error flush failed", e);
+        }
     }
 }
@@ -6,7 +6,12 @@ import java.util.UUID;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.item.file.FlatFileParseException;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,7 +21,8 @@ import org.springframework.stereotype.Component;
 @Component
 @StepScope
 @RequiredArgsConstructor
-public class ImportSkipListener implements SkipListener<ImportRecord, ImportRecord> {
+public class ImportSkipListener implements SkipListener<ImportRecord, ImportRecord>,
+        ChunkListener, StepExecutionListener {
 
     private final ImportErrorSink sink;
 
@@ -43,7 +49,7 @@ public class ImportSkipListener implements SkipListener<ImportRecord, ImportReco
         Long row = null;
         String reason = t.getMessage();
         if (t instanceof RecordValidationException rve) {
-            row = rve.getRowNumber();
+            row = rve.getRowNumber() > 0 ? rve.getRowNumber() : null;   // 0: sin línea del reader
             // si tienes errores detalle, puedes formatearlos aquí
             reason = "VALIDATION_ERROR: " + rve.getMessage();
         }
@@ -60,4 +66,17 @@ public class ImportSkipListener implements SkipListener<ImportRecord, ImportReco
                 processingRequestId, ext, t.getMessage());
         if (persist) sink.save(processingRequestId, null, ext, "WRITE_ERROR: " + t.getMessage(), null);
     }
+
+    // El sink encola; los errores del chunk se insertan en lote tras su commit
+    @Override
+    public void afterChunk(ChunkContext context) {
+        if (persist) sink.flushAsync();
+    }
+
+    // Al terminar el step, import_errors queda completo
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        if (persist) sink.flush();
+        return stepExecution.getExitStatus();
+    }
 }
@@ -15,6 +15,9 @@ import org.springframework.util.StringUtils;
 public class CsvToJpaJobParametersValidator implements JobParametersValidator {
 
     private static final Set<String> ALLOWED_DELIMITERS = Set.of(",", ";");
+    private static final Set<String> ALLOWED_READER_MODES = Set.of("flatfile", "mmap", "schema");
+    private static final Set<String> ALLOWED_WRITER_MODES = Set.of("jdbc", "copy");
+    private static final long MAX_THREADS = 64;
 
     // Toggle para validar existencia del archivo de entrada (dev/prod configurable)
     private final boolean validateStoragePathExists;
@@ -34,6 +37,10 @@ public class CsvToJpaJobParametersValidator implements JobParametersValidator {
         String storagePath        = str(p.get("storagePath"));
         String delimiter          = str(p.get("delimiter")); // opcional
         Long chunkSize            = lng(p.get("chunkSize")); // opcional
+        Long gridSize             = lng(p.get("gridSize"));  // opcional (modo particionado)
+        Long threads              = lng(p.get("threads"));   // opcional (step multi-hilo)
+        String readerMode         = str(p.get("readerMode")); // opcional
+        String writerMode         = str(p.get("writerMode")); // opcional
 
         // Requeridos
         if (!StringUtils.hasText(processingRequestId)) errors.add("processingRequestId is required");
@@ -55,6 +62,31 @@ public class CsvToJpaJobParametersValidator implements JobParametersValidator {
             errors.add("chunkSize must be in range [100..10000]");
         }
 
+        // gridSize en rango (1 = step secuencial)
+        if (gridSize != null && (gridSize < 1 || gridSize > 64)) {
+            errors.add("gridSize must be in range [1..64]");
+        }
+
+        // threads en rango (1 = un solo hilo; es también el throttle limit del step)
+        if (threads != null && (threads < 1 || threads > MAX_THREADS)) {
+            errors.add("threads must be in range [1.." + MAX_THREADS + "]");
+        }
+
+        // readerMode permitido
+        if (StringUtils.hasText(readerMode) && !ALLOWED_READER_MODES.contains(readerMode)) {
+            errors.add("readerMode must be one of " + ALLOWED_READER_MODES);
+        }
+
+        // readerMode=schema: step de tasklet de un hilo, sin particiones
+        if ("schema".equals(readerMode) && ((gridSize != null && gridSize > 1) || (threads != null && threads > 1))) {
+            errors.add("readerMode=schema requires gridSize=1 and threads=1");
+        }
+
+        // writerMode permitido
+        if (StringUtils.hasText(writerMode) && !ALLOWED_WRITER_MODES.contains(writerMode)) {
+            errors.add("writerMode must be one of " + ALLOWED_WRITER_MODES);
+        }
+
         // Existencia de archivo (opcional según toggle)
         if (validateStoragePathExists && StringUtils.hasText(storagePath)) {
             try {
@@ -5,7 +5,11 @@ import java.sql.Timestamp;
 import java.util.UUID;
 import javax.sql.DataSource;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.item.ItemWriter;
 import org.springframework.batch.item.database.JdbcBatchItemWriter;
 import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
 import org.springframework.beans.factory.annotation.Value;
@@ -17,6 +21,12 @@ import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 @Configuration
 public class ImportRecordWriterConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(ImportRecordWriterConfig.class);
+
+    /** Valores del job parameter {@code writerMode}. */
+    public static final String WRITER_JDBC = "jdbc";
+    public static final String WRITER_COPY = "copy";
+
     @Bean
     @StepScope
     public JdbcBatchItemWriter<ImportRecord> importRecordWriter(
@@ -54,4 +64,22 @@ public class ImportRecordWriterConfig {
         writer.afterPropertiesSet();
         return writer;
     }
+
+    /**
+     * Writer {@code writerMode=copy}. Si la base no es PostgreSQL (H2 en tests) no hay COPY:
+     * se usa {@code importRecordWriter}.
+     */
+    @Bean
+    @StepScope
+    public ItemWriter<ImportRecord> copyImportRecordWriter(
+            DataSource dataSource,
+            JdbcBatchItemWriter<ImportRecord> importRecordWriter,
+            @Value("#{jobParameters['processingRequestId']}") String processingRequestId
+    ) {
+        if (!PgCopyImportRecordWriter.supports(dataSource)) {
+            log.warn("writerMode=copy requires PostgreSQL; falling back to the JDBC batch writer");
+            return importRecordWriter;
+        }
+        return new PgCopyImportRecordWriter(dataSource, UUID.fromString(processingRequestId));
+    }
 }
@@ -0,0 +1,111 @@
+package com.practice.apiservice.batch.writer;
+
+import com.practice.apiservice.model.ImportRecord;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Objects;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+/**
+ * Writer {@code writerMode=copy}: cada chunk va por {@code COPY ... FROM STDIN} a una tabla
+ * temporal y se pasa a {@code import_records} con un único {@code INSERT ... SELECT},
+ * manteniendo el {@code ON CONFLICT DO NOTHING} sobre {@code ux_import_records_req_ext}.
+ * <p>
+ * Usa la conexión de la transacción del chunk ({@link DataSourceUtils}), así un rollback
+ * deshace también el merge. La staging es temporal (una por sesión del pool) y se vacía
+ * al empezar cada chunk.
+ */
+public class PgCopyImportRecordWriter implements ItemWriter<ImportRecord> {
+
+    static final String STAGE_DDL = """
+        create temp table if not exists import_records_stage (
+            id                    uuid,
+            processing_request_id uuid,
+            external_id           varchar(64),
+            user_email            varchar(140),
+            amount                numeric(18,2),
+            event_time            timestamptz
+        )
+        """;
+
+    static final String COPY_SQL = """
+        copy import_records_stage (id, processing_request_id, external_id, user_email, amount, event_time)
+        from stdin with (format csv)
+        """;
+
+    static final String MERGE_SQL = """
+        insert into import_records (id, processing_request_id, external_id, user_email, amount, event_time)
+        select id, processing_request_id, external_id, user_email, amount, event_time
+        from import_records_stage
+        on conflict (processing_request_id, external_id) do nothing
+        """;
+
+    private final DataSource dataSource;
+    private final String processingRequestId;
+
+    public PgCopyImportRecordWriter(DataSource dataSource, UUID processingRequestId) {
+        this.dataSource = Objects.requireNonNull(dataSource, "dataSource");
+        this.processingRequestId = processingRequestId.toString();
+    }
+
+    /** {@code true} si el DataSource es PostgreSQL (el único que soporta COPY). */
+    public static boolean supports(DataSource dataSource) {
+        try (Connection con = dataSource.getConnection()) {
+            return con.isWrapperFor(PGConnection.class);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void write(Chunk<? extends ImportRecord> chunk) throws Exception {
+        if (chunk.isEmpty()) return;
+
+        Connection con = DataSourceUtils.getConnection(dataSource);
+        try {
+            try (Statement st = con.createStatement()) {
+                st.execute(STAGE_DDL);
+                st.execute("truncate import_records_stage");
+            }
+            CopyManager copy = con.unwrap(PGConnection.class).getCopyAPI();
+            copy.copyIn(COPY_SQL, new StringReader(toCsv(chunk)));
+            try (Statement st = con.createStatement()) {
+                st.executeUpdate(MERGE_SQL);
+            }
+        } finally {
+            DataSourceUtils.releaseConnection(con, dataSource);
+        }
+    }
+
+    /** Filas en formato CSV de COPY: texto siempre entre comillas, importes y fechas tal cual. */
+    String toCsv(Chunk<? extends ImportRecord> chunk) {
+        var sb = new StringBuilder(chunk.size() * 128);
+        for (ImportRecord r : chunk) {
+            sb.append(UUID.randomUUID()).append(',')
+              .append(processingRequestId).append(',');
+            quoted(sb, r.getExternalId()).append(',');
+            quoted(sb, r.getUserEmail()).append(',')
+              .append(r.getAmount().toPlainString()).append(',')
+              .append(r.getEventTime()).append('\n');       // ISO-8601 UTC
+        }
+        return sb.toString();
+    }
+
+    private static StringBuilder quoted(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"') sb.append('"');
+            sb.append(c);
+        }
+        return sb.append('"');
+    }
+}
@@ -26,6 +26,7 @@ public interface EntityToDomainMapper {
     default BatchJobConfig toDomain(BatchJobConfigEntity e) {
         // El core tiene builder con logicalName; lo reconstruimos mínimamente.
         return BatchJobConfig.builder(e.getName())
+                .id(e.getId())                  // identidad estable: SchemaRegistry se indexa por ella
                 .description(e.getDescription())
                 .chunkSize(e.getChunkSize())
                 .readerType(e.getReaderType())
@@ -10,6 +10,7 @@ public class ImportRecord {
     private BigDecimal amount;
     private Instant eventTime;
     private Map<String,String> meta; // opcional
+    private long lineNumber;         // línea del CSV (header incluido); 0 si no viene de un reader
 
     public ImportRecord() {}
 
@@ -30,4 +31,6 @@ public class ImportRecord {
     public void setEventTime(Instant eventTime) { this.eventTime = eventTime; }
     public Map<String, String> getMeta() { return meta; }
     public void setMeta(Map<String, String> meta) { this.meta = meta; }
+    public long getLineNumber() { return lineNumber; }
+    public void setLineNumber(long lineNumber) { this.lineNumber = lineNumber; }
 }
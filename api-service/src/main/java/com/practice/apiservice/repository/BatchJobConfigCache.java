@@ -0,0 +1,46 @@
+package com.practice.apiservice.repository;
+
+import com.practice.apiservice.entity.BatchJobConfigEntity;
+import com.utils.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Lecturas de {@code batch_job_configs} con caché: las configuraciones casi no cambian y se
+ * consultan en cada solicitud. La API no las modifica; un cambio directo en la tabla se ve
+ * como mucho tras {@code cache.batch-job-config.ttl}. Carga única por id ante accesos concurrentes y {@link #findAll}
+ * con un solo {@code findAllById} para los ids que falten.
+ */
+@Component
+public class BatchJobConfigCache {
+
+    private final LoadingCache<UUID, BatchJobConfigEntity> cache;
+
+    public BatchJobConfigCache(
+            BatchJobConfigRepository repository,
+            @Value("${cache.batch-job-config.ttl:5m}") Duration ttl,
+            @Value("${cache.batch-job-config.refresh-after:1m}") Duration refreshAfter) {
+        this.cache = LoadingCache.<UUID, BatchJobConfigEntity>builder(id -> repository.findById(id).orElse(null))
+                .expireAfterWrite(ttl)
+                .refreshAfterWrite(refreshAfter)
+                .bulkLoader(ids -> repository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(BatchJobConfigEntity::getId, Function.identity())))
+                .build();
+    }
+
+    public Optional<BatchJobConfigEntity> find(UUID id) {
+        return Optional.ofNullable(cache.get(id));
+    }
+
+    public Map<UUID, BatchJobConfigEntity> findAll(Collection<UUID> ids) {
+        return cache.getAll(ids);
+    }
+}
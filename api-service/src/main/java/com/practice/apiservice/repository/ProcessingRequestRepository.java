@@ -5,11 +5,18 @@ import com.practice.domain.utils.enums.RequestStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Optional;
 import java.util.UUID;
 
 public interface ProcessingRequestRepository
         extends JpaRepository<ProcessingRequestEntity, UUID> {
 
     Page<ProcessingRequestEntity> findByStatus(RequestStatus status, Pageable pageable);
+
+    /** Id de la config del request, sin cargar el request (la relación es lazy). */
+    @Query("select r.batchJobConfig.id from ProcessingRequestEntity r where r.id = :id")
+    Optional<UUID> findBatchJobConfigId(@Param("id") UUID id);
 }
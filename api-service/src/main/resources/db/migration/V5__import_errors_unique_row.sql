@@ -0,0 +1,11 @@
+-- Idempotencia: un reintento o restart del chunk no duplica el error de la misma fila
+delete from import_errors a
+    using import_errors b
+    where a.processing_request_id = b.processing_request_id
+      and a.row_num = b.row_num
+      and a.id > b.id;
+
+-- Parcial: los errores sin fila (p.ej. de escritura) no se deduplican
+create unique index if not exists ux_import_errors_req_row
+    on import_errors (processing_request_id, row_num)
+    where row_num is not null;
@@ -0,0 +1,134 @@
+package com.practice.apiservice;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import com.practice.apiservice.batch.processor.CrossChunkDuplicateDetector;
+import com.practice.apiservice.batch.processor.DuplicateKeyRegistry;
+import java.util.List;
+import java.util.UUID;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+class CrossChunkDuplicateDetectorTest {
+
+    private final UUID requestId = UUID.randomUUID();
+    private JdbcTemplate jdbc;
+    private DuplicateKeyRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        var dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + requestId + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("""
+            create table import_records (
+                processing_request_id uuid not null,
+                external_id varchar(64) not null,
+                created_at timestamp with time zone default now() not null
+            )
+        """);
+        registry = new DuplicateKeyRegistry(new NamedParameterJdbcTemplate(jdbc), mock(JobRepository.class), true, 0.01, 1);
+    }
+
+    private JobParameters params(long threads) {
+        return new JobParametersBuilder()
+                .addString("processingRequestId", requestId.toString())
+                .addLong("threads", threads)
+                .toJobParameters();
+    }
+
+    private CrossChunkDuplicateDetector detector(JobExecution job, String stepName) {
+        var detector = new CrossChunkDuplicateDetector(registry);
+        detector.open(job.createStepExecution(stepName));
+        return detector;
+    }
+
+    @Test
+    void partitions_of_the_same_job_share_committed_ids() {
+        JobExecution job = MetaDataInstanceFactory.createJobExecution("csvToJpaJob", 1L, 1L, params(1));
+        registry.beforeJob(job);
+        var p0 = detector(job, "csvImportWorkerStep:partition0");
+        var p1 = detector(job, "csvImportWorkerStep:partition1");
+
+        jdbc.update("insert into import_records(processing_request_id, external_id) values (?, 'A-1'), (?, 'A-2')",
+                requestId, requestId);
+        p0.chunkCommitted(List.of("A-1", "A-2"));
+        assertTrue(p1.seenInEarlierChunk("A-1"));
+        assertFalse(p1.seenInEarlierChunk("B-1"));
+
+        registry.afterJob(job);
+        assertFalse(detector(job, "late").seenInEarlierChunk("A-1"));
+    }
+
+    @Test
+    void ids_evicted_from_the_recent_cache_are_confirmed_in_import_records() {
+        JobExecution job = MetaDataInstanceFactory.createJobExecution("csvToJpaJob", 1L, 1L, params(1));
+        registry.beforeJob(job);
+        var detector = detector(job, "csvImportStep");
+
+        // LRU de capacidad 1: A-1 sale al commitear A-2 y se confirma en la base
+        jdbc.update("insert into import_records(processing_request_id, external_id) values (?, 'A-1')", requestId);
+        detector.chunkCommitted(List.of("A-1", "A-2"));
+        assertTrue(detector.seenInEarlierChunk("A-2"));
+        assertTrue(detector.seenInEarlierChunk("A-1"));
+
+        // commiteado pero sin fila (p. ej. on conflict do nothing): la base decide
+        detector.chunkCommitted(List.of("A-3", "A-4"));
+        assertFalse(detector.seenInEarlierChunk("A-3"));
+    }
+
+    @Test
+    void first_run_never_reads_import_records() {
+        JobExecution job = MetaDataInstanceFactory.createJobExecution("csvToJpaJob", 1L, 1L, params(1));
+        registry.beforeJob(job);
+        jdbc.update("insert into import_records(processing_request_id, external_id) values (?, 'A-1')", requestId);
+
+        var detector = detector(job, "csvImportStep");
+        assertFalse(detector.seenInEarlierChunk("A-1"));   // solo cuentan los chunks de esta ejecución
+        detector.chunkCommitted(List.of("A-1"));
+        assertTrue(detector.seenInEarlierChunk("A-1"));
+    }
+
+    @Test
+    void restart_sees_rows_written_since_the_instance_started() {
+        jdbc.update("insert into import_records(processing_request_id, external_id, created_at) "
+                + "values (?, 'OLD', timestamp '2000-01-01 00:00:00')", requestId);
+        JobExecution first = MetaDataInstanceFactory.createJobExecution("csvToJpaJob", 1L, 1L, params(1));
+        registry.beforeJob(first);
+        jdbc.update("insert into import_records(processing_request_id, external_id) values (?, 'A-1')", requestId);
+        registry.afterJob(first);
+
+        // el restart hereda el contexto del job, con el inicio del JobInstance según la base
+        JobExecution restart = MetaDataInstanceFactory.createJobExecution("csvToJpaJob", 1L, 2L, params(1));
+        restart.setExecutionContext(new ExecutionContext(first.getExecutionContext()));
+        registry.beforeJob(restart);
+
+        var detector = detector(restart, "csvImportStep");
+        assertTrue(detector.seenInEarlierChunk("A-1"));
+        assertFalse(detector.seenInEarlierChunk("OLD"));     // de un JobInstance anterior
+        assertFalse(detector.seenInEarlierChunk("A-2"));
+    }
+
+    @Test
+    void multi_threaded_restart_rereads_everything_and_ignores_earlier_rows() {
+        JobExecution first = MetaDataInstanceFactory.createJobExecution("csvToJpaJob", 1L, 1L, params(4));
+        registry.beforeJob(first);
+        jdbc.update("insert into import_records(processing_request_id, external_id) values (?, 'A-1')", requestId);
+
+        JobExecution restart = MetaDataInstanceFactory.createJobExecution("csvToJpaJob", 1L, 2L, params(4));
+        restart.setExecutionContext(new ExecutionContext(first.getExecutionContext()));
+        registry.beforeJob(restart);
+
+        assertFalse(detector(restart, "csvImportStep").seenInEarlierChunk("A-1"));
+    }
+}
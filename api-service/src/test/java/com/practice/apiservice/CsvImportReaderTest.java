@@ -56,7 +56,7 @@ class CsvImportReaderTest {
 
         // 3) Obtener bean StepScope y leer bajo contexto de step
         FlatFileItemReader<ImportRecord> reader =
-                new CsvImportReaderConfig().importRecordReader(file.toString(), ",");
+                new CsvImportReaderConfig().importRecordReader(file.toString(), ",", 1);
 
         StepScopeTestUtils.doInStepScope(
                 MetaDataInstanceFactory.createStepExecution(params),
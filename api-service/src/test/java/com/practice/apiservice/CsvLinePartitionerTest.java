@@ -0,0 +1,92 @@
+package com.practice.apiservice;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.practice.apiservice.batch.partition.CsvLinePartitioner;
+import com.practice.apiservice.batch.reader.CsvImportReaderConfig;
+import com.practice.apiservice.model.ImportRecord;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.file.FlatFileParseException;
+
+class CsvLinePartitionerTest {
+
+    private static final String HEADER = CsvImportReaderConfig.EXPECTED_HEADER;
+
+    @Test
+    void partitions_cover_every_row_once_and_start_on_line_boundaries() throws Exception {
+        var sb = new StringBuilder(HEADER).append('\n');
+        for (int i = 1; i <= 1_000; i++) {
+            sb.append("ID-").append(i).append(",u").append(i).append("@x.com,")
+              .append(i).append(".50,2025-07-01T10:00:00Z\n");
+        }
+        Path file = Files.createTempFile("partition", ".csv");
+        Files.writeString(file, sb.toString(), StandardCharsets.UTF_8);
+
+        Map<String, ExecutionContext> parts = new CsvLinePartitioner(file, HEADER).partition(4);
+        assertThat(parts).hasSize(4);
+
+        List<String> ids = new ArrayList<>();
+        long expectedStart = HEADER.length() + 1;
+        for (ExecutionContext ctx : parts.values()) {
+            assertThat(ctx.getLong(CsvLinePartitioner.START_OFFSET)).isEqualTo(expectedStart);
+            expectedStart = ctx.getLong(CsvLinePartitioner.END_OFFSET);
+
+            FlatFileItemReader<ImportRecord> reader = new CsvImportReaderConfig().partitionRecordReader(
+                    file.toString(), ",",
+                    ctx.getLong(CsvLinePartitioner.START_OFFSET),
+                    ctx.getLong(CsvLinePartitioner.END_OFFSET),
+                    ctx.getLong(CsvLinePartitioner.START_LINE));
+            reader.open(new ExecutionContext());
+            ImportRecord r;
+            while ((r = reader.read()) != null) ids.add(r.getExternalId());
+            reader.close();
+        }
+        assertThat(expectedStart).isEqualTo(Files.size(file));
+        assertThat(ids).hasSize(1_000).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void parse_errors_report_absolute_line_numbers() throws Exception {
+        Path file = Files.createTempFile("partition-bad", ".csv");
+        Files.writeString(file, String.join("\n",
+                HEADER,
+                "A1,a@x.com,1.00,2025-07-01T10:00:00Z",
+                "A2,b@x.com,2.00,2025-07-01T10:00:00Z",
+                "A3,c@x.com,3.00,2025-07-01T10:00:00Z",
+                "A4,broken-row"), StandardCharsets.UTF_8);
+
+        Map<String, ExecutionContext> parts = new CsvLinePartitioner(file, HEADER).partition(2);
+        ExecutionContext last = new ArrayList<>(parts.values()).get(parts.size() - 1);
+
+        FlatFileItemReader<ImportRecord> reader = new CsvImportReaderConfig().partitionRecordReader(
+                file.toString(), ",",
+                last.getLong(CsvLinePartitioner.START_OFFSET),
+                last.getLong(CsvLinePartitioner.END_OFFSET),
+                last.getLong(CsvLinePartitioner.START_LINE));
+        reader.open(new ExecutionContext());
+        assertThatThrownBy(() -> { while (reader.read() != null) { /* drain */ } })
+                .isInstanceOf(FlatFileParseException.class)
+                .extracting(e -> ((FlatFileParseException) e).getLineNumber())
+                .isEqualTo(5);
+        reader.close();
+    }
+
+    @Test
+    void invalid_header_fails_fast() throws Exception {
+        Path file = Files.createTempFile("partition-header", ".csv");
+        Files.writeString(file, "id,email\nA1,a@x.com\n", StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> new CsvLinePartitioner(file, HEADER).partition(2))
+                .isInstanceOf(FlatFileParseException.class)
+                .hasMessageContaining("Invalid header");
+    }
+}
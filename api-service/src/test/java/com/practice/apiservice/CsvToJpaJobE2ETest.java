@@ -77,4 +77,31 @@ class CsvToJpaJobE2ETest {
         org.assertj.core.api.Assertions.assertThat(step.getReadCount())
                 .isGreaterThanOrEqualTo(step.getWriteCount());
     }
-}
\ No newline at end of file
+
+    @Test
+    void copy_writer_is_idempotent_per_request() throws Exception {
+        Path tmp = java.nio.file.Files.createTempFile("sample-copy", ".csv");
+        java.nio.file.Files.writeString(tmp, String.join("\n",
+                "external_id,user_email,amount,event_time",
+                "C-1,a@x.com,10.00,2025-07-01T10:00:00Z",
+                "C-2,\"b@x.com\",20.5,2025-07-02T10:00:00Z"));
+        String requestId = java.util.UUID.randomUUID().toString();
+
+        for (int run = 0; run < 2; run++) {     // 2da corrida: misma request → sin duplicados
+            JobParameters params = new JobParametersBuilder()
+                    .addString("configId", "csv_to_jpa_v1")
+                    .addString("processingRequestId", requestId)
+                    .addString("storagePath", tmp.toString())
+                    .addString("writerMode", "copy")
+                    .addDate("requestTime", java.util.Date.from(java.time.Instant.now().plusMillis(run)))
+                    .toJobParameters();
+            var exec = utils.getJobLauncher().run(csvToJpaJob, params);
+            org.assertj.core.api.Assertions.assertThat(exec.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        }
+
+        var jdbc = new org.springframework.jdbc.core.JdbcTemplate(dataSource);
+        org.assertj.core.api.Assertions.assertThat(jdbc.queryForObject(
+                "select count(*) from import_records where processing_request_id = ?::uuid",
+                Integer.class, requestId)).isEqualTo(2);
+    }
+}
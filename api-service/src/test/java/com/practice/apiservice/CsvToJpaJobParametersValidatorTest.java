@@ -63,6 +63,65 @@ class CsvToJpaJobParametersValidatorTest {
         assertTrue(ex.getMessage().contains("chunkSize"));
     }
 
+    @Test
+    void out_of_range_gridSize_fails() {
+        JobParameters p = new JobParametersBuilder(validParams())
+                .addLong("gridSize", 0L)
+                .toJobParameters();
+        JobParametersInvalidException ex =
+                assertThrows(JobParametersInvalidException.class, () -> validator.validate(p));
+        assertTrue(ex.getMessage().contains("gridSize"));
+    }
+
+    @Test
+    void out_of_range_threads_fails() {
+        JobParameters p = new JobParametersBuilder(validParams())
+                .addLong("threads", 65L)
+                .toJobParameters();
+        JobParametersInvalidException ex =
+                assertThrows(JobParametersInvalidException.class, () -> validator.validate(p));
+        assertTrue(ex.getMessage().contains("threads"));
+        // por encima de los 4 chunks por defecto de Spring Batch: el step aplica threads como throttle limit
+        assertDoesNotThrow(() -> validator.validate(new JobParametersBuilder(validParams())
+                .addLong("threads", 16L)
+                .toJobParameters()));
+    }
+
+    @Test
+    void unknown_readerMode_fails() {
+        JobParameters p = new JobParametersBuilder(validParams())
+                .addString("readerMode", "nio")
+                .toJobParameters();
+        JobParametersInvalidException ex =
+                assertThrows(JobParametersInvalidException.class, () -> validator.validate(p));
+        assertTrue(ex.getMessage().contains("readerMode must be one of"));
+    }
+
+    @Test
+    void schema_readerMode_is_single_threaded() {
+        JobParameters ok = new JobParametersBuilder(validParams())
+                .addString("readerMode", "schema")
+                .toJobParameters();
+        assertDoesNotThrow(() -> validator.validate(ok));
+
+        JobParameters p = new JobParametersBuilder(ok)
+                .addLong("gridSize", 4L)
+                .toJobParameters();
+        JobParametersInvalidException ex =
+                assertThrows(JobParametersInvalidException.class, () -> validator.validate(p));
+        assertTrue(ex.getMessage().contains("readerMode=schema requires gridSize=1 and threads=1"));
+    }
+
+    @Test
+    void unknown_writerMode_fails() {
+        JobParameters p = new JobParametersBuilder(validParams())
+                .addString("writerMode", "bulk")
+                .toJobParameters();
+        JobParametersInvalidException ex =
+                assertThrows(JobParametersInvalidException.class, () -> validator.validate(p));
+        assertTrue(ex.getMessage().contains("writerMode must be one of"));
+    }
+
     @Test
     void invalid_delimiter_fails() {
         JobParameters p = new JobParametersBuilder(validParams())
@@ -2,16 +2,34 @@ package com.practice.apiservice;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
 import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import com.practice.apiservice.batch.processor.CrossChunkDuplicateDetector;
 import com.practice.apiservice.batch.processor.ImportRecordProcessor;
+import com.practice.apiservice.batch.processor.ImportRuleChains;
+import com.practice.apiservice.batch.processor.ImportRuleProperties;
 import com.practice.apiservice.batch.processor.RecordValidationException;
 import com.practice.apiservice.model.ImportRecord;
+import com.practice.apiservice.repository.ProcessingRequestRepository;
 
 class ImportRecordProcessorTest {
 
@@ -33,4 +51,163 @@ class ImportRecordProcessorTest {
         assertThatThrownBy(() -> p.process(b))
                 .isInstanceOf(RecordValidationException.class);
     }
+
+    @Test
+    void duplicates_are_seen_across_threads_and_chunks() throws Exception {
+        var p = new ImportRecordProcessor("exception", 2, Clock.systemUTC());
+        var a = new ImportRecord("X","a@a.com", new BigDecimal("1"), Instant.now().minus(1, ChronoUnit.DAYS));
+        a.setLineNumber(2);
+        p.process(a);
+
+        // otro hilo, otro chunk: mismo estado del step
+        var b = new ImportRecord("X","b@b.com", new BigDecimal("1"), Instant.now().minus(1, ChronoUnit.DAYS));
+        b.setLineNumber(9);
+        var error = new AtomicReference<Throwable>();
+        Thread t = new Thread(() -> {
+            p.beforeChunk(null);
+            try {
+                p.process(b);
+            } catch (RuntimeException e) {
+                error.set(e);
+            }
+        });
+        t.start();
+        t.join();
+        assertThat(error.get())
+                .isInstanceOfSatisfying(RecordValidationException.class, e -> {
+                    assertThat(e.getRowNumber()).isEqualTo(9);   // línea del reader
+                    assertThat(e.getErrors()).extracting(Object::toString).containsExactly("externalId=DUPLICATED_IN_CHUNK");
+                });
+    }
+
+    @Test
+    void reprocessing_the_same_line_after_a_rollback_is_not_a_duplicate() {
+        var p = new ImportRecordProcessor("filter", 2, Clock.systemUTC());
+        var a = new ImportRecord("X","a@a.com", new BigDecimal("1"), Instant.now().minus(1, ChronoUnit.DAYS));
+        a.setLineNumber(2);
+        assertThat(p.process(a)).isNotNull();
+
+        p.beforeChunk(null);   // el chunk se reintenta
+        assertThat(p.process(a)).isNotNull();
+    }
+
+    @Test
+    void duplicate_from_earlier_chunk_is_reported_and_committed_ids_are_forwarded() {
+        var detector = mock(CrossChunkDuplicateDetector.class);
+        when(detector.seenInEarlierChunk("OLD")).thenReturn(true);
+        var p = new ImportRecordProcessor("exception", 2, Clock.systemUTC());
+        p.setDuplicateDetector(detector);
+
+        p.beforeChunk(null);
+        var fresh = new ImportRecord("NEW","a@a.com", new BigDecimal("1"), Instant.now().minus(1, ChronoUnit.DAYS));
+        var old   = new ImportRecord("OLD","b@b.com", new BigDecimal("1"), Instant.now().minus(1, ChronoUnit.DAYS));
+        p.process(fresh);
+        assertThatThrownBy(() -> p.process(old))
+                .isInstanceOf(RecordValidationException.class)
+                .hasMessageContaining(CrossChunkDuplicateDetector.REASON);
+        p.afterWrite(new Chunk<>(fresh));   // sin transacción activa: como si ya hubiera commiteado
+
+        verify(detector).chunkCommitted(List.of("NEW"));
+    }
+
+    @Test
+    void valid_row_is_transformed_in_place() {
+        var p = new ImportRecordProcessor("exception", 2, Clock.fixed(Instant.parse("2025-08-14T00:00:00Z"), ZoneOffset.UTC));
+        var in = new ImportRecord("A-001","Ana@Acme.com", new BigDecimal("7"), Instant.parse("2025-07-01T12:00:00Z"));
+        assertThat(p.process(in)).isSameAs(in);
+        assertThat(in.getUserEmail()).isEqualTo("ana@acme.com");
+        assertThat(in.getAmount()).isEqualTo(new BigDecimal("7.00"));
+    }
+
+    @Test
+    void all_errors_of_a_row_are_reported_in_field_order() {
+        var p = new ImportRecordProcessor("exception", 2, Clock.fixed(Instant.parse("2025-08-14T00:00:00Z"), ZoneOffset.UTC));
+        var in = new ImportRecord(" ","not-an-email", new BigDecimal("-1"), Instant.parse("2030-01-01T00:00:00Z"));
+        assertThatThrownBy(() -> p.process(in))
+                .isInstanceOfSatisfying(RecordValidationException.class, e ->
+                        assertThat(e.getErrors()).extracting(Object::toString).containsExactly(
+                                "externalId=REQUIRED", "userEmail=INVALID_FORMAT", "amount=NEGATIVE", "eventTime=FUTURE"));
+    }
+
+    @Test
+    void rule_chain_is_taken_from_the_config_of_the_request() {
+        UUID requestId = UUID.randomUUID();
+        UUID configId = UUID.randomUUID();
+        var requests = mock(ProcessingRequestRepository.class);
+        when(requests.findBatchJobConfigId(requestId)).thenReturn(Optional.of(configId));
+        var props = new ImportRuleProperties(null, Map.of(configId, List.of("amount", "external_id")));
+
+        var p = new ImportRecordProcessor("exception", 2, Clock.fixed(Instant.parse("2025-08-14T00:00:00Z"), ZoneOffset.UTC));
+        p.setRuleChains(new ImportRuleChains(props, requests));
+        p.beforeStep(MetaDataInstanceFactory.createStepExecution(
+                new JobParametersBuilder().addString("processingRequestId", requestId.toString()).toJobParameters()));
+
+        var in = new ImportRecord(" ","not-an-email", new BigDecimal("-1"), Instant.parse("2030-01-01T00:00:00Z"));
+        assertThatThrownBy(() -> p.process(in))
+                .isInstanceOfSatisfying(RecordValidationException.class, e ->
+                        assertThat(e.getErrors()).extracting(Object::toString).containsExactly(
+                                "amount=NEGATIVE", "externalId=REQUIRED"));   // orden de la cadena, sin email ni fecha
+        assertThat(props.chainFor(UUID.randomUUID())).isEqualTo(ImportRuleProperties.DEFAULT_CHAIN);
+    }
+
+    @Test
+    void columns_left_out_of_the_chain_are_still_required() {
+        var p = new ImportRecordProcessor("exception", 2, Clock.fixed(Instant.parse("2025-08-14T00:00:00Z"), ZoneOffset.UTC));
+        p.setRuleChain(List.of("external_id", "amount"));
+
+        var blank = new ImportRecord("A-1", " ", new BigDecimal("5"), null);
+        assertThatThrownBy(() -> p.process(blank))
+                .isInstanceOfSatisfying(RecordValidationException.class, e ->
+                        assertThat(e.getErrors()).extracting(Object::toString).containsExactly(
+                                "userEmail=REQUIRED", "eventTime=REQUIRED"));
+
+        // fuera de la cadena solo se exige el valor: ni formato ni ventana
+        var out = p.process(new ImportRecord("A-2", "Not-An-Email", new BigDecimal("5"), Instant.parse("2030-01-01T00:00:00Z")));
+        assertThat(out.getUserEmail()).isEqualTo("not-an-email");
+    }
+
+    @Test
+    void unknown_rule_name_fails_when_the_chain_is_compiled() {
+        var p = new ImportRecordProcessor("filter", 2, Clock.systemUTC());
+        assertThatThrownBy(() -> p.setRuleChain(List.of("external_id", "iban")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("iban");
+    }
+
+    @Test
+    void event_window_is_taken_once_per_chunk() {
+        var reads = new AtomicInteger();
+        var now = Instant.parse("2025-08-14T00:00:00Z");
+        Clock counting = new Clock() {
+            @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+            @Override public Clock withZone(ZoneId zone) { return this; }
+            @Override public Instant instant() { reads.incrementAndGet(); return now; }
+        };
+        var p = new ImportRecordProcessor("filter", 2, counting);
+
+        p.beforeChunk(null);
+        for (int i = 0; i < 10; i++) {
+            p.process(new ImportRecord("E-" + i,"a@a.com", BigDecimal.ONE, now.minus(i, ChronoUnit.DAYS)));
+        }
+        assertThat(p.process(new ImportRecord("OLD","a@a.com", BigDecimal.ONE, now.minus(731, ChronoUnit.DAYS)))).isNull();
+        p.afterChunk(null);
+        assertThat(reads).hasValue(1);
+    }
+
+    @Test
+    void email_scanner_agrees_with_the_regex() {
+        var regex = Pattern.compile("^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+        var p = new ImportRecordProcessor("filter", 2, Clock.systemUTC());
+        String[] emails = {
+                "a@b.co", "first.last+tag@sub.example.org", "x_%-@a-b.c.de", "A@B.CD",
+                "@b.co", "a@.co", "a@b.c", "a@b.c1", "a@@b.co", "a@b@c.co", "a b@c.co", "a@b.co.",
+                "a@bco", "a@b..co", "a@-.co", "a@b.co ", "ñ@b.co", "a@b.cö", "a@b.co\n", "a.@b.co", "a@b_c.co"
+        };
+        for (int i = 0; i < emails.length; i++) {
+            var in = new ImportRecord("E-" + i, emails[i], BigDecimal.ONE, Instant.now().minus(1, ChronoUnit.DAYS));
+            assertThat(p.process(in) != null)
+                    .as(emails[i])
+                    .isEqualTo(regex.matcher(emails[i]).matches());
+        }
+    }
 }
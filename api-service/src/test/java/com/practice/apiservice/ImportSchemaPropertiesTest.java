@@ -0,0 +1,70 @@
+package com.practice.apiservice;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.practice.apiservice.batch.schema.ImportSchemaProperties;
+import com.practice.apiservice.batch.schema.ImportSchemas;
+import com.practice.domain.batchconfig.BatchJobConfig;
+import com.practice.io.schema.LeadingValue;
+import com.practice.io.schema.RecordSchema;
+import com.practice.io.schema.SchemaRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+class ImportSchemaPropertiesTest {
+
+    private static ImportSchemaProperties bind(Resource yaml) throws Exception {
+        var env = new StandardEnvironment();
+        new YamlPropertySourceLoader().load("test", yaml).forEach(env.getPropertySources()::addFirst);
+        return Binder.get(env).bind("batch.schemas", ImportSchemaProperties.class)
+                .orElse(new ImportSchemaProperties(null, null));
+    }
+
+    @Test
+    void application_yml_declares_the_import_records_layout() throws Exception {
+        RecordSchema schema = bind(new FileSystemResource("src/main/resources/application.yml"))
+                .fallback().toRecordSchema();
+
+        RecordSchema expected = ImportSchemas.IMPORT_RECORDS;
+        assertEquals(expected.table(), schema.table());
+        assertEquals(expected.leading(), schema.leading());
+        assertEquals(List.of("id", "processing_request_id"), List.copyOf(schema.leading().keySet()));
+        assertEquals(expected.columns(), schema.columns());
+        assertEquals(expected.keyIndex(), schema.keyIndex());
+    }
+
+    @Test
+    void configs_get_their_own_schema_or_the_fallback() throws Exception {
+        UUID configId = UUID.fromString("00000000-0000-0000-0000-000000000002");
+        String yaml = """
+                batch:
+                  schemas:
+                    by-config:
+                      "00000000-0000-0000-0000-000000000002":
+                        table: payments
+                        leading: { payment_id: uuid }
+                        columns:
+                          - { name: code, type: string }
+                          - { name: cents, type: long, optional: true }
+                """;
+        var properties = bind(new ByteArrayResource(yaml.getBytes(StandardCharsets.UTF_8)));
+        SchemaRegistry registry = new ImportSchemas().schemaRegistry(properties);
+
+        RecordSchema own = registry.schemaFor(BatchJobConfig.builder("IMPORT").id(configId).build());
+        assertEquals("payments", own.table());
+        assertEquals("code,cents", own.header(','));
+        assertTrue(own.column(1).nullable());
+        assertEquals(LeadingValue.UUID, own.leading().get("payment_id"));
+        assertTrue(own.leadingColumn(LeadingValue.REQUEST_ID).isEmpty());
+
+        assertSame(ImportSchemas.IMPORT_RECORDS, registry.schemaFor(BatchJobConfig.builder("IMPORT").build()));
+    }
+}
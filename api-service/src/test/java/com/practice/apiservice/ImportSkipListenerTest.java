@@ -11,7 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.ApplicationContext;
-import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -20,6 +20,7 @@ import com.practice.apiservice.batch.skip.ImportErrorSink;
 import com.practice.apiservice.batch.skip.ImportSkipListener;
 import com.practice.apiservice.model.ImportRecord;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.verify;
@@ -53,8 +54,10 @@ class ImportSkipListenerTest {
         var errors = new ArrayList<RecordValidationException.FieldError>();
         errors.add(new RecordValidationException.FieldError("email", "invalid email format"));
         l.onSkipInProcess(item, new RecordValidationException(10L, errors));
+        sink.flush();   // el sink encola; afterStep/afterChunk hacen el flush
 
-        verify(jdbc).update(anyString(), any(MapSqlParameterSource.class));
+        verify(jdbc).batchUpdate(anyString(), any(SqlParameterSource[].class));
+        assertThat(sink.flushedCount()).isGreaterThanOrEqualTo(1);
     }
 }
 
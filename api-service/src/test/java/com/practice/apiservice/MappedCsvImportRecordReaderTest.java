@@ -0,0 +1,112 @@
+package com.practice.apiservice;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.practice.apiservice.batch.reader.CsvImportReaderConfig;
+import com.practice.apiservice.batch.reader.MappedCsvImportRecordReader;
+import com.practice.apiservice.model.ImportRecord;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.file.FlatFileParseException;
+
+class MappedCsvImportRecordReaderTest {
+
+    private static final String HEADER = CsvImportReaderConfig.EXPECTED_HEADER;
+
+    @Test
+    void reads_the_same_records_as_the_flatfile_reader() throws Exception {
+        Path file = csv(
+                HEADER,
+                "A1,a@x.com,10.50,2025-07-01T10:00:00Z",
+                "# comentario",
+                "\"A2\",\" b@x.com \",\"1,234.5\",2025-07-01T11:00:00Z",
+                "A3,,  ,2025-07-01T12:00:00Z\r",
+                "\"A\"\"4\",d@x.com,-3,2025-07-02T00:00:00Z");
+
+        List<ImportRecord> flat = new ArrayList<>();
+        List<ImportRecord> mmap = new ArrayList<>();
+        List<Integer> flatErrors = drain(new CsvImportReaderConfig().importRecordReader(file.toString(), ",", 1), flat);
+        List<Integer> mmapErrors = drain(new MappedCsvImportRecordReader(file, ','), mmap);
+
+        assertThat(mmap).usingRecursiveFieldByFieldElementComparator().isEqualTo(flat);
+        assertThat(mmapErrors).isEqualTo(flatErrors).containsExactly(4);   // "1,234.5" no es BigDecimal
+        assertThat(mmap.get(0).getAmount()).isEqualByComparingTo(new BigDecimal("10.50"));
+        assertThat(mmap.get(1).getUserEmail()).isNull();
+        assertThat(mmap.get(2).getExternalId()).isEqualTo("A\"4");
+        assertThat(mmap.get(2).getEventTime()).isEqualTo(Instant.parse("2025-07-02T00:00:00Z"));
+        assertThat(mmap).extracting(ImportRecord::getLineNumber).containsExactly(2L, 5L, 6L);   // líneas del archivo
+    }
+
+    @Test
+    void restart_resumes_from_the_checkpointed_byte_offset() throws Exception {
+        Path file = csv(
+                HEADER,
+                "A1,a@x.com,1,2025-07-01T10:00:00Z",
+                "A2,b@x.com,2,2025-07-01T10:00:00Z",
+                "A3,c@x.com,3,2025-07-01T10:00:00Z",
+                "A4,broken-row");
+
+        var ctx = new ExecutionContext();
+        var first = new MappedCsvImportRecordReader(file, ',');
+        first.open(ctx);
+        first.read();
+        first.read();
+        first.update(ctx);
+        first.close();
+
+        var second = new MappedCsvImportRecordReader(file, ',');
+        second.open(ctx);
+        ImportRecord a3 = second.read();
+        assertThat(a3.getExternalId()).isEqualTo("A3");
+        assertThat(a3.getLineNumber()).isEqualTo(4);
+        assertThatThrownBy(second::read)
+                .isInstanceOf(FlatFileParseException.class)
+                .extracting(e -> ((FlatFileParseException) e).getLineNumber())
+                .isEqualTo(5);
+        assertThat(second.read()).isNull();
+        second.close();
+    }
+
+    @Test
+    void invalid_header_fails_on_open() throws Exception {
+        Path file = csv("id,email", "A1,a@x.com");
+        var reader = new MappedCsvImportRecordReader(file, ',');
+
+        assertThatThrownBy(() -> reader.open(new ExecutionContext()))
+                .isInstanceOf(ItemStreamException.class)
+                .hasRootCauseInstanceOf(FlatFileParseException.class)
+                .hasStackTraceContaining("Invalid header");
+    }
+
+    private static List<Integer> drain(ItemStreamReader<ImportRecord> reader, List<ImportRecord> out) throws Exception {
+        List<Integer> errorLines = new ArrayList<>();
+        reader.open(new ExecutionContext());
+        while (true) {
+            try {
+                ImportRecord r = reader.read();
+                if (r == null) break;
+                out.add(r);
+            } catch (FlatFileParseException e) {
+                errorLines.add(e.getLineNumber());
+            }
+        }
+        reader.close();
+        return errorLines;
+    }
+
+    private static Path csv(String... lines) throws Exception {
+        Path file = Files.createTempFile("mmap", ".csv");
+        Files.writeString(file, String.join("\n", lines), StandardCharsets.UTF_8);
+        return file;
+    }
+}
@@ -0,0 +1,268 @@
+package com.practice.apiservice;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.practice.apiservice.batch.processor.ImportRowRules;
+import com.practice.apiservice.batch.schema.ImportSchemas;
+import com.practice.apiservice.batch.schema.SchemaImportTasklet;
+import com.practice.apiservice.batch.schema.SchemaImportWriter;
+import com.practice.apiservice.batch.schema.SchemaRejectionWriter;
+import com.practice.io.csv.SchemaCsvReader;
+import com.practice.io.schema.ColumnType;
+import com.practice.io.schema.RecordSchema;
+import com.practice.io.schema.RowBuffer;
+import com.practice.io.schema.SchemaJdbcWriter;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.step.skip.SkipLimitExceededException;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class SchemaImportTaskletTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-08-01T00:00:00Z"), ZoneOffset.UTC);
+    private static final String HEADER = "external_id,user_email,amount,event_time\n";
+
+    @TempDir Path dir;
+
+    private final UUID requestId = UUID.randomUUID();
+    private final List<String> rejections = new ArrayList<>();
+    private JdbcDataSource dataSource;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + requestId + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("""
+            create table import_records (
+                id uuid primary key,
+                processing_request_id uuid not null,
+                external_id varchar(64) not null,
+                user_email varchar(140) not null,
+                amount numeric(18,2) not null,
+                event_time timestamp with time zone not null,
+                created_at timestamp with time zone default now() not null,
+                unique (processing_request_id, external_id)
+            )
+        """);
+        jdbc.execute("""
+            create table import_errors (
+                id bigint generated by default as identity primary key,
+                processing_request_id uuid not null,
+                row_num bigint,
+                external_id varchar(128),
+                reason varchar(1000) not null,
+                raw_line varchar(1000)
+            )
+        """);
+    }
+
+    private SchemaImportTasklet tasklet(Path csv, int chunkSize, int skipLimit) {
+        var schema = ImportSchemas.IMPORT_RECORDS;
+        var sql = SchemaJdbcWriter.builder(schema, requestId)
+                .build();                       // H2 no acepta "on conflict (cols)": sin merge idempotente
+        return new SchemaImportTasklet(csv, ',', chunkSize,
+                ImportRowRules.validator(schema, 2, CLOCK, null),
+                new SchemaImportWriter(dataSource, sql, false),
+                (record, key, column, reason) -> rejections.add(record + ":" + key + ":" + column + "=" + reason),
+                new SchemaRejectionWriter(dataSource, requestId, false),   // H2: sin "on conflict"
+                skipLimit, null);
+    }
+
+    /** Ejecuta el tasklet hasta FINISHED como lo haría el TaskletStep (sin transacción). */
+    private static int runToEnd(SchemaImportTasklet tasklet, StepExecution step) throws Exception {
+        var chunk = new ChunkContext(new StepContext(step));
+        int calls = 0;
+        RepeatStatus status;
+        do {
+            StepContribution contribution = step.createStepContribution();
+            status = tasklet.execute(contribution, chunk);
+            step.apply(contribution);
+            tasklet.update(step.getExecutionContext());
+            tasklet.afterChunk(chunk);
+            calls++;
+        } while (status.isContinuable());
+        return calls;
+    }
+
+    private Path csv(String body) throws Exception {
+        return Files.writeString(dir.resolve("in.csv"), HEADER + body);
+    }
+
+    @Test
+    void imports_valid_rows_and_reports_the_rest() throws Exception {
+        Path csv = csv("""
+                A-1,Ana@Example.com,10.5,2025-07-01T10:00:00Z
+                A-2,bad-email,1,2025-07-01T10:00:00Z
+                A-3,c@x.com,-1,2025-07-01T10:00:00Z
+                A-1,dup@x.com,1,2025-07-01T10:00:00Z
+                A-5,e@x.com,abc,2025-07-01T10:00:00Z
+                A-6,f@x.com,1,2030-01-01T00:00:00Z
+                A-7,g@x.com,1,2020-01-01T00:00:00Z
+                A-8,h@x.com,3
+                A-9,i@x.com,7.25,2025-07-31T23:59:59Z
+                """);
+        StepExecution step = MetaDataInstanceFactory.createStepExecution();
+        var tasklet = tasklet(csv, 4, 100);
+        tasklet.open(step.getExecutionContext());
+        assertEquals(3, runToEnd(tasklet, step));   // 2 chunks (los rechazos al parsear no ocupan sitio) + fin
+        tasklet.close();
+
+        assertEquals(List.of(
+                "3:A-2:user_email=INVALID_FORMAT",
+                "4:A-3:amount=NEGATIVE",
+                "5:A-1:external_id=DUPLICATED_IN_CHUNK",
+                "6:A-5:amount=INVALID_DECIMAL",                        // al leer el chunk...
+                "9:A-8:null=" + SchemaCsvReader.INVALID_FIELD_COUNT,
+                "7:A-6:event_time=FUTURE",                             // ...y al validarlo
+                "8:A-7:event_time=OUT_OF_WINDOW"), rejections);
+
+        assertEquals(2, step.getReadCount());                      // los rechazos solo cuentan como skips
+        assertEquals(2, step.getReadSkipCount());
+        assertEquals(5, step.getProcessSkipCount());
+        assertEquals(2, step.getWriteCount());
+        assertEquals("ana@example.com", jdbc.queryForObject(
+                "select user_email from import_records where external_id = 'A-1'", String.class));
+        assertEquals(0, new BigDecimal("7.25").compareTo(jdbc.queryForObject(
+                "select amount from import_records where external_id = 'A-9'", BigDecimal.class)));
+        assertEquals(List.of(
+                "3:VALIDATION_ERROR: user_email=INVALID_FORMAT",
+                "4:VALIDATION_ERROR: amount=NEGATIVE",
+                "5:VALIDATION_ERROR: external_id=DUPLICATED_IN_CHUNK",
+                "6:CSV_PARSE_ERROR: amount=INVALID_DECIMAL",
+                "7:VALIDATION_ERROR: event_time=FUTURE",
+                "8:VALIDATION_ERROR: event_time=OUT_OF_WINDOW",
+                "9:CSV_PARSE_ERROR: " + SchemaCsvReader.INVALID_FIELD_COUNT), jdbc.queryForList(
+                "select row_num || ':' || reason from import_errors order by row_num", String.class));
+    }
+
+    @Test
+    void rejections_are_written_in_the_chunk_transaction() throws Exception {
+        Path csv = csv("""
+                B-1,bad,-1,2025-07-01T10:00:00Z
+                B-2,b@x.com,1,2025-07-01T10:00:00Z
+                """);
+        var tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        // el chunk hace rollback: ni filas ni errores
+        var tasklet = tasklet(csv, 10, 100);
+        tasklet.open(new ExecutionContext());
+        tx.executeWithoutResult(status -> {
+            executeOnce(tasklet);
+            status.setRollbackOnly();
+        });
+        tasklet.close();
+        assertEquals(0, jdbc.queryForObject("select count(*) from import_records", Integer.class));
+        assertEquals(0, jdbc.queryForObject("select count(*) from import_errors", Integer.class));
+
+        // reintento que commitea: un error por registro, con los motivos de todas sus columnas
+        var again = tasklet(csv, 10, 100);
+        again.open(new ExecutionContext());
+        tx.executeWithoutResult(status -> executeOnce(again));
+        again.close();
+        assertEquals(1, jdbc.queryForObject("select count(*) from import_records", Integer.class));
+        assertEquals(List.of("VALIDATION_ERROR: user_email=INVALID_FORMAT, amount=NEGATIVE"),
+                jdbc.queryForList("select reason from import_errors", String.class));
+    }
+
+    private static void executeOnce(SchemaImportTasklet tasklet) {
+        StepExecution step = MetaDataInstanceFactory.createStepExecution();
+        try {
+            tasklet.execute(step.createStepContribution(), new ChunkContext(new StepContext(step)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void restart_resumes_after_the_checkpoint() throws Exception {
+        var body = new StringBuilder();
+        for (int i = 0; i < 10; i++) body.append("E-").append(i).append(",u@x.com,1,2025-07-01T10:00:00Z\n");
+        Path csv = csv(body.toString());
+
+        // primera ejecución: solo el primer chunk llega a commitear
+        StepExecution first = MetaDataInstanceFactory.createStepExecution();
+        var tasklet = tasklet(csv, 4, 100);
+        tasklet.open(first.getExecutionContext());
+        tasklet.execute(first.createStepContribution(), new ChunkContext(new StepContext(first)));
+        tasklet.update(first.getExecutionContext());
+        tasklet.close();
+        assertEquals(4, jdbc.queryForObject("select count(*) from import_records", Integer.class));
+
+        StepExecution restart = MetaDataInstanceFactory.createStepExecution();
+        restart.setExecutionContext(new ExecutionContext(first.getExecutionContext()));
+        var again = tasklet(csv, 4, 100);
+        again.open(restart.getExecutionContext());
+        runToEnd(again, restart);
+        again.close();
+
+        assertEquals(6, restart.getReadCount());                   // las 4 primeras no se releen
+        assertEquals(10, jdbc.queryForObject("select count(*) from import_records", Integer.class));
+        assertTrue(rejections.isEmpty());
+    }
+
+    @Test
+    void fails_once_rejections_exceed_the_skip_limit() throws Exception {
+        Path csv = csv("""
+                A-1,bad,1,2025-07-01T10:00:00Z
+                A-2,bad,1,2025-07-01T10:00:00Z
+                A-3,bad,1,2025-07-01T10:00:00Z
+                """);
+        StepExecution step = MetaDataInstanceFactory.createStepExecution();
+        var tasklet = tasklet(csv, 10, 2);
+        tasklet.open(step.getExecutionContext());
+        assertThrows(SkipLimitExceededException.class,
+                () -> tasklet.execute(step.createStepContribution(), new ChunkContext(new StepContext(step))));
+        tasklet.close();
+        // el límite se comprueba antes de escribir el chunk
+        assertEquals(0, jdbc.queryForObject("select count(*) from import_records", Integer.class));
+        assertEquals(0, jdbc.queryForObject("select count(*) from import_errors", Integer.class));
+    }
+
+    @Test
+    void rules_only_apply_to_columns_of_the_schema() throws Exception {
+        var schema = RecordSchema.builder("events")
+                .column("code", ColumnType.STRING)
+                .column("event_time", ColumnType.INSTANT)
+                .key("code")
+                .build();
+        var validator = ImportRowRules.validator(schema, 2, CLOCK, null);
+        var rows = new RowBuffer(schema, 4);
+        try (var reader = new SchemaCsvReader(new StringReader("""
+                code,event_time
+                X,2031-01-01T00:00:00Z
+                Y,2025-01-01T00:00:00Z
+                """), schema, ',')) {
+            reader.read(rows, (r, k, c, reason) -> fail(reason));
+        }
+        assertEquals(1, validator.validate(rows, (r, k, c, reason) -> rejections.add(k + ":" + c + "=" + reason)));
+        assertEquals(List.of("X:event_time=FUTURE"), rejections);
+
+        var wrongType = RecordSchema.builder("t")
+                .column("amount", ColumnType.STRING)
+                .build();
+        assertThrows(IllegalArgumentException.class, () -> ImportRowRules.validator(wrongType, 2, CLOCK, null));
+    }
+}
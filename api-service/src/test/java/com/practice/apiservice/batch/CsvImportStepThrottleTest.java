@@ -0,0 +1,31 @@
+package com.practice.apiservice.batch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+class CsvImportStepThrottleTest {
+
+    @Test
+    void threads_above_the_spring_batch_default_run_at_the_same_time() {
+        int threads = 8;                                   // el default de Spring Batch es 4
+        var executor = new SimpleAsyncTaskExecutor("throttle-test-");
+        executor.setConcurrencyLimit(threads);
+        var allRunning = new CyclicBarrier(threads);
+        var calls = new AtomicInteger();
+
+        // cada "chunk" espera a que los otros 7 estén en marcha: con 4 a la vez el barrier expira
+        CsvImportStepConfig.throttled(executor, threads).iterate(context -> {
+            if (calls.incrementAndGet() > threads) return RepeatStatus.FINISHED;
+            allRunning.await(5, TimeUnit.SECONDS);
+            return RepeatStatus.CONTINUABLE;
+        });
+        assertFalse(allRunning.isBroken());
+        assertTrue(calls.get() > threads);
+    }
+}
@@ -0,0 +1,145 @@
+package com.practice.apiservice.batch.writer;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.practice.apiservice.batch.processor.ImportRecordProcessor;
+import com.practice.apiservice.batch.processor.ImportRowRules;
+import com.practice.apiservice.batch.reader.MappedCsvImportRecordReader;
+import com.practice.apiservice.batch.schema.ImportSchemas;
+import com.practice.apiservice.bench.ImportRecordProcessorBench;
+import com.practice.apiservice.model.ImportRecord;
+import com.practice.io.csv.SchemaCsvReader;
+import com.practice.io.schema.RejectionSink;
+import com.practice.io.schema.RowBuffer;
+import com.practice.io.schema.SchemaJdbcWriter;
+import com.practice.io.schema.SchemaRowValidator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Schema-driven import ({@code readerMode=schema}) against the hand-written {@code ImportRecord}
+ * path, file to COPY payload, on the same 1 M-row CSV in chunks of 1 000:
+ * <ul>
+ *   <li>{@code handWritten}: {@link MappedCsvImportRecordReader} → {@link ImportRecordProcessor}
+ *       (filter mode) → {@link PgCopyImportRecordWriter#toCsv};</li>
+ *   <li>{@code schema}: {@link SchemaCsvReader} → {@link RowBuffer} → {@link ImportRowRules}
+ *       → {@link SchemaJdbcWriter#appendCopyCsv}.</li>
+ * </ul>
+ * The database is left out: both paths would ship the same COPY rows. Invalid rows (bad email,
+ * negative amount, out of window, in turn) are dropped by both.
+ * <p>
+ * Run it like {@link ImportRecordProcessorBench}:
+ * {@code org.openjdk.jmh.Main SchemaImportBench -prof gc}. It sits in the writer's package to
+ * call the package-private {@link PgCopyImportRecordWriter#toCsv}.
+ */
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1) @Warmup(iterations = 2) @Measurement(iterations = 3)
+public class SchemaImportBench {
+
+    private static final Instant NOW = Instant.parse("2025-08-14T00:00:00Z");
+    private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+    private static final int CHUNK = 1_000;
+    private static final UUID REQUEST = UUID.randomUUID();
+
+    @Param({"1000000"})
+    int rows;
+
+    @Param({"0", "5"})
+    int invalidPercent;
+
+    private Path file;
+    private ImportRecordProcessor processor;
+    private PgCopyImportRecordWriter copyWriter;
+    private SchemaRowValidator validator;
+    private SchemaJdbcWriter schemaWriter;
+    private RowBuffer buffer;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = Files.createTempFile("schema-import-bench", ".csv");
+        int invalidEvery = invalidPercent == 0 ? 0 : 100 / invalidPercent;
+        try (BufferedWriter w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            w.write(ImportSchemas.IMPORT_RECORDS.header(','));
+            w.write('\n');
+            for (int i = 0; i < rows; i++) {
+                String email = "User." + (i % 5_000) + "@Example.COM";
+                String amount = (i % 10_000) / 10 + "." + (i % 10);
+                Instant time = NOW.minus(1 + i % 700, ChronoUnit.DAYS);
+                if (invalidEvery > 0 && i % invalidEvery == 0) {
+                    switch ((i / invalidEvery) % 3) {
+                        case 0 -> email = "user." + i + "@example";
+                        case 1 -> amount = "-" + (i + 1);
+                        default -> time = NOW.minus(800, ChronoUnit.DAYS);
+                    }
+                }
+                w.write("EXT-" + i + ',' + email + ',' + amount + ',' + time + '\n');
+            }
+        }
+        processor = new ImportRecordProcessor("filter", 2, CLOCK);
+        copyWriter = new PgCopyImportRecordWriter(new DriverManagerDataSource(), REQUEST);   // solo toCsv
+
+        validator = ImportRowRules.validator(ImportSchemas.IMPORT_RECORDS, 2, CLOCK, null);
+        schemaWriter = SchemaJdbcWriter.builder(ImportSchemas.IMPORT_RECORDS, REQUEST)
+                .onConflictDoNothing("processing_request_id", "external_id")
+                .build();
+        buffer = new RowBuffer(ImportSchemas.IMPORT_RECORDS, CHUNK);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark public void handWritten(Blackhole bh) {
+        var reader = new MappedCsvImportRecordReader(file, ',');
+        reader.open(new ExecutionContext());
+        processor.beforeStep(MetaDataInstanceFactory.createStepExecution());   // un step por import
+        try {
+            var chunk = new Chunk<ImportRecord>();
+            ImportRecord in;
+            do {
+                processor.beforeChunk(null);
+                chunk.clear();
+                int read = 0;
+                while (read < CHUNK && (in = reader.read()) != null) {
+                    read++;
+                    ImportRecord out = processor.process(in);
+                    if (out != null) chunk.add(out);
+                }
+                bh.consume(copyWriter.toCsv(chunk));
+                if (read < CHUNK) break;
+            } while (true);
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Benchmark public void schema(Blackhole bh) throws IOException {
+        RejectionSink sink = (record, key, column, reason) -> bh.consume(record);
+        try (var reader = new SchemaCsvReader(Files.newBufferedReader(file, StandardCharsets.UTF_8),
+                ImportSchemas.IMPORT_RECORDS, ',')) {
+            while (true) {
+                buffer.clear();
+                if (reader.read(buffer, sink) == 0) break;
+                validator.validate(buffer, sink);
+                bh.consume(schemaWriter.appendCopyCsv(buffer, new StringBuilder(buffer.size() * 128)).toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.practice.apiservice.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.practice.apiservice.batch.processor.ImportRecordProcessor;
+import com.practice.apiservice.model.ImportRecord;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+/**
+ * {@link ImportRecordProcessor} over 1 M rows in chunks of 1 000, in filter mode, with
+ * 0 %, 5 % and 50 % invalid rows (bad email, negative amount, out of window, in turn).
+ * The rows are built once per trial; valid rows are transformed in place, so before every
+ * invocation their original email and amount are put back (field writes only, nothing is
+ * allocated, so {@code gc.alloc.rate.norm} is the processor's own allocation).
+ * <p>
+ * The api-service has no benchmarks jar: run it from the test classpath, e.g.
+ * <pre>
+ * mvn -q test-compile -pl api-service -am
+ * mvn -q dependency:build-classpath -pl api-service -am -Dmdep.outputFile=/tmp/cp.txt
+ * java -cp api-service/target/test-classes:api-service/target/classes:$(cat /tmp/cp.txt) \
+ *      org.openjdk.jmh.Main ImportRecordProcessorBench -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1) @Warmup(iterations = 2) @Measurement(iterations = 3)
+public class ImportRecordProcessorBench {
+
+    private static final Instant NOW = Instant.parse("2025-08-14T00:00:00Z");
+    private static final int CHUNK = 1_000;
+
+    @Param({"1000000"})
+    int rows;
+
+    @Param({"0", "5", "50"})
+    int invalidPercent;
+
+    private ImportRecordProcessor processor;
+    private ImportRecord[] records;
+    private String[] emails;
+    private BigDecimal[] amounts;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        processor = new ImportRecordProcessor("filter", 2, Clock.fixed(NOW, ZoneOffset.UTC));
+        records = new ImportRecord[rows];
+        emails = new String[rows];
+        amounts = new BigDecimal[rows];
+        int invalidEvery = invalidPercent == 0 ? 0 : 100 / invalidPercent;
+        for (int i = 0; i < rows; i++) {
+            var r = new ImportRecord("EXT-" + i, "User." + (i % 5_000) + "@Example.COM",
+                    new BigDecimal(i % 10_000).movePointLeft(1), NOW.minus(1 + i % 700, ChronoUnit.DAYS));
+            if (invalidEvery > 0 && i % invalidEvery == 0) {
+                switch ((i / invalidEvery) % 3) {
+                    case 0 -> r.setUserEmail("user." + i + "@example");
+                    case 1 -> r.setAmount(BigDecimal.valueOf(-i - 1));
+                    default -> r.setEventTime(NOW.minus(800, ChronoUnit.DAYS));
+                }
+            }
+            r.setLineNumber(i + 2L);   // línea 1: header
+            records[i] = r;
+            emails[i] = r.getUserEmail();
+            amounts[i] = r.getAmount();
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        processor.beforeStep(MetaDataInstanceFactory.createStepExecution());   // ids vistos: vacío
+        for (int i = 0; i < rows; i++) {
+            records[i].setUserEmail(emails[i]);
+            records[i].setAmount(amounts[i]);
+        }
+    }
+
+    @Benchmark public void process(Blackhole bh) {
+        for (int from = 0; from < rows; from += CHUNK) {
+            processor.beforeChunk(null);
+            int to = Math.min(rows, from + CHUNK);
+            for (int i = from; i < to; i++) bh.consume(processor.process(records[i]));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.practice.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.practice.io.csv.CsvFieldParsers;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/** Import hot path: {@code Instant.parse} + {@code new BigDecimal} vs {@link CsvFieldParsers}. */
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class CsvFieldParsingBench {
+
+    private String[] instants;
+    private String[] amounts;
+
+    @Setup
+    public void setup() {
+        var rnd = ThreadLocalRandom.current();
+        instants = new String[10_000];
+        amounts = new String[instants.length];
+        long base = Instant.parse("2024-01-01T00:00:00Z").getEpochSecond();
+        for (int i = 0; i < instants.length; i++) {
+            Instant t = Instant.ofEpochSecond(base + rnd.nextLong(0, 63_072_000L));
+            // mezcla de segundos exactos y milisegundos, como en los CSV reales
+            instants[i] = (i % 2 == 0 ? t : t.plusMillis(rnd.nextInt(1, 1_000))).toString();
+            amounts[i] = rnd.nextLong(0, 10_000_000) + "." + String.format("%02d", rnd.nextInt(100));
+        }
+    }
+
+    /* ---------- Instant -------------------------------------------------- */
+
+    @Benchmark public void instant_jdk(Blackhole bh) {
+        for (String s : instants) bh.consume(Instant.parse(s));
+    }
+    @Benchmark public void instant_fast(Blackhole bh) {
+        for (String s : instants) bh.consume(CsvFieldParsers.parseInstant(s));
+    }
+
+    /* ---------- amount --------------------------------------------------- */
+
+    @Benchmark public void amount_jdk(Blackhole bh) {
+        for (String s : amounts) bh.consume(new BigDecimal(s));
+    }
+    @Benchmark public void amount_fast(Blackhole bh) {
+        for (String s : amounts) bh.consume(CsvFieldParsers.parseAmount(s));
+    }
+    @Benchmark public long amount_cents() {
+        long sum = 0;
+        for (String s : amounts) sum += CsvFieldParsers.tryParseCents(s);
+        return sum;
+    }
+}
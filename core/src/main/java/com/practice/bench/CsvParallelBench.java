@@ -0,0 +1,87 @@
+package com.practice.bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.practice.domain.processing.ProcessingRequest;
+import com.practice.io.csv.CsvFieldParsers;
+import com.practice.io.csv.CsvRequestFactory;
+import com.practice.io.csv.CsvUtil;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Request CSV ingest on all cores: sequential {@code streamRequests}, {@code Files.lines().parallel()}
+ * (the JDK line spliterator) and {@code parallelStreamRequests} (byte ranges split at record
+ * boundaries). Same pattern as {@code ParallelStreamBench}; files are generated in the temp dir.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1) @Warmup(iterations = 2) @Measurement(iterations = 3)
+public class CsvParallelBench {
+
+    /* ---------- params -------------------------------------------------- */
+    @Param({"100", "500"})        // tamaño del fichero en MB
+    int megabytes;
+
+    private Path csv;
+    private final CsvRequestFactory factory = CsvRequestFactory.stubs();
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        csv = Files.createTempFile("requests", ".csv");
+        long target = megabytes * 1_048_576L;
+        long written = 0;
+        Instant base = Instant.parse("2025-01-01T00:00:00Z");
+        try (BufferedWriter w = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            for (int i = 0; written < target; i++) {
+                String line = new UUID(42, i) + ",Import " + i + "," + base.plusSeconds(i) + "\n";
+                w.write(line);
+                written += line.length();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(csv);
+    }
+
+    /* ---------- bench ---------------------------------------------------- */
+
+    @Benchmark public long sequential() throws Exception {
+        try (Stream<ProcessingRequest> s = CsvUtil.streamRequests(csv, StandardCharsets.UTF_8, ',', factory)) {
+            return s.mapToLong(pr -> pr.title().length()).sum();
+        }
+    }
+
+    @Benchmark public long linesParallel() throws Exception {
+        try (Stream<String> lines = Files.lines(csv, StandardCharsets.UTF_8)) {
+            return lines.parallel()
+                        .map(this::parseLine)
+                        .mapToLong(pr -> pr.title().length())
+                        .sum();
+        }
+    }
+
+    @Benchmark public long rangeSplitter() throws Exception {
+        try (Stream<ProcessingRequest> s = CsvUtil.parallelStreamRequests(csv, StandardCharsets.UTF_8, ',', factory)) {
+            return s.mapToLong(pr -> pr.title().length()).sum();
+        }
+    }
+
+    /** Unquoted three-column line, as before the record reader. */
+    private ProcessingRequest parseLine(String l) {
+        int a = l.indexOf(',');
+        int b = l.indexOf(',', a + 1);
+        return factory.create(UUID.fromString(l.substring(0, a)), l.substring(a + 1, b),
+                              CsvFieldParsers.parseInstant(l.substring(b + 1)));
+    }
+}
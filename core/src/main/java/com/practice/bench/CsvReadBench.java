@@ -0,0 +1,86 @@
+package com.practice.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.practice.domain.batchconfig.BatchJobConfig;
+import com.practice.domain.datafile.DataFile;
+import com.practice.domain.processing.ProcessingRequest;
+import com.practice.domain.user.User;
+import com.practice.domain.utils.enums.UserRole;
+import com.practice.io.csv.CsvRequestFactory;
+import com.practice.io.csv.CsvUtil;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Reading a 1 M-line request CSV: per-row placeholder objects (previous {@code parseLine}:
+ * new {@code DataFile}, two {@code User}s and a {@code BatchJobConfig}, with
+ * {@code UUID.randomUUID()} and {@code Instant.now()}) vs. the shared instances of
+ * {@link CsvRequestFactory}. Meant to be run with the allocation profiler:
+ * <pre>java -jar core/target/benchmarks.jar CsvReadBench -prof gc</pre>
+ * and compare {@code gc.alloc.rate.norm}.
+ */
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1) @Warmup(iterations = 2) @Measurement(iterations = 3)
+public class CsvReadBench {
+
+    @Param({"1000000"})
+    int lines;
+
+    private Path csv;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        csv = Files.createTempFile("requests", ".csv");
+        Instant base = Instant.parse("2025-01-01T00:00:00Z");
+        try (BufferedWriter w = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < lines; i++) {
+                w.write(new UUID(42, i) + ",Import " + i + "," + base.plusSeconds(i) + "\n");
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(csv);
+    }
+
+    /* ---------- stubs nuevos por fila (implementación anterior) --------- */
+
+    @Benchmark public void perRowStubs(Blackhole bh) throws Exception {
+        read((id, title, createdAt) -> {
+            User owner = stubUser();
+            DataFile file = new DataFile(UUID.randomUUID(), "stub.csv", "/tmp/stub.csv", 1L,
+                    "0000000000000000000000000000000000000000000000000000000000000000",
+                    Instant.now(), owner);
+            BatchJobConfig config = BatchJobConfig.builder("STUB").chunkSize(100).build();
+            return new ProcessingRequest(id, title, file, Map.of(), stubUser(), config, createdAt);
+        }, bh);
+    }
+
+    /* ---------- instancias compartidas ----------------------------------- */
+
+    @Benchmark public void sharedStubs(Blackhole bh) throws Exception {
+        read(CsvRequestFactory.stubs(), bh);
+    }
+
+    private void read(CsvRequestFactory factory, Blackhole bh) throws Exception {
+        try (Stream<ProcessingRequest> s = CsvUtil.streamRequests(csv, StandardCharsets.UTF_8, ',', factory)) {
+            s.forEach(bh::consume);
+        }
+    }
+
+    private static User stubUser() {
+        return new User(UUID.randomUUID(), "StubUser", "stub@example.com", UserRole.OPERATOR, Instant.now());
+    }
+}
@@ -2,28 +2,58 @@ package com.practice.bench;
 
 import org.openjdk.jmh.annotations.*;
 
+import com.practice.domain.datafile.DataFile;
+import com.practice.domain.user.User;
+import com.practice.domain.utils.enums.UserRole;
 import com.practice.io.JsonSerializer;
+import com.practice.io.nativeio.BinaryDecoder;
+import com.practice.io.nativeio.BinaryEncoder;
 import com.practice.io.nativeio.DataFileExternalizable;
 import com.practice.io.nativeio.ExternalizationUtil;
 
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * {@code Externalizable} + {@code ObjectOutputStream} vs. Gson (pretty, compact and streaming) vs. the reusable
+ * {@link BinaryEncoder}. The binary variants encode the full {@link DataFile} (all seven
+ * fields, uploader included), a superset of the three fields in {@link DataFileExternalizable}.
+ */
 @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS)
 @State(Scope.Thread)
 public class ExternalizationBench {
 
     private DataFileExternalizable[] array;
     private String[] jsons;
+    private DataFile[] files;
+    private byte[][] externalized;
+    private ByteBuffer[] encoded;
+
+    private final BinaryEncoder encoder = new BinaryEncoder();
+    private final BinaryDecoder decoder = new BinaryDecoder();
 
     @Setup
-    public void setup() {
+    public void setup() throws Exception {
+        User owner = new User(UUID.randomUUID(), "Alice", "alice@example.com", UserRole.OPERATOR, Instant.now());
+        String checksum = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
         array = new DataFileExternalizable[10_000];
         jsons = new String[array.length];
+        files = new DataFile[array.length];
+        externalized = new byte[array.length][];
+        encoded = new ByteBuffer[array.length];
         for (int i = 0; i < array.length; i++) {
             array[i] = new DataFileExternalizable(
                     UUID.randomUUID(), "/tmp/file" + i, "abc" + i);
             jsons[i] = JsonSerializer.toJson(array[i]);
+            files[i] = new DataFile(array[i].id(), "file" + i + ".csv", array[i].storagePath(),
+                                    1_024L + i, checksum, Instant.now(), owner);
+            externalized[i] = ExternalizationUtil.toBytes(array[i]);
+            ByteBuffer b = encoder.encode(files[i]);
+            encoded[i] = ByteBuffer.allocate(b.remaining()).put(b).flip();
         }
     }
 
@@ -39,6 +69,11 @@ public class ExternalizationBench {
         for (String s : jsons) sum += s.getBytes().length;
         return sum;
     }
+    @Benchmark public int size_binary() {
+        int sum = 0;
+        for (var f : files) sum += encoder.encode(f).remaining();
+        return sum;
+    }
 
     /* ---------- tiempo de serializar --------------------------------- */
 
@@ -52,4 +87,31 @@ public class ExternalizationBench {
         for (var df : array) last = JsonSerializer.toJson(df).length();
         return last;
     }
+    @Benchmark public int serialize_jsonCompact() {
+        int last = 0;
+        for (var df : array) last = JsonSerializer.toCompactJson(df).length();
+        return last;
+    }
+    /** Whole array of full {@link DataFile}s through the hand-written adapter, nothing materialised. */
+    @Benchmark public void serialize_jsonStreamArray() throws Exception {
+        JsonSerializer.writeArray(Arrays.asList(files).iterator(), OutputStream.nullOutputStream());
+    }
+    @Benchmark public int serialize_binary() {
+        int last = 0;
+        for (var f : files) last = encoder.encode(f).remaining();
+        return last;
+    }
+
+    /* ---------- tiempo de deserializar ------------------------------- */
+
+    @Benchmark public Object deserialize_externalizable() throws Exception {
+        Object last = null;
+        for (byte[] b : externalized) last = ExternalizationUtil.fromBytes(b, new DataFileExternalizable());
+        return last;
+    }
+    @Benchmark public Object deserialize_binary() {
+        Object last = null;
+        for (ByteBuffer b : encoded) last = decoder.decodeDataFile(b.duplicate());
+        return last;
+    }
 }
@@ -0,0 +1,116 @@
+package com.practice.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.practice.domain.transaction.Transaction;
+import com.practice.domain.user.User;
+import com.practice.domain.utils.enums.UserRole;
+import com.practice.kpi.KpiCalculator;
+import com.practice.kpi.KpiTotals;
+import com.practice.kpi.TransactionColumns;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The three KPIs: three boxed stream passes (previous {@code KpiCalculator}), sequential and
+ * parallel, vs. the single-pass primitive engine, sequential, as a parallel-stream collector
+ * and as fork-join tasks, plus the same engine scanning a {@link TransactionColumns} store
+ * (17 bytes per row). Users, dates and ids are shared so 50 M transactions fit in
+ * ~2.5 GB (plus ~0.85 GB of columns); run with enough heap ({@code -Xmx6g} is set below).
+ */
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@Warmup(iterations = 3) @Measurement(iterations = 5)
+public class KpiBench {
+
+    @Param({"1000000", "10000000", "50000000"})
+    int transactions;
+
+    private List<Transaction> txs;
+    private TransactionColumns columns;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        var rnd = new Random(42);
+        User[] users = new User[1_000];
+        for (int i = 0; i < users.length; i++) {
+            users[i] = new User(UUID.randomUUID(), "user" + i, "user" + i + "@example.com",
+                                UserRole.ANALYST, Instant.EPOCH);
+        }
+        LocalDate[] days = new LocalDate[730];
+        for (int i = 0; i < days.length; i++) days[i] = LocalDate.of(2024, 1, 1).plusDays(i);
+        UUID[] ids = new UUID[1_024];
+        for (int i = 0; i < ids.length; i++) ids[i] = UUID.randomUUID();
+        Transaction.Status[] statuses = Transaction.Status.values();
+
+        txs = new ArrayList<>(transactions);
+        for (int i = 0; i < transactions; i++) {
+            txs.add(new Transaction(
+                    ids[i & 1_023],
+                    users[rnd.nextInt(users.length)],
+                    rnd.nextInt(1_000_000) / 100.0,
+                    statuses[rnd.nextInt(10) < 8 ? 0 : 1 + rnd.nextInt(2)],
+                    days[rnd.nextInt(days.length)]));
+        }
+        columns = TransactionColumns.of(txs);
+    }
+
+    /* ---------- tres pasadas con streams (implementación anterior) ------ */
+
+    @Benchmark public void streams_threePasses(Blackhole bh) {
+        threePasses(txs.stream(), txs.stream(), txs.stream(), bh);
+    }
+
+    @Benchmark public void streams_threePassesParallel(Blackhole bh) {
+        threePasses(txs.parallelStream(), txs.parallelStream(), txs.parallelStream(), bh);
+    }
+
+    private static void threePasses(Stream<Transaction> s1, Stream<Transaction> s2, Stream<Transaction> s3,
+                                    Blackhole bh) {
+        bh.consume(s1
+                .filter(t -> t.status() == Transaction.Status.VALID)
+                .collect(Collectors.groupingBy(Transaction::user, Collectors.summingDouble(Transaction::amount)))
+                .entrySet().stream()
+                .sorted(Map.Entry.<User, Double>comparingByValue().reversed())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new)));
+        bh.consume(s2
+                .filter(t -> t.status() == Transaction.Status.VALID)
+                .collect(Collectors.groupingBy(t -> t.date().withDayOfMonth(1).toString(),
+                                               Collectors.averagingDouble(Transaction::amount))));
+        bh.consume(s3
+                .collect(Collectors.groupingBy(Transaction::status, Collectors.counting())));
+    }
+
+    /* ---------- una pasada, acumuladores primitivos --------------------- */
+
+    @Benchmark public void engine_singlePass(Blackhole bh) {
+        consume(KpiCalculator.compute(txs), bh);
+    }
+
+    @Benchmark public void engine_parallelStream(Blackhole bh) {
+        consume(txs.parallelStream().collect(KpiTotals.collector()), bh);
+    }
+
+    @Benchmark public void engine_forkJoin(Blackhole bh) {
+        consume(KpiCalculator.computeParallel(txs), bh);
+    }
+
+    /* ---------- misma pasada sobre columnas primitivas ------------------ */
+
+    @Benchmark public void columns_singlePass(Blackhole bh) {
+        consume(KpiCalculator.compute(columns), bh);
+    }
+
+    private static void consume(KpiTotals k, Blackhole bh) {
+        bh.consume(k.totalAmountPerUser());
+        bh.consume(k.avgByMonth());
+        bh.consume(k.countPerStatus());
+    }
+}
@@ -44,7 +44,7 @@ public final class BatchJobConfig {
 
     public static final class Builder {
         /* required */
-        private final UUID   id   = UUID.randomUUID();
+        private UUID         id   = UUID.randomUUID();
         private final String name;
         private Instant      createdAt = Instant.now();
 
@@ -60,6 +60,8 @@ public final class BatchJobConfig {
             this.name = requireNonBlank(logicalName);
         }
 
+        /** Keeps an existing identity (e.g. when rebuilding a stored config). */
+        public Builder id(UUID id)             { this.id = Objects.requireNonNull(id); return this; }
         public Builder description(String d)   { this.description = d; return this; }
         public Builder chunkSize(int size)     { this.chunkSize = size; return this; }
         public Builder readerType(ReaderType r){ this.readerType = r;   return this; }
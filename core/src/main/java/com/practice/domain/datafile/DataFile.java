@@ -5,6 +5,7 @@ import com.practice.domain.user.User;
 import java.time.Instant;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
 /**
  * A file stored in the system.
@@ -42,6 +43,8 @@ public record DataFile(
 
     public static final long MAX_SIZE_BYTES = 50L * 1024 * 1024;
 
+    private static final Pattern SHA256_HEX = Pattern.compile("^[0-9a-fA-F]{64}$");
+
     /** Validates business rules upon construction. */
     public DataFile {
         Objects.requireNonNull(id);
@@ -59,7 +62,7 @@ public record DataFile(
         if (sizeBytes <= 0)
             throw new IllegalArgumentException("sizeBytes must be > 0");
 
-        if (checksumSha256 != null && !checksumSha256.matches("^[0-9a-fA-F]{64}$"))
+        if (checksumSha256 != null && !SHA256_HEX.matcher(checksumSha256).matches())
             throw new IllegalArgumentException(
                     "checksumSha256 must contain exactly 64 hexadecimal characters");
     }
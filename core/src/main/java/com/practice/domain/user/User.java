@@ -3,6 +3,7 @@ package com.practice.domain.user;
 import java.time.Instant;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
 import com.practice.domain.utils.enums.UserRole;
 
@@ -15,6 +16,8 @@ import com.practice.domain.utils.enums.UserRole;
  */
 public final class User {
 
+    private static final Pattern EMAIL = Pattern.compile("^[\\w.+-]+@[\\w.-]+\\.[\\w]{2,}$");
+
     /* ---------- attributes ---------- */
     private final UUID     id;
     private final String   name;
@@ -79,7 +82,7 @@ public final class User {
     }
     private static String requireValidEmail(String mail) {
         requireNonBlank(mail, "email");
-        if (!mail.matches("^[\\w.+-]+@[\\w.-]+\\.[\\w]{2,}$")) {
+        if (!EMAIL.matcher(mail).matches()) {
             throw new IllegalArgumentException("Invalid email: " + mail);
         }
         return mail;
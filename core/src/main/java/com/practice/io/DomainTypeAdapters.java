@@ -0,0 +1,388 @@
+package com.practice.io;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.practice.domain.batchconfig.BatchJobConfig;
+import com.practice.domain.datafile.DataFile;
+import com.practice.domain.jobexecution.JobExecution;
+import com.practice.domain.processing.ProcessingRequest;
+import com.practice.domain.report.Report;
+import com.practice.domain.transaction.Transaction;
+import com.practice.domain.user.User;
+import com.practice.domain.utils.enums.ExecutionStatus;
+import com.practice.domain.utils.enums.ReaderType;
+import com.practice.domain.utils.enums.RequestStatus;
+import com.practice.domain.utils.enums.UserRole;
+import com.practice.domain.utils.enums.WriterType;
+
+/**
+ * Hand-written, reflection-free {@link TypeAdapter}s for the core domain types.
+ * <p>
+ * Field names match what reflective Gson produced, so existing JSON still reads back.
+ * Objects are rebuilt through their public constructors (domain validation applies);
+ * unknown fields are skipped and a missing required field is a {@link JsonParseException}.
+ */
+final class DomainTypeAdapters {
+
+    private DomainTypeAdapters() { }
+
+    static GsonBuilder register(GsonBuilder b) {
+        return b.registerTypeAdapter(User.class, USER.nullSafe())
+                .registerTypeAdapter(DataFile.class, DATA_FILE.nullSafe())
+                .registerTypeAdapter(BatchJobConfig.class, BATCH_JOB_CONFIG.nullSafe())
+                .registerTypeAdapter(ProcessingRequest.class, PROCESSING_REQUEST.nullSafe())
+                .registerTypeAdapter(JobExecution.class, JOB_EXECUTION.nullSafe())
+                .registerTypeAdapter(Report.class, REPORT.nullSafe())
+                .registerTypeAdapter(Transaction.class, TRANSACTION.nullSafe())
+                .registerTypeAdapter(LocalDate.class, LOCAL_DATE.nullSafe());
+    }
+
+    /* ---------------- User ---------------------------------------------- */
+
+    static final TypeAdapter<User> USER = new TypeAdapter<>() {
+        @Override public void write(JsonWriter out, User u) throws IOException {
+            out.beginObject();
+            out.name("id").value(u.id().toString());
+            out.name("name").value(u.name());
+            out.name("email").value(u.email());
+            out.name("role").value(u.role().name());
+            out.name("createdAt").value(u.createdAt().toString());
+            out.endObject();
+        }
+
+        @Override public User read(JsonReader in) throws IOException {
+            UUID id = null; String name = null, email = null; UserRole role = null; Instant createdAt = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id"        -> id = uuid(in);
+                    case "name"      -> name = string(in);
+                    case "email"     -> email = string(in);
+                    case "role"      -> role = enumValue(in, UserRole.class);
+                    case "createdAt" -> createdAt = instant(in);
+                    default          -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new User(require(id, "id"), name, email, require(role, "role"), require(createdAt, "createdAt"));
+        }
+    };
+
+    /* ---------------- DataFile ------------------------------------------ */
+
+    static final TypeAdapter<DataFile> DATA_FILE = new TypeAdapter<>() {
+        @Override public void write(JsonWriter out, DataFile f) throws IOException {
+            out.beginObject();
+            out.name("id").value(f.id().toString());
+            out.name("originalFilename").value(f.originalFilename());
+            out.name("storagePath").value(f.storagePath());
+            out.name("sizeBytes").value(f.sizeBytes());
+            out.name("checksumSha256").value(f.checksumSha256());
+            out.name("uploadedAt").value(f.uploadedAt().toString());
+            out.name("uploadedBy");
+            USER.write(out, f.uploadedBy());
+            out.endObject();
+        }
+
+        @Override public DataFile read(JsonReader in) throws IOException {
+            UUID id = null; String original = null, path = null, checksum = null;
+            long size = 0; Instant uploadedAt = null; User by = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id"               -> id = uuid(in);
+                    case "originalFilename" -> original = string(in);
+                    case "storagePath"      -> path = string(in);
+                    case "sizeBytes"        -> size = in.nextLong();
+                    case "checksumSha256"   -> checksum = string(in);
+                    case "uploadedAt"       -> uploadedAt = instant(in);
+                    case "uploadedBy"       -> by = USER.nullSafe().read(in);
+                    default                 -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new DataFile(require(id, "id"), require(original, "originalFilename"), require(path, "storagePath"),
+                                size, checksum, require(uploadedAt, "uploadedAt"), require(by, "uploadedBy"));
+        }
+    };
+
+    /* ---------------- BatchJobConfig ------------------------------------ */
+
+    static final TypeAdapter<BatchJobConfig> BATCH_JOB_CONFIG = new TypeAdapter<>() {
+        @Override public void write(JsonWriter out, BatchJobConfig c) throws IOException {
+            out.beginObject();
+            out.name("id").value(c.id().toString());
+            out.name("name").value(c.name());
+            out.name("description").value(c.description());
+            out.name("chunkSize").value(c.chunkSize());
+            out.name("readerType").value(c.readerType().name());
+            out.name("writerType").value(c.writerType().name());
+            out.name("allowRestart").value(c.allowRestart());
+            out.name("createdAt").value(c.createdAt().toString());
+            out.name("active").value(c.isActive());
+            out.endObject();
+        }
+
+        /* campos ausentes ⇒ defaults del Builder */
+        @Override public BatchJobConfig read(JsonReader in) throws IOException {
+            UUID id = null; String name = null, description = null; Integer chunkSize = null;
+            ReaderType reader = null; WriterType writer = null; Instant createdAt = null;
+            boolean allowRestart = false, active = true, hasDescription = false;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id"           -> id = uuid(in);
+                    case "name"         -> name = string(in);
+                    case "description"  -> { description = string(in); hasDescription = true; }
+                    case "chunkSize"    -> chunkSize = in.nextInt();
+                    case "readerType"   -> reader = enumValue(in, ReaderType.class);
+                    case "writerType"   -> writer = enumValue(in, WriterType.class);
+                    case "allowRestart" -> allowRestart = in.nextBoolean();
+                    case "createdAt"    -> createdAt = instant(in);
+                    case "active"       -> active = in.nextBoolean();
+                    default             -> in.skipValue();
+                }
+            }
+            in.endObject();
+            BatchJobConfig.Builder b = BatchJobConfig.builder(name);
+            if (id != null) b.id(id);
+            if (hasDescription) b.description(description);
+            if (chunkSize != null) b.chunkSize(chunkSize);
+            if (reader != null) b.readerType(reader);
+            if (writer != null) b.writerType(writer);
+            if (allowRestart) b.allowRestart();
+            if (createdAt != null) b.createdAt(createdAt);
+            if (!active) b.inactive();
+            return b.build();
+        }
+    };
+
+    /* ---------------- ProcessingRequest --------------------------------- */
+
+    static final TypeAdapter<ProcessingRequest> PROCESSING_REQUEST = new TypeAdapter<>() {
+        @Override public void write(JsonWriter out, ProcessingRequest r) throws IOException {
+            out.beginObject();
+            out.name("id").value(r.id().toString());
+            out.name("title").value(r.title());
+            out.name("dataFile");
+            DATA_FILE.write(out, r.dataFile());
+            out.name("parameters").beginObject();
+            for (Map.Entry<String, String> e : r.parameters().entrySet()) out.name(e.getKey()).value(e.getValue());
+            out.endObject();
+            out.name("status").value(r.status().name());
+            out.name("createdAt").value(r.createdAt().toString());
+            out.name("requestedBy");
+            USER.write(out, r.requestedBy());
+            out.name("batchJobConfig");
+            BATCH_JOB_CONFIG.write(out, r.batchJobConfig());
+            out.endObject();
+        }
+
+        @Override public ProcessingRequest read(JsonReader in) throws IOException {
+            UUID id = null; String title = null; DataFile file = null; Map<String, String> params = Map.of();
+            RequestStatus status = RequestStatus.PENDING; Instant createdAt = null;
+            User requestedBy = null; BatchJobConfig config = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id"             -> id = uuid(in);
+                    case "title"          -> title = string(in);
+                    case "dataFile"       -> file = DATA_FILE.nullSafe().read(in);
+                    case "parameters"     -> params = stringMap(in);
+                    case "status"         -> status = enumValue(in, RequestStatus.class);
+                    case "createdAt"      -> createdAt = instant(in);
+                    case "requestedBy"    -> requestedBy = USER.nullSafe().read(in);
+                    case "batchJobConfig" -> config = BATCH_JOB_CONFIG.nullSafe().read(in);
+                    default               -> in.skipValue();
+                }
+            }
+            in.endObject();
+            ProcessingRequest r = new ProcessingRequest(require(id, "id"), title, require(file, "dataFile"), params,
+                    require(requestedBy, "requestedBy"), require(config, "batchJobConfig"), require(createdAt, "createdAt"));
+            restoreStatus(r, status);
+            return r;
+        }
+    };
+
+    /* ---------------- JobExecution -------------------------------------- */
+
+    static final TypeAdapter<JobExecution> JOB_EXECUTION = new TypeAdapter<>() {
+        @Override public void write(JsonWriter out, JobExecution e) throws IOException {
+            out.beginObject();
+            out.name("id").value(e.id().toString());
+            out.name("processingRequest");
+            PROCESSING_REQUEST.write(out, e.processingRequest());
+            out.name("startTime").value(e.startTime().toString());
+            out.name("endTime").value(e.endTime() == null ? null : e.endTime().toString());
+            out.name("exitStatus").value(e.exitStatus() == null ? null : e.exitStatus().name());
+            out.name("readCount").value(e.readCount());
+            out.name("writeCount").value(e.writeCount());
+            out.name("skipCount").value(e.skipCount());
+            out.name("errorMessage").value(e.errorMessage());
+            out.endObject();
+        }
+
+        @Override public JobExecution read(JsonReader in) throws IOException {
+            UUID id = null; ProcessingRequest request = null; Instant start = null, end = null;
+            ExecutionStatus exit = null; long read = 0, written = 0, skipped = 0; String error = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id"                -> id = uuid(in);
+                    case "processingRequest" -> request = PROCESSING_REQUEST.nullSafe().read(in);
+                    case "startTime"         -> start = instant(in);
+                    case "endTime"           -> end = instant(in);
+                    case "exitStatus"        -> exit = enumValue(in, ExecutionStatus.class);
+                    case "readCount"         -> read = in.nextLong();
+                    case "writeCount"        -> written = in.nextLong();
+                    case "skipCount"         -> skipped = in.nextLong();
+                    case "errorMessage"      -> error = string(in);
+                    default                  -> in.skipValue();
+                }
+            }
+            in.endObject();
+            JobExecution e = new JobExecution(require(id, "id"), require(request, "processingRequest"),
+                                              require(start, "startTime"));
+            if (exit != null) e.finish(exit, require(end, "endTime"), read, written, skipped, error);
+            return e;
+        }
+    };
+
+    /* ---------------- Report -------------------------------------------- */
+
+    static final TypeAdapter<Report> REPORT = new TypeAdapter<>() {
+        @Override public void write(JsonWriter out, Report r) throws IOException {
+            out.beginObject();
+            out.name("id").value(r.id().toString());
+            out.name("processingRequest");
+            PROCESSING_REQUEST.write(out, r.processingRequest());
+            out.name("storagePath").value(r.storagePath());
+            out.name("summaryJson").value(r.summaryJson());
+            out.name("generatedAt").value(r.generatedAt().toString());
+            out.name("generatedBy");
+            USER.write(out, r.generatedBy());
+            out.endObject();
+        }
+
+        @Override public Report read(JsonReader in) throws IOException {
+            UUID id = null; ProcessingRequest request = null; String path = null, summary = null;
+            Instant generatedAt = null; User by = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id"                -> id = uuid(in);
+                    case "processingRequest" -> request = PROCESSING_REQUEST.nullSafe().read(in);
+                    case "storagePath"       -> path = string(in);
+                    case "summaryJson"       -> summary = string(in);
+                    case "generatedAt"       -> generatedAt = instant(in);
+                    case "generatedBy"       -> by = USER.nullSafe().read(in);
+                    default                  -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new Report(require(id, "id"), require(request, "processingRequest"), require(path, "storagePath"),
+                              require(summary, "summaryJson"), require(generatedAt, "generatedAt"),
+                              require(by, "generatedBy"));
+        }
+    };
+
+    /* ---------------- Transaction --------------------------------------- */
+
+    static final TypeAdapter<Transaction> TRANSACTION = new TypeAdapter<>() {
+        @Override public void write(JsonWriter out, Transaction t) throws IOException {
+            out.beginObject();
+            out.name("id").value(t.id() == null ? null : t.id().toString());
+            out.name("user");
+            USER.nullSafe().write(out, t.user());
+            out.name("amount").value(t.amount());
+            out.name("status").value(t.status() == null ? null : t.status().name());
+            out.name("date").value(t.date() == null ? null : t.date().toString());
+            out.endObject();
+        }
+
+        @Override public Transaction read(JsonReader in) throws IOException {
+            UUID id = null; User user = null; double amount = 0; Transaction.Status status = null; LocalDate date = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id"     -> id = uuid(in);
+                    case "user"   -> user = USER.nullSafe().read(in);
+                    case "amount" -> amount = in.nextDouble();
+                    case "status" -> status = enumValue(in, Transaction.Status.class);
+                    case "date"   -> date = LOCAL_DATE.nullSafe().read(in);
+                    default       -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new Transaction(id, user, amount, status, date);
+        }
+    };
+
+    /** ISO-8601 ({@code 2025-01-31}); reflective Gson cannot reach {@code LocalDate} fields on 17+. */
+    static final TypeAdapter<LocalDate> LOCAL_DATE = new TypeAdapter<>() {
+        @Override public void write(JsonWriter out, LocalDate d) throws IOException { out.value(d.toString()); }
+        @Override public LocalDate read(JsonReader in) throws IOException { return LocalDate.parse(in.nextString()); }
+    };
+
+    /* ---------------- helpers ------------------------------------------- */
+
+    private static void restoreStatus(ProcessingRequest r, RequestStatus status) {
+        // replaying the allowed transitions keeps the state machine the only writer of status
+        if (status != RequestStatus.PENDING) r.markInProgress();
+        if (status == RequestStatus.COMPLETED) r.markCompleted();
+        if (status == RequestStatus.FAILED) r.markFailed();
+    }
+
+    private static <T> T require(T value, String field) {
+        if (value == null) throw new JsonParseException("Missing field '" + field + "'");
+        return value;
+    }
+
+    private static boolean isNull(JsonReader in) throws IOException {
+        if (in.peek() != JsonToken.NULL) return false;
+        in.nextNull();
+        return true;
+    }
+
+    private static String string(JsonReader in) throws IOException {
+        return isNull(in) ? null : in.nextString();
+    }
+
+    private static UUID uuid(JsonReader in) throws IOException {
+        return isNull(in) ? null : UUID.fromString(in.nextString());
+    }
+
+    private static Instant instant(JsonReader in) throws IOException {
+        return isNull(in) ? null : Instant.parse(in.nextString());
+    }
+
+    private static <E extends Enum<E>> E enumValue(JsonReader in, Class<E> type) throws IOException {
+        if (isNull(in)) return null;
+        String name = in.nextString();
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            throw new JsonParseException("Unknown " + type.getSimpleName() + " '" + name + "'", e);
+        }
+    }
+
+    private static Map<String, String> stringMap(JsonReader in) throws IOException {
+        Map<String, String> map = new HashMap<>();
+        if (isNull(in)) return map;
+        in.beginObject();
+        while (in.hasNext()) map.put(in.nextName(), string(in));
+        in.endObject();
+        return map;
+    }
+}
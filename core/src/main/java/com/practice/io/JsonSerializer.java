@@ -2,40 +2,149 @@ package com.practice.io;
 
 import com.google.gson.*;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 import com.google.gson.TypeAdapter;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Tiny wrapper around Gson that:
  *  • serialises nulls
  *  • ignores unknown fields when deserialising
- *  • pretty-prints for deterministic tests
- *  • handles Java time types (Instant)
+ *  • pretty-prints for deterministic tests ({@link #toJson}); everything else is compact
+ *  • handles Java time types (Instant, LocalDate)
+ *  • uses hand-written adapters for the domain types (no reflection, see {@link DomainTypeAdapters})
+ * <p>
+ * The streaming methods go through {@link JsonWriter}/{@link JsonReader} directly, so large
+ * exports (job-execution histories, reports) are never materialised as one {@code String}.
  */
 public final class JsonSerializer {
 
-    private static final Gson GSON = new GsonBuilder()
+    private static final Gson COMPACT = DomainTypeAdapters.register(new GsonBuilder())
             .serializeNulls()
-            .setPrettyPrinting()
             .disableHtmlEscaping()
             .registerTypeAdapter(Instant.class, new InstantTypeAdapter())
             .create();
 
+    private static final Gson GSON = COMPACT.newBuilder()
+            .setPrettyPrinting()
+            .create();
+
     private JsonSerializer() { }
 
-    /** Serialises any POJO (records included) to JSON UTF-8 String. */
+    /** Serialises any POJO (records included) to a pretty-printed JSON String. */
     public static String toJson(Object o) {
         return GSON.toJson(o);
     }
 
+    /** Like {@link #toJson} without indentation or line breaks (roughly half the size). */
+    public static String toCompactJson(Object o) {
+        return COMPACT.toJson(o);
+    }
+
     /** Deserialises JSON – unknown fields are ignored. */
     public static <T> T fromJson(String json, Class<T> type) {
         return GSON.fromJson(json, type);
     }
 
+    /* ---------------- streaming ----------------------------------------- */
+
+    /** Writes {@code o} as compact JSON to {@code out}; the writer is flushed, not closed. */
+    public static void writeTo(Object o, Writer out) throws IOException {
+        JsonWriter writer = COMPACT.newJsonWriter(out);
+        if (o == null) writer.nullValue();
+        else write(writer, o);
+        writer.flush();
+    }
+
+    /**
+     * Writes the items as one compact UTF-8 JSON array, pulling them from {@code items} one at
+     * a time. The stream is flushed, not closed.
+     */
+    public static void writeArray(Iterator<?> items, OutputStream out) throws IOException {
+        JsonWriter writer = COMPACT.newJsonWriter(
+                new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+        writer.beginArray();
+        while (items.hasNext()) {
+            Object item = items.next();
+            if (item == null) writer.nullValue();
+            else write(writer, item);
+        }
+        writer.endArray();
+        writer.flush();
+    }
+
+    /**
+     * Reads a JSON array lazily: each element is parsed when the stream reaches it.
+     * Closing the returned stream closes {@code in}; I/O errors surface as
+     * {@link UncheckedIOException}, malformed JSON as {@link JsonParseException}.
+     */
+    public static <T> Stream<T> readArray(InputStream in, Class<T> type) {
+        JsonReader reader = COMPACT.newJsonReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        TypeAdapter<T> adapter = COMPACT.getAdapter(type);
+        Iterator<T> it = new Iterator<>() {
+            private boolean started, finished;
+
+            @Override public boolean hasNext() {
+                try {
+                    if (!started) {
+                        reader.beginArray();
+                        started = true;
+                    }
+                    if (finished) return false;
+                    if (reader.hasNext()) return true;
+                    reader.endArray();
+                    finished = true;
+                    return false;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                try {
+                    if (reader.peek() == JsonToken.NULL) {
+                        reader.nextNull();
+                        return null;
+                    }
+                    return adapter.read(reader);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(it, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void write(JsonWriter writer, Object o) throws IOException {
+        ((TypeAdapter<Object>) COMPACT.getAdapter(o.getClass())).write(writer, o);
+    }
+
     /**
      * Custom TypeAdapter for java.time.Instant to avoid Java 17 module system issues.
      * Serializes as ISO-8601 string and deserializes back to Instant.
@@ -59,4 +168,4 @@ public final class JsonSerializer {
             return Instant.parse(in.nextString());
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,161 @@
+package com.practice.io.csv;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Hot-path parsers for CSV import fields.
+ * - {@link #parseInstant} handles the fixed {@code yyyy-MM-ddTHH:mm:ss[.f{1,9}]Z} shape.
+ * - {@link #tryParseCents} handles {@code numeric(18,2)} amounts as unscaled long cents.
+ * Both work on the characters in place (no substrings, no formatter);
+ * anything outside those shapes falls back to the JDK parsers, so results and
+ * exceptions for unusual inputs are exactly the JDK ones.
+ */
+public final class CsvFieldParsers {
+
+    /** Returned by {@link #tryParseCents} when the input is not a plain {@code numeric(18,2)}. */
+    public static final long NO_CENTS = Long.MIN_VALUE;
+
+    private static final int MAX_INTEGER_DIGITS = 16;          // numeric(18,2)
+    private static final long DAYS_0000_TO_1970 = 719_528L;
+    private static final int[] POW10 = {
+            1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000, 1_000_000_000 };
+
+    private CsvFieldParsers() { }
+
+    /* --------------------------------------------------------------
+       Public API
+       -------------------------------------------------------------- */
+
+    /** Same result as {@link Instant#parse}; fast path for UTC instants with 4-digit years. */
+    public static Instant parseInstant(String s) {
+        Instant fast = tryParseUtcInstant(s);
+        return fast != null ? fast : Instant.parse(s);
+    }
+
+    /**
+     * Numerically the same as {@code new BigDecimal(s)}, but fast-path values always
+     * carry scale 2 (e.g. {@code "1.5"} → {@code 1.50}), as stored in {@code numeric(18,2)}.
+     */
+    public static BigDecimal parseAmount(String s) {
+        long cents = tryParseCents(s);
+        return cents != NO_CENTS ? BigDecimal.valueOf(cents, 2) : new BigDecimal(s);
+    }
+
+    /**
+     * {@code [+-]digits[.d[d]]} with at most 16 integer digits → cents;
+     * {@link #NO_CENTS} for anything else (exponents, 3+ decimals, blanks, garbage).
+     */
+    public static long tryParseCents(CharSequence s) {
+        int len = s.length();
+        int i = 0;
+        boolean negative = false;
+        if (len > 0 && (s.charAt(0) == '-' || s.charAt(0) == '+')) {
+            negative = s.charAt(0) == '-';
+            i++;
+        }
+
+        long units = 0;
+        int intDigits = 0;
+        while (i < len) {
+            int d = s.charAt(i) - '0';
+            if (d < 0 || d > 9) break;
+            units = units * 10 + d;
+            intDigits++;
+            i++;
+        }
+
+        int fracDigits = 0;
+        long frac = 0;
+        if (i < len && s.charAt(i) == '.') {
+            i++;
+            while (i < len) {
+                int d = s.charAt(i) - '0';
+                if (d < 0 || d > 9) return NO_CENTS;
+                frac = frac * 10 + d;
+                fracDigits++;
+                i++;
+            }
+        }
+
+        if (i != len || intDigits + fracDigits == 0
+                || intDigits > MAX_INTEGER_DIGITS || fracDigits > 2) {
+            return NO_CENTS;
+        }
+        long cents = units * 100 + (fracDigits == 1 ? frac * 10 : frac);
+        return negative ? -cents : cents;
+    }
+
+    /* --------------------------------------------------------------
+       Internals
+       -------------------------------------------------------------- */
+
+    /** {@code null} when the input is not the fixed UTC shape or is not a valid date/time. */
+    private static Instant tryParseUtcInstant(CharSequence s) {
+        int len = s.length();
+        if (len < 20 || len > 30 || s.charAt(len - 1) != 'Z') return null;
+        if (s.charAt(4) != '-' || s.charAt(7) != '-' || s.charAt(10) != 'T'
+                || s.charAt(13) != ':' || s.charAt(16) != ':') return null;
+
+        int year   = digits(s, 0, 4);
+        int month  = digits(s, 5, 2);
+        int day    = digits(s, 8, 2);
+        int hour   = digits(s, 11, 2);
+        int minute = digits(s, 14, 2);
+        int second = digits(s, 17, 2);
+        if ((year | month | day | hour | minute | second) < 0) return null;
+
+        int nanos = 0;
+        if (len > 20) {
+            int fracLen = len - 21;                         // between '.' and 'Z'
+            if (s.charAt(19) != '.' || fracLen < 1) return null;
+            int frac = digits(s, 20, fracLen);
+            if (frac < 0) return null;
+            nanos = frac * POW10[9 - fracLen];
+        }
+
+        // leap seconds (ss=60) and impossible dates go through the JDK for its exact behaviour
+        if (month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour > 23 || minute > 59 || second > 59) return null;
+
+        long epochSecond = epochDay(year, month, day) * 86_400L
+                + hour * 3_600L + minute * 60L + second;
+        return Instant.ofEpochSecond(epochSecond, nanos);
+    }
+
+    /** Non-negative value of {@code n} ASCII digits at {@code from}, or -1. */
+    private static int digits(CharSequence s, int from, int n) {
+        int v = 0;
+        for (int i = from; i < from + n; i++) {
+            int d = s.charAt(i) - '0';
+            if (d < 0 || d > 9) return -1;
+            v = v * 10 + d;
+        }
+        return v;
+    }
+
+    private static boolean isLeap(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> isLeap(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    /** Same arithmetic as {@code LocalDate.toEpochDay}, restricted to years 0..9999. */
+    private static long epochDay(int year, int month, int day) {
+        long y = year;
+        long total = 365 * y + (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        total += (367L * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeap(year)) total--;
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+}
@@ -0,0 +1,230 @@
+package com.practice.io.csv;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+
+import com.practice.domain.processing.ProcessingRequest;
+
+/**
+ * Splittable view of a byte range of a CSV file.
+ * <p>
+ * {@link #trySplit} cuts the range at the first record boundary after its byte midpoint: a
+ * {@code '\n'} that is not inside a quoted field. The quote state is not known in the middle
+ * of the file, so it is tracked with the rules of {@link CsvRecordReader}, scanning the raw
+ * bytes from the start of the range (always a boundary). Boundaries found on the way are
+ * kept in a set shared by all the ranges of the file, so later splits of a prefix that was
+ * already scanned reuse them instead of scanning again. Each range is then parsed on its own
+ * by a {@link CsvRecordReader} fed with positional reads of the file.
+ * <p>
+ * Only valid for charsets where {@code '\n'}, {@code '\r'} and {@code '"'} are single bytes
+ * never part of another character (UTF-8, ASCII, ISO-8859-x), and for ASCII delimiters:
+ * {@link CsvUtil#parallelStreamRequests} checks both.
+ */
+final class CsvRangeSpliterator implements Spliterator<ProcessingRequest> {
+
+    /** Ranges below this are not split further. */
+    static final long MIN_SPLIT = 1 << 20;
+    private static final int PROBE = 64 * 1_024;
+
+    /* bytes de 8 en 8 ("SWAR"): el mismo byte repetido en cada posición de un long */
+    private static final VarHandle WORDS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long ONES   = 0x0101010101010101L;
+    private static final long HIGHS  = 0x8080808080808080L;
+    private static final long QUOTES = ONES * '"';
+    private static final long LFS    = ONES * '\n';
+    private static final long CRS    = ONES * '\r';
+
+    private final FileChannel channel;
+    private final Charset charset;
+    private final char delimiter;
+    private final CsvRequestFactory factory;
+    private final NavigableSet<Long> boundaries;    // record starts already found, shared
+    private long start;
+    private final long end;
+    private CsvRecordReader reader;                 // created on first traversal
+
+    CsvRangeSpliterator(FileChannel channel, long start, long end,
+                        Charset charset, char delimiter, CsvRequestFactory factory) {
+        this(channel, start, end, charset, delimiter, factory, new ConcurrentSkipListSet<>());
+    }
+
+    private CsvRangeSpliterator(FileChannel channel, long start, long end, Charset charset, char delimiter,
+                                CsvRequestFactory factory, NavigableSet<Long> boundaries) {
+        this.channel = channel;
+        this.start = start;
+        this.end = end;
+        this.charset = charset;
+        this.delimiter = delimiter;
+        this.factory = factory;
+        this.boundaries = boundaries;
+    }
+
+    @Override public boolean tryAdvance(Consumer<? super ProcessingRequest> action) {
+        if (reader == null) reader = new CsvRecordReader(new ChannelRange(channel, start, end, charset), delimiter);
+        List<String> record;
+        try {
+            record = reader.next();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (record == null) return false;
+        action.accept(CsvUtil.parseRecord(record, delimiter, factory));
+        return true;
+    }
+
+    @Override public Spliterator<ProcessingRequest> trySplit() {
+        if (reader != null || end - start < 2 * MIN_SPLIT) return null;
+        long cut;
+        try {
+            cut = recordStartAfter(start + (end - start) / 2);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (cut >= end) return null;
+        CsvRangeSpliterator prefix =
+                new CsvRangeSpliterator(channel, start, cut, charset, delimiter, factory, boundaries);
+        start = cut;
+        return prefix;
+    }
+
+    /** Remaining bytes: proportional to the records left, which is all the framework needs. */
+    @Override public long estimateSize() { return end - start; }
+
+    @Override public int characteristics() { return ORDERED | NONNULL | IMMUTABLE; }
+
+    /**
+     * Offset of the first record that starts at or after {@code from} ({@code end} if none):
+     * a boundary already found by an earlier scan when there is one before the next quarter of
+     * the range, otherwise the result of scanning from {@code start}.
+     * <p>
+     * Only {@code '"'} can change the quote state, so the scan jumps from quote to quote (and
+     * to {@code '\n'} outside quotes) eight bytes at a time. A quote opens a field when it
+     * follows a delimiter, a line break or a closing quote ({@code ""} escape), exactly as in
+     * {@link CsvRecordReader}; anywhere else it is a literal character of an unquoted field.
+     */
+    private long recordStartAfter(long from) throws IOException {
+        Long known = boundaries.ceiling(from);
+        if (known != null && known < Math.min(end, from + (end - start) / 4)) return known;
+
+        ByteBuffer probe = ByteBuffer.allocate(PROBE);
+        byte[] bytes = probe.array();
+        boolean quoted = false;
+        boolean afterQuote = false;                 // previous byte closed a quoted field
+        byte prev = '\n';                           // start is a record boundary
+        long lastKept = start;
+        long pos = start;
+        while (pos < end) {
+            probe.clear().limit((int) Math.min(PROBE, end - pos));
+            int n = channel.read(probe, pos);                  // positional: safe across threads
+            if (n <= 0) return end;
+            int i = 0;
+            while (i < n) {
+                if (i + Long.BYTES <= n) {
+                    long w = (long) WORDS.get(bytes, i);
+                    if ((quoted ? has(w, QUOTES) : has(w, QUOTES) | has(w, LFS)) == 0) {
+                        i += Long.BYTES;
+                        prev = bytes[i - 1];
+                        afterQuote = false;
+                        continue;
+                    }
+                }
+                byte b = bytes[i++];
+                if (quoted) {
+                    if (b == '"') {
+                        quoted = false;
+                        afterQuote = true;
+                        prev = b;
+                    }
+                    continue;
+                }
+                if (b == '"') {
+                    quoted = afterQuote || prev == delimiter || prev == '\n' || prev == '\r';
+                } else if (b == '\n') {
+                    long next = pos + i;
+                    if (next >= from) return next;
+                    if (next - lastKept >= MIN_SPLIT / 2) {
+                        boundaries.add(next);
+                        lastKept = next;
+                    }
+                }
+                afterQuote = false;
+                prev = b;
+            }
+            pos += n;
+        }
+        return end;
+    }
+
+    /** Non-zero iff some byte of {@code word} equals the byte repeated in {@code pattern}. */
+    private static long has(long word, long pattern) {
+        long x = word ^ pattern;
+        return (x - ONES) & ~x & HIGHS;
+    }
+
+    /**
+     * Decodes {@code [start, end)} of the file from positional reads into a heap buffer: one
+     * copy, like the {@code InputStreamReader} of the sequential path, and the JDK decoders keep
+     * their array fast path. Positional reads leave the channel position alone, so every range
+     * of the file can be read at the same time.
+     */
+    private static final class ChannelRange implements Readable {
+        private final FileChannel channel;
+        private final long end;
+        private final CharsetDecoder decoder;
+        private final ByteBuffer bytes = ByteBuffer.allocate(PROBE).flip();
+        private long next;                              // first file offset not yet read
+        private boolean flushed;
+
+        ChannelRange(FileChannel channel, long start, long end, Charset charset) {
+            this.channel = channel;
+            this.next = start;
+            this.end = end;
+            this.decoder = charset.newDecoder();
+        }
+
+        @Override public int read(CharBuffer cb) throws IOException {
+            if (flushed) return -1;
+            int before = cb.position();
+            while (true) {
+                boolean last = fill();
+                CoderResult r = decoder.decode(bytes, cb, last);
+                if (r.isError()) r.throwException();
+                if (r.isOverflow()) return cb.position() - before;
+                if (last) {
+                    decoder.flush(cb);
+                    flushed = true;
+                    int n = cb.position() - before;
+                    return n == 0 ? -1 : n;
+                }
+                if (cb.position() > before) return cb.position() - before;
+            }
+        }
+
+        /** Tops up the buffer (keeping any split character); {@code true} once the range is read. */
+        private boolean fill() throws IOException {
+            bytes.compact();
+            while (bytes.hasRemaining() && next < end) {
+                if (end - next < bytes.remaining()) bytes.limit(bytes.position() + (int) (end - next));
+                int n = channel.read(bytes, next);
+                if (n < 0) throw new IOException("File truncated at offset " + next);
+                next += n;
+            }
+            bytes.flip();
+            return next == end;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.practice.io.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single-pass RFC-4180 record reader over a fixed {@link CharBuffer}.
+ * <ul>
+ *   <li>fields may be quoted; inside quotes {@code ""} is a literal quote and the
+ *       delimiter, CR and LF are plain characters;</li>
+ *   <li>records end at LF, CR or CRLF; blank lines are skipped;</li>
+ *   <li>unquoted fields are cut straight from the buffer (one {@code String} per field),
+ *       a field only goes through the {@link StringBuilder} when it spans a refill or
+ *       contains escaped quotes.</li>
+ * </ul>
+ * Memory is the buffer plus the current record, whatever the size of the input.
+ * Malformed input (text after a closing quote, unterminated quote) is an
+ * {@link IllegalArgumentException} naming the record. Not thread-safe.
+ */
+final class CsvRecordReader implements Closeable {
+
+    private static final int DEFAULT_BUFFER = 8_192;
+
+    /* estados de la máquina */
+    private static final int FIELD_START = 0;
+    private static final int UNQUOTED    = 1;
+    private static final int QUOTED      = 2;
+    private static final int AFTER_QUOTE = 3;      // quote seen inside a quoted field
+
+    private final Readable in;
+    private final char delimiter;
+    private final CharBuffer buf;
+    private final char[] chars;
+    private int pos, limit;
+    private boolean skipLf;                        // previous record ended with CR
+
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private int spanStart = -1;                    // start in chars[] of the pending field text
+    private long records;
+
+    CsvRecordReader(Readable in, char delimiter) {
+        this(in, delimiter, DEFAULT_BUFFER);
+    }
+
+    CsvRecordReader(Readable in, char delimiter, int bufferSize) {
+        this.in = in;
+        this.delimiter = checkDelimiter(delimiter);
+        this.buf = CharBuffer.allocate(bufferSize);
+        this.chars = buf.array();
+    }
+
+    /**
+     * Fields of the next record, or {@code null} at end of input.
+     * The list is reused by the next call.
+     */
+    List<String> next() throws IOException {
+        fields.clear();
+        field.setLength(0);
+        spanStart = -1;
+        int state = FIELD_START;
+        boolean started = false;
+
+        while (true) {
+            if (pos == limit) {
+                closeSpan();
+                if (!fill()) return atEof(state, started);
+            }
+            char c = chars[pos];
+            if (skipLf) {
+                skipLf = false;
+                if (c == '\n') { pos++; continue; }
+            }
+
+            switch (state) {
+                case FIELD_START -> {
+                    if (c == '"') {
+                        state = QUOTED;
+                        started = true;
+                    } else if (c == delimiter) {
+                        emitField();
+                        started = true;
+                    } else if (c == '\n' || c == '\r') {
+                        skipLf = c == '\r';
+                        if (started) { emitField(); pos++; return record(); }
+                    } else {
+                        spanStart = pos;
+                        state = UNQUOTED;
+                        started = true;
+                    }
+                }
+                case UNQUOTED -> {
+                    if (c == delimiter) {
+                        emitField();
+                        state = FIELD_START;
+                    } else if (c == '\n' || c == '\r') {
+                        skipLf = c == '\r';
+                        emitField();
+                        pos++;
+                        return record();
+                    } else if (spanStart < 0) {
+                        spanStart = pos;                    // resumed after a refill
+                    }
+                }
+                case QUOTED -> {
+                    if (c == '"') {
+                        closeSpan();
+                        state = AFTER_QUOTE;
+                    } else if (spanStart < 0) {
+                        spanStart = pos;
+                    }
+                }
+                default -> {                                // AFTER_QUOTE
+                    if (c == '"') {
+                        field.append('"');
+                        state = QUOTED;
+                    } else if (c == delimiter) {
+                        emitField();
+                        state = FIELD_START;
+                    } else if (c == '\n' || c == '\r') {
+                        skipLf = c == '\r';
+                        emitField();
+                        pos++;
+                        return record();
+                    } else {
+                        throw new IllegalArgumentException(
+                                "Unexpected '" + c + "' after closing quote in record " + (records + 1));
+                    }
+                }
+            }
+            pos++;
+        }
+    }
+
+    static char checkDelimiter(char delimiter) {
+        if (delimiter == '"' || delimiter == '\r' || delimiter == '\n')
+            throw new IllegalArgumentException("Invalid delimiter: " + delimiter);
+        return delimiter;
+    }
+
+    /** Records returned so far. */
+    long recordCount() { return records; }
+
+    @Override public void close() throws IOException {
+        if (in instanceof Closeable c) c.close();
+    }
+
+    /* --- internos -------------------------------------------------------- */
+
+    private List<String> atEof(int state, boolean started) {
+        if (state == QUOTED) throw new IllegalArgumentException("Unterminated quoted field in record " + (records + 1));
+        if (!started) return null;
+        emitField();
+        return record();
+    }
+
+    private List<String> record() {
+        records++;
+        return fields;
+    }
+
+    private boolean fill() throws IOException {
+        buf.clear();
+        int n;
+        do {
+            n = in.read(buf);
+        } while (n == 0);
+        pos = 0;
+        limit = Math.max(n, 0);
+        return n > 0;
+    }
+
+    /** Moves the pending span into the builder (before a refill or an escaped quote). */
+    private void closeSpan() {
+        if (spanStart < 0) return;
+        field.append(chars, spanStart, pos - spanStart);
+        spanStart = -1;
+    }
+
+    private void emitField() {
+        if (spanStart >= 0 && field.length() == 0) {
+            fields.add(new String(chars, spanStart, pos - spanStart));
+        } else {
+            closeSpan();
+            fields.add(field.toString());
+        }
+        field.setLength(0);
+        spanStart = -1;
+    }
+}
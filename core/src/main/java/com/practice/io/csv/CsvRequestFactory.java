@@ -0,0 +1,39 @@
+package com.practice.io.csv;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import com.practice.domain.batchconfig.BatchJobConfig;
+import com.practice.domain.datafile.DataFile;
+import com.practice.domain.processing.ProcessingRequest;
+import com.practice.domain.user.User;
+
+/**
+ * Builds a {@link ProcessingRequest} from the three CSV columns (id, title, createdAt).
+ * <p>
+ * The CSV does not carry the request's {@code DataFile}, {@code User} or {@code BatchJobConfig};
+ * the factory supplies them. The built-in factories resolve them once and share them across
+ * rows, so a row costs the request plus its parsed fields. A custom factory can look them up
+ * per row instead (e.g. from a map keyed by id).
+ */
+@FunctionalInterface
+public interface CsvRequestFactory {
+
+    ProcessingRequest create(UUID id, String title, Instant createdAt);
+
+    /** Every row references the same file, requester and job config (empty parameters). */
+    static CsvRequestFactory sharing(DataFile dataFile, User requestedBy, BatchJobConfig config) {
+        Objects.requireNonNull(dataFile, "dataFile");
+        Objects.requireNonNull(requestedBy, "requestedBy");
+        Objects.requireNonNull(config, "config");
+        return (id, title, createdAt) ->
+                new ProcessingRequest(id, title, dataFile, Map.of(), requestedBy, config, createdAt);
+    }
+
+    /** Placeholder file, user and config, created once per JVM (the default of {@link CsvUtil}). */
+    static CsvRequestFactory stubs() {
+        return StubRequests.FACTORY;
+    }
+}
@@ -1,20 +1,35 @@
 package com.practice.io.csv;
 
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.practice.domain.processing.ProcessingRequest;
 
 /**
  * Tiny CSV helper for ProcessingRequest.
  * - No external libs; just java.nio & Streams.
+ * - RFC-4180 quoting on both sides (see {@link CsvRecordReader}).
+ * - {@link #streamRequests} reads lazily in constant memory;
+ *   {@link #parallelStreamRequests} splits the file into byte ranges across threads.
+ * - The objects a request references but the CSV does not carry come from a
+ *   {@link CsvRequestFactory} (shared placeholders by default).
  */
 public final class CsvUtil {
 
@@ -26,14 +41,94 @@ public final class CsvUtil {
 
     public static List<ProcessingRequest> readRequests(
             Path csv, Charset cs, char delimiter) throws Exception {
+        return readRequests(csv, cs, delimiter, CsvRequestFactory.stubs());
+    }
+
+    public static List<ProcessingRequest> readRequests(
+            Path csv, Charset cs, char delimiter, CsvRequestFactory factory) throws Exception {
 
-        try (BufferedReader br = Files.newBufferedReader(csv, cs)) {
-            return br.lines()
-                     .map(l -> parseLine(l, delimiter))
-                     .collect(Collectors.toList());
+        try (Stream<ProcessingRequest> s = streamRequests(csv, cs, delimiter, factory)) {
+            return s.collect(Collectors.toList());
         }
     }
 
+    /**
+     * One request per record, parsed as the stream is consumed. Close the stream
+     * (try-with-resources) to release the file. I/O errors surface as
+     * {@link UncheckedIOException}, malformed records as {@link IllegalArgumentException}.
+     */
+    public static Stream<ProcessingRequest> streamRequests(
+            Path csv, Charset cs, char delimiter) throws IOException {
+        return streamRequests(csv, cs, delimiter, CsvRequestFactory.stubs());
+    }
+
+    /** Like {@link #streamRequests(Path, Charset, char)}, building each request with {@code factory}. */
+    public static Stream<ProcessingRequest> streamRequests(
+            Path csv, Charset cs, char delimiter, CsvRequestFactory factory) throws IOException {
+
+        Objects.requireNonNull(factory, "factory");
+        CsvRecordReader.checkDelimiter(delimiter);                // before opening the file
+        CsvRecordReader reader = new CsvRecordReader(
+                new InputStreamReader(Files.newInputStream(csv), cs.newDecoder()), delimiter);
+        Spliterator<ProcessingRequest> split = new Spliterators.AbstractSpliterator<>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override public boolean tryAdvance(Consumer<? super ProcessingRequest> action) {
+                List<String> record;
+                try {
+                    record = reader.next();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (record == null) return false;
+                action.accept(parseRecord(record, delimiter, factory));
+                return true;
+            }
+        };
+        return StreamSupport.stream(split, false).onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public static Stream<ProcessingRequest> parallelStreamRequests(
+            Path csv, Charset cs, char delimiter) throws IOException {
+        return parallelStreamRequests(csv, cs, delimiter, CsvRequestFactory.stubs());
+    }
+
+    /**
+     * Parallel version of {@link #streamRequests}: the file is split into byte ranges cut at
+     * record boundaries, quoted line breaks included (see {@link CsvRangeSpliterator}), each
+     * parsed on its own thread. Encounter order is kept. Charsets where {@code '\n'},
+     * {@code '\r'} or {@code '"'} are not single bytes (e.g. UTF-16), and delimiters outside
+     * ASCII, fall back to {@code streamRequests(...).parallel()}.
+     */
+    public static Stream<ProcessingRequest> parallelStreamRequests(
+            Path csv, Charset cs, char delimiter, CsvRequestFactory factory) throws IOException {
+
+        Objects.requireNonNull(factory, "factory");
+        CsvRecordReader.checkDelimiter(delimiter);
+        if (!csvSyntaxIsOneByte(cs) || delimiter >= 0x80) return streamRequests(csv, cs, delimiter, factory).parallel();
+
+        FileChannel channel = FileChannel.open(csv, StandardOpenOption.READ);
+        CsvRangeSpliterator split;
+        try {
+            split = new CsvRangeSpliterator(channel, 0, channel.size(), cs, delimiter, factory);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return StreamSupport.stream(split, true).onClose(() -> {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
     public static void writeRequests(
             Path csv, List<ProcessingRequest> list,
             Charset cs, char delimiter) throws Exception {
@@ -42,53 +137,60 @@ public final class CsvUtil {
                 csv, cs, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
 
             for (ProcessingRequest pr : list) {
-                bw.write(formatLine(pr, delimiter));
+                writeField(bw, pr.id().toString(), delimiter);
+                bw.write(delimiter);
+                writeField(bw, pr.title(), delimiter);
+                bw.write(delimiter);
+                writeField(bw, pr.createdAt().toString(), delimiter);
                 bw.newLine();                       // correct \n on *nix, \r\n on Windows
             }
         }
     }
 
     /* --------------------------------------------------------------
-       Internals (very simple — no quoted fields)
+       Internals
        -------------------------------------------------------------- */
 
-    private static ProcessingRequest parseLine(String l, char d) {
-        String[] p = l.split("\\" + d);
-        if (p.length < 3) {
-            throw new IllegalArgumentException("CSV line must have at least 3 fields: " + l);
+    static ProcessingRequest parseRecord(List<String> p, char d, CsvRequestFactory factory) {
+        if (p.size() < 3) {
+            throw new IllegalArgumentException(
+                    "CSV line must have at least 3 fields: " + String.join(String.valueOf(d), p));
         }
-        
-        // Create stub objects for required non-null fields
-        var stubDataFile = new com.practice.domain.datafile.DataFile(
-            UUID.randomUUID(), "stub.csv", "/tmp/stub.csv", 1L,
-            "0000000000000000000000000000000000000000000000000000000000000000",
-            java.time.Instant.now(), createStubUser()
-        );
-        
-        var stubUser = createStubUser();
-        var stubConfig = com.practice.domain.batchconfig.BatchJobConfig.builder("STUB").chunkSize(100).build();
-        
-        return new ProcessingRequest(
-                UUID.fromString(p[0]),
-                p[1],                                // title
-                stubDataFile,                        // dataFile - stub object
-                Map.<String,String>of(),             // params - empty map with correct types
-                stubUser,                            // requestedBy - stub user
-                stubConfig,                          // batchJobConfig - stub config
-                java.time.Instant.parse(p[2]));     // createdAt
+        return factory.create(
+                UUID.fromString(p.get(0)),
+                p.get(1),                                   // title
+                CsvFieldParsers.parseInstant(p.get(2)));    // createdAt
     }
-    
-    private static com.practice.domain.user.User createStubUser() {
-        return new com.practice.domain.user.User(
-            UUID.randomUUID(), "StubUser", "stub@example.com",
-            com.practice.domain.utils.enums.UserRole.OPERATOR, java.time.Instant.now()
-        );
+
+    private static boolean csvSyntaxIsOneByte(Charset cs) {
+        return cs.equals(StandardCharsets.UTF_8)
+                || (cs.canEncode() && cs.newEncoder().maxBytesPerChar() == 1f
+                    && Arrays.equals("\n\r\"".getBytes(cs), new byte[] {'\n', '\r', '"'}));
     }
 
-    private static String formatLine(ProcessingRequest pr, char d) {
-        return String.join(String.valueOf(d),
-                pr.id().toString(),
-                pr.title(),
-                pr.createdAt().toString());
+    /** Writes {@code s}, quoted (with {@code ""} escapes) only if it holds a delimiter, quote, CR or LF. */
+    private static void writeField(Writer w, String s, char d) throws IOException {
+        int len = s.length();
+        int i = 0;
+        while (i < len) {
+            char c = s.charAt(i);
+            if (c == d || c == '"' || c == '\n' || c == '\r') break;
+            i++;
+        }
+        if (i == len) {
+            w.write(s);
+            return;
+        }
+        w.write('"');
+        int from = 0;
+        for (int j = i; j < len; j++) {
+            if (s.charAt(j) == '"') {
+                w.write(s, from, j + 1 - from);         // up to and including the quote…
+                w.write('"');                           // …which is doubled
+                from = j + 1;
+            }
+        }
+        w.write(s, from, len - from);
+        w.write('"');
     }
 }
@@ -0,0 +1,147 @@
+package com.practice.io.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+import com.practice.io.schema.Column;
+import com.practice.io.schema.RecordSchema;
+import com.practice.io.schema.RejectionSink;
+import com.practice.io.schema.RowBuffer;
+
+/**
+ * Read step of a schema-driven import: RFC-4180 records parsed straight into the typed columns of
+ * a {@link RowBuffer}, one chunk per {@link #read} call.
+ * <ul>
+ *   <li>the first record must be the schema header ({@link RecordSchema#header});</li>
+ *   <li>fields are trimmed and blank fields are {@code null};</li>
+ *   <li>{@code DECIMAL}: {@code numeric(18,2)} amounts go through {@link CsvFieldParsers#tryParseCents},
+ *       other inputs through {@code BigDecimal} rounded {@code HALF_UP} to the column scale;</li>
+ *   <li>{@code INSTANT}: {@link CsvFieldParsers#parseInstant}; {@code LONG}: {@link Long#parseLong}.</li>
+ * </ul>
+ * Records with the wrong number of fields ({@code INVALID_FIELD_COUNT}) or an unparsable value
+ * ({@code INVALID_<TYPE>}) are reported to the {@link RejectionSink} and not added; nullability
+ * is left to {@code SchemaRowValidator}. Not thread-safe.
+ */
+public final class SchemaCsvReader implements Closeable {
+
+    public static final String INVALID_FIELD_COUNT = "INVALID_FIELD_COUNT";
+
+    private final CsvRecordReader records;
+    private final RecordSchema schema;
+    private final Column[] columns;
+    private final char delimiter;
+    private boolean headerRead;
+    private long dataRecords;
+
+    public SchemaCsvReader(Readable in, RecordSchema schema, char delimiter) {
+        this.records = new CsvRecordReader(Objects.requireNonNull(in, "in"), delimiter);
+        this.schema = Objects.requireNonNull(schema, "schema");
+        this.columns = schema.columns().toArray(Column[]::new);
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Appends records to {@code into} until it is full or the input ends.
+     * Returns the number of records consumed (added + rejected); 0 at end of input.
+     *
+     * @throws IllegalArgumentException if the header does not match the schema, or the CSV is malformed
+     */
+    public int read(RowBuffer into, RejectionSink sink) throws IOException {
+        if (into.schema() != schema) throw new IllegalArgumentException("RowBuffer of another schema: " + into.schema());
+        if (!headerRead) readHeader();
+        int consumed = 0;
+        while (!into.isFull()) {
+            List<String> fields = records.next();
+            if (fields == null) break;
+            consumed++;
+            dataRecords++;
+            long record = records.recordCount();
+            if (fields.size() != columns.length) {
+                sink.reject(record, key(fields), null, INVALID_FIELD_COUNT);
+                continue;
+            }
+            parse(fields, into, record, sink);
+        }
+        return consumed;
+    }
+
+    /** Discards the next {@code n} data records (restart from a checkpoint); returns how many were skipped. */
+    public long skip(long n) throws IOException {
+        if (!headerRead) readHeader();
+        long skipped = 0;
+        while (skipped < n && records.next() != null) skipped++;
+        dataRecords += skipped;
+        return skipped;
+    }
+
+    /** Data records consumed so far (read or skipped, header excluded). */
+    public long dataRecordCount() { return dataRecords; }
+
+    @Override public void close() throws IOException {
+        records.close();
+    }
+
+    /* --- internos -------------------------------------------------------- */
+
+    private void parse(List<String> fields, RowBuffer into, long record, RejectionSink sink) {
+        int row = into.addRow(record);
+        for (int c = 0; c < columns.length; c++) {
+            String v = trimToNull(fields.get(c));
+            if (v == null) {
+                into.setNull(c, row);
+                continue;
+            }
+            Column col = columns[c];
+            try {
+                switch (col.type()) {
+                    case STRING  -> into.setString(c, row, v);
+                    case LONG    -> into.setLong(c, row, Long.parseLong(v));
+                    case DECIMAL -> into.setLong(c, row, unscaled(v, col.scale()));
+                    case INSTANT -> {
+                        Instant t = CsvFieldParsers.parseInstant(v);
+                        into.setInstant(c, row, t.getEpochSecond(), t.getNano());
+                    }
+                }
+            } catch (RuntimeException e) {                  // NumberFormat, DateTimeParse, Arithmetic
+                into.removeLastRow();
+                sink.reject(record, key(fields), col.name(), "INVALID_" + col.type());
+                return;
+            }
+        }
+    }
+
+    private static long unscaled(String v, int scale) {
+        if (scale == 2) {
+            long cents = CsvFieldParsers.tryParseCents(v);
+            if (cents != CsvFieldParsers.NO_CENTS) return cents;
+        }
+        return new BigDecimal(v).setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private void readHeader() throws IOException {
+        headerRead = true;
+        List<String> fields = records.next();
+        if (fields == null) return;                         // archivo vacío
+        boolean ok = fields.size() == columns.length;
+        for (int c = 0; ok && c < columns.length; c++) ok = columns[c].name().equals(fields.get(c).trim());
+        if (!ok) {
+            throw new IllegalArgumentException("Invalid header. Expected: " + schema.header(delimiter)
+                    + " but was: " + String.join(String.valueOf(delimiter), fields));
+        }
+    }
+
+    private String key(List<String> fields) {
+        int k = schema.keyIndex();
+        return k >= 0 && k < fields.size() ? trimToNull(fields.get(k)) : null;
+    }
+
+    private static String trimToNull(String s) {
+        String t = s.trim();
+        return t.isEmpty() ? null : t;
+    }
+}
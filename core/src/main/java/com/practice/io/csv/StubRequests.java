@@ -0,0 +1,27 @@
+package com.practice.io.csv;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.practice.domain.batchconfig.BatchJobConfig;
+import com.practice.domain.datafile.DataFile;
+import com.practice.domain.user.User;
+import com.practice.domain.utils.enums.UserRole;
+
+/** Lazily created placeholders behind {@link CsvRequestFactory#stubs()} (holder idiom). */
+final class StubRequests {
+
+    private static final User STUB_USER = new User(
+            UUID.randomUUID(), "StubUser", "stub@example.com", UserRole.OPERATOR, Instant.now());
+
+    private static final DataFile STUB_FILE = new DataFile(
+            UUID.randomUUID(), "stub.csv", "/tmp/stub.csv", 1L,
+            "0000000000000000000000000000000000000000000000000000000000000000",
+            Instant.now(), STUB_USER);
+
+    private static final BatchJobConfig STUB_CONFIG = BatchJobConfig.builder("STUB").chunkSize(100).build();
+
+    static final CsvRequestFactory FACTORY = CsvRequestFactory.sharing(STUB_FILE, STUB_USER, STUB_CONFIG);
+
+    private StubRequests() { }
+}
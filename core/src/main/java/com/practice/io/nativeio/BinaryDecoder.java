@@ -0,0 +1,195 @@
+package com.practice.io.nativeio;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import com.practice.domain.batchconfig.BatchJobConfig;
+import com.practice.domain.datafile.DataFile;
+import com.practice.domain.jobexecution.JobExecution;
+import com.practice.domain.processing.ProcessingRequest;
+import com.practice.domain.user.User;
+import com.practice.domain.utils.enums.ExecutionStatus;
+import com.practice.domain.utils.enums.ReaderType;
+import com.practice.domain.utils.enums.RequestStatus;
+import com.practice.domain.utils.enums.UserRole;
+import com.practice.domain.utils.enums.WriterType;
+
+/**
+ * Reads what {@link BinaryEncoder} writes, consuming bytes from the buffer's position.
+ * <p>
+ * Messages from a newer schema version, of another type or with an out-of-range enum
+ * ordinal are rejected with {@link IllegalArgumentException}; truncated input surfaces as
+ * {@link java.nio.BufferUnderflowException}. Objects go through their public constructors,
+ * so the usual domain validation applies. Keeps a scratch array for strings; not thread-safe.
+ */
+public final class BinaryDecoder {
+
+    /* ordinales → constantes, sin values() por llamada */
+    private static final UserRole[]        ROLES      = UserRole.values();
+    private static final RequestStatus[]   REQUESTS   = RequestStatus.values();
+    private static final ExecutionStatus[] EXECUTIONS = ExecutionStatus.values();
+    private static final ReaderType[]      READERS    = ReaderType.values();
+    private static final WriterType[]      WRITERS    = WriterType.values();
+
+    private char[] chars = new char[64];
+
+    /* ---------------- API ------------------------------------------------ */
+
+    public User decodeUser(ByteBuffer in) {
+        header(in, BinaryFormat.USER);
+        return readUser(in);
+    }
+
+    public DataFile decodeDataFile(ByteBuffer in) {
+        header(in, BinaryFormat.DATA_FILE);
+        return readDataFile(in);
+    }
+
+    public ProcessingRequest decodeProcessingRequest(ByteBuffer in) {
+        header(in, BinaryFormat.PROCESSING_REQUEST);
+        return readRequest(in);
+    }
+
+    public JobExecution decodeJobExecution(ByteBuffer in) {
+        header(in, BinaryFormat.JOB_EXECUTION);
+        return readExecution(in);
+    }
+
+    /* ---------------- objects -------------------------------------------- */
+
+    private User readUser(ByteBuffer in) {
+        return new User(readUuid(in), readString(in), readString(in),
+                        ordinal(ROLES, readVarInt(in)), readInstant(in));
+    }
+
+    private DataFile readDataFile(ByteBuffer in) {
+        return new DataFile(readUuid(in), readString(in), readString(in), readVarLong(in),
+                            readString(in), readInstant(in), readUser(in));
+    }
+
+    private BatchJobConfig readConfig(ByteBuffer in) {
+        UUID id = readUuid(in);
+        BatchJobConfig.Builder b = BatchJobConfig.builder(readString(in))
+                .id(id)
+                .description(readString(in))
+                .chunkSize(readVarInt(in))
+                .readerType(ordinal(READERS, readVarInt(in)))
+                .writerType(ordinal(WRITERS, readVarInt(in)));
+        if (readBoolean(in)) b.allowRestart();
+        b.createdAt(readInstant(in));
+        if (!readBoolean(in)) b.inactive();
+        return b.build();
+    }
+
+    private ProcessingRequest readRequest(ByteBuffer in) {
+        UUID id = readUuid(in);
+        String title = readString(in);
+        DataFile file = readDataFile(in);
+        int n = readVarInt(in);
+        Map<String, String> params = new HashMap<>(Math.min(n, in.remaining()) * 2);
+        for (int i = 0; i < n; i++) params.put(readString(in), readString(in));
+        RequestStatus status = ordinal(REQUESTS, readVarInt(in));
+        Instant createdAt = readInstant(in);
+        User requestedBy = readUser(in);
+        BatchJobConfig config = readConfig(in);
+
+        ProcessingRequest r = new ProcessingRequest(id, title, file, params, requestedBy, config, createdAt);
+        // replaying the allowed transitions keeps the state machine the only writer of status
+        if (status != RequestStatus.PENDING) r.markInProgress();
+        if (status == RequestStatus.COMPLETED) r.markCompleted();
+        if (status == RequestStatus.FAILED) r.markFailed();
+        return r;
+    }
+
+    private JobExecution readExecution(ByteBuffer in) {
+        JobExecution e = new JobExecution(readUuid(in), readRequest(in), readInstant(in));
+        if (readBoolean(in)) {
+            e.finish(ordinal(EXECUTIONS, readVarInt(in)), readInstant(in),
+                     readVarLong(in), readVarLong(in), readVarLong(in), readString(in));
+        }
+        return e;
+    }
+
+    /* ---------------- primitives ----------------------------------------- */
+
+    private static void header(ByteBuffer in, byte expectedType) {
+        byte version = in.get();
+        if (version < 1 || version > BinaryFormat.SCHEMA_VERSION)
+            throw new IllegalArgumentException("Unsupported schema version " + version);
+        byte type = in.get();
+        if (type != expectedType)
+            throw new IllegalArgumentException("Expected type " + expectedType + " but found " + type);
+    }
+
+    private static <E> E ordinal(E[] values, int ordinal) {
+        if (ordinal < 0 || ordinal >= values.length)
+            throw new IllegalArgumentException("Invalid ordinal " + ordinal + " for "
+                    + values.getClass().getComponentType().getSimpleName());
+        return values[ordinal];
+    }
+
+    private static boolean readBoolean(ByteBuffer in) {
+        return in.get() != 0;
+    }
+
+    private static UUID readUuid(ByteBuffer in) {
+        return new UUID(in.getLong(), in.getLong());
+    }
+
+    private static Instant readInstant(ByteBuffer in) {
+        return Instant.ofEpochSecond(readVarLong(in), readVarInt(in));
+    }
+
+    private static int readVarInt(ByteBuffer in) {
+        int v = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            v |= (b & 0x7F) << shift;
+            if (b >= 0) return v;
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long z = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = in.get();
+            z |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return (z >>> 1) ^ -(z & 1);
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    /** ASCII fast path into a reused {@code char[]}; anything else is decoded as UTF-8. */
+    private String readString(ByteBuffer in) {
+        int n = readVarInt(in) - 1;
+        if (n < 0) return null;
+        if (n > in.remaining()) throw new IllegalArgumentException("String length " + n + " exceeds input");
+        if (chars.length < n) chars = new char[Math.max(n, chars.length * 2)];
+        int start = in.position();
+        for (int i = 0; i < n; i++) {
+            byte b = in.get(start + i);
+            if (b < 0) {
+                String s = utf8(in, start, n);
+                in.position(start + n);
+                return s;
+            }
+            chars[i] = (char) b;
+        }
+        in.position(start + n);
+        return new String(chars, 0, n);
+    }
+
+    private static String utf8(ByteBuffer in, int start, int n) {
+        if (in.hasArray()) {
+            return new String(in.array(), in.arrayOffset() + start, n, StandardCharsets.UTF_8);
+        }
+        ByteBuffer slice = in.duplicate();
+        slice.position(start).limit(start + n);
+        return StandardCharsets.UTF_8.decode(slice).toString();
+    }
+}
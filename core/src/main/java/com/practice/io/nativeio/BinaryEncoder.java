@@ -0,0 +1,215 @@
+package com.practice.io.nativeio;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import com.practice.domain.batchconfig.BatchJobConfig;
+import com.practice.domain.datafile.DataFile;
+import com.practice.domain.jobexecution.JobExecution;
+import com.practice.domain.processing.ProcessingRequest;
+import com.practice.domain.user.User;
+
+/**
+ * Compact binary encoder for the domain objects (layout in {@link BinaryFormat}).
+ * <p>
+ * Writes into one growable {@link ByteBuffer} owned by the instance: no stream objects and
+ * no per-call buffers. Each {@code encode} returns that buffer ready to read
+ * (position 0, limit = message length); it is overwritten by the next call, so copy it
+ * out if the bytes must outlive it. Not thread-safe: use one encoder per thread.
+ */
+public final class BinaryEncoder {
+
+    private ByteBuffer buf;
+
+    public BinaryEncoder() {
+        this(256);
+    }
+
+    public BinaryEncoder(int initialCapacity) {
+        this.buf = ByteBuffer.allocate(Math.max(16, initialCapacity));
+    }
+
+    /* ---------------- API ------------------------------------------------ */
+
+    public ByteBuffer encode(User user) {
+        begin(BinaryFormat.USER);
+        writeUser(user);
+        return done();
+    }
+
+    public ByteBuffer encode(DataFile file) {
+        begin(BinaryFormat.DATA_FILE);
+        writeDataFile(file);
+        return done();
+    }
+
+    public ByteBuffer encode(ProcessingRequest request) {
+        begin(BinaryFormat.PROCESSING_REQUEST);
+        writeRequest(request);
+        return done();
+    }
+
+    public ByteBuffer encode(JobExecution execution) {
+        begin(BinaryFormat.JOB_EXECUTION);
+        writeExecution(execution);
+        return done();
+    }
+
+    /* ---------------- objects -------------------------------------------- */
+
+    private void writeUser(User u) {
+        writeUuid(u.id());
+        writeString(u.name());
+        writeString(u.email());
+        writeVarInt(u.role().ordinal());
+        writeInstant(u.createdAt());
+    }
+
+    private void writeDataFile(DataFile f) {
+        writeUuid(f.id());
+        writeString(f.originalFilename());
+        writeString(f.storagePath());
+        writeVarLong(f.sizeBytes());
+        writeString(f.checksumSha256());
+        writeInstant(f.uploadedAt());
+        writeUser(f.uploadedBy());
+    }
+
+    private void writeConfig(BatchJobConfig c) {
+        writeUuid(c.id());
+        writeString(c.name());
+        writeString(c.description());
+        writeVarInt(c.chunkSize());
+        writeVarInt(c.readerType().ordinal());
+        writeVarInt(c.writerType().ordinal());
+        writeBoolean(c.allowRestart());
+        writeInstant(c.createdAt());
+        writeBoolean(c.isActive());
+    }
+
+    private void writeRequest(ProcessingRequest r) {
+        writeUuid(r.id());
+        writeString(r.title());
+        writeDataFile(r.dataFile());
+        Map<String, String> params = r.parameters();
+        writeVarInt(params.size());
+        for (Map.Entry<String, String> e : params.entrySet()) {
+            writeString(e.getKey());
+            writeString(e.getValue());
+        }
+        writeVarInt(r.status().ordinal());
+        writeInstant(r.createdAt());
+        writeUser(r.requestedBy());
+        writeConfig(r.batchJobConfig());
+    }
+
+    private void writeExecution(JobExecution e) {
+        writeUuid(e.id());
+        writeRequest(e.processingRequest());
+        writeInstant(e.startTime());
+        boolean finished = e.exitStatus() != null;
+        writeBoolean(finished);
+        if (!finished) return;
+        writeVarInt(e.exitStatus().ordinal());
+        writeInstant(e.endTime());
+        writeVarLong(e.readCount());
+        writeVarLong(e.writeCount());
+        writeVarLong(e.skipCount());
+        writeString(e.errorMessage());
+    }
+
+    /* ---------------- primitives ----------------------------------------- */
+
+    private void begin(byte type) {
+        buf.clear();
+        buf.put(BinaryFormat.SCHEMA_VERSION).put(type);
+    }
+
+    private ByteBuffer done() {
+        return buf.flip();
+    }
+
+    private void writeBoolean(boolean b) {
+        ensure(1);
+        buf.put((byte) (b ? 1 : 0));
+    }
+
+    private void writeUuid(UUID id) {
+        ensure(16);
+        buf.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+    }
+
+    private void writeInstant(Instant t) {
+        writeVarLong(t.getEpochSecond());
+        writeVarInt(t.getNano());
+    }
+
+    /** Unsigned varint: only for values known to be non-negative (ordinals, sizes, nanos). */
+    private void writeVarInt(int v) {
+        ensure(5);
+        while ((v & ~0x7F) != 0) {
+            buf.put((byte) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        buf.put((byte) v);
+    }
+
+    /** Zig-zag varint: small magnitudes stay short whatever their sign. */
+    private void writeVarLong(long v) {
+        long z = (v << 1) ^ (v >> 63);
+        ensure(10);
+        while ((z & ~0x7FL) != 0) {
+            buf.put((byte) ((z & 0x7F) | 0x80));
+            z >>>= 7;
+        }
+        buf.put((byte) z);
+    }
+
+    /** UTF-8 straight from the chars, no intermediate {@code byte[]}. */
+    private void writeString(String s) {
+        if (s == null) {
+            writeVarInt(0);
+            return;
+        }
+        int len = s.length();
+        int utf8 = 0;
+        for (int i = 0; i < len; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) utf8 += 1;
+            else if (c < 0x800) utf8 += 2;
+            else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                utf8 += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) utf8 += 1;        // unpaired: '?' like String.getBytes
+            else utf8 += 3;
+        }
+        writeVarInt(utf8 + 1);
+        ensure(utf8);
+        for (int i = 0; i < len; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                buf.put((byte) c);
+            } else if (c < 0x800) {
+                buf.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                buf.put((byte) (0xF0 | cp >> 18)).put((byte) (0x80 | cp >> 12 & 0x3F))
+                   .put((byte) (0x80 | cp >> 6 & 0x3F)).put((byte) (0x80 | cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buf.put((byte) '?');
+            } else {
+                buf.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+
+    private void ensure(int bytes) {
+        if (buf.remaining() >= bytes) return;
+        ByteBuffer bigger = ByteBuffer.allocate(Math.max(buf.capacity() * 2, buf.position() + bytes));
+        buf.flip();
+        bigger.put(buf);
+        buf = bigger;
+    }
+}
@@ -0,0 +1,27 @@
+package com.practice.io.nativeio;
+
+/**
+ * Wire constants shared by {@link BinaryEncoder} and {@link BinaryDecoder}.
+ * <p>
+ * Every message is {@code [schema version][type tag][payload]}; nested objects are written
+ * inline, without header. Payload primitives:
+ * <ul>
+ *   <li>{@code int}/{@code long}: LEB128 varints (zig-zag when the value may be negative);</li>
+ *   <li>{@code UUID}: two fixed 8-byte longs;</li>
+ *   <li>enum: varint ordinal;</li>
+ *   <li>{@code String}: varint (UTF-8 length + 1), {@code 0} = {@code null};</li>
+ *   <li>{@code Instant}: zig-zag varint seconds + varint nanos.</li>
+ * </ul>
+ * Changing the payload layout means bumping {@link #SCHEMA_VERSION}.
+ */
+final class BinaryFormat {
+
+    static final byte SCHEMA_VERSION = 1;
+
+    static final byte USER               = 1;
+    static final byte DATA_FILE          = 2;
+    static final byte PROCESSING_REQUEST = 3;
+    static final byte JOB_EXECUTION      = 4;
+
+    private BinaryFormat() { }
+}
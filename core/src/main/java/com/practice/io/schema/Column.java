@@ -0,0 +1,29 @@
+package com.practice.io.schema;
+
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * One column of a {@link RecordSchema}: name (CSV header and table column), type and nullability.
+ * {@code scale} only applies to {@link ColumnType#DECIMAL} and is 0 for every other type.
+ * Names go into generated SQL unquoted, so they must be plain identifiers.
+ */
+public record Column(String name, ColumnType type, boolean nullable, int scale) {
+
+    /** Largest scale whose unscaled values still leave room for whole digits in a {@code long}. */
+    public static final int MAX_SCALE = 9;
+
+    static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    public Column {
+        if (name == null || !IDENTIFIER.matcher(name).matches())
+            throw new IllegalArgumentException("column name must be an identifier: " + name);
+        Objects.requireNonNull(type, "type");
+        if (type == ColumnType.DECIMAL) {
+            if (scale < 0 || scale > MAX_SCALE)
+                throw new IllegalArgumentException("scale must be in [0, " + MAX_SCALE + "]: " + name);
+        } else if (scale != 0) {
+            throw new IllegalArgumentException("scale only applies to DECIMAL columns: " + name);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.practice.io.schema;
+
+/**
+ * Value types a {@link RecordSchema} column can declare, and how {@link RowBuffer} stores them.
+ */
+public enum ColumnType {
+
+    /** Text; one {@code String} per cell. */
+    STRING,
+
+    /** 64-bit integer; a {@code long} per cell. */
+    LONG,
+
+    /**
+     * Fixed-scale decimal (the column's {@link Column#scale()}); the unscaled {@code long} per
+     * cell, e.g. cents for {@code numeric(18,2)}.
+     */
+    DECIMAL,
+
+    /** UTC instant; epoch second ({@code long}) plus nano-of-second ({@code int}) per cell. */
+    INSTANT
+}
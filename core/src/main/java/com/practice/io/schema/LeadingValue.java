@@ -0,0 +1,14 @@
+package com.practice.io.schema;
+
+/**
+ * Value of a leading table column of a {@link RecordSchema}: a column that is not in the file
+ * and that {@link SchemaJdbcWriter} fills for every row.
+ */
+public enum LeadingValue {
+
+    /** A fresh {@code UUID} per row, e.g. a primary key. */
+    UUID,
+
+    /** The processing request the file belongs to, the same in every row. */
+    REQUEST_ID
+}
@@ -0,0 +1,144 @@
+package com.practice.io.schema;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Layout of an import file and of the table its rows go to: ordered {@link Column}s (CSV order =
+ * header order) plus an optional key column that identifies a row within one processing request.
+ * Leading columns ({@link LeadingValue}) are table columns that are not in the file.
+ * <p>Immutable; use {@link #builder(String)} to create instances.</p>
+ *
+ * <pre>{@code
+ * RecordSchema schema = RecordSchema.builder("import_records")
+ *         .leading("id", LeadingValue.UUID)
+ *         .leading("processing_request_id", LeadingValue.REQUEST_ID)
+ *         .column("external_id", ColumnType.STRING)
+ *         .column("user_email", ColumnType.STRING)
+ *         .decimal("amount", 2)
+ *         .column("event_time", ColumnType.INSTANT)
+ *         .key("external_id")
+ *         .build();
+ * }</pre>
+ */
+public final class RecordSchema {
+
+    /** {@code table} or {@code schema.table}. */
+    private static final Pattern QUALIFIED =
+            Pattern.compile(Column.IDENTIFIER.pattern() + "(\\." + Column.IDENTIFIER.pattern() + ")?");
+
+    private final String table;
+    private final List<Column> columns;
+    private final Map<String, LeadingValue> leading;
+    private final Map<String, Integer> index;
+    private final int keyIndex;                        // -1 = no key
+
+    private RecordSchema(Builder b) {
+        this.table = b.table;
+        this.columns = Collections.unmodifiableList(new ArrayList<>(b.columns));
+        this.leading = Collections.unmodifiableMap(new LinkedHashMap<>(b.leading));
+        this.index = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) index.put(columns.get(i).name(), i);
+        this.keyIndex = b.key == null ? -1 : index.get(b.key);
+    }
+
+    public static Builder builder(String table) {
+        return new Builder(table);
+    }
+
+    /* ---------- getters ---------- */
+
+    /** Target table of the rows. */
+    public String table()            { return table; }
+    public List<Column> columns()    { return columns; }
+    public int size()                { return columns.size(); }
+    public Column column(int i)      { return columns.get(i); }
+
+    /** Leading table columns in order, with how each one is filled; not part of the file. */
+    public Map<String, LeadingValue> leading() { return leading; }
+
+    /** First leading column filled with {@code value}, if any. */
+    public Optional<String> leadingColumn(LeadingValue value) {
+        return leading.entrySet().stream().filter(e -> e.getValue() == value).map(Map.Entry::getKey).findFirst();
+    }
+
+    /** Position of {@code name}, or -1. */
+    public int indexOf(String name) {
+        Integer i = index.get(name);
+        return i == null ? -1 : i;
+    }
+
+    /** Position of the key column, or -1 if the schema has none. */
+    public int keyIndex()            { return keyIndex; }
+
+    /** The header line the CSV must start with: column names joined by {@code delimiter}. */
+    public String header(char delimiter) {
+        var sb = new StringBuilder();
+        for (Column c : columns) {
+            if (sb.length() > 0) sb.append(delimiter);
+            sb.append(c.name());
+        }
+        return sb.toString();
+    }
+
+    @Override public String toString() {
+        return "RecordSchema[" + table + ", " + header(',') + "]";
+    }
+
+    /* ---------- builder ---------- */
+
+    public static final class Builder {
+        private final String table;
+        private final List<Column> columns = new ArrayList<>();
+        private final Map<String, LeadingValue> leading = new LinkedHashMap<>();
+        private String key;
+
+        private Builder(String table) {
+            if (table == null || !QUALIFIED.matcher(table).matches())
+                throw new IllegalArgumentException("table must be an identifier: " + table);
+            this.table = table;
+        }
+
+        /** Non-null column. */
+        public Builder column(String name, ColumnType type)   { return add(new Column(name, type, false, 0)); }
+        /** Column whose cells may be empty ({@code null}). */
+        public Builder optional(String name, ColumnType type) { return add(new Column(name, type, true, 0)); }
+        /** Non-null {@link ColumnType#DECIMAL} with {@code scale} fraction digits. */
+        public Builder decimal(String name, int scale)        { return add(new Column(name, ColumnType.DECIMAL, false, scale)); }
+        public Builder add(Column column)                     { columns.add(column); return this; }
+
+        /** Leading table column that is not in the file, filled with {@code value}. */
+        public Builder leading(String name, LeadingValue value) {
+            if (name == null || !Column.IDENTIFIER.matcher(name).matches())
+                throw new IllegalArgumentException("column name must be an identifier: " + name);
+            if (leading.putIfAbsent(name, Objects.requireNonNull(value, "value")) != null)
+                throw new IllegalArgumentException("duplicate column: " + name);
+            return this;
+        }
+
+        /** Row identity within a request (e.g. an external id); must be a non-null column. */
+        public Builder key(String name)                       { this.key = name; return this; }
+
+        public RecordSchema build() {
+            if (columns.isEmpty()) throw new IllegalArgumentException("schema has no columns");
+            var names = new HashSet<>(leading.keySet());
+            for (Column c : columns) {
+                if (!names.add(c.name())) throw new IllegalArgumentException("duplicate column: " + c.name());
+            }
+            if (key != null) {
+                Column k = columns.stream().filter(c -> c.name().equals(key)).findFirst()
+                        .orElseThrow(() -> new IllegalArgumentException("unknown key column: " + key));
+                if (k.nullable()) throw new IllegalArgumentException("key column must be non-null: " + key);
+            }
+            return new RecordSchema(this);
+        }
+    }
+}
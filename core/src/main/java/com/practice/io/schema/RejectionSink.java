@@ -0,0 +1,20 @@
+package com.practice.io.schema;
+
+/**
+ * Receives the rows dropped by a schema-driven reader or validator.
+ * A row with several problems is reported once per problem.
+ */
+@FunctionalInterface
+public interface RejectionSink {
+
+    /**
+     * @param record number of the record in the source (the header is record 1)
+     * @param key    the row's key value, or {@code null} if the schema has no key or it could not be read
+     * @param column offending column, or {@code null} when the whole record is malformed
+     * @param reason short code, e.g. {@code REQUIRED} or {@code INVALID_DECIMAL}
+     */
+    void reject(long record, String key, String column, String reason);
+
+    /** Drops rejections silently. */
+    RejectionSink IGNORE = (record, key, column, reason) -> { };
+}
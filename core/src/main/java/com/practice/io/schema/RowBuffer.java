@@ -0,0 +1,252 @@
+package com.practice.io.schema;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A chunk of rows of one {@link RecordSchema}, stored column by column in primitive arrays
+ * instead of one object per row:
+ * <ul>
+ *   <li>{@code LONG} and {@code DECIMAL} (unscaled): {@code long[]};</li>
+ *   <li>{@code INSTANT}: {@code long[]} epoch seconds + {@code int[]} nanos;</li>
+ *   <li>{@code STRING}: {@code String[]};</li>
+ *   <li>nulls: one bit per row and column.</li>
+ * </ul>
+ * Capacity is fixed (the chunk size); {@link #clear()} makes the buffer reusable for the next
+ * chunk without reallocating. Accessors do not check that the column has the accessed type.
+ * Not thread-safe.
+ */
+public final class RowBuffer {
+
+    private final RecordSchema schema;
+    private final int capacity;
+    private final long[][] longs;       // LONG, DECIMAL, INSTANT (seconds)
+    private final int[][] nanos;        // INSTANT
+    private final String[][] strings;   // STRING
+    private final long[][] nulls;
+    private final long[] records;       // número de registro en el origen
+    private int size;
+
+    public RowBuffer(RecordSchema schema, int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity <= 0");
+        this.schema = schema;
+        this.capacity = capacity;
+        int n = schema.size();
+        this.longs = new long[n][];
+        this.nanos = new int[n][];
+        this.strings = new String[n][];
+        this.nulls = new long[n][(capacity + 63) >>> 6];
+        this.records = new long[capacity];
+        for (int c = 0; c < n; c++) {
+            switch (schema.column(c).type()) {
+                case STRING  -> strings[c] = new String[capacity];
+                case LONG, DECIMAL -> longs[c] = new long[capacity];
+                case INSTANT -> {
+                    longs[c] = new long[capacity];
+                    nanos[c] = new int[capacity];
+                }
+            }
+        }
+    }
+
+    /* ---------- rows ---------- */
+
+    public RecordSchema schema()  { return schema; }
+    public int capacity()         { return capacity; }
+    public int size()             { return size; }
+    public boolean isEmpty()      { return size == 0; }
+    public boolean isFull()       { return size == capacity; }
+
+    /** Appends an all-non-null row read from source record {@code record}; returns its index. */
+    public int addRow(long record) {
+        if (size == capacity) throw new IllegalStateException("RowBuffer is full (" + capacity + ")");
+        records[size] = record;
+        return size++;
+    }
+
+    /** Drops the last row (e.g. a record that failed to parse half-way). */
+    public void removeLastRow() {
+        if (size == 0) return;
+        size--;
+        for (int c = 0; c < strings.length; c++) {
+            clearNull(c, size);
+            if (strings[c] != null) strings[c][size] = null;
+        }
+    }
+
+    /** Empties the buffer for the next chunk. */
+    public void clear() {
+        int words = (size + 63) >>> 6;
+        for (int c = 0; c < nulls.length; c++) {
+            Arrays.fill(nulls[c], 0, words, 0L);
+            if (strings[c] != null) Arrays.fill(strings[c], 0, size, null);   // no retener Strings
+        }
+        size = 0;
+    }
+
+    /**
+     * Removes the rows whose bit is set in {@code rejected}, keeping the order of the others.
+     * Returns the new size.
+     */
+    public int retain(BitSet rejected) {
+        int first = rejected.nextSetBit(0);
+        if (first < 0 || first >= size) return size;
+        int to = first;
+        for (int from = first + 1; from < size; from++) {
+            if (!rejected.get(from)) move(from, to++);
+        }
+        for (int row = to; row < size; row++) {
+            for (int c = 0; c < strings.length; c++) {
+                clearNull(c, row);
+                if (strings[c] != null) strings[c][row] = null;
+            }
+        }
+        size = to;
+        return size;
+    }
+
+    /** Source record of {@code row} (the header is record 1). */
+    public long record(int row)   { return records[row]; }
+
+    /* ---------- cells: write ---------- */
+
+    public void setNull(int col, int row) {
+        nulls[col][row >>> 6] |= 1L << row;
+    }
+
+    public void setString(int col, int row, String value) {
+        if (value == null) setNull(col, row);
+        strings[col][row] = value;
+    }
+
+    /** {@code LONG} value or {@code DECIMAL} unscaled value. */
+    public void setLong(int col, int row, long value) {
+        longs[col][row] = value;
+    }
+
+    public void setInstant(int col, int row, long epochSecond, int nano) {
+        longs[col][row] = epochSecond;
+        nanos[col][row] = nano;
+    }
+
+    /* ---------- cells: read ---------- */
+
+    public boolean isNull(int col, int row) {
+        return (nulls[col][row >>> 6] & (1L << row)) != 0;
+    }
+
+    public String getString(int col, int row) {
+        return strings[col][row];
+    }
+
+    /** {@code LONG} value or {@code DECIMAL} unscaled value; 0 for a null cell. */
+    public long getLong(int col, int row) {
+        return longs[col][row];
+    }
+
+    public long epochSecond(int col, int row) { return longs[col][row]; }
+    public int nano(int col, int row)         { return nanos[col][row]; }
+
+    /** Allocating view of a {@code DECIMAL} cell, or {@code null}. */
+    public BigDecimal getDecimal(int col, int row) {
+        return isNull(col, row) ? null : BigDecimal.valueOf(longs[col][row], schema.column(col).scale());
+    }
+
+    /** Allocating view of an {@code INSTANT} cell, or {@code null}. */
+    public Instant getInstant(int col, int row) {
+        return isNull(col, row) ? null : Instant.ofEpochSecond(longs[col][row], nanos[col][row]);
+    }
+
+    /**
+     * Appends the cell as text ({@code DECIMAL} with exactly its scale, {@code INSTANT} in
+     * ISO-8601); appends nothing for a null cell.
+     */
+    public StringBuilder appendText(int col, int row, StringBuilder sb) {
+        if (isNull(col, row)) return sb;
+        Column column = schema.column(col);
+        return switch (column.type()) {
+            case STRING  -> sb.append(strings[col][row]);
+            case LONG    -> sb.append(longs[col][row]);
+            case DECIMAL -> appendDecimal(sb, longs[col][row], column.scale());
+            case INSTANT -> appendInstant(sb, longs[col][row], nanos[col][row]);
+        };
+    }
+
+    /** The cell as text (see {@link #appendText}), or {@code null}. */
+    public String text(int col, int row) {
+        if (isNull(col, row)) return null;
+        if (strings[col] != null) return strings[col][row];
+        return appendText(col, row, new StringBuilder(24)).toString();
+    }
+
+    /* ---------- internos ---------- */
+
+    private void move(int from, int to) {
+        records[to] = records[from];
+        for (int c = 0; c < longs.length; c++) {
+            if (isNull(c, from)) setNull(c, to); else clearNull(c, to);
+            if (strings[c] != null) strings[c][to] = strings[c][from];
+            if (longs[c] != null)   longs[c][to] = longs[c][from];
+            if (nanos[c] != null)   nanos[c][to] = nanos[c][from];
+        }
+    }
+
+    private void clearNull(int col, int row) {
+        nulls[col][row >>> 6] &= ~(1L << row);
+    }
+
+    /** Same text as {@link Instant#toString()}, without the formatter, for years 0000-9999. */
+    private static StringBuilder appendInstant(StringBuilder sb, long second, int nano) {
+        long day = Math.floorDiv(second, 86_400);
+        int secondOfDay = (int) Math.floorMod(second, 86_400);
+        // días desde 1970 → fecha civil (algoritmo "civil_from_days", eras de 400 años)
+        long z = day + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1_460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int dayOfMonth = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < 0 || year > 9_999) return sb.append(Instant.ofEpochSecond(second, nano));
+
+        digits(sb, (int) year, 4).append('-');
+        digits(sb, month, 2).append('-');
+        digits(sb, dayOfMonth, 2).append('T');
+        digits(sb, secondOfDay / 3_600, 2).append(':');
+        digits(sb, secondOfDay / 60 % 60, 2).append(':');
+        digits(sb, secondOfDay % 60, 2);
+        if (nano > 0) {                                 // fracción en grupos de 3, como ISO_INSTANT
+            sb.append('.');
+            if (nano % 1_000_000 == 0) digits(sb, nano / 1_000_000, 3);
+            else if (nano % 1_000 == 0) digits(sb, nano / 1_000, 6);
+            else digits(sb, nano, 9);
+        }
+        return sb.append('Z');
+    }
+
+    private static StringBuilder digits(StringBuilder sb, int value, int width) {
+        for (int p = POW10[width - 1]; p > 0; p /= 10) sb.append((char) ('0' + value / p % 10));
+        return sb;
+    }
+
+    private static final int[] POW10 = { 1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000 };
+
+    private static StringBuilder appendDecimal(StringBuilder sb, long unscaled, int scale) {
+        if (scale == 0) return sb.append(unscaled);
+        if (unscaled < 0) {
+            if (unscaled == Long.MIN_VALUE) return sb.append(BigDecimal.valueOf(unscaled, scale).toPlainString());
+            sb.append('-');
+            unscaled = -unscaled;
+        }
+        long pow = 1;
+        for (int i = 0; i < scale; i++) pow *= 10;
+        sb.append(unscaled / pow).append('.');
+        long frac = unscaled % pow;
+        for (long p = pow / 10; p > 0; p /= 10) sb.append((char) ('0' + frac / p % 10));
+        return sb;
+    }
+}
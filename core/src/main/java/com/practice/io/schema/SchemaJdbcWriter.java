@@ -0,0 +1,221 @@
+package com.practice.io.schema;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Write step of a schema-driven import: SQL generated from a {@link RecordSchema}.
+ * <p>
+ * Every row goes to {@link RecordSchema#table()} with the schema columns plus leading columns
+ * that are not in the file: those the schema declares ({@link RecordSchema#leading()}, see
+ * {@link #builder(RecordSchema, Object)}) and any added with {@link Builder#generatedUuid} (a
+ * fresh UUID per row) or {@link Builder#constant} (a value shared by all rows).
+ * With {@link Builder#onConflictDoNothing} rows that already exist are skipped, so re-running
+ * a chunk is idempotent.
+ * <p>
+ * Two ways to ship a {@link RowBuffer}: {@link #write} binds primitive cells straight into a
+ * JDBC batch; {@link #appendCopyCsv} renders them in the CSV format of PostgreSQL
+ * {@code COPY} for {@link #copySql}. Immutable and thread-safe.
+ */
+public final class SchemaJdbcWriter {
+
+    private final RecordSchema schema;
+    private final List<String> extraColumns;
+    private final List<Object> extraValues;            // GENERATED_UUID o constante
+    private final List<String> conflictColumns;
+    private final String insertSql;
+
+    private static final Object GENERATED_UUID = new Object();
+
+    private SchemaJdbcWriter(Builder b) {
+        this.schema = b.schema;
+        this.extraColumns = List.copyOf(b.extraColumns);
+        this.extraValues = List.copyOf(b.extraValues);
+        this.conflictColumns = List.copyOf(b.conflictColumns);
+        this.insertSql = "insert into " + schema.table() + " (" + columnList() + ") values ("
+                + "?, ".repeat(extraColumns.size() + schema.size() - 1) + "?)" + conflictClause();
+    }
+
+    /** Writer for a schema without {@link LeadingValue#REQUEST_ID} columns. */
+    public static Builder builder(RecordSchema schema) {
+        return builder(schema, null);
+    }
+
+    /**
+     * Writer whose leading columns start with those declared by {@code schema}, the
+     * {@link LeadingValue#REQUEST_ID} ones set to {@code requestId}.
+     */
+    public static Builder builder(RecordSchema schema, Object requestId) {
+        var b = new Builder(schema);
+        schema.leading().forEach((column, value) -> {
+            switch (value) {
+                case UUID -> b.generatedUuid(column);
+                case REQUEST_ID -> {
+                    if (requestId == null)
+                        throw new IllegalArgumentException("schema needs a request id for column " + column);
+                    b.constant(column, requestId);
+                }
+            }
+        });
+        return b;
+    }
+
+    public RecordSchema schema() { return schema; }
+
+    /** {@code insert into <table> (...) values (?, ...) [on conflict (...) do nothing]}. */
+    public String insertSql() { return insertSql; }
+
+    /** All target columns, leading ones first, comma-separated. */
+    public String columnList() {
+        var cols = new ArrayList<>(extraColumns);
+        for (Column c : schema.columns()) cols.add(c.name());
+        return String.join(", ", cols);
+    }
+
+    /** {@code copy <target> (<columns>) from stdin with (format csv)}, for {@link #appendCopyCsv}. */
+    public String copySql(String target) {
+        return "copy " + target + " (" + columnList() + ") from stdin with (format csv)";
+    }
+
+    /** Moves rows from a staging table with the same columns into the target table. */
+    public String mergeSql(String staging) {
+        String cols = columnList();
+        return "insert into " + schema.table() + " (" + cols + ") select " + cols + " from " + staging
+                + conflictClause();
+    }
+
+    /**
+     * Inserts every row of {@code rows} with one JDBC batch on {@code con}; the caller owns the
+     * connection and its transaction. Returns the driver's update counts.
+     */
+    public int[] write(Connection con, RowBuffer rows) throws SQLException {
+        if (rows.isEmpty()) return new int[0];
+        try (PreparedStatement ps = con.prepareStatement(insertSql)) {
+            for (int row = 0, n = rows.size(); row < n; row++) {
+                int p = 1;
+                for (Object v : extraValues) ps.setObject(p++, v == GENERATED_UUID ? UUID.randomUUID() : v);
+                for (int c = 0; c < schema.size(); c++) bind(ps, p++, rows, c, row);
+                ps.addBatch();
+            }
+            return ps.executeBatch();
+        }
+    }
+
+    /**
+     * Rows in PostgreSQL {@code COPY ... (format csv)} syntax, in {@link #columnList()} order:
+     * text always quoted, numbers and instants as is, null cells empty.
+     */
+    public StringBuilder appendCopyCsv(RowBuffer rows, StringBuilder sb) {
+        for (int row = 0, n = rows.size(); row < n; row++) {
+            for (Object v : extraValues) {
+                sb.append(v == GENERATED_UUID ? UUID.randomUUID() : v).append(',');
+            }
+            for (int c = 0; c < schema.size(); c++) {
+                if (c > 0) sb.append(',');
+                if (rows.isNull(c, row)) continue;
+                if (schema.column(c).type() == ColumnType.STRING) quoted(sb, rows.getString(c, row));
+                else rows.appendText(c, row, sb);
+            }
+            sb.append('\n');
+        }
+        return sb;
+    }
+
+    /* ---------- internos ---------- */
+
+    private String conflictClause() {
+        return conflictColumns.isEmpty() ? ""
+                : " on conflict (" + String.join(", ", conflictColumns) + ") do nothing";
+    }
+
+    private void bind(PreparedStatement ps, int p, RowBuffer rows, int c, int row) throws SQLException {
+        Column column = schema.column(c);
+        if (rows.isNull(c, row)) {
+            ps.setNull(p, sqlType(column.type()));
+            return;
+        }
+        switch (column.type()) {
+            case STRING  -> ps.setString(p, rows.getString(c, row));
+            case LONG    -> ps.setLong(p, rows.getLong(c, row));
+            case DECIMAL -> ps.setBigDecimal(p, rows.getDecimal(c, row));
+            case INSTANT -> {
+                Timestamp ts = new Timestamp(rows.epochSecond(c, row) * 1_000);
+                ts.setNanos(rows.nano(c, row));
+                ps.setTimestamp(p, ts);
+            }
+        }
+    }
+
+    private static int sqlType(ColumnType type) {
+        return switch (type) {
+            case STRING  -> Types.VARCHAR;
+            case LONG    -> Types.BIGINT;
+            case DECIMAL -> Types.NUMERIC;
+            case INSTANT -> Types.TIMESTAMP;
+        };
+    }
+
+    private static void quoted(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"') sb.append('"');
+            sb.append(c);
+        }
+        sb.append('"');
+    }
+
+    /* ---------- builder ---------- */
+
+    public static final class Builder {
+        private final RecordSchema schema;
+        private final List<String> extraColumns = new ArrayList<>();
+        private final List<Object> extraValues = new ArrayList<>();
+        private final List<String> conflictColumns = new ArrayList<>();
+
+        private Builder(RecordSchema schema) {
+            this.schema = Objects.requireNonNull(schema, "schema");
+        }
+
+        /** Leading column filled with {@code UUID.randomUUID()} per row (e.g. a primary key). */
+        public Builder generatedUuid(String column) {
+            return extra(column, GENERATED_UUID);
+        }
+
+        /** Leading column with the same value in every row (rendered with {@code toString} for COPY). */
+        public Builder constant(String column, Object value) {
+            return extra(column, Objects.requireNonNull(value, "value"));
+        }
+
+        /** Skips rows that clash on a unique index over {@code columns}. */
+        public Builder onConflictDoNothing(String... columns) {
+            for (String c : columns) {
+                if (!extraColumns.contains(c) && schema.indexOf(c) < 0)
+                    throw new IllegalArgumentException("unknown conflict column: " + c);
+                conflictColumns.add(c);
+            }
+            return this;
+        }
+
+        public SchemaJdbcWriter build() {
+            return new SchemaJdbcWriter(this);
+        }
+
+        private Builder extra(String column, Object value) {
+            if (column == null || !Column.IDENTIFIER.matcher(column).matches())
+                throw new IllegalArgumentException("column name must be an identifier: " + column);
+            if (extraColumns.contains(column) || schema.indexOf(column) >= 0)
+                throw new IllegalArgumentException("duplicate column: " + column);
+            extraColumns.add(column);
+            extraValues.add(value);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.practice.io.schema;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.practice.domain.batchconfig.BatchJobConfig;
+
+/**
+ * Which {@link RecordSchema} the files of a {@link BatchJobConfig} follow.
+ * <p>
+ * Keyed by the config's id (its identity, see {@link BatchJobConfig#equals}), so a config
+ * rebuilt from storage finds the schema registered for it. Configs without a registration get
+ * the fallback schema, when there is one. Thread-safe.
+ */
+public final class SchemaRegistry {
+
+    private final ConcurrentHashMap<UUID, RecordSchema> schemas = new ConcurrentHashMap<>();
+    private final RecordSchema fallback;
+
+    /** Registry without fallback: {@link #schemaFor} fails for unregistered configs. */
+    public SchemaRegistry() {
+        this(null);
+    }
+
+    public SchemaRegistry(RecordSchema fallback) {
+        this.fallback = fallback;
+    }
+
+    /** Registers (or replaces) the schema of {@code config}. */
+    public void register(BatchJobConfig config, RecordSchema schema) {
+        register(config.id(), schema);
+    }
+
+    /** Registers (or replaces) the schema of the config with id {@code configId}, e.g. from configuration. */
+    public void register(UUID configId, RecordSchema schema) {
+        schemas.put(Objects.requireNonNull(configId, "configId"), Objects.requireNonNull(schema, "schema"));
+    }
+
+    public void unregister(BatchJobConfig config) {
+        schemas.remove(config.id());
+    }
+
+    /** The schema registered for {@code config}, ignoring the fallback. */
+    public Optional<RecordSchema> find(BatchJobConfig config) {
+        return Optional.ofNullable(schemas.get(config.id()));
+    }
+
+    /** The registered schema, else the fallback; {@link IllegalArgumentException} if neither exists. */
+    public RecordSchema schemaFor(BatchJobConfig config) {
+        RecordSchema schema = schemas.get(config.id());
+        if (schema != null) return schema;
+        if (fallback != null) return fallback;
+        throw new IllegalArgumentException("No record schema registered for " + config);
+    }
+}
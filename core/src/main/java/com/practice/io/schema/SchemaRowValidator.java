@@ -0,0 +1,153 @@
+package com.practice.io.schema;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Validation step of a schema-driven import, compiled once per {@link RecordSchema}.
+ * <p>
+ * Per row and in column order: non-null columns must hold a value ({@code REQUIRED}), then the
+ * {@link RowRule}s of the column run on its non-null cells. Every failure goes to the
+ * {@link RejectionSink}; rejected rows are then removed from the buffer in place and the
+ * {@link RowTransform}s run on the rows that remain. Not thread-safe (rules may keep per-chunk state).
+ *
+ * <pre>{@code
+ * SchemaRowValidator validator = SchemaRowValidator.builder(schema)
+ *         .rule("amount", (rows, row) -> rows.getLong(amountCol, row) < 0 ? "NEGATIVE" : null)
+ *         .build();
+ * int rejected = validator.validate(rows, sink);
+ * }</pre>
+ */
+public final class SchemaRowValidator {
+
+    /** Check of one non-null cell. */
+    @FunctionalInterface
+    public interface RowRule {
+        /** Reason the row is rejected for, or {@code null} if the cell is valid. */
+        String check(RowBuffer rows, int row);
+
+        /** Called before each chunk is checked (per-chunk state: clocks, duplicate sets...). */
+        default void beginChunk(RowBuffer rows) { }
+    }
+
+    /** Change applied in place to every row that passed validation. */
+    @FunctionalInterface
+    public interface RowTransform {
+        void apply(RowBuffer rows, int row);
+    }
+
+    public static final String REQUIRED = "REQUIRED";
+
+    private final RecordSchema schema;
+    private final boolean[] required;                  // por columna
+    private final RowRule[][] rules;                   // por columna, en orden de declaración
+    private final RowRule[] allRules;
+    private final RowTransform[] transforms;
+    private final BitSet rejected = new BitSet();
+
+    private SchemaRowValidator(Builder b) {
+        this.schema = b.schema;
+        int n = schema.size();
+        this.required = new boolean[n];
+        this.rules = new RowRule[n][];
+        for (int c = 0; c < n; c++) {
+            required[c] = !schema.column(c).nullable();
+            rules[c] = b.rules.get(c).toArray(RowRule[]::new);
+        }
+        this.allRules = b.rules.stream().flatMap(List::stream).toArray(RowRule[]::new);
+        this.transforms = b.transforms.toArray(RowTransform[]::new);
+    }
+
+    public static Builder builder(RecordSchema schema) {
+        return new Builder(schema);
+    }
+
+    /** Nullability checks only. */
+    public static SchemaRowValidator of(RecordSchema schema) {
+        return builder(schema).build();
+    }
+
+    public RecordSchema schema() { return schema; }
+
+    /**
+     * Validates every row of {@code rows}, drops the rejected ones and transforms the rest.
+     * Returns the number of rows dropped.
+     */
+    public int validate(RowBuffer rows, RejectionSink sink) {
+        for (RowRule rule : allRules) rule.beginChunk(rows);
+        rejected.clear();
+        int size = rows.size();
+        int keyCol = schema.keyIndex();
+        int dropped = 0;
+
+        for (int row = 0; row < size; row++) {
+            boolean ok = true;
+            for (int c = 0; c < rules.length; c++) {
+                if (rows.isNull(c, row)) {
+                    if (required[c]) {
+                        sink.reject(rows.record(row), key(rows, keyCol, row), schema.column(c).name(), REQUIRED);
+                        ok = false;
+                    }
+                    continue;
+                }
+                for (RowRule rule : rules[c]) {
+                    String reason = rule.check(rows, row);
+                    if (reason != null) {
+                        sink.reject(rows.record(row), key(rows, keyCol, row), schema.column(c).name(), reason);
+                        ok = false;
+                        break;                             // un error por columna
+                    }
+                }
+            }
+            if (!ok) {
+                rejected.set(row);
+                dropped++;
+            }
+        }
+
+        if (dropped > 0) rows.retain(rejected);
+        if (transforms.length > 0) {
+            for (int row = 0, n = rows.size(); row < n; row++) {
+                for (RowTransform t : transforms) t.apply(rows, row);
+            }
+        }
+        return dropped;
+    }
+
+    private static String key(RowBuffer rows, int keyCol, int row) {
+        return keyCol < 0 ? null : rows.text(keyCol, row);
+    }
+
+    /* ---------- builder ---------- */
+
+    public static final class Builder {
+        private final RecordSchema schema;
+        private final List<List<RowRule>> rules = new ArrayList<>();
+        private final List<RowTransform> transforms = new ArrayList<>();
+
+        private Builder(RecordSchema schema) {
+            this.schema = Objects.requireNonNull(schema, "schema");
+            for (int c = 0; c < schema.size(); c++) rules.add(new ArrayList<>());
+        }
+
+        /** Adds a check on {@code column}; checks of a column stop at its first failure. */
+        public Builder rule(String column, RowRule rule) {
+            int c = schema.indexOf(column);
+            if (c < 0) throw new IllegalArgumentException("unknown column: " + column);
+            rules.get(c).add(Objects.requireNonNull(rule, "rule"));
+            return this;
+        }
+
+        /** Adds an in-place change for valid rows; transforms run in declaration order. */
+        public Builder transform(RowTransform transform) {
+            transforms.add(Objects.requireNonNull(transform, "transform"));
+            return this;
+        }
+
+        public SchemaRowValidator build() {
+            return new SchemaRowValidator(this);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.practice.kpi;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import com.practice.domain.transaction.Transaction;
+import com.practice.domain.user.User;
+
+/**
+ * Running KPIs over an unbounded transaction feed (e.g. after each import), without
+ * re-reading what was already ingested.
+ * <p>
+ * Keeps the same primitive state as {@link KpiTotals} (cents per user, {@code yyyymm} month
+ * table, status counts) plus a {@link TreeSet} ranking of users by total, updated in
+ * O(log n) per transaction, so {@link #topUsers(int)} is O(k) and never re-sorts.
+ * <p>
+ * Status changes: a {@code PENDING} transaction is remembered by id; when the same id arrives
+ * again (typically as {@code VALID} or {@code FAILED}) its previous contribution is retracted
+ * first. {@code VALID}/{@code FAILED} are final and not remembered, so memory is bounded by the
+ * pending backlog; corrections of final transactions go through {@link #retract}.
+ * <p>
+ * Thread-safe (all methods synchronize on the instance).
+ */
+public final class KpiAccumulator {
+
+    private static final Transaction.Status[] STATUSES = Transaction.Status.values();
+
+    private final Map<UUID, Transaction> pending = new HashMap<>();
+    private final Map<User, Ranked> perUser = new HashMap<>();
+    private final TreeSet<Ranked> ranking = new TreeSet<>(KpiTotals.BY_TOTAL_DESC);
+    private final KpiTotals.MonthTable months = new KpiTotals.MonthTable();
+    private final long[] statusCounts = new long[STATUSES.length];
+
+    /* --- ingesta --------------------------------------------------------- */
+
+    /** Adds {@code t}, or replaces the pending transaction with the same id. */
+    public synchronized void accept(Transaction t) {
+        Transaction previous = pending.remove(t.id());
+        if (previous != null) apply(previous, -1);
+        if (t.status() == Transaction.Status.PENDING) pending.put(t.id(), t);
+        apply(t, +1);
+    }
+
+    /** {@link #accept} for a whole batch under one lock acquisition. */
+    public synchronized void acceptAll(Collection<Transaction> batch) {
+        for (Transaction t : batch) accept(t);
+    }
+
+    /**
+     * Removes the contribution of a previously accepted transaction (exactly as accepted).
+     * A transaction that cannot have been accepted (unknown pending id, or nothing left to
+     * retract for its status, user or month) is ignored, so counts never go negative.
+     *
+     * @return {@code false} if {@code t} was ignored
+     */
+    public synchronized boolean retract(Transaction t) {
+        if (t.status() == Transaction.Status.PENDING) {
+            if (pending.remove(t.id()) == null) return false;
+        } else if (!retractable(t)) {
+            return false;
+        }
+        apply(t, -1);
+        return true;
+    }
+
+    /* --- vistas ---------------------------------------------------------- */
+
+    /** The {@code k} users with the highest VALID total, descending (ties by user id). O(k). */
+    public synchronized Map<User, Double> topUsers(int k) {
+        Map<User, Double> out = new LinkedHashMap<>(Math.min(k, ranking.size()) * 2);
+        Iterator<Ranked> it = ranking.iterator();
+        for (int i = 0; i < k && it.hasNext(); i++) {
+            Ranked r = it.next();
+            out.put(r.user, r.cents / 100.0);
+        }
+        return out;
+    }
+
+    /** Same contract as {@link KpiCalculator#totalAmountPerUser}, already ordered (O(n)). */
+    public synchronized Map<User, Double> totalAmountPerUser() {
+        return topUsers(Integer.MAX_VALUE);
+    }
+
+    /** Same contract as {@link KpiCalculator#avgByMonth}. */
+    public synchronized Map<String, Double> avgByMonth() {
+        Map<String, Double> out = new HashMap<>();
+        months.forEach((key, cents, count) -> {
+            if (count > 0) out.put(LocalDate.of(key / 100, key % 100, 1).toString(), cents / 100.0 / count);
+        });
+        return out;
+    }
+
+    /** Same contract as {@link KpiCalculator#countPerStatus}. */
+    public synchronized Map<Transaction.Status, Long> countPerStatus() {
+        Map<Transaction.Status, Long> out = new EnumMap<>(Transaction.Status.class);
+        for (int i = 0; i < statusCounts.length; i++) {
+            if (statusCounts[i] > 0) out.put(STATUSES[i], statusCounts[i]);
+        }
+        return out;
+    }
+
+    /** Transactions still waiting for a final status. */
+    public synchronized int pendingCount() { return pending.size(); }
+
+    /* --- internos -------------------------------------------------------- */
+
+    private boolean retractable(Transaction t) {
+        if (statusCounts[t.status().ordinal()] == 0) return false;
+        if (t.status() != Transaction.Status.VALID) return true;
+        return perUser.containsKey(t.user()) && months.count(KpiTotals.yyyymm(t.date())) > 0;
+    }
+
+    /** {@code sign} = +1 adds the transaction, -1 retracts it. */
+    private void apply(Transaction t, int sign) {
+        statusCounts[t.status().ordinal()] += sign;
+        if (t.status() != Transaction.Status.VALID) return;
+        long cents = sign * KpiTotals.toCents(t.amount());
+        months.add(KpiTotals.yyyymm(t.date()), cents, sign);
+
+        Ranked r = perUser.get(t.user());
+        if (r == null) {
+            r = new Ranked(t.user());
+            perUser.put(t.user(), r);
+        } else {
+            ranking.remove(r);                      // re-keyed below: remove before mutating
+        }
+        r.cents += cents;
+        r.count += sign;
+        if (r.count > 0) ranking.add(r);
+        else perUser.remove(t.user());
+    }
+
+    private static final class Ranked extends KpiTotals.UserSum {
+        long count;                                 // VALID transactions behind the total
+
+        Ranked(User user) { super(user); }
+    }
+}
@@ -1,51 +1,118 @@
 package com.practice.kpi;
 
 import java.util.*;
-import java.util.stream.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import com.practice.domain.transaction.Transaction;
 import com.practice.domain.user.User;
 
+/**
+ * KPIs over a list of transactions, or over a {@link TransactionColumns} store.
+ * <p>
+ * Every method runs the single-pass, primitive-accumulator engine ({@link KpiTotals});
+ * callers that need more than one KPI should use {@link #compute} once and read all of them.
+ * {@link #computeParallel} splits large lists into fork-join tasks; because sums are exact
+ * {@code long} cents and ties sort by user id, it returns exactly the same maps.
+ */
 public final class KpiCalculator {
 
+    /** Below this many transactions a slice is not worth splitting. */
+    private static final int MIN_SLICE = 16_384;
+
     private KpiCalculator() { }
 
+    /** Computes every KPI in a single pass over {@code txs}. */
+    public static KpiTotals compute(List<Transaction> txs) {
+        KpiTotals totals = new KpiTotals();
+        for (Transaction t : txs) totals.add(t);
+        return totals;
+    }
+
+    /** Computes every KPI in a single scan over the columns of {@code cols}. */
+    public static KpiTotals compute(TransactionColumns cols) {
+        KpiTotals totals = new KpiTotals();
+        totals.add(cols);
+        return totals;
+    }
+
+    /** Like {@link #compute(List)} but fork-join parallel on the common pool. */
+    public static KpiTotals computeParallel(List<Transaction> txs) {
+        return computeParallel(txs, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Fork-join version of {@link #compute(List)}: each leaf task fills its own {@link KpiTotals}
+     * over a slice of the list, all on one shared {@link KpiTotals.UserIndex}, so the partial
+     * results are merged pairwise on the way up with element-wise {@code long[]} adds.
+     */
+    public static KpiTotals computeParallel(List<Transaction> txs, ForkJoinPool pool) {
+        List<Transaction> list = txs instanceof RandomAccess ? txs : new ArrayList<>(txs);
+        int threshold = Math.max(MIN_SLICE, list.size() / (pool.getParallelism() * 4));
+        return pool.invoke(new KpiTask(list, 0, list.size(), threshold, new KpiTotals.UserIndex()));
+    }
+
     /**
      * Calculates total amount per user for VALID transactions and
-     * returns a LinkedHashMap sorted by descending total.
+     * returns a LinkedHashMap sorted by descending total (ties by user id).
      */
     public static Map<User, Double> totalAmountPerUser(List<Transaction> txs) {
-
-        // 1. filter     2. groupBy user + sum     3. sort desc     4. collect to LinkedHashMap
-        return txs.stream()
-                  .filter(t -> t.status() == Transaction.Status.VALID)
-                  .collect(Collectors.groupingBy(
-                          Transaction::user,
-                          Collectors.summingDouble(Transaction::amount)))
-                  .entrySet()
-                  .stream()
-                  .sorted(Map.Entry.<User, Double>comparingByValue().reversed())
-                  .collect(Collectors.toMap(
-                          Map.Entry::getKey,
-                          Map.Entry::getValue,
-                          (a, b) -> a,
-                          LinkedHashMap::new));
+        return compute(txs).totalAmountPerUser();
     }
 
     /* --- métodos extra para practicar operaciones ---------------------- */
 
     /** Average amount per month (YYYY-MM) for VALID transactions. */
     public static Map<String, Double> avgByMonth(List<Transaction> txs) {
-        return txs.stream()
-                  .filter(t -> t.status() == Transaction.Status.VALID)
-                  .collect(Collectors.groupingBy(
-                          t -> t.date().withDayOfMonth(1).toString(),      // 2025-08-01
-                          Collectors.averagingDouble(Transaction::amount)));
+        return compute(txs).avgByMonth();
     }
 
     /** Count of transactions per status. */
     public static Map<Transaction.Status, Long> countPerStatus(List<Transaction> txs) {
-        return txs.stream()
-                  .collect(Collectors.groupingBy(Transaction::status, Collectors.counting()));
+        return compute(txs).countPerStatus();
+    }
+
+    /* --- sobrecargas columnares ---------------------------------------- */
+
+    /** Columnar version of {@link #totalAmountPerUser(List)}. */
+    public static Map<User, Double> totalAmountPerUser(TransactionColumns cols) {
+        return compute(cols).totalAmountPerUser();
+    }
+
+    /** Columnar version of {@link #avgByMonth(List)}. */
+    public static Map<String, Double> avgByMonth(TransactionColumns cols) {
+        return compute(cols).avgByMonth();
+    }
+
+    /** Columnar version of {@link #countPerStatus(List)}. */
+    public static Map<Transaction.Status, Long> countPerStatus(TransactionColumns cols) {
+        return compute(cols).countPerStatus();
+    }
+
+    /* --- fork-join ---------------------------------------------------- */
+
+    private static final class KpiTask extends RecursiveTask<KpiTotals> {
+        private final List<Transaction> txs;
+        private final int from, to, threshold;
+        private final KpiTotals.UserIndex users;
+
+        KpiTask(List<Transaction> txs, int from, int to, int threshold, KpiTotals.UserIndex users) {
+            this.txs = txs; this.from = from; this.to = to; this.threshold = threshold; this.users = users;
+        }
+
+        @Override protected KpiTotals compute() {
+            if (to - from <= threshold) {
+                KpiTotals totals = new KpiTotals(users);
+                for (int i = from; i < to; i++) totals.add(txs.get(i));
+                return totals;
+            }
+            int mid = (from + to) >>> 1;
+            KpiTask left = new KpiTask(txs, from, mid, threshold, users);
+            left.fork();
+            KpiTotals right = new KpiTask(txs, mid, to, threshold, users).compute();
+            KpiTotals merged = left.join();
+            merged.merge(right);
+            return merged;
+        }
     }
 }
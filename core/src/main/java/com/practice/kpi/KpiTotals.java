@@ -0,0 +1,290 @@
+package com.practice.kpi;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collector;
+
+import com.practice.domain.transaction.Transaction;
+import com.practice.domain.user.User;
+
+/**
+ * The three {@link KpiCalculator} KPIs, accumulated in a single pass with primitive state.
+ * <ul>
+ *   <li>users get a dense {@code int} index ({@link UserIndex}); per-user cents and counts
+ *       are {@code long[]} slots, so instances sharing an index merge with element-wise adds;</li>
+ *   <li>amounts are summed as {@code long} cents ({@code Math.round(amount * 100)}),
+ *       so sub-cent fractions are rounded per transaction;</li>
+ *   <li>months are {@code int yyyymm} keys in an open-addressing table (no boxing);</li>
+ *   <li>statuses are a {@code long[]} indexed by {@link Transaction.Status#ordinal()}.</li>
+ * </ul>
+ * Result maps are built on demand. Not thread-safe: fill one instance per thread.
+ */
+public final class KpiTotals {
+
+    private static final Transaction.Status[] STATUSES = Transaction.Status.values();
+
+    /** Descending total, ties by user id: the order never depends on hash iteration. */
+    static final Comparator<UserSum> BY_TOTAL_DESC =
+            Comparator.comparingLong((UserSum s) -> s.cents).reversed()
+                      .thenComparing(s -> s.user.id());
+
+    private final UserIndex users;
+    private long[] userCents = new long[16];
+    private long[] userCounts = new long[16];          // VALID transactions per user index
+    private final MonthTable months = new MonthTable();
+    private final long[] statusCounts = new long[STATUSES.length];
+
+    KpiTotals() { this(new UserIndex()); }
+
+    /** An instance whose per-user slots follow {@code users}, shared with the instances it is merged with. */
+    KpiTotals(UserIndex users) { this.users = users; }
+
+    /**
+     * Collector for {@code stream().collect(...)}, parallel streams included: each
+     * sub-stream fills its own instance over one shared {@link UserIndex} and the combiner
+     * {@link #merge}s them.
+     */
+    public static Collector<Transaction, KpiTotals, KpiTotals> collector() {
+        UserIndex users = new UserIndex();
+        return Collector.of(() -> new KpiTotals(users), KpiTotals::add,
+                            (a, b) -> { a.merge(b); return a; },
+                            Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /* --- acumulación ---------------------------------------------------- */
+
+    void add(Transaction t) {
+        statusCounts[t.status().ordinal()]++;
+        if (t.status() != Transaction.Status.VALID) return;
+        long cents = toCents(t.amount());
+        addUser(users.indexOf(t.user()), cents, 1);
+        months.add(yyyymm(t.date()), cents, 1);
+    }
+
+    /** Widest date range (in days) scanned with per-day arrays; wider stores map each row to its month. */
+    private static final int MAX_DAY_SPAN = 1 << 16;
+
+    /**
+     * Column scan: sums per user index and per epoch day into flat arrays, then folds the
+     * (few) distinct users and days into the usual state.
+     */
+    void add(TransactionColumns cols) {
+        int n = cols.size;
+        if (n == 0) return;
+        int[] rowUsers = cols.users;
+        long[] cents = cols.cents;
+        byte[] statuses = cols.statuses;
+        int[] days = cols.epochDays;
+        int valid = Transaction.Status.VALID.ordinal();
+
+        long[] colCents = new long[cols.userCount()];
+        long[] colCounts = new long[colCents.length];
+        int base = cols.minDay;
+        long span = (long) cols.maxDay - base + 1;
+        boolean byDay = span <= MAX_DAY_SPAN;
+        long[] dayCents = byDay ? new long[(int) span] : null;
+        long[] dayCounts = byDay ? new long[(int) span] : null;
+
+        for (int i = 0; i < n; i++) {
+            int s = statuses[i];
+            statusCounts[s]++;
+            if (s != valid) continue;
+            long c = cents[i];
+            int u = rowUsers[i];
+            colCents[u] += c;
+            colCounts[u]++;
+            if (byDay) {
+                int d = days[i] - base;
+                dayCents[d] += c;
+                dayCounts[d]++;
+            } else {
+                months.add(yyyymm(LocalDate.ofEpochDay(days[i])), c, 1);
+            }
+        }
+
+        for (int u = 0; u < colCents.length; u++) {
+            if (colCounts[u] > 0) addUser(users.indexOf(cols.dictionaryUser(u)), colCents[u], colCounts[u]);
+        }
+        if (byDay) {
+            for (int d = 0; d < dayCounts.length; d++) {
+                if (dayCounts[d] > 0) months.add(yyyymm(LocalDate.ofEpochDay(base + d)), dayCents[d], dayCounts[d]);
+            }
+        }
+    }
+
+    /**
+     * Adds {@code other} into this instance (associative, order independent). With the same
+     * {@link UserIndex} the per-user slots are added element-wise; otherwise each user of
+     * {@code other} is re-indexed.
+     */
+    void merge(KpiTotals other) {
+        for (int i = 0; i < statusCounts.length; i++) statusCounts[i] += other.statusCounts[i];
+        long[] oc = other.userCents, on = other.userCounts;
+        if (other.users == users) {
+            if (oc.length > userCents.length) growUsers(oc.length - 1);
+            for (int u = 0; u < oc.length; u++) {
+                userCents[u] += oc[u];
+                userCounts[u] += on[u];
+            }
+        } else {
+            User[] dict = other.users.toArray();
+            for (int u = 0; u < dict.length && u < on.length; u++) {
+                if (on[u] > 0) addUser(users.indexOf(dict[u]), oc[u], on[u]);
+            }
+        }
+        other.months.forEach(months::add);
+    }
+
+    private void addUser(int u, long cents, long count) {
+        if (u >= userCents.length) growUsers(u);
+        userCents[u] += cents;
+        userCounts[u] += count;
+    }
+
+    private void growUsers(int u) {
+        int n = Math.max(userCents.length * 2, u + 1);
+        userCents = Arrays.copyOf(userCents, n);
+        userCounts = Arrays.copyOf(userCounts, n);
+    }
+
+    static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    static int yyyymm(LocalDate d) {
+        return d.getYear() * 100 + d.getMonthValue();
+    }
+
+    /* --- vistas ---------------------------------------------------------- */
+
+    /** Same contract as {@link KpiCalculator#totalAmountPerUser}. */
+    public Map<User, Double> totalAmountPerUser() {
+        User[] dict = users.toArray();
+        List<UserSum> sums = new ArrayList<>();
+        for (int u = 0; u < dict.length && u < userCounts.length; u++) {
+            if (userCounts[u] > 0) sums.add(new UserSum(dict[u], userCents[u]));
+        }
+        sums.sort(BY_TOTAL_DESC);
+        Map<User, Double> out = new LinkedHashMap<>(sums.size() * 2);
+        for (UserSum s : sums) out.put(s.user, s.cents / 100.0);
+        return out;
+    }
+
+    /** Same contract as {@link KpiCalculator#avgByMonth}. */
+    public Map<String, Double> avgByMonth() {
+        Map<String, Double> out = new HashMap<>();
+        months.forEach((key, cents, count) ->
+                out.put(LocalDate.of(key / 100, key % 100, 1).toString(), cents / 100.0 / count));
+        return out;
+    }
+
+    /** Same contract as {@link KpiCalculator#countPerStatus}. */
+    public Map<Transaction.Status, Long> countPerStatus() {
+        Map<Transaction.Status, Long> out = new EnumMap<>(Transaction.Status.class);
+        for (int i = 0; i < statusCounts.length; i++) {
+            if (statusCounts[i] > 0) out.put(STATUSES[i], statusCounts[i]);
+        }
+        return out;
+    }
+
+    /* --- internos -------------------------------------------------------- */
+
+    static class UserSum {
+        final User user;
+        long cents;
+
+        UserSum(User user) { this.user = user; }
+
+        UserSum(User user, long cents) {
+            this.user = user;
+            this.cents = cents;
+        }
+    }
+
+    /**
+     * {@link User} → dense index {@code 0..n-1}, in first-seen order. Thread-safe, so the leaves
+     * of a parallel computation can share one and merge their slots element-wise.
+     */
+    static final class UserIndex {
+        private final ConcurrentHashMap<User, Integer> ids = new ConcurrentHashMap<>();
+        private final AtomicInteger next = new AtomicInteger();
+
+        int indexOf(User user) {
+            Integer id = ids.get(user);                // camino rápido: usuario ya indexado
+            return id != null ? id : ids.computeIfAbsent(user, u -> next.getAndIncrement());
+        }
+
+        /** Users by index; call once no more users are being added. */
+        User[] toArray() {
+            User[] out = new User[ids.size()];
+            ids.forEach((u, i) -> out[i] = u);
+            return out;
+        }
+    }
+
+    @FunctionalInterface
+    interface MonthVisitor { void accept(int yyyymm, long cents, long count); }
+
+    /** int yyyymm → (cents, count), linear probing; 0 marks an empty slot (a month is never 0). */
+    static final class MonthTable {
+        private int[] keys = new int[32];
+        private long[] cents = new long[32];
+        private long[] counts = new long[32];
+        private int size;
+
+        void add(int key, long c, long n) {
+            int mask = keys.length - 1;
+            int i = mix(key) & mask;
+            while (keys[i] != 0 && keys[i] != key) i = (i + 1) & mask;
+            if (keys[i] == 0) {
+                keys[i] = key;
+                if (++size * 2 > keys.length) {
+                    cents[i] += c;
+                    counts[i] += n;
+                    grow();
+                    return;
+                }
+            }
+            cents[i] += c;
+            counts[i] += n;
+        }
+
+        /** Transactions counted for {@code key} (0 when absent). */
+        long count(int key) {
+            int mask = keys.length - 1;
+            for (int i = mix(key) & mask; keys[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key) return counts[i];
+            }
+            return 0;
+        }
+
+        void forEach(MonthVisitor v) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0) v.accept(keys[i], cents[i], counts[i]);
+            }
+        }
+
+        private void grow() {
+            int[] k = keys; long[] c = cents; long[] n = counts;
+            keys = new int[k.length * 2];
+            cents = new long[k.length * 2];
+            counts = new long[k.length * 2];
+            size = 0;
+            for (int i = 0; i < k.length; i++) if (k[i] != 0) add(k[i], c[i], n[i]);
+        }
+
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
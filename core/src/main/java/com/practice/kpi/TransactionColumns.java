@@ -0,0 +1,131 @@
+package com.practice.kpi;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.practice.domain.transaction.Transaction;
+import com.practice.domain.user.User;
+
+/**
+ * Column-oriented, append-only store of the transaction fields the KPIs read.
+ * <p>
+ * One primitive array per field instead of one object graph per row:
+ * <ul>
+ *   <li>{@code int} user index into a dictionary of distinct {@link User}s;</li>
+ *   <li>{@code long} amount in cents (same rounding as {@link KpiTotals#toCents});</li>
+ *   <li>{@code byte} {@link Transaction.Status#ordinal()};</li>
+ *   <li>{@code int} epoch day.</li>
+ * </ul>
+ * That is 17 bytes per row, against ~100 for a {@code List<Transaction>} with its own
+ * {@code UUID} and {@code LocalDate} per row, and the scan in {@link KpiCalculator#compute(TransactionColumns)}
+ * walks contiguous arrays. Transaction ids are not kept: this is a scan store, not a copy of
+ * the records. Not thread-safe while appending.
+ */
+public final class TransactionColumns {
+
+    private static final Transaction.Status[] STATUSES = Transaction.Status.values();
+
+    /* --- diccionario de usuarios ----------------------------------------- */
+    private final Map<User, Integer> userIndex = new HashMap<>();
+    private final List<User> userDict = new ArrayList<>();
+
+    /* --- columnas (package-private: KpiTotals las recorre directamente) -- */
+    int[] users;
+    long[] cents;
+    byte[] statuses;
+    int[] epochDays;
+    int size;
+    int minDay = Integer.MAX_VALUE;
+    int maxDay = Integer.MIN_VALUE;
+
+    public TransactionColumns() {
+        this(1_024);
+    }
+
+    public TransactionColumns(int initialCapacity) {
+        if (initialCapacity < 0) throw new IllegalArgumentException("initialCapacity < 0");
+        users = new int[initialCapacity];
+        cents = new long[initialCapacity];
+        statuses = new byte[initialCapacity];
+        epochDays = new int[initialCapacity];
+    }
+
+    /** Copies {@code txs} into a store sized exactly for them. */
+    public static TransactionColumns of(Collection<Transaction> txs) {
+        TransactionColumns cols = new TransactionColumns(txs.size());
+        for (Transaction t : txs) cols.append(t);
+        return cols;
+    }
+
+    /* --- escritura ------------------------------------------------------- */
+
+    public void append(Transaction t) {
+        append(t.user(), KpiTotals.toCents(t.amount()), t.status(), t.date());
+    }
+
+    /** Appends a row without materializing a {@link Transaction} (e.g. straight from a CSV reader). */
+    public void append(User user, long amountCents, Transaction.Status status, LocalDate date) {
+        Objects.requireNonNull(status, "status");
+        if (size == users.length) grow();
+        int day = Math.toIntExact(date.toEpochDay());
+        users[size] = userIndex.computeIfAbsent(Objects.requireNonNull(user, "user"), u -> {
+            userDict.add(u);
+            return userDict.size() - 1;
+        });
+        cents[size] = amountCents;
+        statuses[size] = (byte) status.ordinal();
+        epochDays[size] = day;
+        if (day < minDay) minDay = day;
+        if (day > maxDay) maxDay = day;
+        size++;
+    }
+
+    /** Releases unused capacity. */
+    public void trimToSize() {
+        if (size == users.length) return;
+        users = Arrays.copyOf(users, size);
+        cents = Arrays.copyOf(cents, size);
+        statuses = Arrays.copyOf(statuses, size);
+        epochDays = Arrays.copyOf(epochDays, size);
+    }
+
+    /* --- lectura --------------------------------------------------------- */
+
+    public int size() { return size; }
+
+    /** Number of distinct users in the dictionary. */
+    public int userCount() { return userDict.size(); }
+
+    public User user(int row)                  { return userDict.get(users[checkRow(row)]); }
+    public long amountCents(int row)           { return cents[checkRow(row)]; }
+    public Transaction.Status status(int row)  { return STATUSES[statuses[checkRow(row)]]; }
+    public LocalDate date(int row)             { return LocalDate.ofEpochDay(epochDays[checkRow(row)]); }
+
+    /** Bytes held by the column arrays (allocated capacity; the user dictionary is not included). */
+    public long columnBytes() {
+        return (long) users.length * Integer.BYTES + (long) cents.length * Long.BYTES
+                + statuses.length + (long) epochDays.length * Integer.BYTES;
+    }
+
+    /* --- internos -------------------------------------------------------- */
+
+    User dictionaryUser(int index) { return userDict.get(index); }
+
+    private int checkRow(int row) {
+        return Objects.checkIndex(row, size);
+    }
+
+    private void grow() {
+        int capacity = Math.max(16, users.length + (users.length >> 1));
+        users = Arrays.copyOf(users, capacity);
+        cents = Arrays.copyOf(cents, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        epochDays = Arrays.copyOf(epochDays, capacity);
+    }
+}
@@ -0,0 +1,116 @@
+package com.practice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.practice.domain.batchconfig.BatchJobConfig;
+import com.practice.domain.datafile.DataFile;
+import com.practice.domain.jobexecution.JobExecution;
+import com.practice.domain.processing.ProcessingRequest;
+import com.practice.domain.user.User;
+import com.practice.domain.utils.enums.ExecutionStatus;
+import com.practice.domain.utils.enums.ReaderType;
+import com.practice.domain.utils.enums.RequestStatus;
+import com.practice.domain.utils.enums.UserRole;
+import com.practice.domain.utils.enums.WriterType;
+import com.practice.io.nativeio.BinaryDecoder;
+import com.practice.io.nativeio.BinaryEncoder;
+
+class BinaryCodecTest {
+
+    private final BinaryEncoder encoder = new BinaryEncoder(16);     // small: forces growth
+    private final BinaryDecoder decoder = new BinaryDecoder();
+
+    @Test
+    void user_roundTrip() {
+        User u = new User(UUID.randomUUID(), "José Ñandú 🚀", "jose@example.com",
+                          UserRole.ANALYST, Instant.parse("1969-12-31T23:59:58.123456789Z"));
+
+        User copy = decoder.decodeUser(encoder.encode(u));
+
+        assertEquals(u.id(), copy.id());
+        assertEquals(u.name(), copy.name());
+        assertEquals(u.email(), copy.email());
+        assertEquals(u.role(), copy.role());
+        assertEquals(u.createdAt(), copy.createdAt());
+    }
+
+    @Test
+    void dataFile_roundTripWithNullChecksum() {
+        DataFile f = new DataFile(UUID.randomUUID(), "a.csv", "/tmp/a.csv", 42L, null,
+                                  Instant.now(), TestFixtures.sampleUser());
+
+        DataFile copy = decoder.decodeDataFile(encoder.encode(f));
+
+        assertNull(copy.checksumSha256());
+        assertEquals(f.id(), copy.id());
+        assertEquals(f.sizeBytes(), copy.sizeBytes());
+        assertEquals(f.uploadedAt(), copy.uploadedAt());
+        assertEquals(f.uploadedBy().email(), copy.uploadedBy().email());
+    }
+
+    @Test
+    void jobExecution_roundTripKeepsStatusesAndMetrics() {
+        BatchJobConfig cfg = BatchJobConfig.builder("ETL").description(null).chunkSize(250)
+                .readerType(ReaderType.JSON).writerType(WriterType.JPA).allowRestart().inactive().build();
+        ProcessingRequest req = new ProcessingRequest(UUID.randomUUID(), "Import", TestFixtures.sampleFile(),
+                Map.of("sep", ";", "header", "true"), TestFixtures.sampleUser(), cfg, Instant.now());
+        req.markInProgress();
+        req.markFailed();
+        Instant start = Instant.now();
+        JobExecution exec = new JobExecution(UUID.randomUUID(), req, start);
+        exec.finish(ExecutionStatus.FAIL, start.plusSeconds(5), 1_000_000, 999_000, 1_000, "boom");
+
+        JobExecution copy = decoder.decodeJobExecution(encoder.encode(exec));
+
+        assertEquals(exec.id(), copy.id());
+        assertEquals(ExecutionStatus.FAIL, copy.exitStatus());
+        assertEquals(exec.endTime(), copy.endTime());
+        assertEquals(999_000, copy.writeCount());
+        assertEquals("boom", copy.errorMessage());
+        ProcessingRequest r = copy.processingRequest();
+        assertEquals(RequestStatus.FAILED, r.status());
+        assertEquals(req.parameters(), r.parameters());
+        assertEquals(cfg.id(), r.batchJobConfig().id());
+        assertNull(r.batchJobConfig().description());
+        assertEquals(ReaderType.JSON, r.batchJobConfig().readerType());
+        assertFalse(r.batchJobConfig().isActive());
+    }
+
+    @Test
+    void unfinishedExecution_staysRunning() {
+        JobExecution exec = TestFixtures.newInProgressExecution();
+
+        JobExecution copy = decoder.decodeJobExecution(encoder.encode(exec));
+
+        assertNull(copy.exitStatus());
+        assertEquals(RequestStatus.IN_PROGRESS, copy.processingRequest().status());
+    }
+
+    @Test
+    void encoderReusesItsBuffer() {
+        ByteBuffer first = encoder.encode(TestFixtures.sampleUser());
+        ByteBuffer second = encoder.encode(TestFixtures.sampleUser());
+        assertSame(first, second);
+    }
+
+    @Test
+    void rejectsNewerSchemaAndWrongType() {
+        ByteBuffer user = encoder.encode(TestFixtures.sampleUser());
+        assertThrows(IllegalArgumentException.class, () -> decoder.decodeDataFile(user.duplicate()));
+
+        ByteBuffer future = user.duplicate();
+        future.put(0, (byte) 99);
+        assertThrows(IllegalArgumentException.class, () -> decoder.decodeUser(future));
+    }
+}
@@ -0,0 +1,59 @@
+package com.practice;
+
+import org.junit.jupiter.api.*;
+
+import com.practice.io.csv.CsvFieldParsers;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvFieldParsersTest {
+
+    @Test
+    void instant_matchesJdk_forRandomUtcInstants() {
+        Random rnd = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            Instant t = Instant.ofEpochSecond(rnd.nextLong(-62_135_596_800L, 253_402_300_799L),
+                                              rnd.nextInt(4) == 0 ? 0 : rnd.nextInt(1_000_000_000));
+            String s = t.toString();
+            assertEquals(Instant.parse(s), CsvFieldParsers.parseInstant(s), s);
+        }
+    }
+
+    @Test
+    void instant_fallsBackToJdk_forOtherShapes() {
+        for (String s : new String[] {
+                "2025-07-01T10:00:00.1Z", "2024-02-29T23:59:59Z", "2025-07-01T12:00:00+02:00",
+                "2016-12-31T23:59:60Z", "+12025-01-01T00:00:00Z" }) {
+            assertEquals(Instant.parse(s), CsvFieldParsers.parseInstant(s), s);
+        }
+        for (String s : new String[] {
+                "2025-02-29T00:00:00Z", "2025-13-01T00:00:00Z", "2025-07-01 10:00:00Z", "not-a-date" }) {
+            assertThrows(DateTimeParseException.class, () -> CsvFieldParsers.parseInstant(s), s);
+        }
+    }
+
+    @Test
+    void amount_isNumericallyEqualToBigDecimal() {
+        for (String s : new String[] {
+                "0", "12.5", "12.50", "-3", "+7.01", ".5", "5.", "9999999999999999.99", "1.005", "1e3" }) {
+            BigDecimal parsed = CsvFieldParsers.parseAmount(s);
+            assertEquals(0, new BigDecimal(s).compareTo(parsed), s);
+        }
+        assertEquals(new BigDecimal("12.50"), CsvFieldParsers.parseAmount("12.5"));   // scale 2
+        assertThrows(NumberFormatException.class, () -> CsvFieldParsers.parseAmount("12,5"));
+    }
+
+    @Test
+    void cents_rejectsWhatItCannotRepresentExactly() {
+        assertEquals(1250, CsvFieldParsers.tryParseCents("12.5"));
+        assertEquals(-1, CsvFieldParsers.tryParseCents("-0.01"));
+        for (String s : new String[] { "", "-", ".", "1.005", "1e3", " 1", "12345678901234567" }) {
+            assertEquals(CsvFieldParsers.NO_CENTS, CsvFieldParsers.tryParseCents(s), s);
+        }
+    }
+}
@@ -3,11 +3,17 @@ package com.practice;
 import org.junit.jupiter.api.*;
 
 import com.practice.domain.processing.ProcessingRequest;
+import com.practice.io.csv.CsvRequestFactory;
 import com.practice.io.csv.CsvUtil;
 
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -45,4 +51,145 @@ class CsvUtilTest {
         assertEquals(1, out.size());
         assertEquals("Test", out.get(0).title());
     }
+
+    @Test
+    void quotedTitles_roundTrip() throws Exception {
+        String longTitle = "x\"y,z;".repeat(3_000);              // spans several read buffers
+        List<ProcessingRequest> in = List.of(
+                request("Plain"),
+                request("Semi;colon"),
+                request("He said \"hi\""),
+                request("multi\nline\r\ntitle"),
+                request(longTitle));
+
+        CsvUtil.writeRequests(tmp, in, StandardCharsets.UTF_8, ';');
+        List<ProcessingRequest> out = CsvUtil.readRequests(tmp, StandardCharsets.UTF_8, ';');
+
+        assertEquals(in.stream().map(ProcessingRequest::title).collect(Collectors.toList()),
+                     out.stream().map(ProcessingRequest::title).collect(Collectors.toList()));
+        assertEquals(in.get(4).createdAt(), out.get(4).createdAt());
+    }
+
+    @Test
+    void read_crlfQuotedFieldsAndBlankLines() throws Exception {
+        String sample = "123e4567-e89b-12d3-a456-426614174000,\"A, \"\"quoted\"\" title\",2025-01-01T00:00:00Z\r\n"
+                      + "\r\n"
+                      + "123e4567-e89b-12d3-a456-426614174001,B,2025-01-02T00:00:00Z";   // no trailing newline
+        Files.writeString(tmp, sample, StandardCharsets.UTF_8);
+
+        List<ProcessingRequest> out = CsvUtil.readRequests(tmp, StandardCharsets.UTF_8, ',');
+
+        assertEquals(2, out.size());
+        assertEquals("A, \"quoted\" title", out.get(0).title());
+        assertEquals("B", out.get(1).title());
+    }
+
+    @Test
+    void streamRequests_isLazy() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1_000; i++) {
+            sb.append(new UUID(0, i)).append(",T").append(i).append(",2025-01-01T00:00:00Z\n");
+        }
+        sb.append("not-a-uuid,broken,2025-01-01T00:00:00Z\n");      // never reached below
+        Files.writeString(tmp, sb, StandardCharsets.UTF_8);
+
+        try (Stream<ProcessingRequest> s = CsvUtil.streamRequests(tmp, StandardCharsets.UTF_8, ',')) {
+            assertEquals(List.of("T0", "T1", "T2"),
+                         s.limit(3).map(ProcessingRequest::title).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void read_malformedQuote_throws() throws Exception {
+        Files.writeString(tmp, "123e4567-e89b-12d3-a456-426614174000,\"bad\"x,2025-01-01T00:00:00Z\n",
+                          StandardCharsets.UTF_8);
+
+        assertThrows(IllegalArgumentException.class,
+                     () -> CsvUtil.readRequests(tmp, StandardCharsets.UTF_8, ','));
+    }
+
+    @Test
+    void factory_sharesReferencedObjectsAcrossRows() throws Exception {
+        CsvUtil.writeRequests(tmp, List.of(request("a"), request("b"), request("c")), StandardCharsets.UTF_8, ',');
+        ProcessingRequest template = TestFixtures.newPendingRequest();
+
+        List<ProcessingRequest> shared = CsvUtil.readRequests(tmp, StandardCharsets.UTF_8, ',',
+                CsvRequestFactory.sharing(template.dataFile(), template.requestedBy(), template.batchJobConfig()));
+        List<ProcessingRequest> stubs = CsvUtil.readRequests(tmp, StandardCharsets.UTF_8, ',');
+
+        assertEquals(3, shared.size());
+        for (ProcessingRequest pr : shared) {
+            assertSame(template.dataFile(), pr.dataFile());
+            assertSame(template.requestedBy(), pr.requestedBy());
+            assertSame(template.batchJobConfig(), pr.batchJobConfig());
+        }
+        assertSame(stubs.get(0).dataFile(), stubs.get(2).dataFile());
+        assertSame(stubs.get(0).requestedBy(), stubs.get(2).requestedBy());
+    }
+
+    @Test
+    void parallelStream_matchesSequentialInOrder() throws Exception {
+        Path big = Files.createTempFile("req-par", ".csv");
+        try {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 60_000; i++) {                     // ~4.5 MB: several splits
+                sb.append(new UUID(7, i)).append(',')
+                  .append(i % 3 == 0 ? "\"Ñandú, \"\"" + i + "\"\"\"" : "Título " + i)
+                  .append(",2025-01-01T00:00:00Z").append(i % 2 == 0 ? "\r\n" : "\n");
+            }
+            Files.writeString(big, sb, StandardCharsets.UTF_8);
+
+            List<String> sequential;
+            try (Stream<ProcessingRequest> s = CsvUtil.streamRequests(big, StandardCharsets.UTF_8, ',')) {
+                sequential = s.map(ProcessingRequest::title).collect(Collectors.toList());
+            }
+            List<String> parallel;
+            try (Stream<ProcessingRequest> s = CsvUtil.parallelStreamRequests(big, StandardCharsets.UTF_8, ',')) {
+                assertTrue(s.isParallel());
+                parallel = s.map(ProcessingRequest::title).collect(Collectors.toList());
+            }
+
+            assertEquals(60_000, parallel.size());
+            assertEquals(sequential, parallel);
+            assertEquals("Ñandú, \"3\"", parallel.get(3));
+        } finally {
+            Files.deleteIfExists(big);
+        }
+    }
+
+    @Test
+    void parallelStream_neverSplitsInsideQuotedLineBreaks() throws Exception {
+        Path big = Files.createTempFile("req-par-ml", ".csv");
+        try {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 40_000; i++) {                     // ~4 MB, odd titles span lines
+                sb.append(new UUID(9, i)).append(',');
+                if (i % 2 == 0) sb.append("Pantalla ").append(i).append("\"");   // comilla literal, sin abrir campo
+                else sb.append("\"Título ").append(i).append("\n").append(new UUID(8, i))
+                       .append(",falso \"\"registro\"\",2025-01-01T00:00:00Z\r\n\"");
+                sb.append(",2025-01-01T00:00:00Z\n");
+            }
+            Files.writeString(big, sb, StandardCharsets.UTF_8);
+
+            List<String> parallel;
+            try (Stream<ProcessingRequest> s = CsvUtil.parallelStreamRequests(big, StandardCharsets.UTF_8, ',')) {
+                parallel = s.map(ProcessingRequest::title).collect(Collectors.toList());
+            }
+
+            assertEquals(40_000, parallel.size());
+            for (int i = 0; i < parallel.size(); i++) {
+                assertEquals(i % 2 == 0 ? "Pantalla " + i + "\"" : "Título " + i + "\n" + new UUID(8, i)
+                        + ",falso \"registro\",2025-01-01T00:00:00Z\r\n", parallel.get(i));
+            }
+        } finally {
+            Files.deleteIfExists(big);
+        }
+    }
+
+    private static ProcessingRequest request(String title) {
+        ProcessingRequest base = TestFixtures.newPendingRequest();
+        return new ProcessingRequest(UUID.randomUUID(), title, base.dataFile(), Map.of(),
+                                     base.requestedBy(), base.batchJobConfig(),
+                                     Instant.parse("2025-03-04T05:06:07.123Z"));
+    }
 }
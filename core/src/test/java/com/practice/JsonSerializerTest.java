@@ -3,15 +3,29 @@ package com.practice;
 import org.junit.jupiter.api.Test;
 
 import com.practice.domain.batchconfig.BatchJobConfig;
+import com.practice.domain.jobexecution.JobExecution;
 import com.practice.domain.processing.ProcessingRequest;
+import com.practice.domain.transaction.Transaction;
 import com.practice.domain.user.User;
+import com.practice.domain.utils.enums.ExecutionStatus;
+import com.practice.domain.utils.enums.RequestStatus;
 import com.practice.domain.utils.enums.UserRole;
 import com.practice.io.JsonSerializer;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -59,4 +73,72 @@ class JsonSerializerTest {
         assertEquals(3, list.size());
         assertNull(list.get(1));
     }
+
+    @Test
+    void compactJson_hasNoWhitespaceAndReadsBack() {
+        ProcessingRequest pr = TestFixtures.newPendingRequest();
+        String compact = JsonSerializer.toCompactJson(pr);
+
+        assertFalse(compact.contains("\n"));
+        assertTrue(compact.length() < JsonSerializer.toJson(pr).length());
+        ProcessingRequest copy = JsonSerializer.fromJson(compact, ProcessingRequest.class);
+        assertEquals(pr.batchJobConfig().id(), copy.batchJobConfig().id());
+        assertEquals(pr.parameters(), copy.parameters());
+    }
+
+    @Test
+    void jobExecution_roundTripKeepsFinishedState() {
+        JobExecution exec = TestFixtures.newInProgressExecution();
+        exec.finish(ExecutionStatus.SUCCESS, exec.startTime().plusSeconds(3), 10, 9, 1, null);
+
+        JobExecution copy = JsonSerializer.fromJson(JsonSerializer.toCompactJson(exec), JobExecution.class);
+
+        assertEquals(exec, copy);
+        assertEquals(ExecutionStatus.SUCCESS, copy.exitStatus());
+        assertEquals(exec.endTime(), copy.endTime());
+        assertEquals(9, copy.writeCount());
+        assertEquals(RequestStatus.IN_PROGRESS, copy.processingRequest().status());
+    }
+
+    @Test
+    void writeTo_streamsCompactJson() throws Exception {
+        Transaction tx = new Transaction(UUID.randomUUID(), TestFixtures.sampleUser(), 12.5,
+                                         Transaction.Status.VALID, LocalDate.of(2025, 2, 1));
+        StringWriter out = new StringWriter();
+
+        JsonSerializer.writeTo(tx, out);
+
+        assertTrue(out.toString().contains("\"date\":\"2025-02-01\""));
+        assertEquals(tx.date(), JsonSerializer.fromJson(out.toString(), Transaction.class).date());
+    }
+
+    @Test
+    void writeArrayAndReadArray_roundTripLazily() throws Exception {
+        List<User> users = IntStream.range(0, 500)
+                .mapToObj(i -> new User(UUID.randomUUID(), "u" + i, "u" + i + "@example.com",
+                                        UserRole.ANALYST, Instant.parse("2025-01-01T00:00:00Z")))
+                .collect(Collectors.toList());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JsonSerializer.writeArray(users.iterator(), bytes);
+
+        List<User> firstTwo = new ArrayList<>();
+        try (Stream<User> s = JsonSerializer.readArray(new ByteArrayInputStream(bytes.toByteArray()), User.class)) {
+            Iterator<User> it = s.iterator();
+            firstTwo.add(it.next());
+            firstTwo.add(it.next());
+        }
+        assertEquals(users.subList(0, 2), firstTwo);
+
+        try (Stream<User> s = JsonSerializer.readArray(new ByteArrayInputStream(bytes.toByteArray()), User.class)) {
+            assertEquals(users, s.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void readArray_emptyArray() {
+        var in = new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8));
+        try (Stream<User> s = JsonSerializer.readArray(in, User.class)) {
+            assertEquals(0, s.count());
+        }
+    }
 }
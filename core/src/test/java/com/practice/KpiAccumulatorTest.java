@@ -0,0 +1,117 @@
+package com.practice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.practice.domain.transaction.Transaction;
+import com.practice.domain.transaction.Transaction.Status;
+import com.practice.domain.user.User;
+import com.practice.domain.utils.enums.UserRole;
+import com.practice.kpi.KpiAccumulator;
+import com.practice.kpi.KpiCalculator;
+import com.practice.kpi.KpiTotals;
+
+class KpiAccumulatorTest {
+
+    private static final LocalDate JAN = LocalDate.of(2025, 1, 10);
+
+    private static User user(int n) {
+        return new User(new UUID(0, n), "u" + n, "u" + n + "@example.com", UserRole.ANALYST, Instant.now());
+    }
+
+    @Test
+    void incrementalIngest_matchesBatchComputation() {
+        User[] users = new User[30];
+        for (int i = 0; i < users.length; i++) users[i] = user(i + 1);
+        List<Transaction> txs = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            txs.add(new Transaction(UUID.randomUUID(), users[i % users.length], (i % 7) + 0.25,
+                    Status.values()[i % 3], LocalDate.of(2025, (i % 12) + 1, 1)));
+        }
+
+        KpiAccumulator acc = new KpiAccumulator();
+        txs.subList(0, 5_000).forEach(acc::accept);
+        acc.acceptAll(txs.subList(5_000, txs.size()));
+
+        KpiTotals expected = KpiCalculator.compute(txs);
+        assertEquals(List.copyOf(expected.totalAmountPerUser().entrySet()),
+                     List.copyOf(acc.totalAmountPerUser().entrySet()));
+        assertEquals(expected.avgByMonth(), acc.avgByMonth());
+        assertEquals(expected.countPerStatus(), acc.countPerStatus());
+    }
+
+    @Test
+    void pendingThatBecomesValid_isRetractedAndCounted() {
+        User u = user(1);
+        UUID id = UUID.randomUUID();
+        KpiAccumulator acc = new KpiAccumulator();
+
+        acc.accept(new Transaction(id, u, 40.0, Status.PENDING, JAN));
+        assertEquals(Map.of(Status.PENDING, 1L), acc.countPerStatus());
+        assertTrue(acc.totalAmountPerUser().isEmpty());
+        assertEquals(1, acc.pendingCount());
+
+        acc.accept(new Transaction(id, u, 40.0, Status.VALID, JAN));
+        assertEquals(Map.of(Status.VALID, 1L), acc.countPerStatus());
+        assertEquals(Map.of(u, 40.0), acc.totalAmountPerUser());
+        assertEquals(Map.of("2025-01-01", 40.0), acc.avgByMonth());
+        assertEquals(0, acc.pendingCount());
+    }
+
+    @Test
+    void pendingThatFails_leavesNoTotals() {
+        UUID id = UUID.randomUUID();
+        KpiAccumulator acc = new KpiAccumulator();
+        acc.accept(new Transaction(id, user(1), 40.0, Status.PENDING, JAN));
+        acc.accept(new Transaction(id, user(1), 40.0, Status.FAILED, JAN));
+
+        assertEquals(Map.of(Status.FAILED, 1L), acc.countPerStatus());
+        assertTrue(acc.totalAmountPerUser().isEmpty());
+        assertTrue(acc.avgByMonth().isEmpty());
+    }
+
+    @Test
+    void topUsers_followsRankingChangesAndRetractions() {
+        User a = user(1), b = user(2), c = user(3);
+        KpiAccumulator acc = new KpiAccumulator();
+        Transaction big = new Transaction(UUID.randomUUID(), a, 100.0, Status.VALID, JAN);
+        acc.accept(big);
+        acc.accept(new Transaction(UUID.randomUUID(), b, 50.0, Status.VALID, JAN));
+        acc.accept(new Transaction(UUID.randomUUID(), c, 50.0, Status.VALID, JAN));
+
+        assertEquals(List.of(a, b), List.copyOf(acc.topUsers(2).keySet()));
+
+        acc.accept(new Transaction(UUID.randomUUID(), c, 60.0, Status.VALID, JAN));
+        assertEquals(List.of(c, a), List.copyOf(acc.topUsers(2).keySet()));
+
+        acc.retract(big);
+        assertEquals(List.of(c, b), List.copyOf(acc.topUsers(5).keySet()));
+        assertEquals(Map.of(Status.VALID, 3L), acc.countPerStatus());
+    }
+
+    @Test
+    void retractOfUnknownTransaction_isIgnored() {
+        User a = user(1);
+        KpiAccumulator acc = new KpiAccumulator();
+        acc.accept(new Transaction(UUID.randomUUID(), a, 10.0, Status.VALID, JAN));
+
+        assertFalse(acc.retract(new Transaction(UUID.randomUUID(), user(2), 99.0, Status.VALID, JAN)));
+        assertFalse(acc.retract(new Transaction(UUID.randomUUID(), a, 5.0, Status.VALID, JAN.plusMonths(1))));
+        assertFalse(acc.retract(new Transaction(UUID.randomUUID(), a, 5.0, Status.FAILED, JAN)));
+        assertFalse(acc.retract(new Transaction(UUID.randomUUID(), a, 5.0, Status.PENDING, JAN)));
+
+        assertEquals(Map.of(a, 10.0), acc.topUsers(5));
+        assertEquals(Map.of(Status.VALID, 1L), acc.countPerStatus());
+        assertEquals(Map.of("2025-01-01", 10.0), acc.avgByMonth());
+    }
+}
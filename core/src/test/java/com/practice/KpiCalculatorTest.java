@@ -9,7 +9,9 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
@@ -19,6 +21,8 @@ import com.practice.domain.transaction.Transaction.Status;
 import com.practice.domain.user.User;
 import com.practice.domain.utils.enums.UserRole;
 import com.practice.kpi.KpiCalculator;
+import com.practice.kpi.KpiTotals;
+import com.practice.kpi.TransactionColumns;
 
 class KpiCalculatorTest {
 
@@ -70,4 +74,92 @@ class KpiCalculatorTest {
         assertTrue(cnt.get(Status.FAILED) > 0);
         assertTrue(cnt.get(Status.VALID) > 0);
     }
+
+    @Test
+    void singlePass_matchesStreamReference() {
+        List<Transaction> txs = bigDataset();
+        KpiTotals k = KpiCalculator.compute(txs);
+
+        Map<User, Double> refTotals = txs.stream()
+                .filter(t -> t.status() == Status.VALID)
+                .collect(Collectors.groupingBy(Transaction::user, Collectors.summingDouble(Transaction::amount)));
+        Map<String, Double> refAvg = txs.stream()
+                .filter(t -> t.status() == Status.VALID)
+                .collect(Collectors.groupingBy(t -> t.date().withDayOfMonth(1).toString(),
+                                               Collectors.averagingDouble(Transaction::amount)));
+
+        assertEquals(refTotals.keySet(), k.totalAmountPerUser().keySet());
+        refTotals.forEach((u, v) -> assertEquals(v, k.totalAmountPerUser().get(u), 1e-9));
+        assertEquals(refAvg.keySet(), k.avgByMonth().keySet());             // "2025-01-01", ...
+        refAvg.forEach((m, v) -> assertEquals(v, k.avgByMonth().get(m), 1e-9));
+        assertEquals(Map.of(Status.VALID, 108L, Status.FAILED, 12L), k.countPerStatus());
+    }
+
+    @Test
+    void totalAmountPerUser_breaksTiesByUserId() {
+        User low  = new User(new UUID(0, 1), "Low",  "low@example.com",  UserRole.ANALYST, Instant.now());
+        User high = new User(new UUID(0, 2), "High", "high@example.com", UserRole.ANALYST, Instant.now());
+        LocalDate d = LocalDate.of(2025, 1, 1);
+        var totals = KpiCalculator.totalAmountPerUser(List.of(
+                new Transaction(UUID.randomUUID(), high, 5.0, Status.VALID, d),
+                new Transaction(UUID.randomUUID(), low,  5.0, Status.VALID, d)));
+
+        assertEquals(List.of(low, high), List.copyOf(totals.keySet()));
+    }
+
+    @Test
+    void forkJoinAndParallelStream_matchSequentialExactly() {
+        User[] users = new User[50];
+        for (int i = 0; i < users.length; i++) {
+            users[i] = new User(UUID.randomUUID(), "u" + i, "u" + i + "@example.com", UserRole.ANALYST, Instant.now());
+        }
+        List<Transaction> txs = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            txs.add(new Transaction(UUID.randomUUID(), users[i % users.length],
+                    (i % 7) + 0.25,                          // many equal totals → ties
+                    Status.values()[i % 3], LocalDate.of(2024 + i % 2, (i % 12) + 1, 1)));
+        }
+
+        KpiTotals seq = KpiCalculator.compute(txs);
+        for (KpiTotals par : List.of(KpiCalculator.computeParallel(txs),
+                                     txs.parallelStream().collect(KpiTotals.collector()))) {
+            assertEquals(List.copyOf(seq.totalAmountPerUser().entrySet()),
+                         List.copyOf(par.totalAmountPerUser().entrySet()));
+            assertEquals(seq.avgByMonth(), par.avgByMonth());
+            assertEquals(seq.countPerStatus(), par.countPerStatus());
+        }
+    }
+
+    @Test
+    void columnScan_matchesObjectScan() {
+        List<Transaction> txs = bigDataset();
+        txs.add(new Transaction(UUID.randomUUID(), ALICE, 1.0, Status.PENDING, LocalDate.of(1900, 1, 1)));
+        txs.add(new Transaction(UUID.randomUUID(), BOB, 2.5, Status.VALID, LocalDate.of(2300, 6, 30)));
+        TransactionColumns cols = new TransactionColumns(4);   // exercises growth
+        txs.forEach(cols::append);
+
+        KpiTotals objects = KpiCalculator.compute(txs);
+        KpiTotals columns = KpiCalculator.compute(cols);
+        assertEquals(List.copyOf(objects.totalAmountPerUser().entrySet()),
+                     List.copyOf(columns.totalAmountPerUser().entrySet()));
+        assertEquals(objects.avgByMonth(), KpiCalculator.avgByMonth(cols));
+        assertEquals(objects.countPerStatus(), KpiCalculator.countPerStatus(cols));
+    }
+
+    @Test
+    void transactionColumns_storesRowsWithUserDictionary() {
+        LocalDate d = LocalDate.of(2025, 3, 9);
+        TransactionColumns cols = TransactionColumns.of(List.of(
+                new Transaction(UUID.randomUUID(), ALICE, 12.345, Status.VALID, d),
+                new Transaction(UUID.randomUUID(), BOB,   1.0,    Status.FAILED, d),
+                new Transaction(UUID.randomUUID(), ALICE, 2.0,    Status.PENDING, d.plusDays(1))));
+
+        assertEquals(3, cols.size());
+        assertEquals(2, cols.userCount());
+        assertEquals(ALICE, cols.user(2));
+        assertEquals(1235, cols.amountCents(0));
+        assertEquals(Status.FAILED, cols.status(1));
+        assertEquals(d.plusDays(1), cols.date(2));
+        assertEquals(3 * 17, cols.columnBytes());
+    }
 }
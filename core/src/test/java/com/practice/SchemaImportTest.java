@@ -0,0 +1,259 @@
+package com.practice;
+
+import org.junit.jupiter.api.*;
+
+import com.practice.domain.batchconfig.BatchJobConfig;
+import com.practice.io.csv.SchemaCsvReader;
+import com.practice.io.schema.ColumnType;
+import com.practice.io.schema.LeadingValue;
+import com.practice.io.schema.RecordSchema;
+import com.practice.io.schema.RowBuffer;
+import com.practice.io.schema.SchemaJdbcWriter;
+import com.practice.io.schema.SchemaRegistry;
+import com.practice.io.schema.SchemaRowValidator;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaImportTest {
+
+    private static final RecordSchema SCHEMA = RecordSchema.builder("import_records")
+            .column("external_id", ColumnType.STRING)
+            .column("user_email", ColumnType.STRING)
+            .decimal("amount", 2)
+            .column("event_time", ColumnType.INSTANT)
+            .optional("quantity", ColumnType.LONG)
+            .key("external_id")
+            .build();
+
+    private final List<String> rejections = new ArrayList<>();
+
+    private void reject(long record, String key, String column, String reason) {
+        rejections.add(record + ":" + key + ":" + column + ":" + reason);
+    }
+
+    private static SchemaCsvReader reader(String csv) {
+        return new SchemaCsvReader(new StringReader(csv), SCHEMA, ',');
+    }
+
+    /* ---------- schema + registry ---------- */
+
+    @Test
+    void schema_rejects_bad_definitions() {
+        assertThrows(IllegalArgumentException.class,
+                () -> RecordSchema.builder("t").column("a", ColumnType.STRING).column("a", ColumnType.LONG).build());
+        assertThrows(IllegalArgumentException.class,
+                () -> RecordSchema.builder("t").column("a; drop table x", ColumnType.STRING).build());
+        assertThrows(IllegalArgumentException.class,
+                () -> RecordSchema.builder("t").optional("a", ColumnType.STRING).key("a").build());
+        assertThrows(IllegalArgumentException.class, () -> RecordSchema.builder("t").build());
+        assertEquals("external_id;user_email;amount;event_time;quantity", SCHEMA.header(';'));
+        assertEquals(0, SCHEMA.keyIndex());
+    }
+
+    @Test
+    void registry_is_keyed_by_config_identity_with_fallback() {
+        RecordSchema other = RecordSchema.builder("other").column("code", ColumnType.STRING).build();
+        BatchJobConfig cfg = BatchJobConfig.builder("IMPORT").build();
+        BatchJobConfig rebuilt = BatchJobConfig.builder("IMPORT").id(cfg.id()).build();
+
+        SchemaRegistry strict = new SchemaRegistry();
+        assertThrows(IllegalArgumentException.class, () -> strict.schemaFor(cfg));
+        strict.register(cfg, other);
+        assertSame(other, strict.schemaFor(rebuilt));
+
+        SchemaRegistry withDefault = new SchemaRegistry(SCHEMA);
+        assertSame(SCHEMA, withDefault.schemaFor(cfg));
+        assertTrue(withDefault.find(cfg).isEmpty());
+        withDefault.register(cfg.id(), other);
+        assertSame(other, withDefault.schemaFor(rebuilt));
+    }
+
+    @Test
+    void leading_columns_are_declared_by_the_schema() {
+        RecordSchema schema = RecordSchema.builder("t")
+                .leading("id", LeadingValue.UUID)
+                .leading("req", LeadingValue.REQUEST_ID)
+                .column("code", ColumnType.STRING)
+                .key("code")
+                .build();
+        assertEquals(List.of("id", "req"), List.copyOf(schema.leading().keySet()));
+        assertEquals("code", schema.header(','));                       // no están en el archivo
+        assertEquals("req", schema.leadingColumn(LeadingValue.REQUEST_ID).orElseThrow());
+
+        UUID request = new UUID(1, 2);
+        var writer = SchemaJdbcWriter.builder(schema, request).onConflictDoNothing("req", "code").build();
+        assertEquals("insert into t (id, req, code) values (?, ?, ?) on conflict (req, code) do nothing",
+                writer.insertSql());
+        var rows = new RowBuffer(schema, 1);
+        rows.setString(0, rows.addRow(1), "A");
+        assertTrue(writer.appendCopyCsv(rows, new StringBuilder()).toString().endsWith("," + request + ",\"A\"\n"));
+
+        assertThrows(IllegalArgumentException.class, () -> SchemaJdbcWriter.builder(schema));
+        assertThrows(IllegalArgumentException.class,
+                () -> RecordSchema.builder("t").leading("code", LeadingValue.UUID).column("code", ColumnType.STRING).build());
+    }
+
+    /* ---------- reader ---------- */
+
+    @Test
+    void reader_fills_typed_columns_and_reports_bad_records() throws Exception {
+        String csv = """
+                external_id,user_email,amount,event_time,quantity
+                A-1, a@x.com ,12.5,2025-07-01T10:00:00Z,3
+                A-2,b@x.com,1e1,2025-07-01T10:00:00.5Z,
+                A-3,c@x.com,abc,2025-07-01T10:00:00Z,1
+                A-4,d@x.com,1
+                "A,5",,-0.005,2025-07-01T10:00:00Z,7
+                """;
+        var rows = new RowBuffer(SCHEMA, 10);
+        try (var r = reader(csv)) {
+            assertEquals(5, r.read(rows, this::reject));
+            assertEquals(0, r.read(rows, this::reject));
+            assertEquals(5, r.dataRecordCount());
+        }
+        assertEquals(List.of("4:A-3:amount:INVALID_DECIMAL", "5:A-4:null:" + SchemaCsvReader.INVALID_FIELD_COUNT),
+                rejections);
+
+        assertEquals(3, rows.size());
+        assertEquals("a@x.com", rows.getString(1, 0));                    // recortado
+        assertEquals(1250, rows.getLong(2, 0));
+        assertEquals(3, rows.getLong(4, 0));
+        assertEquals(1000, rows.getLong(2, 1));                           // 1e1 → 10.00
+        assertEquals(Instant.parse("2025-07-01T10:00:00.5Z"), rows.getInstant(3, 1));
+        assertTrue(rows.isNull(4, 1));
+        assertEquals("A,5", rows.getString(0, 2));
+        assertTrue(rows.isNull(1, 2));
+        assertEquals(new BigDecimal("-0.01"), rows.getDecimal(2, 2));     // HALF_UP a escala 2
+        assertEquals(6, rows.record(2));
+    }
+
+    @Test
+    void reader_reads_in_chunks_and_skips_on_restart() throws Exception {
+        var csv = new StringBuilder("external_id,user_email,amount,event_time,quantity\n");
+        for (int i = 0; i < 25; i++) csv.append("E-").append(i).append(",u@x.com,1,2025-01-01T00:00:00Z,\n");
+        var rows = new RowBuffer(SCHEMA, 10);
+        try (var r = reader(csv.toString())) {
+            assertEquals(7, r.skip(7));
+            assertEquals(10, r.read(rows, this::reject));
+            assertEquals("E-7", rows.getString(0, 0));
+            rows.clear();
+            assertEquals(8, r.read(rows, this::reject));
+            assertEquals("E-24", rows.getString(0, 7));
+            assertTrue(rows.isNull(4, 7));
+        }
+    }
+
+    @Test
+    void reader_checks_the_header() {
+        var rows = new RowBuffer(SCHEMA, 4);
+        var r = reader("external_id,email,amount,event_time,quantity\nA,b,1,2025-01-01T00:00:00Z,1\n");
+        var e = assertThrows(IllegalArgumentException.class, () -> r.read(rows, this::reject));
+        assertTrue(e.getMessage().startsWith("Invalid header"));
+    }
+
+    /* ---------- validator ---------- */
+
+    @Test
+    void validator_reports_in_column_order_drops_rows_and_transforms_the_rest() throws Exception {
+        String csv = """
+                external_id,user_email,amount,event_time,quantity
+                A-1,Ana@X.com,1,2025-07-01T10:00:00Z,
+                ,Bob@X.com,-1,2025-07-01T10:00:00Z,
+                A-3,,2,,
+                A-4,Eve@X.com,3,2025-07-01T10:00:00Z,9
+                """;
+        var rows = new RowBuffer(SCHEMA, 10);
+        try (var r = reader(csv)) { r.read(rows, this::reject); }
+
+        int amount = SCHEMA.indexOf("amount");
+        int email = SCHEMA.indexOf("user_email");
+        int[] chunks = {0};
+        var validator = SchemaRowValidator.builder(SCHEMA)
+                .rule("amount", new SchemaRowValidator.RowRule() {
+                    @Override public String check(RowBuffer b, int row) { return b.getLong(amount, row) < 0 ? "NEGATIVE" : null; }
+                    @Override public void beginChunk(RowBuffer b) { chunks[0]++; }
+                })
+                .transform((b, row) -> b.setString(email, row, b.getString(email, row).toLowerCase(Locale.ROOT)))
+                .build();
+
+        assertEquals(2, validator.validate(rows, this::reject));
+        assertEquals(1, chunks[0]);
+        assertEquals(List.of(
+                "3:null:external_id:REQUIRED", "3:null:amount:NEGATIVE",
+                "4:A-3:user_email:REQUIRED", "4:A-3:event_time:REQUIRED"), rejections);
+
+        assertEquals(2, rows.size());
+        assertEquals("A-1", rows.getString(0, 0));
+        assertEquals("A-4", rows.getString(0, 1));
+        assertEquals("eve@x.com", rows.getString(email, 1));
+        assertEquals(9, rows.getLong(4, 1));
+        assertFalse(rows.isNull(4, 1));
+        assertTrue(rows.isNull(4, 0));
+        assertEquals(5, rows.record(1));
+    }
+
+    @Test
+    void row_buffer_prints_instants_like_Instant_toString() {
+        RecordSchema schema = RecordSchema.builder("t").column("at", ColumnType.INSTANT).build();
+        var rows = new RowBuffer(schema, 1);
+        rows.addRow(2);
+        var rnd = new java.util.Random(42);
+        List<Instant> samples = new ArrayList<>(List.of(
+                Instant.EPOCH, Instant.parse("1969-12-31T23:59:59.999Z"), Instant.parse("2000-02-29T12:00:00.000001Z"),
+                Instant.parse("0000-01-01T00:00:00Z"), Instant.parse("9999-12-31T23:59:59.123456789Z"),
+                Instant.parse("+10000-01-01T00:00:00Z"), Instant.parse("-0001-12-31T00:00:00Z")));
+        for (int i = 0; i < 2_000; i++) {
+            samples.add(Instant.ofEpochSecond(rnd.nextLong(-62_167_219_200L, 253_402_300_800L), rnd.nextInt(1_000_000_000)));
+            samples.add(Instant.ofEpochSecond(rnd.nextLong(0, 4_102_444_800L), rnd.nextInt(1_000) * 1_000_000));
+        }
+        for (Instant t : samples) {
+            rows.setInstant(0, 0, t.getEpochSecond(), t.getNano());
+            assertEquals(t.toString(), rows.text(0, 0));
+        }
+    }
+
+    /* ---------- writer ---------- */
+
+    @Test
+    void writer_generates_sql_and_copy_rows_from_the_schema() throws Exception {
+        UUID request = new UUID(1, 2);
+        var writer = SchemaJdbcWriter.builder(SCHEMA)
+                .generatedUuid("id")
+                .constant("processing_request_id", request)
+                .onConflictDoNothing("processing_request_id", "external_id")
+                .build();
+
+        assertEquals("insert into import_records (id, processing_request_id, external_id, user_email, amount,"
+                + " event_time, quantity) values (?, ?, ?, ?, ?, ?, ?)"
+                + " on conflict (processing_request_id, external_id) do nothing", writer.insertSql());
+        assertEquals("insert into import_records (id, processing_request_id, external_id, user_email, amount,"
+                + " event_time, quantity) select id, processing_request_id, external_id, user_email, amount,"
+                + " event_time, quantity from stage on conflict (processing_request_id, external_id) do nothing",
+                writer.mergeSql("stage"));
+        assertThrows(IllegalArgumentException.class,
+                () -> SchemaJdbcWriter.builder(SCHEMA).onConflictDoNothing("nope"));
+
+        var rows = new RowBuffer(SCHEMA, 4);
+        try (var r = reader("""
+                external_id,user_email,amount,event_time,quantity
+                "say \"\"hi\"\"",a@x.com,-0.05,2025-07-01T10:00:00Z,
+                B,b@x.com,1234567.8,2025-07-01T10:00:00.125Z,42
+                """)) {
+            r.read(rows, this::reject);
+        }
+        String[] lines = writer.appendCopyCsv(rows, new StringBuilder()).toString().split("\n");
+        assertEquals(2, lines.length);
+        String prefix = "," + request + ",";
+        assertTrue(lines[0].endsWith(prefix + "\"say \"\"hi\"\"\",\"a@x.com\",-0.05,2025-07-01T10:00:00Z,"), lines[0]);
+        assertTrue(lines[1].endsWith(prefix + "\"B\",\"b@x.com\",1234567.80,2025-07-01T10:00:00.125Z,42"), lines[1]);
+        UUID.fromString(lines[0].substring(0, 36));
+    }
+}
@@ -0,0 +1,81 @@
+package com.bench;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.utils.cache.ConcurrentLruCache;
+import com.utils.cache.LruCache;
+
+/**
+ * Multi-threaded micro-benchmark comparing the lock-based {@link LruCache}
+ * with the striped {@link ConcurrentLruCache}.
+ * <p>
+ * Keys are drawn from a range twice the capacity, so roughly half of the reads hit.
+ * The {@code *_mixed} groups run 7 readers against 1 writer on the same cache.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class LruCacheBenchmark {
+
+    private static final int CAPACITY = 10_000;
+    private static final int KEYS = CAPACITY * 2;
+
+    private LruCache<Integer, Integer> lru;
+    private ConcurrentLruCache<Integer, Integer> concurrent;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        lru        = new LruCache<>(CAPACITY);
+        concurrent = new ConcurrentLruCache<>(CAPACITY);
+        for (int i = 0; i < CAPACITY; i++) {
+            lru.put(i, i);
+            concurrent.put(i, i);
+        }
+    }
+
+    private static int nextKey() { return ThreadLocalRandom.current().nextInt(KEYS); }
+
+    /* ---------- read only, 8 threads ------------------------------------- */
+    @Benchmark
+    @Threads(8)
+    public Object lru_get() { return lru.get(nextKey()); }
+
+    @Benchmark
+    @Threads(8)
+    public Object concurrent_get() { return concurrent.get(nextKey()); }
+
+    /* ---------- 7 readers + 1 writer ------------------------------------- */
+    @Benchmark
+    @Group("lru_mixed")
+    @GroupThreads(7)
+    public Object lru_mixedGet() { return lru.get(nextKey()); }
+
+    @Benchmark
+    @Group("lru_mixed")
+    @GroupThreads(1)
+    public void lru_mixedPut() { int k = nextKey(); lru.put(k, k); }
+
+    @Benchmark
+    @Group("concurrent_mixed")
+    @GroupThreads(7)
+    public Object concurrent_mixedGet() { return concurrent.get(nextKey()); }
+
+    @Benchmark
+    @Group("concurrent_mixed")
+    @GroupThreads(1)
+    public void concurrent_mixedPut() { int k = nextKey(); concurrent.put(k, k); }
+
+}
@@ -0,0 +1,75 @@
+package com.bench;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.entity.Notification;
+import com.service.NotificationService;
+
+/**
+ * Burst of {@code sends} concurrent notifications (each one sleeps {@code latencyMs} of
+ * simulated I/O): platform thread-pool vs. virtual thread per send.
+ * Score = time until every send of the burst completed.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class NotificationBench {
+
+    /* ---------- params -------------------------------------------------- */
+    @Param({"platform", "virtual"})
+    String mode;
+
+    @Param({"10000"})
+    int sends;
+
+    @Param({"50"})
+    int latencyMs;
+
+    @Param({"200"})               // platform pool size; virtual mode caps in-flight at `sends`
+    int platformThreads;
+
+    NotificationService service;
+    List<Notification> burst;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        Duration latency = Duration.ofMillis(latencyMs);
+        service = "virtual".equals(mode)
+                ? NotificationService.virtualThreads(sends, latency)
+                : new NotificationService(platformThreads, latency);
+        burst = new ArrayList<>(sends);
+        for (int i = 0; i < sends; i++) burst.add(new Notification("user" + i, "Job #" + i));
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() { service.close(); }
+
+    /* ---------- burst of sends ------------------------------------------ */
+    @Benchmark
+    public int sendBurst() throws Exception {
+        List<Future<Boolean>> futures = new ArrayList<>(sends);
+        for (Notification n : burst) futures.add(service.send(n));
+        int ok = 0;
+        for (Future<Boolean> f : futures) if (f.get()) ok++;
+        return ok;
+    }
+}
@@ -3,19 +3,68 @@ package com.concurrent.future;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.concurrent.workqueue.LatencyHistogram;
 import com.utils.error.ErrorHandler;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Aggregates three independent & I/O-bound tasks in parallel and
+ * Aggregates N independent & I/O-bound parts in parallel and
  * produces a {@link Report}. Uses CompletableFuture composition.
+ * <p>
+ * Parts run on a dedicated executor (one virtual thread per part by default), never on the
+ * common ForkJoinPool, so blocking loads do not starve parallel streams. Optionally each part
+ * is bounded by {@code partTimeout} (includes waiting for a {@code maxConcurrency} permit; a
+ * part that times out before getting its permit is never loaded). In
+ * {@code partialResults} mode a failed or slow part is left out of the report
+ * ({@link Report#missingParts()}) instead of failing the whole aggregation.
  */
 public class ReportAggregator {
 
     private static final Logger LOG = LoggerFactory.getLogger(ReportAggregator.class);
 
+    private static final List<String> DEFAULT_PARTS = List.of("A", "B", "C");
+    private static final ThreadFactory VIRTUAL = Thread.ofVirtual().name("report-part-", 0).factory();
+    private static final Executor VIRTUAL_PER_TASK = task -> VIRTUAL.newThread(task).start();
+
+    private final Executor executor;
+    private final Duration partTimeout;              // null = no timeout
+    private final Semaphore permits;                 // null = unbounded fan-out
+    private final boolean partialResults;
+
+    /* per-part metrics */
+    private final Map<String, LatencyHistogram> partLatency = new ConcurrentHashMap<>();
+    private final LongAdder timeouts = new LongAdder();
+
+    /** Virtual threads, no part timeout, unbounded fan-out, fail on any part. */
+    public ReportAggregator() {
+        this(builder());
+    }
+
+    /** For subclasses that override {@link #loadPart} with a custom configuration. */
+    protected ReportAggregator(Builder b) {
+        this.executor = b.executor;
+        this.partTimeout = b.partTimeout;
+        this.permits = b.maxConcurrency > 0 ? new Semaphore(b.maxConcurrency) : null;
+        this.partialResults = b.partialResults;
+    }
+
+    public static Builder builder() { return new Builder(); }
+
     /* --------------------------------------------------------------
        Public API
        -------------------------------------------------------------- */
@@ -25,26 +74,35 @@ public class ReportAggregator {
      * that completes with a {@link Report}.
      */
     public CompletableFuture<Report> generate(String reportId) {
+        return generate(reportId, DEFAULT_PARTS);
+    }
 
-        CompletableFuture<String> partA =
-                CompletableFuture.supplyAsync(() -> loadPart("A"));
-
-        CompletableFuture<String> partB =
-                CompletableFuture.supplyAsync(() -> loadPart("B"));
+    /**
+     * Launches one async task per part and returns a future that completes with a
+     * {@link Report} whose summary concatenates the parts in the given order.
+     */
+    public CompletableFuture<Report> generate(String reportId, List<String> parts) {
+        List<CompletableFuture<String>> futures = new ArrayList<>(parts.size());
+        for (String part : parts) futures.add(loadAsync(part));
 
-        CompletableFuture<String> partC =
-                CompletableFuture.supplyAsync(() -> loadPart("C"));
+        CompletableFuture<Report> result = partialResults
+                ? collectPartial(parts, futures)
+                : collectAll(futures);
+        return result.exceptionally(ex -> {
+            ErrorHandler.log(LOG, ex, false);
+            throw new RuntimeException("aggregation failed", ex);
+        });
+    }
 
-        /* A + B  → AB,   AB + C → ABC */
-        return partA.thenCombine(partB, (a, b) -> a + b)
-                    .thenCombine(partC, (ab, c) -> ab + c)
-                    .thenApply(this::kpiFromRaw)
-                    .exceptionally(ex -> {
-                        ErrorHandler.log(LOG, ex, false);
-                        throw new RuntimeException("aggregation failed", ex);
-                    });
+    /** Load latency of one part label (empty histogram if never loaded). */
+    public LatencyHistogram partLatency(String part) {
+        LatencyHistogram h = partLatency.get(part);
+        return h != null ? h : new LatencyHistogram();
     }
 
+    /** Parts that hit {@code partTimeout}. */
+    public long timeoutCount() { return timeouts.sum(); }
+
     /* --------------------------------------------------------------
        Private and protected helpers (simulate slow I/O with Thread.sleep)
        -------------------------------------------------------------- */
@@ -55,10 +113,150 @@ public class ReportAggregator {
         return label;
     }
 
-    private Report kpiFromRaw(String raw) {
-        return new Report("R-" + raw.hashCode(), raw, Instant.now());
+    private CompletableFuture<String> loadAsync(String label) {
+        CompletableFuture<String> f = new CompletableFuture<>();
+        CompletableFuture<String> result = f;
+        if (partTimeout != null) {
+            // orTimeout does not stop a running load: the thread finishes (and releases its permit) later.
+            // The report waits on the counting stage, so timeoutCount() is up to date once it completes.
+            result = f.orTimeout(partTimeout.toNanos(), TimeUnit.NANOSECONDS)
+                      .whenComplete((v, ex) -> { if (unwrap(ex) instanceof TimeoutException) timeouts.increment(); });
+        }
+        try {
+            executor.execute(() -> load(label, f));
+        } catch (RuntimeException e) {                  // e.g. RejectedExecutionException
+            f.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private void load(String label, CompletableFuture<String> f) {
+        try {
+            acquirePermit();
+        } catch (CompletionException e) {
+            f.completeExceptionally(e.getCause());
+            return;
+        }
+        try {
+            if (f.isDone()) return;                     // timed out while waiting for the permit: skip the load
+            long t0 = System.nanoTime();
+            try {
+                f.complete(loadPart(label));
+            } catch (Throwable t) {
+                f.completeExceptionally(t);
+            } finally {
+                partLatency.computeIfAbsent(label, k -> new LatencyHistogram()).record(System.nanoTime() - t0);
+            }
+        } finally {
+            if (permits != null) permits.release();
+        }
+    }
+
+    /** Fails as soon as any part fails. */
+    private CompletableFuture<Report> collectAll(List<CompletableFuture<String>> futures) {
+        CompletableFuture<Report> result = new CompletableFuture<>();
+        for (CompletableFuture<String> f : futures) {
+            f.whenComplete((v, ex) -> { if (ex != null) result.completeExceptionally(ex); });
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenRun(() -> {
+                    StringBuilder raw = new StringBuilder();
+                    for (CompletableFuture<String> f : futures) raw.append(f.join());
+                    result.complete(kpiFromRaw(raw.toString(), List.of()));
+                });
+        return result;
+    }
+
+    /** Leaves failed / timed-out parts out; fails only if every part is missing. */
+    private CompletableFuture<Report> collectPartial(List<String> parts, List<CompletableFuture<String>> futures) {
+        List<CompletableFuture<String>> settled = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            String label = parts.get(i);
+            settled.add(futures.get(i).exceptionally(ex -> {
+                LOG.warn("report part {} missing: {}", label, unwrap(ex).toString());
+                return null;
+            }));
+        }
+        return CompletableFuture.allOf(settled.toArray(CompletableFuture[]::new))
+                .thenApply(v -> {
+                    StringBuilder raw = new StringBuilder();
+                    List<String> missing = new ArrayList<>();
+                    for (int i = 0; i < settled.size(); i++) {
+                        String s = settled.get(i).join();
+                        if (s == null) missing.add(parts.get(i)); else raw.append(s);
+                    }
+                    if (!parts.isEmpty() && missing.size() == parts.size())
+                        throw new IllegalStateException("all report parts failed: " + missing);
+                    return kpiFromRaw(raw.toString(), List.copyOf(missing));
+                });
+    }
+
+    private void acquirePermit() {
+        if (permits == null) return;
+        try {
+            permits.acquire();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(ie);
+        }
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    }
+
+    private Report kpiFromRaw(String raw, List<String> missingParts) {
+        return new Report("R-" + raw.hashCode(), raw, Instant.now(), missingParts);
     }
 
     /* Simple DTO for demo */
-    public record Report(String id, String summary, Instant createdAt) { }
+    public record Report(String id, String summary, Instant createdAt, List<String> missingParts) {
+
+        public Report(String id, String summary, Instant createdAt) {
+            this(id, summary, createdAt, List.of());
+        }
+
+        /** {@code true} if some part was left out (partial-results mode only). */
+        public boolean partial() { return !missingParts.isEmpty(); }
+    }
+
+    /* --------------------------------------------------------------
+       Builder
+       -------------------------------------------------------------- */
+
+    public static final class Builder {
+        private Executor executor = VIRTUAL_PER_TASK;
+        private Duration partTimeout = null;       // opt-in
+        private int maxConcurrency = 0;
+        private boolean partialResults = false;
+
+        private Builder() {}
+
+        /** Executor for the part loads (default: one virtual thread per part). */
+        public Builder executor(Executor executor) {
+            this.executor = Objects.requireNonNull(executor, "executor");
+            return this;
+        }
+
+        /** Per-part timeout; {@code null} (the default) disables it. */
+        public Builder partTimeout(Duration partTimeout) {
+            this.partTimeout = partTimeout;
+            return this;
+        }
+
+        /** Maximum parts loading at once; {@code 0} = all at once. */
+        public Builder maxConcurrency(int maxConcurrency) {
+            if (maxConcurrency < 0) throw new IllegalArgumentException("maxConcurrency < 0");
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /** Return a partial report instead of failing when a part fails or times out. */
+        public Builder partialResults(boolean partialResults) {
+            this.partialResults = partialResults;
+            return this;
+        }
+
+        public ReportAggregator build() { return new ReportAggregator(this); }
+    }
 }
@@ -0,0 +1,60 @@
+package com.concurrent.workqueue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two nanosecond buckets.
+ * <p>
+ * Bucket {@code i} counts samples in {@code [2^(i-1), 2^i)} ns, so percentiles are exact to
+ * within a factor of two, which is enough to tell a 50&nbsp;µs wait from a 50&nbsp;ms one.
+ */
+public final class LatencyHistogram {
+
+    private static final int BUCKETS = 64;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS];
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) counts[i] = new LongAdder();
+    }
+
+    public void record(long nanos) {
+        long n = Math.max(0, nanos);
+        counts[BUCKETS - Long.numberOfLeadingZeros(n)].increment();
+        total.increment();
+        sumNanos.add(n);
+    }
+
+    public long count() { return total.sum(); }
+
+    public Duration mean() {
+        long c = total.sum();
+        return c == 0 ? Duration.ZERO : Duration.ofNanos(sumNanos.sum() / c);
+    }
+
+    /** Upper bound of the bucket holding the {@code p}-th percentile, {@code p} in (0, 100]. */
+    public Duration percentile(double p) {
+        if (p <= 0 || p > 100) throw new IllegalArgumentException("p must be in (0, 100]");
+        long[] snapshot = new long[BUCKETS];
+        long c = 0;
+        for (int i = 0; i < BUCKETS; i++) c += (snapshot[i] = counts[i].sum());
+        if (c == 0) return Duration.ZERO;
+        long rank = (long) Math.ceil(c * p / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) return Duration.ofNanos(i == 0 ? 0 : i == 63 ? Long.MAX_VALUE : (1L << i) - 1);
+        }
+        return Duration.ofNanos(Long.MAX_VALUE);
+    }
+
+    /** Adds the samples of {@code other} to this histogram. */
+    void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) counts[i].add(other.counts[i].sum());
+        total.add(other.total.sum());
+        sumNanos.add(other.sumNanos.sum());
+    }
+}
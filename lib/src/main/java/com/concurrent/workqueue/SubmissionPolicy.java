@@ -0,0 +1,16 @@
+package com.concurrent.workqueue;
+
+/**
+ * What {@link WorkStealingQueue#submit} does when the queue is at capacity.
+ */
+public enum SubmissionPolicy {
+
+    /** Wait until a slot frees up (interruptible). */
+    BLOCK,
+
+    /** Throw {@link java.util.concurrent.RejectedExecutionException}. */
+    REJECT,
+
+    /** Run the task on the submitting thread: natural backpressure for producers. */
+    CALLER_RUNS
+}
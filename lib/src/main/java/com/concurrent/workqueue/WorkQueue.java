@@ -5,12 +5,20 @@ import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.*;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 /**
  * Simple producer / consumer work-queue backed by a {@link BlockingQueue}.
  * Workers run until they receive a POISON_PILL or are interrupted.
+ * <p>
+ * For per-worker deques with work stealing, bounded submission and resizing see
+ * {@link #workStealing()}.
  */
 public final class WorkQueue implements AutoCloseable {
 
+    private static final Logger LOG = LoggerFactory.getLogger(WorkQueue.class);
+
     private static final Runnable POISON_PILL = () -> { /* no-op */ };
 
     private final BlockingQueue<Runnable> queue;
@@ -24,6 +32,9 @@ public final class WorkQueue implements AutoCloseable {
         this.queue = queue;
     }
 
+    /** Work-stealing mode: returns a builder for a {@link WorkStealingQueue}. */
+    public static WorkStealingQueue.Builder workStealing() { return WorkStealingQueue.builder(); }
+
     /* ------------------------------------------------------------------ */
     /* API                                                                 */
     /* ------------------------------------------------------------------ */
@@ -39,6 +50,23 @@ public final class WorkQueue implements AutoCloseable {
         }
     }
 
+    /**
+     * Virtual-thread-per-task mode: a single dispatcher takes tasks and runs each one on its
+     * own virtual thread, at most {@code maxConcurrency} at a time (the dispatcher waits for
+     * a permit, so the queue keeps providing backpressure). Suited to I/O-bound tasks.
+     * {@link #stop()} waits for the tasks in flight.
+     */
+    public synchronized void startVirtual(int maxConcurrency) {
+        if (maxConcurrency <= 0) throw new IllegalArgumentException("maxConcurrency <= 0");
+        if (running) throw new IllegalStateException("already running");
+        running = true;
+        Semaphore permits = new Semaphore(maxConcurrency);
+        Thread dispatcher = Thread.ofVirtual()
+                                  .name("work-queue-dispatcher")
+                                  .start(() -> dispatchLoop(permits, maxConcurrency));
+        workers.add(dispatcher);
+    }
+
     /** Adds a task to the queue (blocks if queue is full). */
     public void submit(Runnable task) throws InterruptedException {
         Objects.requireNonNull(task);
@@ -65,10 +93,31 @@ public final class WorkQueue implements AutoCloseable {
             while (true) {
                 Runnable task = queue.take();
                 if (task == POISON_PILL) break;
-                try { task.run(); } catch (Throwable ignored) { /* swallow */ }
+                runQuietly(task);
             }
         } catch (InterruptedException ie) {
             Thread.currentThread().interrupt(); // allow thread to exit
         }
     }
+
+    private void dispatchLoop(Semaphore permits, int maxConcurrency) {
+        ThreadFactory factory = Thread.ofVirtual().name("work-queue-v", 0).factory();
+        try {
+            while (true) {
+                Runnable task = queue.take();
+                if (task == POISON_PILL) break;
+                permits.acquire();
+                factory.newThread(() -> {
+                    try { runQuietly(task); } finally { permits.release(); }
+                }).start();
+            }
+            permits.acquire(maxConcurrency);     // wait for tasks in flight
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void runQuietly(Runnable task) {
+        try { task.run(); } catch (Throwable t) { LOG.warn("work-queue task failed", t); }
+    }
 }
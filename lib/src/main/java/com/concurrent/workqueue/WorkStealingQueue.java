@@ -0,0 +1,383 @@
+package com.concurrent.workqueue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Work-stealing mode of {@link WorkQueue}: every worker owns a deque, idle workers steal
+ * from the others.
+ * <ul>
+ *   <li>Tasks submitted from a worker go to that worker's own deque (LIFO, cache friendly);
+ *       external submissions are spread round-robin. Thieves take from the opposite end.</li>
+ *   <li>At most {@code capacity} tasks wait at once; beyond that the {@link SubmissionPolicy}
+ *       decides (block, reject or run on the caller).</li>
+ *   <li>The worker count grows from {@code coreWorkers} up to {@code maxWorkers} while the
+ *       backlog per worker exceeds {@code scaleUpBacklog}, and extra workers retire after
+ *       {@code keepAlive} without work.</li>
+ *   <li>Task failures are counted and passed to the error handler (logged by default),
+ *       never silently swallowed.</li>
+ * </ul>
+ * Implements {@link Executor} so it can back batch side-work (error flushing, notifications).
+ *
+ * <pre>{@code
+ * try (WorkStealingQueue q = WorkQueue.workStealing().coreWorkers(2).maxWorkers(8).build()) {
+ *     q.start();
+ *     q.submit(task);
+ * }
+ * }</pre>
+ */
+public final class WorkStealingQueue implements Executor, AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WorkStealingQueue.class);
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    /* ---------- internal task / worker ---------- */
+    private record Task(Runnable body, long enqueuedAt) {}
+
+    private final class Worker implements Runnable {
+        final ConcurrentLinkedDeque<Task> deque = new ConcurrentLinkedDeque<>();
+        final LongAdder executed = new LongAdder();
+        final LongAdder stolen = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LatencyHistogram queueWait = new LatencyHistogram();
+        final boolean core;
+        volatile Thread thread;
+        volatile boolean parked;
+        volatile boolean retired;
+
+        Worker(boolean core) { this.core = core; }
+
+        @Override public void run() {
+            CURRENT.set(this);
+            long idleSince = System.nanoTime();
+            try {
+                while (true) {
+                    Task task = deque.pollFirst();
+                    if (task == null && (task = steal(this)) != null) stolen.increment();
+                    if (task != null) {
+                        runTask(this, task);
+                        idleSince = System.nanoTime();
+                        continue;
+                    }
+                    if (!running && pending.get() == 0) break;
+                    if (!core && System.nanoTime() - idleSince >= keepAliveNanos && retire(this)) break;
+                    parked = true;                 // publish before re-checking: see signal()
+                    if (!hasWork()) LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                    parked = false;
+                }
+            } finally {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    private static final ThreadLocal<Worker> CURRENT = new ThreadLocal<>();
+
+    /* ---------- configuration ---------- */
+    private final int coreWorkers;
+    private final int maxWorkers;
+    private final int capacity;
+    private final int scaleUpBacklog;
+    private final long keepAliveNanos;
+    private final SubmissionPolicy policy;
+    private final String threadNamePrefix;
+    private final Consumer<Throwable> errorHandler;
+
+    /* ---------- state ---------- */
+    private final CopyOnWriteArrayList<Worker> workers = new CopyOnWriteArrayList<>();
+    private final List<Thread> allThreads = new CopyOnWriteArrayList<>();
+    private final Semaphore slots;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger nextWorker = new AtomicInteger();
+    private final AtomicInteger threadSeq = new AtomicInteger();
+    private final LatencyHistogram retiredQueueWait = new LatencyHistogram();
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private volatile boolean running;
+    private boolean started;                       // guarded by this
+
+    private WorkStealingQueue(Builder b) {
+        this.coreWorkers = b.coreWorkers;
+        this.maxWorkers = Math.max(b.coreWorkers, b.maxWorkers);
+        this.capacity = b.capacity;
+        this.scaleUpBacklog = b.scaleUpBacklog;
+        this.keepAliveNanos = b.keepAlive.toNanos();
+        this.policy = b.policy;
+        this.threadNamePrefix = b.threadNamePrefix;
+        this.errorHandler = b.errorHandler;
+        this.slots = new Semaphore(b.capacity);
+    }
+
+    public static Builder builder() { return new Builder(); }
+
+    /* ------------------------------------------------------------------ */
+    /* API                                                                 */
+    /* ------------------------------------------------------------------ */
+
+    /** Starts the core workers. */
+    public synchronized void start() {
+        if (started) throw new IllegalStateException("already started");
+        started = true;
+        running = true;
+        for (int i = 0; i < coreWorkers; i++) addWorker(true);
+    }
+
+    /**
+     * Queues a task according to the {@link SubmissionPolicy}.
+     *
+     * @throws RejectedExecutionException if stopped, or full under {@link SubmissionPolicy#REJECT}
+     * @throws InterruptedException       if interrupted while blocked under {@link SubmissionPolicy#BLOCK}
+     */
+    public void submit(Runnable task) throws InterruptedException {
+        Objects.requireNonNull(task);
+        if (!running) throw new RejectedExecutionException("work queue is not running");
+        if (!slots.tryAcquire()) {
+            switch (policy) {
+                case BLOCK -> {
+                    slots.acquire();
+                    if (!running) {
+                        slots.release();
+                        throw new RejectedExecutionException("work queue stopped");
+                    }
+                }
+                case REJECT -> {
+                    rejected.increment();
+                    throw new RejectedExecutionException("work queue full (" + capacity + ")");
+                }
+                case CALLER_RUNS -> {
+                    callerRuns.increment();
+                    task.run();
+                    return;
+                }
+            }
+        }
+        enqueue(new Task(task, System.nanoTime()));
+    }
+
+    /** {@link Executor} bridge: like {@link #submit} but never throws {@link InterruptedException}. */
+    @Override
+    public void execute(Runnable task) {
+        try {
+            submit(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("interrupted while waiting for capacity", e);
+        }
+    }
+
+    /** Graceful stop: no new tasks, queued tasks still run, then joins every worker. */
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Worker w : workers) LockSupport.unpark(w.thread);
+        for (Thread t : allThreads) t.join();
+        // a submit racing with stop may have landed after the workers exited
+        for (Worker w : workers) {
+            Task t;
+            while ((t = w.deque.pollFirst()) != null) runTask(w, t);
+        }
+    }
+
+    @Override public void close() {
+        try { stop(); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Metrics                                                             */
+    /* ------------------------------------------------------------------ */
+
+    public int workerCount() { return workers.size(); }
+
+    /** Tasks queued and not yet picked up by a worker. */
+    public int queueDepth() { return pending.get(); }
+
+    public long rejectedCount() { return rejected.sum(); }
+
+    public long callerRunsCount() { return callerRuns.sum(); }
+
+    /** Counters of the live workers. */
+    public List<WorkerStats> workerStats() {
+        List<WorkerStats> out = new ArrayList<>(workers.size());
+        for (Worker w : workers) {
+            Thread t = w.thread;
+            out.add(new WorkerStats(t == null ? "?" : t.getName(),
+                    w.executed.sum(), w.stolen.sum(), w.failed.sum(), w.deque.size()));
+        }
+        return out;
+    }
+
+    /** Queue-wait latency of one live worker (index as in {@link #workerStats()}). */
+    public LatencyHistogram queueWaitHistogram(int worker) {
+        return workers.get(worker).queueWait;
+    }
+
+    /** Queue-wait latency merged across all workers, including retired ones. */
+    public LatencyHistogram queueWaitHistogram() {
+        LatencyHistogram all = new LatencyHistogram();
+        all.merge(retiredQueueWait);
+        for (Worker w : workers) all.merge(w.queueWait);
+        return all;
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Internals                                                           */
+    /* ------------------------------------------------------------------ */
+
+    private void enqueue(Task task) {
+        int backlog = pending.incrementAndGet();
+        Worker self = CURRENT.get();
+        Worker target = self != null && !self.retired && workers.contains(self) ? self : pickWorker();
+        if (self == target) target.deque.addFirst(task); else target.deque.addLast(task);
+        if (target.retired && target.deque.removeLastOccurrence(task)) {
+            enqueue0(task);                         // target retired meanwhile: reroute
+            return;
+        }
+        int n = workers.size();
+        if (n < maxWorkers && backlog > (long) n * scaleUpBacklog) grow();
+        signal();
+    }
+
+    /** Re-enqueue without touching the pending count (the task already holds a slot). */
+    private void enqueue0(Task task) {
+        pending.decrementAndGet();
+        enqueue(task);
+    }
+
+    private Worker pickWorker() {
+        List<Worker> snapshot = workers;
+        int n = snapshot.size();
+        if (n == 0) throw new RejectedExecutionException("work queue is not running");
+        // power of two choices: round-robin candidate vs. a random one, keep the shorter deque
+        Worker a = snapshot.get(Math.floorMod(nextWorker.getAndIncrement(), n));
+        Worker b = snapshot.get(ThreadLocalRandom.current().nextInt(n));
+        return b.deque.size() < a.deque.size() ? b : a;
+    }
+
+    private Task steal(Worker thief) {
+        List<Worker> snapshot = workers;
+        int n = snapshot.size();
+        if (n <= 1) return null;
+        int start = ThreadLocalRandom.current().nextInt(n);
+        for (int i = 0; i < n; i++) {
+            Worker victim = snapshot.get((start + i) % n);
+            if (victim == thief) continue;
+            Task t = victim.deque.pollLast();
+            if (t != null) return t;
+        }
+        return null;
+    }
+
+    private boolean hasWork() {
+        for (Worker w : workers) if (!w.deque.isEmpty()) return true;
+        return false;
+    }
+
+    private void runTask(Worker w, Task task) {
+        pending.decrementAndGet();
+        slots.release();
+        w.queueWait.record(System.nanoTime() - task.enqueuedAt());
+        w.executed.increment();
+        try {
+            task.body().run();
+        } catch (Throwable t) {
+            w.failed.increment();
+            try {
+                errorHandler.accept(t);
+            } catch (Throwable ignored) {
+                // a broken handler must not kill the worker
+            }
+        }
+    }
+
+    private void signal() {
+        for (Worker w : workers) {
+            if (w.parked) {
+                LockSupport.unpark(w.thread);
+                return;
+            }
+        }
+    }
+
+    private synchronized void grow() {
+        int n = workers.size();
+        if (running && n < maxWorkers && pending.get() > (long) n * scaleUpBacklog) addWorker(false);
+    }
+
+    /** Caller holds the monitor (or is {@link #start}). */
+    private void addWorker(boolean core) {
+        Worker w = new Worker(core);
+        Thread t = new Thread(w, threadNamePrefix + threadSeq.getAndIncrement());
+        w.thread = t;
+        workers.add(w);
+        allThreads.add(t);
+        t.start();
+    }
+
+    private synchronized boolean retire(Worker w) {
+        if (!running || workers.size() <= coreWorkers) return false;
+        w.retired = true;
+        workers.remove(w);
+        retiredQueueWait.merge(w.queueWait);
+        allThreads.remove(w.thread);
+        Task t;
+        while ((t = w.deque.pollFirst()) != null) enqueue0(t);
+        return true;
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Builder                                                             */
+    /* ------------------------------------------------------------------ */
+
+    public static final class Builder {
+        private int coreWorkers = Runtime.getRuntime().availableProcessors();
+        private int maxWorkers;                     // 0 = unset: coreWorkers, resolved in build()
+        private int capacity = 10_000;
+        private int scaleUpBacklog = 64;
+        private Duration keepAlive = Duration.ofSeconds(30);
+        private SubmissionPolicy policy = SubmissionPolicy.BLOCK;
+        private String threadNamePrefix = "work-queue-";
+        private Consumer<Throwable> errorHandler = t -> LOG.warn("work-queue task failed", t);
+
+        private Builder() {}
+
+        /** Workers started by {@link #start()} and never retired. */
+        public Builder coreWorkers(int n)          { this.coreWorkers = n; return this; }
+        /** Upper bound when growing under backlog (defaults to {@code coreWorkers}: fixed size). */
+        public Builder maxWorkers(int n)           { this.maxWorkers = n; return this; }
+        /** Maximum tasks waiting at once. */
+        public Builder capacity(int n)             { this.capacity = n; return this; }
+        /** Grow when queued tasks exceed this many per live worker. */
+        public Builder scaleUpBacklog(int n)       { this.scaleUpBacklog = n; return this; }
+        /** Idle time after which a non-core worker retires. */
+        public Builder keepAlive(Duration d)       { this.keepAlive = Objects.requireNonNull(d); return this; }
+        public Builder policy(SubmissionPolicy p)  { this.policy = Objects.requireNonNull(p); return this; }
+        public Builder threadNamePrefix(String p)  { this.threadNamePrefix = Objects.requireNonNull(p); return this; }
+        /** Receives every task failure (default: WARN log). */
+        public Builder onError(Consumer<Throwable> h) { this.errorHandler = Objects.requireNonNull(h); return this; }
+
+        public WorkStealingQueue build() {
+            if (coreWorkers <= 0) throw new IllegalArgumentException("coreWorkers <= 0");
+            if (maxWorkers < 0) throw new IllegalArgumentException("maxWorkers < 0");
+            if (maxWorkers == 0) maxWorkers = coreWorkers;
+            if (capacity <= 0) throw new IllegalArgumentException("capacity <= 0");
+            if (scaleUpBacklog <= 0) throw new IllegalArgumentException("scaleUpBacklog <= 0");
+            return new WorkStealingQueue(this);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.concurrent.workqueue;
+
+/**
+ * Point-in-time counters of one {@link WorkStealingQueue} worker.
+ *
+ * @param name     thread name
+ * @param executed tasks run by this worker (including stolen and failed ones)
+ * @param stolen   tasks taken from another worker's deque
+ * @param failed   tasks that threw
+ * @param queued   tasks currently waiting in this worker's deque
+ */
+public record WorkerStats(String name, long executed, long stolen, long failed, int queued) {}
@@ -0,0 +1,165 @@
+package com.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.concurrent.workqueue.LatencyHistogram;
+import com.entity.Notification;
+
+/**
+ * Batching front end for {@link NotificationService}: coalesces notifications per recipient
+ * and delivers them as one digest.
+ * <p>
+ * A recipient's batch is flushed when it reaches {@code maxBatchSize} or when {@code window}
+ * has elapsed since its first notification, whichever comes first. Every notification gets
+ * its own future, completed with the outcome of the digest that carried it.
+ * The underlying service is owned by the caller; {@link #close()} only flushes what is pending.
+ * After {@code close()}, {@link #send} returns a future failed with {@link IllegalStateException}.
+ */
+public final class NotificationBatcher implements AutoCloseable {
+
+    /* ---------- internal batch ---------- */
+    private record Pending(Notification notification, CompletableFuture<Boolean> future) {}
+
+    private static final class Batch {
+        final List<Pending> items = new ArrayList<>();
+        final long startedAt = System.nanoTime();
+    }
+
+    private final NotificationService delegate;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ConcurrentHashMap<String, Batch> open = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService timer;
+    private volatile boolean closed;
+
+    /* metrics */
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final AtomicLong largestBatch = new AtomicLong();
+    private final LatencyHistogram flushLatency = new LatencyHistogram();
+
+    public NotificationBatcher(NotificationService delegate, Duration window, int maxBatchSize) {
+        if (window.isNegative() || window.isZero()) throw new IllegalArgumentException("window must be positive");
+        if (maxBatchSize <= 0) throw new IllegalArgumentException("maxBatchSize <= 0");
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "notification-batcher");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /* ---------------------------------------------------------
+       Public API
+       --------------------------------------------------------- */
+
+    /**
+     * Adds {@code n} to its recipient's batch; the future completes when the digest is sent,
+     * or fails with {@link IllegalStateException} if the batcher is closed.
+     */
+    public CompletableFuture<Boolean> send(Notification n) {
+        Objects.requireNonNull(n, "notification");
+        if (closed) return CompletableFuture.failedFuture(new IllegalStateException("NotificationBatcher is closed"));
+        Pending p = new Pending(n, new CompletableFuture<>());
+        Batch[] full = new Batch[1];
+        Batch[] fresh = new Batch[1];
+        open.compute(n.recipient(), (recipient, batch) -> {
+            if (batch == null) batch = fresh[0] = new Batch();
+            batch.items.add(p);
+            if (batch.items.size() >= maxBatchSize) {
+                full[0] = batch;
+                return null;                            // closed: next send opens a new batch
+            }
+            return batch;
+        });
+        if (full[0] != null) deliver(n.recipient(), full[0]);
+        else if (fresh[0] != null) scheduleWindow(n.recipient(), fresh[0]);
+        return p.future();
+    }
+
+    /** Delivers every open batch now. */
+    public void flush() {
+        for (String recipient : open.keySet()) {
+            Batch b = open.remove(recipient);
+            if (b != null) deliver(recipient, b);
+        }
+    }
+
+    @Override public void close() {
+        closed = true;
+        timer.shutdownNow();
+        flush();
+    }
+
+    /* ---------------------------------------------------------
+       Metrics
+       --------------------------------------------------------- */
+
+    public long batchCount()        { return batches.sum(); }
+    public long deliveredCount()    { return delivered.sum(); }
+    public long largestBatchSize()  { return largestBatch.get(); }
+
+    public double averageBatchSize() {
+        long b = batches.sum();
+        return b == 0 ? 0 : (double) delivered.sum() / b;
+    }
+
+    /** Time from a batch's first notification until its digest was sent. */
+    public LatencyHistogram flushLatency() { return flushLatency; }
+
+    /* ---------------------------------------------------------
+       Helpers
+       --------------------------------------------------------- */
+
+    private void scheduleWindow(String recipient, Batch batch) {
+        try {
+            timer.schedule(() -> {
+                if (open.remove(recipient, batch)) deliver(recipient, batch);
+            }, windowNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // close() raced with send(): its flush may have missed this batch, deliver it now
+            if (open.remove(recipient, batch)) deliver(recipient, batch);
+        }
+    }
+
+    private void deliver(String recipient, Batch batch) {
+        List<Pending> items = batch.items;
+        Notification digest = items.size() == 1 ? items.get(0).notification() : digest(recipient, items);
+        batches.increment();
+        delivered.add(items.size());
+        largestBatch.accumulateAndGet(items.size(), Math::max);
+
+        CompletableFuture<Boolean> sent;
+        try {
+            sent = delegate.sendAsync(digest);
+        } catch (RuntimeException e) {                  // e.g. service already shut down
+            sent = CompletableFuture.failedFuture(e);
+        }
+        sent.whenComplete((ok, ex) -> {
+            flushLatency.record(System.nanoTime() - batch.startedAt);
+            for (Pending p : items) {
+                if (ex != null) p.future().completeExceptionally(ex);
+                else p.future().complete(ok);
+            }
+        });
+    }
+
+    private static Notification digest(String recipient, List<Pending> items) {
+        StringBuilder sb = new StringBuilder().append(items.size()).append(" notifications:");
+        for (Pending p : items) sb.append("\n- ").append(p.notification().message());
+        return new Notification(recipient, sb.toString());
+    }
+}
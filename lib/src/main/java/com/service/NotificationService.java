@@ -1,25 +1,45 @@
 package com.service;
 
+import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.entity.Notification;
 
 /**
- * Sends notifications asynchronously using a fixed thread-pool.
+ * Sends notifications asynchronously, either on a fixed thread-pool or on one virtual thread
+ * per send (see {@link #virtualThreads(int)}).
  * The service is reusable and must be shut down gracefully.
  */
 public final class NotificationService implements AutoCloseable {
 
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationService.class);
+
+    private static final Duration DEFAULT_LATENCY = Duration.ofMillis(200);
+
     private final ExecutorService pool;
+    private final Semaphore inFlight;            // null = bounded by the pool size
+    private final long latencyMillis;
 
     /** Creates a service with {@code poolSize} fixed threads. */
     public NotificationService(int poolSize) {
+        this(poolSize, DEFAULT_LATENCY);
+    }
+
+    /** Fixed pool with a custom simulated send latency (benchmarks). */
+    public NotificationService(int poolSize, Duration simulatedLatency) {
         if (poolSize <= 0) throw new IllegalArgumentException("poolSize <= 0");
         this.pool = Executors.newFixedThreadPool(poolSize);
+        this.inFlight = null;
+        this.latencyMillis = simulatedLatency.toMillis();
     }
 
     /** Default constructor: uses 4 threads as a sensible default. */
@@ -27,24 +47,57 @@ public final class NotificationService implements AutoCloseable {
         this(4);
     }
 
+    private NotificationService(ExecutorService pool, Semaphore inFlight, Duration simulatedLatency) {
+        this.pool = pool;
+        this.inFlight = inFlight;
+        this.latencyMillis = simulatedLatency.toMillis();
+    }
+
+    /**
+     * Virtual-thread-per-send mode: each send blocks a cheap virtual thread instead of a pool
+     * thread, and a semaphore caps sends in flight at {@code maxInFlight} (protects the
+     * downstream mail / chat API, not our threads).
+     */
+    public static NotificationService virtualThreads(int maxInFlight) {
+        return virtualThreads(maxInFlight, DEFAULT_LATENCY);
+    }
+
+    /** Virtual-thread mode with a custom simulated send latency (benchmarks). */
+    public static NotificationService virtualThreads(int maxInFlight, Duration simulatedLatency) {
+        if (maxInFlight <= 0) throw new IllegalArgumentException("maxInFlight <= 0");
+        return new NotificationService(Executors.newVirtualThreadPerTaskExecutor(),
+                                       new Semaphore(maxInFlight), simulatedLatency);
+    }
+
     /**
      * Enqueues the send-task and returns a {@link Future} representing success.
      * Internally we just sleep 200 ms to mimic an e-mail / log write.
      */
     public Future<Boolean> send(Notification n) {
+        return sendAsync(n);
+    }
+
+    /** Same as {@link #send} but composable (used by {@link NotificationBatcher}). */
+    public CompletableFuture<Boolean> sendAsync(Notification n) {
         Objects.requireNonNull(n, "notification");
-        return pool.submit(() -> {
+        return CompletableFuture.supplyAsync(() -> {
             try {
-                // simulate I/O latency
-                Thread.sleep(200);
-                // here you would call JavaMail / Slack API etc.
-                System.out.printf("Sent to %s : %s%n", n.recipient(), n.message());
-                return true;
+                if (inFlight != null) inFlight.acquire();
+                try {
+                    // simulate I/O latency
+                    Thread.sleep(latencyMillis);
+                    // here you would call JavaMail / Slack API etc.
+                    // (logger, not System.out: PrintStream locks serialize bursts of sends)
+                    LOG.debug("Sent to {} : {}", n.recipient(), n.message());
+                    return true;
+                } finally {
+                    if (inFlight != null) inFlight.release();
+                }
             } catch (InterruptedException ie) {
                 Thread.currentThread().interrupt();
                 return false;
             }
-        });
+        }, pool);
     }
 
     /* ---------------------------------------------------------
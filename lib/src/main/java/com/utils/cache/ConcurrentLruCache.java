@@ -0,0 +1,209 @@
+package com.utils.cache;
+
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrent in-memory cache with an approximate Least Recently Used (LRU) eviction policy.
+ * <p>
+ * Drop-in alternative to {@link LruCache} for read-heavy workloads:
+ * <ul>
+ *   <li>Entries live in a {@link ConcurrentHashMap}; {@link #get} is a plain map lookup plus
+ *       an offer into a striped, lossy read buffer. Reads never take a lock.</li>
+ *   <li>The access order (a doubly linked list) is only touched under an eviction lock, by
+ *       whoever drains the buffers: writers always, readers opportunistically via
+ *       {@code tryLock} when their stripe fills up.</li>
+ *   <li>When a read buffer is full the access is dropped, so recency is approximate under
+ *       heavy contention (the same trade-off Caffeine makes).</li>
+ * </ul>
+ * {@link #size()} may briefly exceed the capacity while a writer is draining.
+ *
+ * @param <K> Key
+ * @param <V> Value
+ */
+public class ConcurrentLruCache<K, V> {
+
+    private static final int READ_BUFFER_SIZE = 32;                  // power of two
+    private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+    private static final int DRAIN_THRESHOLD = READ_BUFFER_SIZE / 2;
+
+    private final int capacity;
+    private final ConcurrentHashMap<K, Node<K, V>> data;
+    private final ReadBuffer[] readBuffers;
+    private final Queue<Runnable> writeBuffer = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    /* access order, guarded by evictionLock: head = least recently used */
+    private Node<K, V> head;
+    private Node<K, V> tail;
+
+    /* optional metrics */
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public ConcurrentLruCache(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity <= 0");
+        this.capacity = capacity;
+        this.data = new ConcurrentHashMap<>(Math.min(capacity, 1 << 16));
+        int stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+        this.readBuffers = new ReadBuffer[stripes];
+        for (int i = 0; i < stripes; i++) readBuffers[i] = new ReadBuffer();
+    }
+
+    // ---------- basic ops ---------------------------------------------------
+
+    /** Associates the specified value with the given key (thread-safe). */
+    public void put(K key, V value) {
+        Node<K, V> node = new Node<>(key, value);
+        Node<K, V> prior = data.putIfAbsent(key, node);
+        if (prior != null) {
+            prior.value = value;              // update in place: counts as an access
+            recordRead(prior);
+            return;
+        }
+        writeBuffer.add(() -> linkLast(node));
+        evictionLock.lock();
+        try { drainAndEvict(); }
+        finally { evictionLock.unlock(); }
+    }
+
+    /** Returns an {@link Optional} with the cached value or empty. Never blocks. */
+    public Optional<V> get(K key) {
+        Node<K, V> node = data.get(key);
+        V val = node == null ? null : node.value;
+        if (val == null) {
+            missCount.increment();
+            return Optional.empty();
+        }
+        hitCount.increment();
+        recordRead(node);
+        return Optional.of(val);
+    }
+
+    public Optional<V> remove(K key) {
+        Node<K, V> node = data.remove(key);
+        if (node == null) return Optional.empty();
+        node.alive = false;
+        writeBuffer.add(() -> unlink(node));
+        if (evictionLock.tryLock()) {
+            try { drainAndEvict(); }
+            finally { evictionLock.unlock(); }
+        }
+        return Optional.ofNullable(node.value);
+    }
+
+    public int size() {
+        return data.size();
+    }
+
+    public void clear() {
+        evictionLock.lock();
+        try {
+            drainAndEvict();
+            for (Node<K, V> n = head; n != null; n = n.next) n.alive = false;
+            data.clear();
+            head = tail = null;
+        } finally { evictionLock.unlock(); }
+    }
+
+    // ---------- optional metrics -------------------------------------------
+
+    public long hitCount()  { return hitCount.sum();  }
+    public long missCount() { return missCount.sum(); }
+
+    // ---------- internals --------------------------------------------------
+
+    private void recordRead(Node<K, V> node) {
+        ReadBuffer buffer = readBuffers[(int) Thread.currentThread().threadId() & (readBuffers.length - 1)];
+        int pending = buffer.offer(node);
+        if (pending >= DRAIN_THRESHOLD && evictionLock.tryLock()) {
+            try { drainAndEvict(); }
+            finally { evictionLock.unlock(); }
+        }
+    }
+
+    /** Caller holds {@link #evictionLock}. */
+    private void drainAndEvict() {
+        for (ReadBuffer buffer : readBuffers) buffer.drainTo(this);
+        Runnable task;
+        while ((task = writeBuffer.poll()) != null) task.run();
+        while (data.size() > capacity && head != null) {
+            Node<K, V> victim = head;
+            unlink(victim);
+            victim.alive = false;
+            data.remove(victim.key, victim);
+        }
+    }
+
+    private void onAccess(Node<K, V> node) {
+        if (!node.alive || !node.linked || node == tail) return;
+        unlink(node);
+        linkLast(node);
+    }
+
+    private void linkLast(Node<K, V> node) {
+        if (!node.alive || node.linked) return;
+        node.prev = tail;
+        node.next = null;
+        if (tail == null) head = node; else tail.next = node;
+        tail = node;
+        node.linked = true;
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (!node.linked) return;
+        if (node.prev == null) head = node.next; else node.prev.next = node.next;
+        if (node.next == null) tail = node.prev; else node.next.prev = node.prev;
+        node.prev = node.next = null;
+        node.linked = false;
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        volatile V value;
+        volatile boolean alive = true;
+        /* guarded by evictionLock */
+        boolean linked;
+        Node<K, V> prev, next;
+
+        Node(K key, V value) { this.key = key; this.value = value; }
+    }
+
+    /** Bounded multi-producer ring; the single consumer is whoever holds the eviction lock. */
+    private static final class ReadBuffer {
+        final AtomicReferenceArray<Node<?, ?>> slots = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+        final AtomicLong writeIndex = new AtomicLong();
+        volatile long readIndex;
+
+        /** @return pending entries after the offer; the access is dropped when full. */
+        int offer(Node<?, ?> node) {
+            long w = writeIndex.get();
+            long pending = w - readIndex;
+            if (pending >= READ_BUFFER_SIZE) return (int) pending;
+            if (writeIndex.compareAndSet(w, w + 1)) {
+                slots.lazySet((int) (w & READ_BUFFER_MASK), node);
+            }
+            return (int) pending + 1;
+        }
+
+        @SuppressWarnings("unchecked")
+        <K, V> void drainTo(ConcurrentLruCache<K, V> cache) {
+            long r = readIndex;
+            long w = writeIndex.get();
+            for (; r < w; r++) {
+                int idx = (int) (r & READ_BUFFER_MASK);
+                Node<?, ?> node = slots.get(idx);
+                if (node == null) break;                   // claimed but not yet published
+                slots.lazySet(idx, null);
+                cache.onAccess((Node<K, V>) node);
+            }
+            readIndex = r;
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.utils.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Self-populating TTL cache with single-flight loading.
+ * <p>
+ * Each key maps to a {@link CompletableFuture}: concurrent misses on the same key share the
+ * future of the first caller, so the loader runs once per key no matter how many threads ask
+ * for it. Once a value is older than {@code refreshAfterWrite}, the next read triggers a
+ * background reload (refresh-ahead) and keeps serving the current value until the reload
+ * completes; at {@code expireAfterWrite} the entry is reloaded synchronously.
+ * <p>
+ * {@code null} results and failures are never cached: the next call loads again.
+ * {@link #getAll} loads all missing keys with a single call to the bulk loader when one is set.
+ *
+ * <pre>{@code
+ * LoadingCache<UUID, Config> cache = LoadingCache.<UUID, Config>builder(repo::findOrNull)
+ *         .expireAfterWrite(Duration.ofMinutes(5))
+ *         .refreshAfterWrite(Duration.ofMinutes(1))
+ *         .bulkLoader(ids -> repo.findAllById(ids))
+ *         .build();
+ * }</pre>
+ *
+ * @param <K> Key
+ * @param <V> Value
+ */
+public class LoadingCache<K, V> {
+
+    /* ---------- internal entry ---------- */
+    private static final class Entry<V> {
+        final CompletableFuture<V> future;
+        volatile long loadedAt;                        // System.nanoTime() when completed
+        final AtomicBoolean refreshing = new AtomicBoolean();
+
+        Entry(CompletableFuture<V> future) { this.future = future; }
+
+        static <V> Entry<V> loaded(V value) {
+            Entry<V> e = new Entry<>(CompletableFuture.completedFuture(value));
+            e.loadedAt = System.nanoTime();
+            return e;
+        }
+    }
+
+    private static final int CLEANUP_EVERY = 1_024;
+
+    // loaders usually block on I/O: keep them off the common pool
+    private static final ThreadFactory VIRTUAL = Thread.ofVirtual().name("cache-load-", 0).factory();
+    private static final Executor VIRTUAL_PER_TASK = task -> VIRTUAL.newThread(task).start();
+
+    private final ConcurrentHashMap<K, Entry<V>> map = new ConcurrentHashMap<>();
+    private final Function<? super K, ? extends V> loader;
+    private final Function<? super Set<K>, ? extends Map<K, V>> bulkLoader;
+    private final long expireNanos;
+    private final long refreshNanos;                   // 0 = no refresh-ahead
+    private final Executor executor;
+
+    /* optional metrics */
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+
+    private LoadingCache(Builder<K, V> b) {
+        this.loader = b.loader;
+        this.bulkLoader = b.bulkLoader;
+        this.expireNanos = b.expireAfterWrite.toNanos();
+        this.refreshNanos = b.refreshAfterWrite == null ? 0 : b.refreshAfterWrite.toNanos();
+        this.executor = b.executor;
+    }
+
+    public static <K, V> Builder<K, V> builder(Function<? super K, ? extends V> loader) {
+        return new Builder<>(loader);
+    }
+
+    /* ---------------------------------------------------------------------- */
+    /* Public API                                                             */
+    /* ---------------------------------------------------------------------- */
+
+    /**
+     * Returns the cached value, loading it on the calling thread if needed (or waiting for a
+     * load already in flight). Returns {@code null} if the loader returned {@code null}.
+     * Loader exceptions are rethrown unwrapped when unchecked.
+     */
+    public V get(K key) {
+        return join(lookup(key, false));
+    }
+
+    /** Like {@link #get} but never blocks; a miss is loaded on the cache executor. */
+    public CompletableFuture<V> getAsync(K key) {
+        return lookup(key, true);
+    }
+
+    /**
+     * Returns the values for {@code keys} (keys whose value is {@code null} are omitted),
+     * in iteration order. Missing keys not already in flight are loaded with one bulk call.
+     */
+    public Map<K, V> getAll(Collection<? extends K> keys) {
+        long now = System.nanoTime();
+        Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>();
+        Map<K, Entry<V>> toLoad = new LinkedHashMap<>();
+        for (K key : new LinkedHashSet<>(keys)) {
+            Entry<V> e = map.get(key);
+            if (e != null && isUsable(e, now)) {
+                hitCount.increment();
+                maybeRefresh(key, e, now);
+                futures.put(key, e.future);
+                continue;
+            }
+            missCount.increment();
+            Entry<V> fresh = new Entry<>(new CompletableFuture<>());
+            Entry<V> winner = claim(key, fresh, now);
+            if (winner == fresh) toLoad.put(key, fresh);
+            futures.put(key, winner.future);
+        }
+
+        if (!toLoad.isEmpty()) {
+            if (bulkLoader != null) loadBulk(toLoad);
+            else toLoad.forEach(this::load);
+        }
+
+        Map<K, V> result = new LinkedHashMap<>();
+        futures.forEach((k, f) -> {
+            V v = join(f);
+            if (v != null) result.put(k, v);
+        });
+        return result;
+    }
+
+    /** Drops the entry; a load in flight still completes for the callers waiting on it. */
+    public void invalidate(K key) { map.remove(key); }
+
+    public void invalidateAll() { map.clear(); }
+
+    /** Entries currently held, including expired ones not yet cleaned up. */
+    public int size() { return map.size(); }
+
+    /** Removes expired entries (also done every {@value #CLEANUP_EVERY} loads). */
+    public void cleanUp() {
+        long now = System.nanoTime();
+        map.values().removeIf(e -> e.future.isDone() && !isUsable(e, now));
+    }
+
+    // ---------- optional metrics -------------------------------------------
+
+    public long hitCount()  { return hitCount.sum();  }
+    public long missCount() { return missCount.sum(); }
+    /** Loader invocations, including refreshes and bulk loads (one per key). */
+    public long loadCount() { return loadCount.sum(); }
+
+    /* ---------------------------------------------------------------------- */
+    /* Helpers                                                                */
+    /* ---------------------------------------------------------------------- */
+
+    private CompletableFuture<V> lookup(K key, boolean async) {
+        long now = System.nanoTime();
+        Entry<V> e = map.get(key);
+        if (e != null && isUsable(e, now)) {
+            hitCount.increment();
+            maybeRefresh(key, e, now);
+            return e.future;
+        }
+        missCount.increment();
+        Entry<V> fresh = new Entry<>(new CompletableFuture<>());
+        Entry<V> winner = claim(key, fresh, now);
+        if (winner == fresh) {
+            if (async) {
+                try {
+                    executor.execute(() -> load(key, fresh));
+                } catch (RejectedExecutionException ex) {
+                    map.remove(key, fresh);
+                    fresh.future.completeExceptionally(ex);
+                }
+            } else {
+                load(key, fresh);
+            }
+        }
+        return winner.future;
+    }
+
+    /** Installs {@code fresh} unless another caller already has a usable or in-flight entry. */
+    private Entry<V> claim(K key, Entry<V> fresh, long now) {
+        return map.compute(key, (k, cur) -> cur == null || !isUsable(cur, now) ? fresh : cur);
+    }
+
+    /** In flight, or completed normally and not expired. */
+    private boolean isUsable(Entry<V> e, long now) {
+        if (!e.future.isDone()) return true;
+        return !e.future.isCompletedExceptionally() && now - e.loadedAt < expireNanos;
+    }
+
+    private void load(K key, Entry<V> entry) {
+        try {
+            complete(key, entry, loader.apply(key));
+        } catch (Throwable t) {
+            fail(key, entry, t);
+        }
+    }
+
+    private void loadBulk(Map<K, Entry<V>> entries) {
+        Map<K, V> loaded;
+        try {
+            loaded = bulkLoader.apply(Set.copyOf(entries.keySet()));
+        } catch (Throwable t) {
+            entries.forEach((k, e) -> fail(k, e, t));
+            return;
+        }
+        entries.forEach((k, e) -> complete(k, e, loaded == null ? null : loaded.get(k)));
+    }
+
+    private void complete(K key, Entry<V> entry, V value) {
+        loadCount.increment();
+        entry.loadedAt = System.nanoTime();
+        if (value == null) map.remove(key, entry);
+        entry.future.complete(value);
+        if (loadCount.sum() % CLEANUP_EVERY == 0) cleanUp();
+    }
+
+    private void fail(K key, Entry<V> entry, Throwable t) {
+        map.remove(key, entry);                        // before completing: waiters retry cleanly
+        entry.future.completeExceptionally(t);
+    }
+
+    private void maybeRefresh(K key, Entry<V> e, long now) {
+        if (refreshNanos == 0 || !e.future.isDone() || now - e.loadedAt < refreshNanos) return;
+        if (!e.refreshing.compareAndSet(false, true)) return;
+        try {
+            executor.execute(() -> {
+                try {
+                    V v = loader.apply(key);
+                    loadCount.increment();
+                    if (v == null) map.remove(key, e);
+                    else map.replace(key, e, Entry.loaded(v));
+                } catch (Throwable t) {
+                    e.refreshing.set(false);           // keep serving the old value until it expires
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            e.refreshing.set(false);
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw ex;
+        }
+    }
+
+    /* ---------------------------------------------------------------------- */
+    /* Builder                                                                */
+    /* ---------------------------------------------------------------------- */
+
+    public static final class Builder<K, V> {
+        private final Function<? super K, ? extends V> loader;
+        private Function<? super Set<K>, ? extends Map<K, V>> bulkLoader;
+        private Duration expireAfterWrite;
+        private Duration refreshAfterWrite;
+        private Executor executor = VIRTUAL_PER_TASK;
+
+        private Builder(Function<? super K, ? extends V> loader) {
+            this.loader = Objects.requireNonNull(loader, "loader");
+        }
+
+        /** Mandatory: entries older than this are reloaded synchronously. */
+        public Builder<K, V> expireAfterWrite(Duration ttl) {
+            this.expireAfterWrite = ttl;
+            return this;
+        }
+
+        /** Optional: entries older than this are reloaded in the background on the next read. */
+        public Builder<K, V> refreshAfterWrite(Duration refresh) {
+            this.refreshAfterWrite = refresh;
+            return this;
+        }
+
+        /** Optional: loads several missing keys at once in {@link LoadingCache#getAll}. */
+        public Builder<K, V> bulkLoader(Function<? super Set<K>, ? extends Map<K, V>> bulkLoader) {
+            this.bulkLoader = bulkLoader;
+            return this;
+        }
+
+        /** Executor for {@code getAsync} loads and refreshes (default: one virtual thread per load). */
+        public Builder<K, V> executor(Executor executor) {
+            this.executor = Objects.requireNonNull(executor, "executor");
+            return this;
+        }
+
+        public LoadingCache<K, V> build() {
+            if (expireAfterWrite == null || expireAfterWrite.isNegative() || expireAfterWrite.isZero())
+                throw new IllegalArgumentException("expireAfterWrite must be positive");
+            if (refreshAfterWrite != null
+                    && (refreshAfterWrite.isNegative() || refreshAfterWrite.compareTo(expireAfterWrite) >= 0))
+                throw new IllegalArgumentException("refreshAfterWrite must be in [0, expireAfterWrite)");
+            return new LoadingCache<>(this);
+        }
+    }
+}
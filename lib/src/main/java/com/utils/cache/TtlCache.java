@@ -1,36 +1,90 @@
 package com.utils.cache;
 
 import java.time.Duration;
-import java.time.Instant;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * Simple TTL cache. Each entry expires after {@code ttl}.
- * A background sweeper periodically removes expired entries.
+ * Simple TTL cache. Each entry expires after {@code ttl} (or its own TTL, see
+ * {@link #put(Object, Object, Duration)}). A background sweeper periodically removes expired entries.
+ * <p>
+ * Expiry times are {@link System#nanoTime()} longs. Entries are indexed in a hierarchical
+ * timing wheel (5 levels of 64 buckets: ~1&nbsp;ms, ~67&nbsp;ms, ~4.3&nbsp;s, ~4.6&nbsp;min and
+ * ~4.9&nbsp;h per bucket), so a sweep only visits the buckets whose time has passed: its cost
+ * scales with the number of expired entries, not with the size of the cache. Entries in a
+ * coarse bucket cascade down to a finer level when their bucket comes due.
+ * <p>
+ * Reads are lock-free; writes and sweeps share one lock. With a {@code maximumSize}, the
+ * oldest write is evicted first.
  *
  * @param <K> Key
  * @param <V> Value
  */
 public class TtlCache<K, V> {
 
+    /* ---------- timing wheel layout ---------- */
+    /* level i has 64 buckets of 2^SHIFTS[i] ns and covers up to 2^SHIFTS[i+1] ns ahead */
+    private static final int[] SHIFTS = {20, 26, 32, 38, 44};
+    private static final int BUCKETS = 64;
+    private static final int BUCKET_MASK = BUCKETS - 1;
+
     /* ---------- internal entry ---------- */
-    private record Entry<V>(V value, Instant expiresAt) {}
+    private static final class Node<K, V> {
+        final K key;
+        final V value;
+        final long expiresAt;              // nanos relative to origin
+
+        /* guarded by lock */
+        Node<K, V> prev, next;             // wheel bucket
+        Node<K, V> prevWrite, nextWrite;   // write order (maximumSize)
+
+        Node(K key, V value, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        static <K, V> Node<K, V> sentinel() {
+            Node<K, V> s = new Node<>(null, null, 0);
+            s.prev = s.next = s;
+            s.prevWrite = s.nextWrite = s;
+            return s;
+        }
+    }
 
-    private final ConcurrentMap<K, Entry<V>> map = new ConcurrentHashMap<>();
-    private final Duration ttl;
+    private final ConcurrentMap<K, Node<K, V>> map = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final long maximumSize;
+    private final long origin = System.nanoTime();
     private final ScheduledExecutorService sweeper;
 
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Node<K, V>[][] wheel;
+    private final Node<K, V> writeOrder = Node.sentinel();   // nextWrite = oldest
+    private long wheelTime;                                   // last advance, relative to origin
+
     /* ---------------------------------------------------------------------- */
     /* Constructors                                                           */
     /* ---------------------------------------------------------------------- */
 
     public TtlCache(Duration ttl, Duration sweepInterval) {
-        this.ttl = ttl;
+        this(ttl, sweepInterval, Long.MAX_VALUE);
+    }
+
+    @SuppressWarnings("unchecked")
+    public TtlCache(Duration ttl, Duration sweepInterval, long maximumSize) {
+        if (maximumSize <= 0) throw new IllegalArgumentException("maximumSize <= 0");
+        this.ttlNanos = toNanos(ttl);
+        this.maximumSize = maximumSize;
+        this.wheel = new Node[SHIFTS.length][BUCKETS];
+        for (Node<K, V>[] level : wheel) {
+            for (int i = 0; i < BUCKETS; i++) level[i] = Node.sentinel();
+        }
         this.sweeper = newExecutor();                 // <-- factory method
         sweeper.scheduleAtFixedRate(this::purgeExpired,
                                     sweepInterval.toMillis(),
@@ -48,13 +102,18 @@ public class TtlCache<K, V> {
     /* ---------------------------------------------------------------------- */
 
     public void put(K key, V value) {
-        map.put(key, new Entry<>(value, Instant.now().plus(ttl)));
+        put(key, value, ttlNanos);
+    }
+
+    /** Stores {@code value} with its own {@code ttl} instead of the cache default. */
+    public void put(K key, V value, Duration ttl) {
+        put(key, value, toNanos(ttl));
     }
 
     public Optional<V> get(K key) {
-        return Optional.ofNullable(map.get(key))
-                       .filter(e -> e.expiresAt().isAfter(Instant.now()))
-                       .map(Entry::value);
+        Node<K, V> node = map.get(key);
+        if (node == null || node.expiresAt <= now()) return Optional.empty();
+        return Optional.ofNullable(node.value);
     }
 
     public int size() {
@@ -69,8 +128,135 @@ public class TtlCache<K, V> {
     /* ---------------------------------------------------------------------- */
 
     void purgeExpired() {                // package-private for tests
-        Instant now = Instant.now();
-        map.entrySet().removeIf(e -> e.getValue().expiresAt().isBefore(now));
+        long now = now();
+        lock.lock();
+        try {
+            advance(now);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void put(K key, V value, long ttl) {
+        long now = now();
+        long expiresAt = now + ttl;
+        if (expiresAt < now) expiresAt = Long.MAX_VALUE;          // overflow: never expires
+        Node<K, V> node = new Node<>(key, value, expiresAt);
+
+        lock.lock();
+        try {
+            Node<K, V> old = map.put(key, node);
+            if (old != null) {
+                unlinkWheel(old);
+                unlinkWrite(old);
+            }
+            schedule(node);
+            linkWrite(node);
+            while (map.size() > maximumSize) {
+                Node<K, V> eldest = writeOrder.nextWrite;
+                if (eldest == writeOrder) break;
+                discard(eldest);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long now() {
+        return System.nanoTime() - origin;
+    }
+
+    private static long toNanos(Duration ttl) {
+        if (ttl.isNegative() || ttl.isZero()) throw new IllegalArgumentException("ttl must be positive");
+        try {
+            return ttl.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
     }
-    
+
+    /* ---------- timing wheel (caller holds lock) ---------- */
+
+    /** Moves the wheel to {@code now}, visiting only the buckets that came due. */
+    private void advance(long now) {
+        long previous = wheelTime;
+        if (now <= previous) return;
+        wheelTime = now;
+        for (int level = 0; level < SHIFTS.length; level++) {
+            long prevTicks = previous >>> SHIFTS[level];
+            long delta = (now >>> SHIFTS[level]) - prevTicks;
+            if (delta <= 0) break;                    // coarser levels did not move either
+            expire(level, prevTicks, delta, now);
+        }
+    }
+
+    private void expire(int level, long prevTicks, long delta, long now) {
+        Node<K, V>[] buckets = wheel[level];
+        int start, end;
+        if (delta >= BUCKETS) {
+            start = 0;
+            end = BUCKETS;
+        } else {
+            start = (int) (prevTicks & BUCKET_MASK);
+            end = start + (int) delta + 1;
+        }
+        for (int i = start; i < end; i++) {
+            Node<K, V> sentinel = buckets[i & BUCKET_MASK];
+            Node<K, V> node = sentinel.next;
+            sentinel.prev = sentinel.next = sentinel;     // detach: rescheduled nodes are not revisited
+            while (node != sentinel) {
+                Node<K, V> next = node.next;
+                node.prev = node.next = null;
+                if (node.expiresAt <= now) {
+                    unlinkWrite(node);
+                    map.remove(node.key, node);
+                } else {
+                    schedule(node);                        // cascade to a finer level
+                }
+                node = next;
+            }
+        }
+    }
+
+    private void schedule(Node<K, V> node) {
+        long when = Math.max(node.expiresAt, wheelTime);
+        long delta = when - wheelTime;
+        int level = 0;
+        while (level < SHIFTS.length - 1 && delta >= (1L << SHIFTS[level + 1])) level++;
+        Node<K, V> sentinel = wheel[level][(int) ((when >>> SHIFTS[level]) & BUCKET_MASK)];
+        node.next = sentinel;
+        node.prev = sentinel.prev;
+        sentinel.prev.next = node;
+        sentinel.prev = node;
+    }
+
+    private void unlinkWheel(Node<K, V> node) {
+        if (node.prev == null) return;
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = node.next = null;
+    }
+
+    /* ---------- write order (caller holds lock) ---------- */
+
+    private void linkWrite(Node<K, V> node) {
+        node.nextWrite = writeOrder;
+        node.prevWrite = writeOrder.prevWrite;
+        writeOrder.prevWrite.nextWrite = node;
+        writeOrder.prevWrite = node;
+    }
+
+    private void unlinkWrite(Node<K, V> node) {
+        if (node.prevWrite == null) return;
+        node.prevWrite.nextWrite = node.nextWrite;
+        node.nextWrite.prevWrite = node.prevWrite;
+        node.prevWrite = node.nextWrite = null;
+    }
+
+    private void discard(Node<K, V> node) {
+        unlinkWheel(node);
+        unlinkWrite(node);
+        map.remove(node.key, node);
+    }
+
 }
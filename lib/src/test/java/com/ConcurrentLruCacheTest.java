@@ -0,0 +1,91 @@
+package com;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.utils.cache.ConcurrentLruCache;
+
+/** Eviction, metrics and concurrency tests for {@link ConcurrentLruCache}. */
+public class ConcurrentLruCacheTest {
+
+    @Test
+    void evictsOldestWhenCapacityExceeded() {
+        ConcurrentLruCache<Integer, String> cache = new ConcurrentLruCache<>(2);
+        cache.put(1, "A");
+        cache.put(2, "B");
+        cache.put(3, "C"); // should evict key 1
+        assertTrue(cache.get(1).isEmpty(), "oldest entry was not evicted");
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void readRefreshesRecency() {
+        ConcurrentLruCache<Integer, String> cache = new ConcurrentLruCache<>(2);
+        cache.put(1, "A");
+        cache.put(2, "B");
+        cache.get(1);      // 2 is now the least recently used
+        cache.put(3, "C");
+        assertEquals(Optional.of("A"), cache.get(1));
+        assertTrue(cache.get(2).isEmpty(), "least recently read entry was not evicted");
+    }
+
+    @Test
+    void countsHitsMissesAndSupportsRemoveAndClear() {
+        ConcurrentLruCache<String, Integer> cache = new ConcurrentLruCache<>(10);
+        cache.put("a", 1);
+        cache.put("a", 2);                      // update in place
+        assertEquals(Optional.of(2), cache.get("a"));
+        assertTrue(cache.get("b").isEmpty());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+
+        assertEquals(Optional.of(2), cache.remove("a"));
+        assertTrue(cache.remove("a").isEmpty());
+        cache.put("c", 3);
+        cache.clear();
+        assertEquals(0, cache.size());
+        cache.put("d", 4);                      // still usable after clear
+        assertEquals(Optional.of(4), cache.get("d"));
+    }
+
+    @Test
+    void staysWithinCapacityUnderLoad() throws Exception {
+        final int capacity = 100;
+        ConcurrentLruCache<Integer, Integer> cache = new ConcurrentLruCache<>(capacity);
+        ExecutorService exec = Executors.newFixedThreadPool(10);
+
+        Callable<Void> task = () -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+            for (int i = 0; i < 20_000; i++) {
+                int key = rnd.nextInt(1_000);
+                switch (rnd.nextInt(10)) {
+                    case 0  -> cache.remove(key);
+                    case 1, 2 -> cache.put(key, key);
+                    default -> cache.get(key).ifPresent(v -> assertEquals(key, v));
+                }
+            }
+            return null;
+        };
+
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) futures.add(exec.submit(task));
+        exec.shutdown();
+        assertTrue(exec.awaitTermination(10, TimeUnit.SECONDS));
+        for (Future<Void> f : futures) f.get();          // surface assertion failures
+
+        assertTrue(cache.size() <= capacity,
+                   "cache size exceeds capacity after stress test");
+    }
+}
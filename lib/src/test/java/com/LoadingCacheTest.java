@@ -0,0 +1,112 @@
+package com;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.utils.cache.LoadingCache;
+
+/** Single-flight, expiry, refresh-ahead and bulk loading tests for {@link LoadingCache}. */
+public class LoadingCacheTest {
+
+    @Test
+    void concurrentMisses_shareOneLoad() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        LoadingCache<String, String> cache = LoadingCache.<String, String>builder(k -> {
+                    calls.incrementAndGet();
+                    await(release);
+                    return k.toUpperCase();
+                })
+                .expireAfterWrite(Duration.ofMinutes(1))
+                .build();
+
+        final int threads = 8;
+        ExecutorService exec = Executors.newFixedThreadPool(threads);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) results.add(exec.submit(() -> cache.get("hot")));
+        Thread.sleep(50);                  // let every caller reach the in-flight future
+        release.countDown();
+        for (Future<String> f : results) assertEquals("HOT", f.get(5, TimeUnit.SECONDS));
+        exec.shutdown();
+
+        assertEquals(1, calls.get(), "loader should run once for concurrent misses");
+        assertEquals(1, cache.loadCount());
+    }
+
+    @Test
+    void expiredEntry_isReloaded_andFailuresAreNotCached() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        LoadingCache<String, Integer> cache = LoadingCache.<String, Integer>builder(k -> {
+                    if (calls.incrementAndGet() == 1) throw new IllegalStateException("db down");
+                    return calls.get();
+                })
+                .expireAfterWrite(Duration.ofMillis(50))
+                .build();
+
+        assertThrows(IllegalStateException.class, () -> cache.get("k"));
+        assertEquals(2, cache.get("k"));
+        assertEquals(2, cache.get("k"));  // cached
+        Thread.sleep(70);
+        assertEquals(3, cache.get("k"));  // expired → reloaded
+        assertEquals(1, cache.hitCount());
+    }
+
+    @Test
+    void refreshAhead_servesCurrentValueWhileReloading() throws Exception {
+        AtomicInteger version = new AtomicInteger();
+        LoadingCache<String, Integer> cache = LoadingCache.<String, Integer>builder(k -> version.incrementAndGet())
+                .expireAfterWrite(Duration.ofSeconds(10))
+                .refreshAfterWrite(Duration.ofMillis(30))
+                .executor(Runnable::run)   // refresh inline to keep the test deterministic
+                .build();
+
+        assertEquals(1, cache.get("k"));
+        Thread.sleep(50);
+        assertEquals(1, cache.get("k"));  // stale value served, refresh triggered
+        assertEquals(2, cache.get("k"));
+    }
+
+    @Test
+    void getAll_loadsMissingKeysInOneBatch_andSkipsNulls() {
+        List<Set<Integer>> batches = new ArrayList<>();
+        LoadingCache<Integer, String> cache = LoadingCache.<Integer, String>builder(k -> "single-" + k)
+                .expireAfterWrite(Duration.ofMinutes(1))
+                .bulkLoader(keys -> {
+                    batches.add(keys);
+                    Map<Integer, String> m = new HashMap<>();
+                    for (Integer k : keys) if (k != 3) m.put(k, "bulk-" + k);
+                    return m;
+                })
+                .build();
+
+        assertEquals("single-1", cache.get(1));
+        Map<Integer, String> all = cache.getAll(List.of(1, 2, 3, 4));
+
+        assertEquals(Map.of(1, "single-1", 2, "bulk-2", 4, "bulk-4"), all);
+        assertEquals(List.of(Set.of(2, 3, 4)), batches);
+        assertEquals(3, cache.size(), "null values are not cached");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.entity.Notification;
+import com.service.NotificationBatcher;
+import com.service.NotificationService;
+
+class NotificationBatcherTest {
+
+    private final NotificationService service = new NotificationService(4, Duration.ofMillis(20));
+
+    @AfterEach
+    void tearDown() { service.close(); }
+
+    @Test
+    void fullBatch_isDeliveredAsOneDigest() throws Exception {
+        try (NotificationBatcher batcher = new NotificationBatcher(service, Duration.ofMinutes(1), 10)) {
+            List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < 25; i++) futures.add(batcher.send(new Notification("ops", "row " + i + " skipped")));
+
+            for (int i = 0; i < 20; i++) assertTrue(futures.get(i).get(2, TimeUnit.SECONDS));
+            assertFalse(futures.get(20).isDone(), "partial batch should wait for its window");
+            assertEquals(2, batcher.batchCount());
+            assertEquals(10, batcher.largestBatchSize());
+
+            batcher.flush();
+            assertTrue(futures.get(24).get(2, TimeUnit.SECONDS));
+            assertEquals(3, batcher.batchCount());
+            assertEquals(25, batcher.deliveredCount());
+        }
+    }
+
+    @Test
+    void send_afterClose_failsInsteadOfHanging() throws Exception {
+        NotificationBatcher batcher = new NotificationBatcher(service, Duration.ofMinutes(1), 10);
+        CompletableFuture<Boolean> pending = batcher.send(new Notification("ops", "before close"));
+        batcher.close();
+        assertTrue(pending.get(2, TimeUnit.SECONDS), "close() flushes pending batches");
+
+        CompletableFuture<Boolean> late = batcher.send(new Notification("ops", "after close"));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> late.get(2, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    @Test
+    void window_flushesEachRecipientSeparately() throws Exception {
+        try (NotificationBatcher batcher = new NotificationBatcher(service, Duration.ofMillis(100), 1_000)) {
+            List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < 30; i++) futures.add(batcher.send(new Notification("user" + (i % 3), "Job #" + i)));
+
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(2, TimeUnit.SECONDS);
+            assertEquals(3, batcher.batchCount(), "one digest per recipient");
+            assertEquals(10.0, batcher.averageBatchSize());
+            assertEquals(3, batcher.flushLatency().count());
+            assertTrue(batcher.flushLatency().percentile(50).toMillis() >= 100);
+        }
+    }
+}
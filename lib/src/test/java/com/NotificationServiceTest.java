@@ -52,4 +52,19 @@ class NotificationServiceTest {
         long elapsed = System.currentTimeMillis() - t0;
         assertTrue(elapsed < 2_000);
     }
+
+    @Test
+    void virtualThreads_handleThousandsOfConcurrentSends() throws Exception {
+        List<Future<Boolean>> futures = new CopyOnWriteArrayList<>();
+        long t0 = System.currentTimeMillis();
+        try (NotificationService vt = NotificationService.virtualThreads(2_000)) {
+            for (int i = 0; i < 2_000; i++) {
+                futures.add(vt.send(new Notification("user" + i, "Job #" + i)));
+            }
+            for (Future<Boolean> f : futures) assertTrue(f.get(5, TimeUnit.SECONDS));
+        }
+        long elapsed = System.currentTimeMillis() - t0;
+        // a 4-thread pool would need ~100 s for 2 000 sends of 200 ms
+        assertTrue(elapsed < 3_000, "sends did not overlap: " + elapsed + " ms");
+    }
 }
@@ -5,8 +5,10 @@ import org.junit.jupiter.api.Test;
 import com.concurrent.future.ReportAggregator;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -37,4 +39,69 @@ class ReportAggregatorTest {
         ExecutionException ex = assertThrows(ExecutionException.class, fut::get);
         assertEquals("aggregation failed", ex.getCause().getMessage());
     }
+
+    @Test
+    void partialMode_returnsReportWithoutSlowPart() throws Exception {
+        ReportAggregator agg = new ReportAggregator(ReportAggregator.builder()
+                .partTimeout(Duration.ofMillis(300))
+                .partialResults(true)) {
+            @Override protected String loadPart(String l) {
+                if (l.equals("B")) sleep(2_000);             // slow dependency
+                return super.loadPart(l);
+            }
+        };
+
+        long t0 = System.currentTimeMillis();
+        ReportAggregator.Report r = agg.generate("Z").get();
+        long elapsed = System.currentTimeMillis() - t0;
+
+        assertTrue(elapsed < 1_000, "slow part should be cut by the timeout");
+        assertEquals("AC", r.summary());
+        assertEquals(List.of("B"), r.missingParts());
+        assertTrue(r.partial());
+        assertEquals(1, agg.timeoutCount());
+    }
+
+    @Test
+    void nParts_respectConcurrencyLimit_andRecordLatency() throws Exception {
+        ReportAggregator agg = ReportAggregator.builder().maxConcurrency(2).build();
+        List<String> parts = List.of("P1", "P2", "P3", "P4", "P5", "P6");
+
+        long t0 = System.currentTimeMillis();
+        ReportAggregator.Report r = agg.generate("N", parts).get();
+        long elapsed = System.currentTimeMillis() - t0;
+
+        assertEquals(String.join("", parts), r.summary());
+        assertFalse(r.partial());
+        assertTrue(elapsed >= 600, "6 parts × 200 ms with 2 at a time take 3 rounds");
+        assertEquals(1, agg.partLatency("P3").count());
+        assertTrue(agg.partLatency("P3").percentile(50).toMillis() >= 100);
+    }
+
+    @Test
+    void partTimedOutWaitingForPermit_isNeverLoaded() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        ReportAggregator agg = new ReportAggregator(ReportAggregator.builder()
+                .maxConcurrency(1)
+                .partTimeout(Duration.ofMillis(300))
+                .partialResults(true)) {
+            @Override protected String loadPart(String l) {
+                loads.incrementAndGet();
+                return super.loadPart(l);                 // 200 ms each, one at a time
+            }
+        };
+
+        // 1st part: 0-200 ms (ok); 2nd: 200-400 ms (times out while loading);
+        // 3rd: times out at 300 ms still waiting for the permit
+        ReportAggregator.Report r = agg.generate("T", List.of("A", "B", "C")).get();
+        assertEquals(2, r.missingParts().size());
+        sleep(400);                                       // the 2nd part has released its permit
+        assertEquals(2, loads.get(), "a part that timed out before its permit must not be loaded");
+        assertEquals(2, agg.timeoutCount());
+        assertEquals(0, agg.partLatency("never-loaded").count());
+    }
+
+    private static void sleep(long ms) {
+        try { Thread.sleep(ms); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+    }
 }
@@ -69,5 +69,44 @@ public class TtlCacheBehaviourTest {
         assertTrue(exec.awaitTermination(5, TimeUnit.SECONDS),
                    "Executor did not finish in time");
     }
+
+    // -------------------------------------------------------------------- //
+    // 3) Per-entry TTL and maximumSize                                     //
+    // -------------------------------------------------------------------- //
+
+    @Test
+    void perEntryTtl_overridesDefault() throws InterruptedException {
+        cache.put("short", "v");
+        cache.put("mid", "v", Duration.ofMillis(200));     // coarser wheel level, cascades down
+        cache.put("long", "v", Duration.ofSeconds(30));
+
+        Thread.sleep(70);
+        assertEquals(2, cache.size());
+        assertTrue(cache.get("short").isEmpty());
+        assertEquals(Optional.of("v"), cache.get("mid"));
+
+        Thread.sleep(200);
+        assertEquals(1, cache.size());
+        assertTrue(cache.get("mid").isEmpty());
+        assertEquals(Optional.of("v"), cache.get("long"));
+    }
+
+    @Test
+    void maximumSize_evictsOldestWrite() {
+        TtlCache<String, Integer> bounded =
+                new TtlCache<>(Duration.ofMinutes(1), Duration.ofSeconds(1), 2);
+        try {
+            bounded.put("a", 1);
+            bounded.put("b", 2);
+            bounded.put("a", 3);          // rewrite: "b" is now the oldest write
+            bounded.put("c", 4);
+            assertEquals(2, bounded.size());
+            assertTrue(bounded.get("b").isEmpty(), "oldest write was not evicted");
+            assertEquals(Optional.of(3), bounded.get("a"));
+            assertEquals(Optional.of(4), bounded.get("c"));
+        } finally {
+            bounded.shutdown();
+        }
+    }
     
 }
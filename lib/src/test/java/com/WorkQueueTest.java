@@ -50,4 +50,25 @@ class WorkQueueTest {
         long elapsed = System.currentTimeMillis() - t0;
         assertTrue(elapsed < 2000, "stop took too long");
     }
+
+    @Test
+    void virtualMode_runsTasksConcurrently_andStopWaitsForThem() throws Exception {
+        WorkQueue wq = new WorkQueue();
+        wq.startVirtual(500);
+
+        AtomicInteger done = new AtomicInteger();
+        long t0 = System.currentTimeMillis();
+        for (int i = 0; i < 1_000; i++) {
+            wq.submit(() -> {
+                try { Thread.sleep(100); }              // I/O-bound task
+                catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+                done.incrementAndGet();
+            });
+        }
+        wq.stop();
+        long elapsed = System.currentTimeMillis() - t0;
+
+        assertEquals(1_000, done.get(), "stop returned before tasks in flight finished");
+        assertTrue(elapsed < 2_000, "virtual mode did not overlap blocking tasks: " + elapsed + " ms");
+    }
 }
@@ -0,0 +1,134 @@
+package com;
+
+import org.junit.jupiter.api.Test;
+
+import com.concurrent.workqueue.SubmissionPolicy;
+import com.concurrent.workqueue.WorkQueue;
+import com.concurrent.workqueue.WorkStealingQueue;
+import com.concurrent.workqueue.WorkerStats;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Work-stealing mode: no task loss, backpressure policies, failure accounting and resizing.
+ */
+class WorkStealingQueueTest {
+
+    @Test
+    void producersAndWorkers_processAllTasks_withStealing() throws Exception {
+        WorkStealingQueue wq = WorkQueue.workStealing().coreWorkers(4).capacity(256).build();
+        wq.start();
+
+        int tasks = 10_000;
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService producers = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < tasks; i++) {
+            producers.submit(() -> wq.execute(() -> {
+                counter.incrementAndGet();
+                if (counter.get() % 100 == 0) {            // occasional nested submission
+                    wq.execute(counter::incrementAndGet);
+                }
+            }));
+        }
+        producers.shutdown();
+        assertTrue(producers.awaitTermination(10, TimeUnit.SECONDS));
+        wq.stop();
+
+        long executed = wq.workerStats().stream().mapToLong(WorkerStats::executed).sum();
+        assertTrue(counter.get() >= tasks, "lost tasks detected");
+        assertEquals(counter.get(), executed);
+        assertEquals(executed, wq.queueWaitHistogram().count());
+        assertEquals(0, wq.queueDepth());
+    }
+
+    @Test
+    void rejectPolicy_andCallerRuns_applyWhenFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        WorkStealingQueue reject = WorkQueue.workStealing()
+                .coreWorkers(1).capacity(1).policy(SubmissionPolicy.REJECT).build();
+        reject.start();
+        reject.submit(() -> await(release));     // occupies the worker
+        waitUntil(() -> reject.queueDepth() == 0);
+        reject.submit(() -> {});                  // fills the single slot
+        assertThrows(RejectedExecutionException.class, () -> reject.submit(() -> {}));
+        assertEquals(1, reject.rejectedCount());
+
+        WorkStealingQueue callerRuns = WorkQueue.workStealing()
+                .coreWorkers(1).capacity(1).policy(SubmissionPolicy.CALLER_RUNS).build();
+        callerRuns.start();
+        callerRuns.submit(() -> await(release));
+        waitUntil(() -> callerRuns.queueDepth() == 0);
+        callerRuns.submit(() -> {});
+        Thread caller = Thread.currentThread();
+        AtomicInteger ranOnCaller = new AtomicInteger();
+        callerRuns.submit(() -> { if (Thread.currentThread() == caller) ranOnCaller.incrementAndGet(); });
+        assertEquals(1, ranOnCaller.get());
+        assertEquals(1, callerRuns.callerRunsCount());
+
+        release.countDown();
+        reject.stop();
+        callerRuns.stop();
+    }
+
+    @Test
+    void failures_areCountedAndReported_notSwallowed() throws Exception {
+        ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        WorkStealingQueue wq = WorkQueue.workStealing().coreWorkers(2).onError(errors::add).build();
+        wq.start();
+        for (int i = 0; i < 10; i++) {
+            int n = i;
+            wq.submit(() -> { if (n % 2 == 0) throw new IllegalStateException("boom " + n); });
+        }
+        wq.stop();
+
+        assertEquals(5, errors.size());
+        assertEquals(5, wq.workerStats().stream().mapToLong(WorkerStats::failed).sum());
+    }
+
+    @Test
+    void grows_underBacklog_andRetiresIdleWorkers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        WorkStealingQueue wq = WorkQueue.workStealing()
+                .coreWorkers(1).maxWorkers(4).scaleUpBacklog(2).keepAlive(Duration.ofMillis(100))
+                .build();
+        wq.start();
+        for (int i = 0; i < 20; i++) wq.submit(() -> await(release));
+        assertEquals(4, wq.workerCount());
+
+        release.countDown();
+        waitUntil(() -> wq.workerCount() == 1);
+        wq.stop();
+        assertEquals(20, wq.queueWaitHistogram().count());
+    }
+
+    @Test
+    void coreWorkersAlone_isAFixedSizePool() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        WorkStealingQueue wq = WorkQueue.workStealing().coreWorkers(2).scaleUpBacklog(1).build();
+        wq.start();
+        for (int i = 0; i < 50; i++) wq.submit(() -> await(release));
+        assertEquals(2, wq.workerCount());
+
+        release.countDown();
+        wq.stop();
+        assertEquals(2, wq.workerStats().size());
+        assertEquals(50, wq.workerStats().stream().mapToLong(WorkerStats::executed).sum());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try { latch.await(5, TimeUnit.SECONDS); }
+        catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+}